@@ -1179,6 +1179,9 @@ public class DataInitializer implements CommandLineRunner {
                 swimmingRsvp5.setAmountPaid(new BigDecimal("30.00"));
                 swimmingRsvp5.setStripePaymentIntentId("pi_test_noah_11223");
                 rsvpRepository.save(swimmingRsvp5);
+
+                // sample RSVPs bypass RSVPService, take their seats in one go
+                eventRepository.recountSeats();
             }
             
             System.out.println("✓ Sample data created successfully!");
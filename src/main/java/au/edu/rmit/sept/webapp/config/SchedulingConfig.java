@@ -0,0 +1,14 @@
+package au.edu.rmit.sept.webapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs.
+ * used by services that batch work off the request path (saved search matching etc.)
+ * intervals are property driven so tests and prod can tune them independently
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
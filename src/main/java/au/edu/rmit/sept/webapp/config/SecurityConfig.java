@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -70,6 +71,9 @@ public class SecurityConfig {
                 authz.requestMatchers("/", "/home", "/register", "/login", "/events/**", "/css/**", "/js/**", "/images/**", "/webjars/**").permitAll(); // Changed patterns
                 authz.requestMatchers("/admin/**").hasRole("ADMIN");
                 authz.requestMatchers("/api/payments/webhook").permitAll();
+                authz.requestMatchers(HttpMethod.GET, "/api/events/trending", "/api/events/heatmap", "/api/events/*/reviews").permitAll();
+                // calendar apps poll without a session, the token in the path authorises the feed
+                authz.requestMatchers(HttpMethod.GET, "/calendar/*.ics").permitAll();
                 // h2 console access only if enabled in properties
                 // Quick database inspection: check table, query data without logging in first.
                 // Make sure variable is false for prod
@@ -11,7 +11,9 @@ import org.springframework.security.core.Authentication;
 
 import au.edu.rmit.sept.webapp.dto.AdminEventDTO;
 import au.edu.rmit.sept.webapp.dto.AdminUserDTO;
+import au.edu.rmit.sept.webapp.dto.SiteStatistics;
 import au.edu.rmit.sept.webapp.service.AdminService;
+import au.edu.rmit.sept.webapp.service.SiteStatisticsService;
 import au.edu.rmit.sept.webapp.service.UserService;
 
 @Controller
@@ -21,10 +23,13 @@ public class AdminController {
 
     private final AdminService adminService;
     private final UserService userService;
+    private final SiteStatisticsService siteStatisticsService;
 
-    public AdminController(AdminService adminService, UserService userService) {
+    public AdminController(AdminService adminService, UserService userService,
+                           SiteStatisticsService siteStatisticsService) {
         this.adminService = adminService;
         this.userService = userService;
+        this.siteStatisticsService = siteStatisticsService;
     }
 
     @GetMapping
@@ -76,13 +81,14 @@ public class AdminController {
             }
         }
 
-        // Fetch counts for all tabs
-        long activeFutureCount = adminService.countActiveFutureEvents();
-        long deactivatedFutureCount = adminService.countDeactivatedFutureEvents();
-        long activePastCount = adminService.countActivePastEvents();
-        long deactivatedPastCount = adminService.countDeactivatedPastEvents();
-        long activeUsersCount = adminService.countActiveUsers();
-        long deactivatedUsersCount = adminService.countDeactivatedUsers();
+        // Counts for all tabs, from the in-memory site statistics
+        SiteStatistics stats = siteStatisticsService.getStatistics();
+        long activeFutureCount = stats.getActiveFutureEvents();
+        long deactivatedFutureCount = stats.getDeactivatedFutureEvents();
+        long activePastCount = stats.getActivePastEvents();
+        long deactivatedPastCount = stats.getDeactivatedPastEvents();
+        long activeUsersCount = stats.getActiveUsers();
+        long deactivatedUsersCount = stats.getDeactivatedUsers();
 
         model.addAttribute("futureEvents", futureEvents);
         model.addAttribute("futureEventsFilter", futureEventsFilter);
@@ -3,18 +3,12 @@ package au.edu.rmit.sept.webapp.controller;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import java.time.DayOfWeek;
-import java.time.LocalDate;
-import java.time.temporal.TemporalAdjusters;
 
-import au.edu.rmit.sept.webapp.repository.EventRepository;
-import au.edu.rmit.sept.webapp.repository.CategoryRepository;
-import au.edu.rmit.sept.webapp.repository.RSVPRepository;
-import au.edu.rmit.sept.webapp.model.Category;
-import java.time.LocalTime;
-import java.util.List;
+import au.edu.rmit.sept.webapp.dto.CategoryStatsSnapshot;
+import au.edu.rmit.sept.webapp.dto.SiteStatistics;
+import au.edu.rmit.sept.webapp.service.CategoryStatsService;
+import au.edu.rmit.sept.webapp.service.SiteStatisticsService;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.HashMap;
 
 /**
@@ -36,48 +30,28 @@ public class BrowseCategoriesController {
      * Fetches all available categories with their event counts and sends them to the view.
      * The HTML file: eventhub-browse-categories.html (usually in templates/events/)
      */
-    private final EventRepository eventRepository;
-    private final CategoryRepository categoryRepository;
-    private final RSVPRepository rsvpRepository;
+    private final CategoryStatsService categoryStatsService;
+    private final SiteStatisticsService siteStatisticsService;
 
-    public BrowseCategoriesController(EventRepository eventRepository,
-                                      CategoryRepository categoryRepository,
-                                      RSVPRepository rsvpRepository) {
-        this.eventRepository = eventRepository;
-        this.categoryRepository = categoryRepository;
-        this.rsvpRepository = rsvpRepository;
+    public BrowseCategoriesController(CategoryStatsService categoryStatsService,
+                                      SiteStatisticsService siteStatisticsService) {
+        this.categoryStatsService = categoryStatsService;
+        this.siteStatisticsService = siteStatisticsService;
     }
 
     @GetMapping("/categories")
     public String showCategoriesPage(Model model) {
         model.addAttribute("pageTitle", "Browse Categories");
 
-        // Stats
-        long totalEvents = eventRepository.countActiveFutureEvents() + eventRepository.countActivePastEvents();
-        long totalCategories = categoryRepository.count();
-        long totalAttendees = rsvpRepository.countActiveRsvps();
-
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        LocalDate weekEnd = weekStart.plusDays(6);
-        long eventsThisWeek = eventRepository.countByEventDateBetween(weekStart, weekEnd);
-
-        model.addAttribute("totalEvents", totalEvents);
-        model.addAttribute("totalCategories", totalCategories);
-        model.addAttribute("totalAttendees", totalAttendees);
-        model.addAttribute("eventsThisWeek", eventsThisWeek);
-
-        // Dynamic categories with upcoming event counts
-        List<Category> categories = categoryRepository.findAll();
-        LocalTime nowTime = LocalTime.now();
-        Map<Long, Long> categoryUpcomingCounts = categories.stream()
-                .collect(Collectors.toMap(
-                        Category::getId,
-                        c -> eventRepository.countUpcomingEventsByCategory(c.getId(), today, nowTime)
-                ));
-
-        model.addAttribute("categories", categories);
-        model.addAttribute("categoryUpcomingCounts", categoryUpcomingCounts);
+        // Headline stats from the in-memory site statistics, category counts from the refreshed snapshot
+        SiteStatistics siteStats = siteStatisticsService.getStatistics();
+        CategoryStatsSnapshot stats = categoryStatsService.getSnapshot();
+        model.addAttribute("totalEvents", siteStats.getTotalEvents());
+        model.addAttribute("totalCategories", stats.getTotalCategories());
+        model.addAttribute("totalAttendees", siteStats.getActiveAttendees());
+        model.addAttribute("eventsThisWeek", siteStatisticsService.getEventsThisWeek());
+        model.addAttribute("categories", stats.getCategories());
+        model.addAttribute("categoryUpcomingCounts", stats.getUpcomingCounts());
 
         // Per-category image mapping (name -> URL). Adjust as needed.
         Map<String, String> categoryImageUrls = new HashMap<>();
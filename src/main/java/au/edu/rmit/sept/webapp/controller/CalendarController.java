@@ -1,22 +1,30 @@
 package au.edu.rmit.sept.webapp.controller;
 
-import au.edu.rmit.sept.webapp.model.Event;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
 import au.edu.rmit.sept.webapp.dto.CalendarEventDTO;
-import org.springframework.data.domain.Pageable;
+import au.edu.rmit.sept.webapp.service.CalendarSubscriptionService;
+import au.edu.rmit.sept.webapp.service.RecommendationService;
+import au.edu.rmit.sept.webapp.service.SiteStatisticsService;
+import au.edu.rmit.sept.webapp.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Controller
@@ -25,63 +33,109 @@ public class CalendarController {
 
     private final EventRepository eventRepository;
     private final RSVPRepository rsvpRepository;
+    private final RecommendationService recommendationService;
+    private final UserService userService;
+    private final CalendarSubscriptionService calendarSubscriptionService;
+    private final SiteStatisticsService siteStatisticsService;
 
-    public CalendarController(EventRepository eventRepository, RSVPRepository rsvpRepository) {
+    public CalendarController(EventRepository eventRepository, RSVPRepository rsvpRepository,
+                              RecommendationService recommendationService, UserService userService,
+                              CalendarSubscriptionService calendarSubscriptionService,
+                              SiteStatisticsService siteStatisticsService) {
         this.eventRepository = eventRepository;
         this.rsvpRepository = rsvpRepository;
+        this.recommendationService = recommendationService;
+        this.userService = userService;
+        this.calendarSubscriptionService = calendarSubscriptionService;
+        this.siteStatisticsService = siteStatisticsService;
     }
 
+    // longest window the feed serves, a six-week month view plus slack
+    private static final int MAX_FEED_DAYS = 62;
+
     @GetMapping("/calendar")
     public String calendarPage(Model model, Authentication authentication) {
-        // Use findAll with EntityGraph to avoid lazy loading issues
-        List<Event> events = eventRepository.findAll(Pageable.unpaged()).getContent().stream()
-                .filter(event -> !event.isDeactivated())
-                .collect(Collectors.toList());
+        // events for the visible month come from /events/calendar/feed
         model.addAttribute("pageTitle", "Calendar");
-        model.addAttribute("events", events);
 
-        // Build DTOs for FullCalendar
-        List<CalendarEventDTO> calendarEvents = events.stream().map(e -> {
-            LocalDateTime start = LocalDateTime.of(e.getEventDate(), e.getEventTime());
-            LocalDateTime end = start.plusHours(2);
-            String color = e.getCategory() != null && e.getCategory().getColourCode() != null
-                    ? e.getCategory().getColourCode() : "#667eea";
-            boolean attending = false;
-            if (authentication != null && authentication.isAuthenticated()) {
-                attending = rsvpRepository.existsByUser_UsernameAndEvent_Id(authentication.getName(), e.getId());
-            }
-            String categoryName = e.getCategory() != null ? e.getCategory().getName() : "General";
-            return new CalendarEventDTO(e.getId(), e.getTitle(), start, end, color, categoryName, e.getLocation(), e.getDescription(), attending);
-        }).collect(Collectors.toList());
-        model.addAttribute("calendarEvents", calendarEvents);
-
-        // Stats
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        LocalDate weekEnd = weekStart.plusDays(6);
-        long eventsThisWeek = eventRepository.countByEventDateBetween(weekStart, weekEnd);
-        LocalDate monthStart = today.withDayOfMonth(1);
-        LocalDate nextMonthStart = monthStart.plusMonths(1);
-        long totalThisMonth = eventRepository.countByMonth(monthStart, nextMonthStart);
+        // Stats, from the in-memory site statistics
+        long eventsThisWeek = siteStatisticsService.getEventsThisWeek();
+        long totalThisMonth = siteStatisticsService.getEventsThisMonth();
         long attendingCount = 0;
+        int recommendedCount = 0;
+        String icsFeedUrl = null;
 
-        // Build attending list for current user
-        List<Event> attendingEvents = List.of();
-        if (authentication != null && authentication.isAuthenticated()) {
+        if (isAuthenticated(authentication)) {
             String username = authentication.getName();
-            attendingEvents = events.stream()
-                    .filter(e -> rsvpRepository.existsByUser_UsernameAndEvent_Id(username, e.getId()))
-                    .sorted(Comparator.comparing(Event::getEventDate).thenComparing(Event::getEventTime))
-                    .collect(Collectors.toList());
-            attendingCount = attendingEvents.size();
+            Long userId = userService.getUserIdByUsername(username);
+            attendingCount = rsvpRepository.countActiveByUsername(username);
+            // precomputed ranking, no query beyond the user id lookup
+            recommendedCount = recommendationService.getRecommendedCount(userId);
+            icsFeedUrl = calendarSubscriptionService.findToken(userId)
+                    .map(token -> ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/calendar/{token}.ics").buildAndExpand(token).toUriString())
+                    .orElse(null);
         }
-        model.addAttribute("attendingEvents", attendingEvents);
+        model.addAttribute("icsFeedUrl", icsFeedUrl);
 
         model.addAttribute("eventsThisWeek", eventsThisWeek);
         model.addAttribute("attendingCount", attendingCount);
-        model.addAttribute("recommendedCount", 0);
+        model.addAttribute("recommendedCount", recommendedCount);
         model.addAttribute("totalThisMonth", totalThisMonth);
 
         return "calendar";
     }
-}
\ No newline at end of file
+
+    /**
+     * Calendar events in a date window, in the FullCalendar event-source format.
+     * Accepts plain dates or ISO date-times (the date part is used), end is exclusive.
+     * One range query for the events and one query for the user's RSVPs in the window.
+     *
+     * @param start First visible date
+     * @param end Day after the last visible date
+     * @return Events with attendance flags, or 400 for a missing, reversed or oversized window
+     */
+    @GetMapping("/calendar/feed")
+    @ResponseBody
+    public ResponseEntity<?> calendarFeed(@RequestParam String start, @RequestParam String end,
+                                          Authentication authentication) {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = parseFeedDate(start);
+            to = parseFeedDate(end);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "start and end must be ISO dates"));
+        }
+        if (!to.isAfter(from) || ChronoUnit.DAYS.between(from, to) > MAX_FEED_DAYS) {
+            return ResponseEntity.badRequest().body(
+                    Map.of("error", "Window must be between 1 and " + MAX_FEED_DAYS + " days"));
+        }
+
+        Set<Long> attendingIds = isAuthenticated(authentication)
+                ? rsvpRepository.findEventIdsByUsernameBetween(authentication.getName(), from, to)
+                : Set.of();
+
+        List<CalendarEventDTO> calendarEvents = eventRepository.findCalendarEventsBetween(from, to).stream().map(e -> {
+            LocalDateTime eventStart = LocalDateTime.of(e.getEventDate(), e.getEventTime());
+            LocalDateTime eventEnd = eventStart.plusHours(2);
+            String color = e.getCategory() != null && e.getCategory().getColourCode() != null
+                    ? e.getCategory().getColourCode() : "#667eea";
+            String categoryName = e.getCategory() != null ? e.getCategory().getName() : "General";
+            return new CalendarEventDTO(e.getId(), e.getTitle(), eventStart, eventEnd, color, categoryName,
+                    e.getLocation(), e.getDescription(), attendingIds.contains(e.getId()));
+        }).collect(Collectors.toList());
+
+        return ResponseEntity.ok(calendarEvents);
+    }
+
+    // "2025-09-28" or "2025-09-28T00:00:00+10:00"
+    private static LocalDate parseFeedDate(String value) {
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
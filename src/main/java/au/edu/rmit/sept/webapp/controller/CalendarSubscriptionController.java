@@ -0,0 +1,80 @@
+package au.edu.rmit.sept.webapp.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import au.edu.rmit.sept.webapp.service.CalendarSubscriptionService;
+import au.edu.rmit.sept.webapp.service.UserService;
+
+/**
+ * iCalendar subscriptions to a user's RSVP'd events.
+ * The .ics feed is public (calendar apps have no session), the token in the path identifies the user.
+ * Resetting the subscription requires authentication.
+ */
+@Controller
+public class CalendarSubscriptionController {
+
+    private static final String ICS_CONTENT_TYPE = "text/calendar; charset=utf-8";
+
+    private final CalendarSubscriptionService calendarSubscriptionService;
+    private final UserService userService;
+
+    public CalendarSubscriptionController(CalendarSubscriptionService calendarSubscriptionService,
+                                          UserService userService) {
+        this.calendarSubscriptionService = calendarSubscriptionService;
+        this.userService = userService;
+    }
+
+    /**
+     * The feed. Polls carrying the current ETag (or a Last-Modified date not older than the
+     * latest change) get 304 without any event query.
+     */
+    @GetMapping("/calendar/{token}.ics")
+    public ResponseEntity<byte[]> feed(@PathVariable String token, WebRequest request) {
+        CalendarSubscriptionService.FeedVersion feedVersion =
+                calendarSubscriptionService.resolveToken(token).orElse(null);
+        if (feedVersion == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Long userId = feedVersion.userId();
+        long version = feedVersion.version();
+        String etag = "\"" + Long.toHexString(userId) + "-" + Long.toHexString(version) + "\"";
+        if (request.checkNotModified(etag, version)) {
+            // 304, ETag and Last-Modified already set on the response
+            return null;
+        }
+
+        String eventBaseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().path("/events/").toUriString();
+        byte[] body = calendarSubscriptionService.getFeed(userId, version, eventBaseUrl);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, ICS_CONTENT_TYPE)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    /**
+     * Creates the user's subscription link or replaces it (the old link stops working).
+     */
+    @PostMapping("/calendar/subscription")
+    public String resetSubscription(Authentication authentication, RedirectAttributes redirectAttributes) {
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            calendarSubscriptionService.resetToken(userId);
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "New calendar subscription link created. Links created before this one no longer work.");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/events/calendar";
+    }
+}
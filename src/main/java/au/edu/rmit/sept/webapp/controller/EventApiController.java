@@ -9,20 +9,39 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import au.edu.rmit.sept.webapp.dto.AttendeeDTO;
+import au.edu.rmit.sept.webapp.dto.AttendeePage;
 import au.edu.rmit.sept.webapp.dto.BlockedAttendeeDTO;
+import au.edu.rmit.sept.webapp.dto.BulkAttendeeResult;
 import au.edu.rmit.sept.webapp.dto.CancelledRSVPDTO;
+import au.edu.rmit.sept.webapp.dto.CheckInManifest;
+import au.edu.rmit.sept.webapp.dto.CheckInResult;
+import au.edu.rmit.sept.webapp.dto.EventDeletionProgress;
+import au.edu.rmit.sept.webapp.dto.ReviewPage;
+import au.edu.rmit.sept.webapp.service.AttendeeBulkService;
+import au.edu.rmit.sept.webapp.service.CheckInService;
+import au.edu.rmit.sept.webapp.service.EventDeletionService;
+import au.edu.rmit.sept.webapp.service.EventDetailsService;
+import au.edu.rmit.sept.webapp.service.EventHeatmapService;
 import au.edu.rmit.sept.webapp.service.EventService;
+import au.edu.rmit.sept.webapp.service.ReviewService;
+import au.edu.rmit.sept.webapp.service.TrendingService;
 import au.edu.rmit.sept.webapp.service.UserService;
+import au.edu.rmit.sept.webapp.service.WaitingRoomService;
 import jakarta.persistence.EntityNotFoundException;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 @RestController
 @RequestMapping("/api/events")
@@ -30,10 +49,234 @@ public class EventApiController {
 
     private final EventService eventService;
     private final UserService userService;
-
-    public EventApiController(EventService eventService, UserService userService) {
+    private final TrendingService trendingService;
+    private final EventHeatmapService eventHeatmapService;
+    private final ReviewService reviewService;
+    private final EventDetailsService eventDetailsService;
+    private final CheckInService checkInService;
+    private final WaitingRoomService waitingRoomService;
+    private final AttendeeBulkService attendeeBulkService;
+    private final EventDeletionService eventDeletionService;
+
+    public EventApiController(EventService eventService, UserService userService,
+                              TrendingService trendingService, EventHeatmapService eventHeatmapService,
+                              ReviewService reviewService, EventDetailsService eventDetailsService,
+                              CheckInService checkInService, WaitingRoomService waitingRoomService,
+                              AttendeeBulkService attendeeBulkService,
+                              EventDeletionService eventDeletionService) {
         this.eventService = eventService;
         this.userService = userService;
+        this.trendingService = trendingService;
+        this.eventHeatmapService = eventHeatmapService;
+        this.reviewService = reviewService;
+        this.eventDetailsService = eventDetailsService;
+        this.checkInService = checkInService;
+        this.waitingRoomService = waitingRoomService;
+        this.attendeeBulkService = attendeeBulkService;
+        this.eventDeletionService = eventDeletionService;
+    }
+
+    /**
+     * Trending upcoming events - PUBLIC.
+     * Served from the in-memory snapshot refreshed by TrendingService, no database query.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingEvents(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(Map.of("events", trendingService.getTrendingEvents(Math.max(0, limit))));
+    }
+
+    /**
+     * Active event counts per day for a date range (end exclusive) - PUBLIC.
+     * Only days with events are listed, served from month buckets cached by EventHeatmapService.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getEventHeatmap(@RequestParam String start, @RequestParam String end) {
+        try {
+            SortedMap<LocalDate, Integer> counts = eventHeatmapService.getDailyCounts(
+                    LocalDate.parse(start), LocalDate.parse(end));
+            long total = counts.values().stream().mapToLong(Integer::longValue).sum();
+            int max = counts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            return ResponseEntity.ok(Map.of("start", start, "end", end, "counts", counts,
+                    "total", total, "max", max));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "start and end must be ISO dates"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * All reviews for an event, newest first, one page at a time - PUBLIC.
+     * Pass the previous response's nextCursor as cursor to continue, nextCursor is null on the last page.
+     */
+    @GetMapping("/{eventId}/reviews")
+    public ResponseEntity<?> getEventReviews(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        boolean isAdmin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            ReviewPage reviews = reviewService.getReviewPage(eventId, cursor, size, isAdmin);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("reviews", reviews.getReviews());
+            response.put("nextCursor", reviews.getNextCursor());
+
+            return ResponseEntity.ok(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Public "who's going" list for an event, one page at a time - AUTHENTICATED.
+     * Continues the first page embedded in the details page: pass its cursor (or the previous
+     * response's nextCursor) as cursor. Usernames and RSVP dates only.
+     */
+    @GetMapping("/{eventId}/attendee-list")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getAttendeeList(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            AttendeePage attendees = eventDetailsService.getAttendeePage(eventId, cursor, size, isAdmin);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("attendees", attendees.getAttendees());
+            response.put("nextCursor", attendees.getNextCursor());
+
+            return ResponseEntity.ok(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Checks in scanned ticket QR codes at the door - ORGANISER/ADMIN ONLY.
+     * Body: {"tokens": ["..."]}, one token for a live scan or a batch uploaded by an offline device.
+     * Results are in token order; tokens are verified by signature, no database read per scan.
+     */
+    @PostMapping("/{eventId}/check-in")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> checkInTickets(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, List<String>> body,
+            Authentication authentication) {
+
+        List<String> tokens = body.get("tokens");
+        if (tokens == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "tokens is required"));
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            List<CheckInResult> results = checkInService.checkIn(eventId, tokens, authentication.getName(), isAdmin);
+            return ResponseEntity.ok(Map.of("results", results));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Downloads the check-in manifest for scanning offline - ORGANISER/ADMIN ONLY.
+     * Lists every ticket by token hash with its check-in state at download time.
+     */
+    @GetMapping("/{eventId}/check-in/manifest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getCheckInManifest(@PathVariable Long eventId, Authentication authentication) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            CheckInManifest manifest = checkInService.getManifest(eventId, authentication.getName(), isAdmin);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"event-" + eventId + "-check-in-manifest.json\"")
+                    .cacheControl(CacheControl.noStore())
+                    .body(manifest);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Progress of a deleted event's background cleanup - ORGANISER/ADMIN ONLY.
+     * Available from the delete until a few days after it finished.
+     */
+    @GetMapping("/{eventId}/deletion")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getDeletionProgress(@PathVariable Long eventId, Authentication authentication) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            EventDeletionProgress progress = eventDeletionService.getProgress(eventId, userId, isAdmin);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(progress);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Position in an event's waiting room - AUTHENTICATED, owner of the token only.
+     * Polled by the waiting room page every pollAfterMillis, answered from memory.
+     */
+    @GetMapping("/{eventId}/waiting-room")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getWaitingRoomStatus(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String token,
+            Authentication authentication) {
+        WaitingRoomService.Place place = waitingRoomService.status(eventId, token, authentication.getName());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(place);
+    }
+
+    /**
+     * Turns an event's waiting room on or off - ORGANISER/ADMIN ONLY.
+     * Body: {"enabled": true}
+     */
+    @PostMapping("/{eventId}/waiting-room")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> setWaitingRoom(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, Boolean> body,
+            Authentication authentication) {
+
+        Boolean enabled = body.get("enabled");
+        if (enabled == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "enabled is required"));
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            waitingRoomService.setEnabled(eventId, enabled, authentication.getName(), isAdmin);
+            return ResponseEntity.ok(Map.of("success", true, "enabled", enabled));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -86,6 +329,72 @@ public class EventApiController {
         }
     }
 
+    /**
+     * Cancels the RSVPs of many attendees at once - ORGANISER/ADMIN ONLY.
+     * Body: {"userIds": [1, 2, 3]}, one transaction, results in request order.
+     */
+    @PostMapping("/{eventId}/attendees/bulk/cancel")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> bulkCancelAttendees(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, List<Long>> body,
+            Authentication authentication) {
+        return bulkOperation(body, authentication,
+                (userIds, organiserId, isAdmin) -> attendeeBulkService.cancel(eventId, userIds, organiserId, isAdmin));
+    }
+
+    /**
+     * Blocks many users at once, removing their RSVPs - ORGANISER/ADMIN ONLY.
+     * Body: {"userIds": [1, 2, 3]}, one transaction, results in request order.
+     */
+    @PostMapping("/{eventId}/attendees/bulk/block")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> bulkBlockAttendees(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, List<Long>> body,
+            Authentication authentication) {
+        return bulkOperation(body, authentication,
+                (userIds, organiserId, isAdmin) -> attendeeBulkService.block(eventId, userIds, organiserId, isAdmin));
+    }
+
+    /**
+     * Unblocks many users at once - ORGANISER/ADMIN ONLY.
+     * Body: {"userIds": [1, 2, 3]}, one transaction, results in request order.
+     */
+    @PostMapping("/{eventId}/blocked/bulk/unblock")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> bulkUnblockUsers(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, List<Long>> body,
+            Authentication authentication) {
+        return bulkOperation(body, authentication,
+                (userIds, organiserId, isAdmin) -> attendeeBulkService.unblock(eventId, userIds, organiserId, isAdmin));
+    }
+
+    private interface BulkOperation {
+        List<BulkAttendeeResult> apply(List<Long> userIds, Long organiserId, boolean isAdmin);
+    }
+
+    private ResponseEntity<?> bulkOperation(Map<String, List<Long>> body, Authentication authentication,
+                                            BulkOperation operation) {
+        List<Long> userIds = body.get("userIds");
+        if (userIds == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userIds is required"));
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            Long organiserId = userService.getUserIdByUsername(authentication.getName());
+            return ResponseEntity.ok(Map.of("results", operation.apply(userIds, organiserId, isAdmin)));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
  * Exports event attendees as CSV file - ORGANISER ONLY.
  * Generates a downloadable CSV file containing all attendee information.
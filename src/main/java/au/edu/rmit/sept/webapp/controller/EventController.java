@@ -1,11 +1,7 @@
 package au.edu.rmit.sept.webapp.controller;
 
 import java.security.Principal;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -19,23 +15,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import au.edu.rmit.sept.webapp.dto.DisplayReviewDTO;
 import au.edu.rmit.sept.webapp.dto.EventCreateDTO;
 // import au.edu.rmit.sept.webapp.dto.EventCreateDTO;
 import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
+import au.edu.rmit.sept.webapp.dto.EventDetailsPage;
 import au.edu.rmit.sept.webapp.dto.ReviewDTO;
 import au.edu.rmit.sept.webapp.model.Event;
-import au.edu.rmit.sept.webapp.model.RSVP;
 import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
-import au.edu.rmit.sept.webapp.repository.RSVPRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.CoAttendanceService;
+import au.edu.rmit.sept.webapp.service.EventDetailsService;
 import au.edu.rmit.sept.webapp.service.EventService;
 import au.edu.rmit.sept.webapp.service.KeywordService;
-import au.edu.rmit.sept.webapp.service.ReviewService;
+import au.edu.rmit.sept.webapp.service.QrCodeService;
+import au.edu.rmit.sept.webapp.service.SimilarEventService;
+import au.edu.rmit.sept.webapp.service.TrendingService;
+import au.edu.rmit.sept.webapp.service.ViewCounterService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
@@ -47,8 +45,11 @@ public class EventController {
     private final CategoryRepository categoryRepository;
     private final KeywordService keywordService;
     private final EventRepository eventRepository;
-    private final ReviewService reviewService;
-    private final RSVPRepository rsvpRepository;
+    private final SimilarEventService similarEventService;
+    private final CoAttendanceService coAttendanceService;
+    private final TrendingService trendingService;
+    private final ViewCounterService viewCounterService;
+    private final EventDetailsService eventDetailsService;
 
     /**
      * Constructor injection - modern Spring best practice over @Autowired field injection.
@@ -58,14 +59,20 @@ public class EventController {
      */
     public EventController(EventService eventService, UserRepository userRepository, 
                           CategoryRepository categoryRepository, KeywordService keywordService,
-                          EventRepository eventRepository, ReviewService reviewService, RSVPRepository rsvpRepository) {
+                          EventRepository eventRepository,
+                          SimilarEventService similarEventService, CoAttendanceService coAttendanceService,
+                          TrendingService trendingService, ViewCounterService viewCounterService,
+                          EventDetailsService eventDetailsService) {
         this.eventService = eventService;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.keywordService = keywordService;
         this.eventRepository = eventRepository;
-        this.reviewService = reviewService;
-        this.rsvpRepository = rsvpRepository;
+        this.similarEventService = similarEventService;
+        this.coAttendanceService = coAttendanceService;
+        this.trendingService = trendingService;
+        this.viewCounterService = viewCounterService;
+        this.eventDetailsService = eventDetailsService;
     }
 
     /**
@@ -92,36 +99,20 @@ public class EventController {
                                    Model model,
                                    Principal principal) {
         try {
-            // Check if event is deactivated and user is not admin
-            Event event = eventRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Event not found"));
-            
-            if (event.isDeactivated() && !isCurrentUserAdmin()) {
-                throw new EntityNotFoundException("Event not found");
-            }
-
-            // Get current user ID if authenticated
-            Long userId = null;
-            if (principal != null) {
-                User currentUser = userRepository.findByUsername(principal.getName())
-                        .orElse(null);
-                if (currentUser != null) {
-                    userId = currentUser.getId();
-                }
-            }
+            // Event, viewer RSVP state and reviews in one read model
+            // (deactivated events are only visible to admins)
+            EventDetailsPage page = eventDetailsService.getDetailsPage(id,
+                    principal != null ? principal.getName() : null, isCurrentUserAdmin());
+            EventDetailsDTO eventDetails = page.getEvent();
 
-            // Fetch event details through service
-            EventDetailsDTO eventDetails = eventService.getEventById(id, userId);
+            // in-memory trending score and view count, no I/O
+            trendingService.recordView(id);
+            viewCounterService.recordView(id);
 
             // Handle payment redirect messages
             if (payment != null && principal != null) {
-                String username = principal.getName();
-
-                // Find user's RSVP
-                Optional<RSVP> userRsvp = rsvpRepository.findByUser_UsernameAndEvent_Id(username, id);
-
-                if (userRsvp.isPresent()) {
-                    String paymentStatus = userRsvp.get().getPaymentStatus();
+                if (eventDetails.isUserRsvpStatus()) {
+                    String paymentStatus = eventDetails.getUserPaymentStatus();
 
                     if ("success".equals(payment)) {
                         if ("paid".equals(paymentStatus)) {
@@ -143,53 +134,41 @@ public class EventController {
             boolean eventHasPassed = eventStartDateTime.isBefore(LocalDateTime.now());
 
             //Check if the user was RSVPd when the event passed.
-            boolean didUserRsvp = false;
-            if (principal != null) {
-                didUserRsvp = rsvpRepository.existsByUser_UsernameAndEvent_Id(principal.getName(), id);
-            }
-
-            // Fetch recent reviews, average rating, and total review count
-            List<DisplayReviewDTO> reviews = reviewService.getRecentReviewsForEvent(id);
-            double averageRating = reviewService.getAverageRatingForEvent(id);
-            long totalReviews = reviewService.countReviewsForEvent(id);
+            boolean didUserRsvp = eventDetails.isUserRsvpStatus();
 
             // Add event details to model
             model.addAttribute("event", eventDetails);
 
+            // View count for the organiser-only controls
+            if (principal != null && (principal.getName().equals(eventDetails.getCreatedByUsername()) || isCurrentUserAdmin())) {
+                model.addAttribute("viewCount", viewCounterService.getViewCount(id));
+            }
+
             // Add page title for layout
             model.addAttribute("pageTitle", eventDetails.getTitle());
 
             // Add Review data to the model
-            model.addAttribute("reviews", reviews);
-            model.addAttribute("averageRating", averageRating);
-            model.addAttribute("totalReviews", totalReviews);
+            model.addAttribute("reviews", page.getRecentReviews());
+            model.addAttribute("averageRating", page.getAverageRating());
+            model.addAttribute("totalReviews", page.getTotalReviews());
+            model.addAttribute("ratingDistribution", page.getRatingDistribution());
             model.addAttribute("didUserRsvp", didUserRsvp);
             model.addAttribute("eventHasPassed", eventHasPassed);
 
+            // Precomputed "you might also like" neighbours, no query
+            model.addAttribute("similarEvents", similarEventService.getSimilarEvents(id, 4));
+            model.addAttribute("alsoGoingEvents", coAttendanceService.getAlsoGoing(id, 4));
+
             // Empty Review DTO for keyword form
             model.addAttribute("reviewDTO", new ReviewDTO());
 
-            // Generate QR code for event URL (general)
-            String eventUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/events/")
-                    .path(String.valueOf(id))
-                    .queryParam("src", "qr")
-                    .toUriString();
-            String eventQrUrl = "https://api.qrserver.com/v1/create-qr-code/?size=220x220&data="
-                    + URLEncoder.encode(eventUrl, StandardCharsets.UTF_8);
-            model.addAttribute("eventQrCodeUrl", eventQrUrl);
-
-            // User ticket QR (per-RSVP) if RSVP exists
-            if (eventDetails.getUserRsvpId() != null) {
-                String ticketUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                        .path("/events/")
-                        .path(String.valueOf(id))
-                        .queryParam("src", "ticket")
-                        .queryParam("rid", eventDetails.getUserRsvpId())
-                        .toUriString();
-                String ticketQrUrl = "https://api.qrserver.com/v1/create-qr-code/?size=220x220&data="
-                        + URLEncoder.encode(ticketUrl, StandardCharsets.UTF_8);
-                model.addAttribute("ticketQrCodeUrl", ticketQrUrl);
+            // QR codes encoded in process (EventQrController), no third-party image service
+            model.addAttribute("eventQrCodeUrl", EventQrController.eventQrPath(id, QrCodeService.Format.SVG));
+
+            // User ticket QR (per-RSVP) once the RSVP is paid, or right away for free events
+            if (eventDetails.getUserRsvpId() != null && !"pending".equals(eventDetails.getUserPaymentStatus())) {
+                model.addAttribute("ticketQrCodeUrl", EventQrController.ticketQrPath(id, eventDetails.getUserRsvpId(),
+                        QrCodeService.Format.SVG));
             }
 
             // Return the event details view
@@ -361,6 +340,10 @@ public class EventController {
             redirectAttributes.addFlashAttribute("errorMessage", 
                     "You can only delete events you created and that haven't started yet");
             return "redirect:/events/" + id;
+        } catch (IllegalStateException e) {
+            // Deactivated by an admin, or already being deleted
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/events/" + id;
         } catch (Exception e) {
             // Handle unexpected errors
             redirectAttributes.addFlashAttribute("errorMessage", 
@@ -0,0 +1,113 @@
+package au.edu.rmit.sept.webapp.controller;
+
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.service.QrCodeService;
+import au.edu.rmit.sept.webapp.service.TicketTokenService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventQrController
+ * QR code images for the event details page, encoded in process by QrCodeService.
+ *
+ * ENDPOINTS:
+ * - GET /events/{id}/qr.{png|svg} - link to the event page (public)
+ * - GET /events/{id}/tickets/{rsvpId}/qr.{png|svg} - the viewer's signed ticket token, scanned at
+ *   check-in (RSVP owner only, once paid or if the event is free)
+ *
+ * CACHING:
+ * - event codes always render the same image, so they are public and immutable for a year with
+ *   the content hash as ETag
+ * - ticket codes are private to the browser and revalidated daily, the token changes if the
+ *   signing key is rotated
+ */
+@Controller
+public class EventQrController {
+
+    private static final long MAX_AGE_DAYS = 365;
+    private static final long TICKET_MAX_AGE_DAYS = 1;
+
+    private final QrCodeService qrCodeService;
+    private final RSVPRepository rsvpRepository;
+    private final TicketTokenService ticketTokenService;
+
+    public EventQrController(QrCodeService qrCodeService, RSVPRepository rsvpRepository,
+                             TicketTokenService ticketTokenService) {
+        this.qrCodeService = qrCodeService;
+        this.rsvpRepository = rsvpRepository;
+        this.ticketTokenService = ticketTokenService;
+    }
+
+    /**
+     * Local path of an event's QR image, for the details page.
+     */
+    public static String eventQrPath(Long eventId, QrCodeService.Format format) {
+        return "/events/" + eventId + "/qr." + format.name().toLowerCase();
+    }
+
+    /**
+     * Local path of a ticket's QR image, for the details page.
+     */
+    public static String ticketQrPath(Long eventId, Long rsvpId, QrCodeService.Format format) {
+        return "/events/" + eventId + "/tickets/" + rsvpId + "/qr." + format.name().toLowerCase();
+    }
+
+    @GetMapping("/events/{id}/qr.{extension}")
+    public ResponseEntity<byte[]> eventQr(@PathVariable Long id, @PathVariable String extension,
+                                          WebRequest request) {
+        QrCodeService.Format format = QrCodeService.Format.fromExtension(extension);
+        if (format == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eventUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/events/")
+                .path(String.valueOf(id))
+                .queryParam("src", "qr")
+                .toUriString();
+        return image(qrCodeService.getImage(eventUrl, format), CacheControl.maxAge(MAX_AGE_DAYS, TimeUnit.DAYS)
+                .cachePublic().immutable(), request);
+    }
+
+    @GetMapping("/events/{id}/tickets/{rsvpId}/qr.{extension}")
+    public ResponseEntity<byte[]> ticketQr(@PathVariable Long id, @PathVariable Long rsvpId,
+                                           @PathVariable String extension, Principal principal,
+                                           WebRequest request) {
+        QrCodeService.Format format = QrCodeService.Format.fromExtension(extension);
+        // only the RSVP's owner and not while the payment is pending, anything else looks like a missing ticket
+        boolean ownTicket = principal != null && rsvpRepository
+                .findByUser_UsernameAndEvent_Id(principal.getName(), id)
+                .filter(rsvp -> rsvp.getId().equals(rsvpId) && !"pending".equals(rsvp.getPaymentStatus()))
+                .isPresent();
+        if (format == null || !ownTicket) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // the bare token keeps the code small, door scanners read it without a page load
+        String token = ticketTokenService.issue(id, rsvpId);
+        return image(qrCodeService.getImage(token, format), CacheControl.maxAge(TICKET_MAX_AGE_DAYS, TimeUnit.DAYS)
+                .cachePrivate(), request);
+    }
+
+    private ResponseEntity<byte[]> image(QrCodeService.QrImage image, CacheControl cacheControl, WebRequest request) {
+        String etag = "\"" + image.getHash() + "\"";
+        if (request.checkNotModified(etag)) {
+            // 304, ETag already set on the response
+            return null;
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, image.getFormat().getContentType())
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(image.getBytes());
+    }
+}
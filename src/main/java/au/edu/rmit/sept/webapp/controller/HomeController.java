@@ -20,6 +20,8 @@ import au.edu.rmit.sept.webapp.dto.EventCardDTO;
 import au.edu.rmit.sept.webapp.model.Category;
 import au.edu.rmit.sept.webapp.service.EventService;
 import au.edu.rmit.sept.webapp.service.KeywordService;
+import au.edu.rmit.sept.webapp.service.SavedSearchService;
+import au.edu.rmit.sept.webapp.service.TrendingService;
 import au.edu.rmit.sept.webapp.service.UserService;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.service.KeywordService;
@@ -50,6 +52,10 @@ public class HomeController {
     private final UserService userService;
     private final CategoryRepository categoryRepository;
     private final KeywordService keywordService;
+    private final SavedSearchService savedSearchService;
+    private final TrendingService trendingService;
+
+    private static final int TRENDING_LIMIT = 6;
     
     /**
      * Constructor injection - modern Spring best practice over @Autowired field injection.
@@ -66,11 +72,15 @@ public class HomeController {
     public HomeController(EventService eventService, 
                          UserService userService, 
                          CategoryRepository categoryRepository,
-                         KeywordService keywordService) {
+                         KeywordService keywordService,
+                         SavedSearchService savedSearchService,
+                         TrendingService trendingService) {
         this.eventService = eventService;
         this.userService = userService;
         this.categoryRepository = categoryRepository;
         this.keywordService = keywordService;
+        this.savedSearchService = savedSearchService;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -178,6 +188,13 @@ public class HomeController {
         // Get recommended events for authenticated users
         List<EventCardDTO> recommendedEvents = eventService.getRecommendedEvents(userId);
         model.addAttribute("recommendedEvents", recommendedEvents);
+        // Trending snapshot, held in memory by TrendingService
+        model.addAttribute("trendingEvents", trendingService.getTrendingEvents(TRENDING_LIMIT));
+
+        // new events matching the user's saved searches
+        if (userId != null) {
+            model.addAttribute("searchAlerts", savedSearchService.getUnseenAlerts(userId, 5));
+        }
 
         return "home";
     }
@@ -268,6 +285,8 @@ public class HomeController {
         // Common data for both tabs
         List<EventCardDTO> recommendedEvents = eventService.getRecommendedEvents(userId);
         model.addAttribute("recommendedEvents", recommendedEvents);
+        // Trending snapshot, held in memory by TrendingService
+        model.addAttribute("trendingEvents", trendingService.getTrendingEvents(TRENDING_LIMIT));
         
         List<Category> categories = categoryRepository.findAll();
         model.addAttribute("categories", categories);
@@ -339,6 +358,8 @@ public class HomeController {
 
         List<EventCardDTO> recommendedEvents = eventService.getRecommendedEvents(userId);
         model.addAttribute("recommendedEvents", recommendedEvents);
+        // Trending snapshot, held in memory by TrendingService
+        model.addAttribute("trendingEvents", trendingService.getTrendingEvents(TRENDING_LIMIT));
         
         
         return "home";
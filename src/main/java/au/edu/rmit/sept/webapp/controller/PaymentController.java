@@ -1,6 +1,7 @@
 package au.edu.rmit.sept.webapp.controller;
 
 import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.service.IdempotencyService;
 import au.edu.rmit.sept.webapp.service.StripeService;
 import au.edu.rmit.sept.webapp.service.UserService;
 import org.springframework.http.ResponseEntity;
@@ -30,10 +31,13 @@ public class PaymentController {
     // StripeService handles webhook verification and payment processing logic
     private final StripeService stripeService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
-    public PaymentController(StripeService stripeService, UserService userService) {
+    public PaymentController(StripeService stripeService, UserService userService,
+                             IdempotencyService idempotencyService) {
         this.stripeService = stripeService;
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -47,8 +51,12 @@ public class PaymentController {
      * 5. After payment, Stripe redirects back to event page
      * 6. Webhook updates payment status asynchronously
      *
+     * A retried submission (same idempotency key) is sent to the session created by the first
+     * one instead of creating another.
+     *
      * @param eventId The event being paid for
      * @param rsvpId The RSVP record to associate with payment
+     * @param idempotencyKey One-time key from the form (or the Idempotency-Key header), optional
      * @param authentication Current logged-in user
      * @param redirectAttributes Flash attributes for error messages
      * @return Redirect to Stripe checkout page or back to event page on error
@@ -57,8 +65,18 @@ public class PaymentController {
     public String createCheckoutSession(
             @RequestParam Long eventId,
             @RequestParam Long rsvpId,
+            @RequestParam(required = false) String idempotencyKey,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyHeader,
             Authentication authentication,
             RedirectAttributes redirectAttributes) {
+        String key = idempotencyKey != null ? idempotencyKey : idempotencyHeader;
+        return idempotencyService.execute(key, "checkout:" + rsvpId + ":" + authentication.getName(),
+                redirectAttributes, "redirect:/events/" + eventId,
+                () -> doCreateCheckoutSession(eventId, rsvpId, authentication, redirectAttributes));
+    }
+
+    private String doCreateCheckoutSession(Long eventId, Long rsvpId, Authentication authentication,
+                                           RedirectAttributes redirectAttributes) {
         try {
             // Get current user
             User user = userService.findByUsername(authentication.getName())
@@ -3,8 +3,11 @@ package au.edu.rmit.sept.webapp.controller;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -14,9 +17,12 @@ import au.edu.rmit.sept.webapp.model.RSVP;
 import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.service.IdempotencyService;
 import au.edu.rmit.sept.webapp.service.RSVPService;
 import au.edu.rmit.sept.webapp.service.StripeService;
 import au.edu.rmit.sept.webapp.service.UserService;
+import au.edu.rmit.sept.webapp.service.WaitingRoomService;
+import au.edu.rmit.sept.webapp.service.WaitlistService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -29,17 +35,26 @@ public class RSVPController {
     private final UserService userService;
     private final StripeService stripeService;
     private final RSVPRepository rsvpRepository;
+    private final WaitingRoomService waitingRoomService;
+    private final WaitlistService waitlistService;
+    private final IdempotencyService idempotencyService;
 
     public RSVPController(RSVPService rsvpService,
             EventRepository eventRepository,
             UserService userService,
             StripeService stripeService,
-            RSVPRepository rsvpRepository) {
+            RSVPRepository rsvpRepository,
+            WaitingRoomService waitingRoomService,
+            WaitlistService waitlistService,
+            IdempotencyService idempotencyService) {
         this.rsvpService = rsvpService;
         this.eventRepository = eventRepository;
         this.userService = userService;
         this.stripeService = stripeService;
         this.rsvpRepository = rsvpRepository;
+        this.waitingRoomService = waitingRoomService;
+        this.waitlistService = waitlistService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -59,11 +74,32 @@ public class RSVPController {
      * Handle RSVP creation.
      * For paid events, redirects to Stripe checkout.
      * For free events, creates RSVP and redirects back to event page.
+     * Events with a waiting room queue the user first (no database work until admitted).
+     * A retried submission (same idempotency key) gets the first one's response replayed.
      */
     @PostMapping("/{eventId}")
     public String createRSVP(@PathVariable Long eventId,
+            @RequestParam(required = false) String idempotencyKey,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyHeader,
             Authentication authentication,
             RedirectAttributes redirectAttributes) {
+        String key = idempotencyKey != null ? idempotencyKey : idempotencyHeader;
+        return idempotencyService.execute(key, "rsvp:" + eventId + ":" + authentication.getName(),
+                redirectAttributes, "redirect:/events/" + eventId,
+                () -> doCreateRSVP(eventId, authentication, redirectAttributes));
+    }
+
+    private String doCreateRSVP(Long eventId, Authentication authentication, RedirectAttributes redirectAttributes) {
+        WaitingRoomService.Place place = waitingRoomService.enter(eventId, authentication.getName());
+        if (place.getStatus() == WaitingRoomService.Status.ROOM_FULL) {
+            redirectAttributes.addFlashAttribute("error",
+                    "The waiting room for this event is full, please try again later");
+            return "redirect:/events/" + eventId;
+        }
+        if (place.getStatus() != WaitingRoomService.Status.PROCEED) {
+            return "redirect:/rsvp/" + eventId + "/waiting-room?token=" + place.getToken();
+        }
+
         try {
             // Get current user
             User user = userService.findByUsername(authentication.getName())
@@ -96,6 +132,54 @@ public class RSVPController {
         }
     }
 
+    /**
+     * Waiting room page, polls the waiting room API until the user is admitted.
+     */
+    @GetMapping("/{eventId}/waiting-room")
+    public String waitingRoom(@PathVariable Long eventId,
+            @RequestParam(required = false) String token,
+            Authentication authentication,
+            Model model) {
+        WaitingRoomService.Place place = waitingRoomService.status(eventId, token, authentication.getName());
+        if (place.getStatus() == WaitingRoomService.Status.PROCEED) {
+            return "redirect:/events/" + eventId;
+        }
+        model.addAttribute("pageTitle", "Waiting Room");
+        model.addAttribute("eventId", eventId);
+        model.addAttribute("place", place);
+        return "events/waiting-room";
+    }
+
+    /**
+     * Join a full event's waitlist, promoted to an RSVP automatically when a spot frees up.
+     */
+    @PostMapping("/{eventId}/waitlist")
+    public String joinWaitlist(@PathVariable Long eventId,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
+        try {
+            long position = waitlistService.join(eventId, authentication.getName());
+            redirectAttributes.addFlashAttribute("success",
+                    "You're #" + position + " on the waitlist, we'll RSVP you automatically when a spot frees up");
+        } catch (IllegalStateException | EntityNotFoundException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/events/" + eventId;
+    }
+
+    @PostMapping("/{eventId}/waitlist/leave")
+    public String leaveWaitlist(@PathVariable Long eventId,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
+        try {
+            waitlistService.leave(eventId, authentication.getName());
+            redirectAttributes.addFlashAttribute("success", "You have left the waitlist");
+        } catch (IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/events/" + eventId;
+    }
+
     @PostMapping("/cancel")
     public String cancelRSVP(@RequestParam Long eventId,
             Authentication auth,
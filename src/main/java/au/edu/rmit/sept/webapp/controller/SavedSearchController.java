@@ -0,0 +1,111 @@
+package au.edu.rmit.sept.webapp.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import au.edu.rmit.sept.webapp.service.SavedSearchService;
+import au.edu.rmit.sept.webapp.service.UserService;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Saved searches and their alerts.
+ * Form posts come from the home page filter bar and redirect back to it,
+ * JSON endpoints list searches and alerts for the current user.
+ * All paths require authentication (not in SecurityConfig permitAll list).
+ */
+@Controller
+public class SavedSearchController {
+
+    private static final int MAX_ALERTS = 20;
+
+    private final SavedSearchService savedSearchService;
+    private final UserService userService;
+
+    public SavedSearchController(SavedSearchService savedSearchService, UserService userService) {
+        this.savedSearchService = savedSearchService;
+        this.userService = userService;
+    }
+
+    /**
+     * Saves the current home page filter, then returns to the same filtered view.
+     */
+    @PostMapping("/saved-searches")
+    public String saveSearch(@RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> keywordIds,
+            @RequestParam(required = false) String searchTerm,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            savedSearchService.saveSearch(userId, categoryId, keywordIds, searchTerm);
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Search saved. You'll be alerted when new matching events are created.");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+
+        // keep the user's filter in place
+        if (categoryId != null) {
+            redirectAttributes.addAttribute("categoryId", categoryId);
+        }
+        if (keywordIds != null && !keywordIds.isEmpty()) {
+            redirectAttributes.addAttribute("keywordIds", keywordIds);
+        }
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            redirectAttributes.addAttribute("searchTerm", searchTerm);
+        }
+        return "redirect:/";
+    }
+
+    @PostMapping("/saved-searches/{id}/delete")
+    public String deleteSavedSearch(@PathVariable Long id,
+            Authentication authentication,
+            RedirectAttributes redirectAttributes) {
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            savedSearchService.deleteSavedSearch(id, userId);
+            redirectAttributes.addFlashAttribute("successMessage", "Saved search deleted");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/";
+    }
+
+    @PostMapping("/saved-searches/alerts/dismiss")
+    public String dismissAlerts(Authentication authentication) {
+        Long userId = userService.getUserIdByUsername(authentication.getName());
+        savedSearchService.dismissAlerts(userId);
+        return "redirect:/";
+    }
+
+    @GetMapping("/api/saved-searches")
+    @ResponseBody
+    public ResponseEntity<?> listSavedSearches(Authentication authentication) {
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            return ResponseEntity.ok(Map.of("savedSearches", savedSearchService.getSavedSearches(userId)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/saved-searches/alerts")
+    @ResponseBody
+    public ResponseEntity<?> listAlerts(Authentication authentication) {
+        try {
+            Long userId = userService.getUserIdByUsername(authentication.getName());
+            return ResponseEntity.ok(Map.of("alerts", savedSearchService.getUnseenAlerts(userId, MAX_ALERTS)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of an event's public "who's going" list, most recent RSVPs first.
+ * nextCursor is passed back to fetch the following page, null on the last page.
+ */
+public class AttendeePage {
+
+    private final List<EventDetailsDTO.AttendeeDTO> attendees;
+    private final String nextCursor;
+
+    public AttendeePage(List<EventDetailsDTO.AttendeeDTO> attendees, String nextCursor) {
+        this.attendees = attendees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EventDetailsDTO.AttendeeDTO> getAttendees() {
+        return attendees;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,40 @@
+package au.edu.rmit.sept.webapp.dto;
+
+/**
+ * Outcome of a bulk organiser operation (cancel, block, unblock) for one user.
+ */
+public class BulkAttendeeResult {
+
+    public enum Status {
+        // the user's RSVP was removed
+        CANCELLED,
+        // the user is now blocked (an RSVP they had was removed)
+        BLOCKED,
+        // the user's block was lifted
+        UNBLOCKED,
+        // cancel: the user has no RSVP for the event
+        NO_RSVP,
+        // block: the user was blocked before
+        ALREADY_BLOCKED,
+        // unblock: the user wasn't blocked
+        NOT_BLOCKED,
+        // block: no user with this id
+        USER_NOT_FOUND
+    }
+
+    private final Long userId;
+    private final Status status;
+
+    public BulkAttendeeResult(Long userId, Status status) {
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
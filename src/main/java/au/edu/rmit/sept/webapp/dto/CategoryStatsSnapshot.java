@@ -0,0 +1,76 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable category cards and counts for the Browse Categories page, rebuilt periodically by CategoryStatsService.
+ * One instance is shared by every request until the next refresh replaces it.
+ * Site-wide totals come from SiteStatisticsService.
+ */
+public class CategoryStatsSnapshot {
+    private final List<CategoryCard> categories;
+    private final Map<Long, Long> upcomingCounts;
+    private final LocalDateTime refreshedAt;
+
+    public CategoryStatsSnapshot(List<CategoryCard> categories, Map<Long, Long> upcomingCounts,
+                                 LocalDateTime refreshedAt) {
+        this.categories = List.copyOf(categories);
+        this.upcomingCounts = Map.copyOf(upcomingCounts);
+        this.refreshedAt = refreshedAt;
+    }
+
+    // Getters only, instances are shared across requests
+    public long getTotalCategories() {
+        return categories.size();
+    }
+
+    public List<CategoryCard> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Category ID -> upcoming active events, categories without events are absent.
+     */
+    public Map<Long, Long> getUpcomingCounts() {
+        return upcomingCounts;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    /**
+     * Category fields the page renders, copied from the entity so no session is needed.
+     */
+    public static class CategoryCard {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final String colourCode;
+
+        public CategoryCard(Long id, String name, String description, String colourCode) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.colourCode = colourCode;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getColourCode() {
+            return colourCode;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Every ticket of an event, for scanning devices that check in offline.
+ * Tickets are identified by tokenHash (hex SHA-256 of the ticket token), so a leaked manifest
+ * can't be turned into tickets. Scans made offline are uploaded to the check-in API afterwards.
+ */
+public class CheckInManifest {
+
+    public static class Ticket {
+        private final Long rsvpId;
+        private final String username;
+        private final String tokenHash;
+        private final boolean checkedIn;
+
+        public Ticket(Long rsvpId, String username, String tokenHash, boolean checkedIn) {
+            this.rsvpId = rsvpId;
+            this.username = username;
+            this.tokenHash = tokenHash;
+            this.checkedIn = checkedIn;
+        }
+
+        public Long getRsvpId() {
+            return rsvpId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getTokenHash() {
+            return tokenHash;
+        }
+
+        public boolean isCheckedIn() {
+            return checkedIn;
+        }
+    }
+
+    private final Long eventId;
+    private final LocalDateTime generatedAt;
+    private final List<Ticket> tickets;
+
+    public CheckInManifest(Long eventId, LocalDateTime generatedAt, List<Ticket> tickets) {
+        this.eventId = eventId;
+        this.generatedAt = generatedAt;
+        this.tickets = tickets;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+}
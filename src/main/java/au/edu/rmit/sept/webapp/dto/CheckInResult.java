@@ -0,0 +1,45 @@
+package au.edu.rmit.sept.webapp.dto;
+
+/**
+ * Outcome of one ticket scan at the door.
+ * rsvpId and username are set when the token named a ticket of the event, null otherwise.
+ */
+public class CheckInResult {
+
+    public enum Status {
+        // first scan of a valid ticket
+        ADMITTED,
+        // valid ticket, scanned before
+        ALREADY_CHECKED_IN,
+        // malformed token or bad signature
+        INVALID,
+        // valid ticket for a different event
+        WRONG_EVENT,
+        // valid signature but the RSVP no longer exists (cancelled, blocked)
+        NOT_FOUND,
+        // ticket of a paid event whose payment is still pending
+        NOT_PAID
+    }
+
+    private final Status status;
+    private final Long rsvpId;
+    private final String username;
+
+    public CheckInResult(Status status, Long rsvpId, String username) {
+        this.status = status;
+        this.rsvpId = rsvpId;
+        this.username = username;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getRsvpId() {
+        return rsvpId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
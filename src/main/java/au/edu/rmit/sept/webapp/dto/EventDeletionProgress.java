@@ -0,0 +1,62 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a deleted event's background cleanup (EventDeletionService).
+ */
+public class EventDeletionProgress {
+
+    private final Long eventId;
+    private final LocalDateTime requestedAt;
+    // null until the job has started and counted the event's rows
+    private final Long rowsTotal;
+    private final long rowsDeleted;
+    private final int photosDeleted;
+    private final LocalDateTime finishedAt;
+    // last failed attempt, the job is retried
+    private final String lastError;
+
+    public EventDeletionProgress(Long eventId, LocalDateTime requestedAt, Long rowsTotal, long rowsDeleted,
+                                 int photosDeleted, LocalDateTime finishedAt, String lastError) {
+        this.eventId = eventId;
+        this.requestedAt = requestedAt;
+        this.rowsTotal = rowsTotal;
+        this.rowsDeleted = rowsDeleted;
+        this.photosDeleted = photosDeleted;
+        this.finishedAt = finishedAt;
+        this.lastError = lastError;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Long getRowsTotal() {
+        return rowsTotal;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public int getPhotosDeleted() {
+        return photosDeleted;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+}
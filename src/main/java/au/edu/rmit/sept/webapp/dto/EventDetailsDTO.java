@@ -43,14 +43,18 @@ public class EventDetailsDTO {
     private boolean userBlockedStatus; // Indicates if user is blocked from RSVPing
     private String userPaymentStatus; // "pending", "paid", or null
     private Long userRsvpId; // needed for payment form
+    private long userWaitlistPosition; // 1-based, 0 = not on the waitlist
+    private LocalDateTime userHoldExpiresAt; // payment deadline while pending, else null
 
     // Creator information
     private String createdByUsername;
     private Long createdById;
     private LocalDateTime createdAt;
 
-    // Future expansion - attendee list
+    // First page of the attendee list, the rest is paged from the attendee list API
     private List<AttendeeDTO> attendees = new ArrayList<>();
+    // cursor for the next attendee page, null if the list is complete
+    private String attendeesNextCursor;
 
     private List<KeywordDTO> keywords;
 
@@ -203,6 +207,22 @@ public class EventDetailsDTO {
         this.userRsvpId = userRsvpId;
     }
 
+    public long getUserWaitlistPosition() {
+        return userWaitlistPosition;
+    }
+
+    public void setUserWaitlistPosition(long userWaitlistPosition) {
+        this.userWaitlistPosition = userWaitlistPosition;
+    }
+
+    public LocalDateTime getUserHoldExpiresAt() {
+        return userHoldExpiresAt;
+    }
+
+    public void setUserHoldExpiresAt(LocalDateTime userHoldExpiresAt) {
+        this.userHoldExpiresAt = userHoldExpiresAt;
+    }
+
     public String getCreatedByUsername() {
         return createdByUsername;
     }
@@ -243,6 +263,14 @@ public class EventDetailsDTO {
         this.attendees = attendees;
     }
 
+    public String getAttendeesNextCursor() {
+        return attendeesNextCursor;
+    }
+
+    public void setAttendeesNextCursor(String attendeesNextCursor) {
+        this.attendeesNextCursor = attendeesNextCursor;
+    }
+
     // Helper method for combined date/time
     public LocalDateTime getEventDateTime() {
         if (eventDate != null && eventTime != null) {
@@ -253,30 +281,20 @@ public class EventDetailsDTO {
 
     /**
      * Inner class for attendee information.
-     * Can be expanded later to include profile pictures, etc.
+     * Public "who's going" fields only, also returned by the attendee list API.
      */
     public static class AttendeeDTO {
-        private Long userId;
         private String username;
         private LocalDateTime rsvpDate;
 
         public AttendeeDTO() {
         }
 
-        public AttendeeDTO(Long userId, String username, LocalDateTime rsvpDate) {
-            this.userId = userId;
+        public AttendeeDTO(String username, LocalDateTime rsvpDate) {
             this.username = username;
             this.rsvpDate = rsvpDate;
         }
 
-        public Long getUserId() {
-            return userId;
-        }
-
-        public void setUserId(Long userId) {
-            this.userId = userId;
-        }
-
         public String getUsername() {
             return username;
         }
@@ -0,0 +1,47 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.util.List;
+
+/**
+ * Read model for the event details page: the event with the viewer's RSVP state,
+ * the newest reviews and the rating summary, built by EventDetailsService in one call.
+ */
+public class EventDetailsPage {
+    private final EventDetailsDTO event;
+    private final List<DisplayReviewDTO> recentReviews;
+    private final double averageRating;
+    private final long totalReviews;
+    private final long[] ratingDistribution;
+
+    public EventDetailsPage(EventDetailsDTO event, List<DisplayReviewDTO> recentReviews, double averageRating,
+                            long totalReviews, long[] ratingDistribution) {
+        this.event = event;
+        this.recentReviews = recentReviews;
+        this.averageRating = averageRating;
+        this.totalReviews = totalReviews;
+        this.ratingDistribution = ratingDistribution;
+    }
+
+    public EventDetailsDTO getEvent() {
+        return event;
+    }
+
+    public List<DisplayReviewDTO> getRecentReviews() {
+        return recentReviews;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    /**
+     * Reviews per star, index 0 is 1 star.
+     */
+    public long[] getRatingDistribution() {
+        return ratingDistribution;
+    }
+}
@@ -0,0 +1,58 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight, immutable event summary held in memory by UpcomingEventCatalog.
+ * Used for sidebar/carousel lists (similar events, trending) rendered without a database query.
+ */
+public class EventSummaryDTO {
+    private final Long eventId;
+    private final String title;
+    private final LocalDate eventDate;
+    private final LocalTime eventTime;
+    private final String location;
+    private final String categoryName;
+    private final String categoryColour;
+
+    public EventSummaryDTO(Long eventId, String title, LocalDate eventDate, LocalTime eventTime,
+                           String location, String categoryName, String categoryColour) {
+        this.eventId = eventId;
+        this.title = title;
+        this.eventDate = eventDate;
+        this.eventTime = eventTime;
+        this.location = location;
+        this.categoryName = categoryName;
+        this.categoryColour = categoryColour;
+    }
+
+    // Getters only, instances are shared across requests
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public LocalTime getEventTime() {
+        return eventTime;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getCategoryColour() {
+        return categoryColour;
+    }
+}
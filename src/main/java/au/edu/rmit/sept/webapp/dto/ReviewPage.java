@@ -0,0 +1,26 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of an event's "view all reviews" stream, newest first.
+ * nextCursor is passed back to fetch the following page, null on the last page.
+ */
+public class ReviewPage {
+
+    private final List<DisplayReviewDTO> reviews;
+    private final String nextCursor;
+
+    public ReviewPage(List<DisplayReviewDTO> reviews, String nextCursor) {
+        this.reviews = reviews;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<DisplayReviewDTO> getReviews() {
+        return reviews;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,80 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for listing a user's saved searches.
+ */
+public class SavedSearchDTO {
+    private Long id;
+    private Long categoryId;
+    private String categoryName;
+    private List<String> keywordNames;
+    private String searchText;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public SavedSearchDTO() {
+    }
+
+    // Constructor with parameters
+    public SavedSearchDTO(Long id, Long categoryId, String categoryName, List<String> keywordNames,
+                          String searchText, LocalDateTime createdAt) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.keywordNames = keywordNames;
+        this.searchText = searchText;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public List<String> getKeywordNames() {
+        return keywordNames;
+    }
+
+    public void setKeywordNames(List<String> keywordNames) {
+        this.keywordNames = keywordNames;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public void setSearchText(String searchText) {
+        this.searchText = searchText;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,80 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a saved search alert, a newly created event that matched one of the user's searches.
+ */
+public class SearchAlertDTO {
+    private Long alertId;
+    private Long eventId;
+    private String eventTitle;
+    private LocalDate eventDate;
+    private String categoryName;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public SearchAlertDTO() {
+    }
+
+    // Constructor with parameters
+    public SearchAlertDTO(Long alertId, Long eventId, String eventTitle, LocalDate eventDate,
+                          String categoryName, LocalDateTime createdAt) {
+        this.alertId = alertId;
+        this.eventId = eventId;
+        this.eventTitle = eventTitle;
+        this.eventDate = eventDate;
+        this.categoryName = categoryName;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+    public Long getAlertId() {
+        return alertId;
+    }
+
+    public void setAlertId(Long alertId) {
+        this.alertId = alertId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public void setEventTitle(String eventTitle) {
+        this.eventTitle = eventTitle;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDate eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
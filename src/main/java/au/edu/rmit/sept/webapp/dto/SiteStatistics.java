@@ -0,0 +1,95 @@
+package au.edu.rmit.sept.webapp.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the site-wide counters kept by SiteStatisticsService.
+ * Future means dated today or later, the same split as the admin dashboard tabs.
+ */
+public class SiteStatistics {
+    private final long activeFutureEvents;
+    private final long deactivatedFutureEvents;
+    private final long activePastEvents;
+    private final long deactivatedPastEvents;
+    private final long activeAttendees;
+    private final long activeUsers;
+    private final long deactivatedUsers;
+    private final LocalDate countedFor;
+
+    public SiteStatistics(long activeFutureEvents, long deactivatedFutureEvents, long activePastEvents,
+                          long deactivatedPastEvents, long activeAttendees, long activeUsers, long deactivatedUsers,
+                          LocalDate countedFor) {
+        this.activeFutureEvents = activeFutureEvents;
+        this.deactivatedFutureEvents = deactivatedFutureEvents;
+        this.activePastEvents = activePastEvents;
+        this.deactivatedPastEvents = deactivatedPastEvents;
+        this.activeAttendees = activeAttendees;
+        this.activeUsers = activeUsers;
+        this.deactivatedUsers = deactivatedUsers;
+        this.countedFor = countedFor;
+    }
+
+    public long getActiveFutureEvents() {
+        return activeFutureEvents;
+    }
+
+    public long getDeactivatedFutureEvents() {
+        return deactivatedFutureEvents;
+    }
+
+    public long getActivePastEvents() {
+        return activePastEvents;
+    }
+
+    public long getDeactivatedPastEvents() {
+        return deactivatedPastEvents;
+    }
+
+    // every active event, past and future
+    public long getTotalEvents() {
+        return activeFutureEvents + activePastEvents;
+    }
+
+    /**
+     * RSVPs to active events.
+     */
+    public long getActiveAttendees() {
+        return activeAttendees;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public long getDeactivatedUsers() {
+        return deactivatedUsers;
+    }
+
+    /**
+     * Day the future/past split was made for.
+     */
+    public LocalDate getCountedFor() {
+        return countedFor;
+    }
+
+    /**
+     * Field-by-field difference (this minus other), used to report drift.
+     */
+    public String describeDifference(SiteStatistics other) {
+        StringBuilder diff = new StringBuilder();
+        appendDifference(diff, "activeFutureEvents", activeFutureEvents - other.activeFutureEvents);
+        appendDifference(diff, "deactivatedFutureEvents", deactivatedFutureEvents - other.deactivatedFutureEvents);
+        appendDifference(diff, "activePastEvents", activePastEvents - other.activePastEvents);
+        appendDifference(diff, "deactivatedPastEvents", deactivatedPastEvents - other.deactivatedPastEvents);
+        appendDifference(diff, "activeAttendees", activeAttendees - other.activeAttendees);
+        appendDifference(diff, "activeUsers", activeUsers - other.activeUsers);
+        appendDifference(diff, "deactivatedUsers", deactivatedUsers - other.deactivatedUsers);
+        return diff.toString();
+    }
+
+    private static void appendDifference(StringBuilder diff, String name, long delta) {
+        if (delta != 0) {
+            diff.append(diff.length() == 0 ? "" : ", ").append(name).append(delta > 0 ? " +" : " ").append(delta);
+        }
+    }
+}
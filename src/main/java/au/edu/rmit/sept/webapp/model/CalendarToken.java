@@ -0,0 +1,75 @@
+package au.edu.rmit.sept.webapp.model;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * CalendarToken Entity
+ * Secret token in a user's iCalendar subscription URL (/calendar/{token}.ics).
+ * One per user, keyed by user id, resetting the subscription overwrites the token.
+ * feedVersion is the feed's ETag and Last-Modified, moved on each change to the user's feed.
+ */
+@Entity
+@Table(name = "calendar_tokens")
+public class CalendarToken {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String token;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "feed_version", nullable = false)
+    private long feedVersion;
+
+    // Constructors
+    public CalendarToken() {
+    }
+
+    public CalendarToken(User user, String token) {
+        this.user = user;
+        this.token = token;
+        this.createdAt = LocalDateTime.now();
+        this.feedVersion = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getFeedVersion() {
+        return feedVersion;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -61,6 +62,16 @@ public class Event {
     @Column(nullable = true)
     private Integer capacity;
 
+    // seats taken, changed only by the conditional UPDATEs in EventRepository (allocateSeat/releaseSeat)
+    // never written by JPA, so saving a loaded event can't overwrite a concurrent allocation
+    @ColumnDefault("0")
+    @Column(name = "rsvp_count", nullable = false, insertable = false, updatable = false)
+    private int rsvpCount;
+
+    // RSVPs queue in WaitingRoomService before reaching RSVPService, set by the organiser
+    @Column(name = "waiting_room", nullable = false)
+    private boolean waitingRoom;
+
     @NotNull(message = "Event must have a creator")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
@@ -89,6 +100,12 @@ public class Event {
     @Column(name = "deactivated_by_admin_id")
     private Long deactivatedByAdminId;
 
+    // set with is_deactivated when the organiser deletes the event, EventDeletionService then removes
+    // its rows in the background; JDBC only, so a concurrent save can't bring the event back
+    @ColumnDefault("false")
+    @Column(name = "is_deleting", nullable = false, insertable = false, updatable = false)
+    private boolean deleting;
+
     @Column(name = "price", precision = 10, scale = 2)
     private BigDecimal price;
 
@@ -127,6 +144,10 @@ public class Event {
         this.id = id;
     }
 
+    public String getUid() {
+        return uid;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -171,6 +192,18 @@ public class Event {
         return capacity;
     }
 
+    public int getRsvpCount() {
+        return rsvpCount;
+    }
+
+    public boolean isWaitingRoom() {
+        return waitingRoom;
+    }
+
+    public void setWaitingRoom(boolean waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
     public void setCapacity(Integer capacity) {
         this.capacity = capacity;
     }
@@ -225,6 +258,10 @@ public class Event {
         this.deactivated = deactivated;
     }
 
+    public boolean isDeleting() {
+        return deleting;
+    }
+
     public Long getDeactivatedByAdminId() {
         return deactivatedByAdminId;
     }
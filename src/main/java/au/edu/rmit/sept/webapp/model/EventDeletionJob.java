@@ -0,0 +1,138 @@
+package au.edu.rmit.sept.webapp.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventDeletionJob Entity
+ * Progress of a deleted event's background cleanup, written by EventDeletionService (JDBC, not JPA).
+ * Mapped so the dev/test schema has the table.
+ */
+@Entity
+@Table(name = "event_deletion_jobs",
+       indexes = @Index(name = "idx_event_deletion_jobs_finished_at", columnList = "finished_at"))
+public class EventDeletionJob {
+
+    // no foreign key, the job outlives the event row
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "organiser_id")
+    private Long organiserId;
+
+    @Column(name = "requested_by", nullable = false)
+    private Long requestedBy;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    // counted when the job starts
+    @Column(name = "rows_total")
+    private Long rowsTotal;
+
+    @ColumnDefault("0")
+    @Column(name = "rows_deleted", nullable = false)
+    private long rowsDeleted;
+
+    @ColumnDefault("0")
+    @Column(name = "photos_deleted", nullable = false)
+    private int photosDeleted;
+
+    // the node working on the job holds it until then
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Constructors
+    public EventDeletionJob() {
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getOrganiserId() {
+        return organiserId;
+    }
+
+    public void setOrganiserId(Long organiserId) {
+        this.organiserId = organiserId;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Long getRowsTotal() {
+        return rowsTotal;
+    }
+
+    public void setRowsTotal(Long rowsTotal) {
+        this.rowsTotal = rowsTotal;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public void setRowsDeleted(long rowsDeleted) {
+        this.rowsDeleted = rowsDeleted;
+    }
+
+    public int getPhotosDeleted() {
+        return photosDeleted;
+    }
+
+    public void setPhotosDeleted(int photosDeleted) {
+        this.photosDeleted = photosDeleted;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
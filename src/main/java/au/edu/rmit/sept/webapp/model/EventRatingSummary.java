@@ -0,0 +1,85 @@
+package au.edu.rmit.sept.webapp.model;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * EventRatingSummary Entity
+ * Running review aggregates of one event: sum and count of ratings plus a count per star.
+ * Created with the event, incremented by ReviewService in the transaction that saves a review
+ * (a single UPDATE, no read-modify-write). FK cascades at database level.
+ */
+@Entity
+@Table(name = "event_rating_summaries")
+public class EventRatingSummary {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "event_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+
+    // Constructors
+    public EventRatingSummary() {
+    }
+
+    public EventRatingSummary(Event event) {
+        this.event = event;
+    }
+
+    // Getters only, counters are changed by bulk UPDATE
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    // 0.0 without reviews
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    /**
+     * Reviews per star, index 0 is 1 star.
+     */
+    public long[] getDistribution() {
+        return new long[] { rating1, rating2, rating3, rating4, rating5 };
+    }
+}
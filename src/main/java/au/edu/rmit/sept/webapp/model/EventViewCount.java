@@ -0,0 +1,55 @@
+package au.edu.rmit.sept.webapp.model;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventViewCount Entity
+ * Total page views of one event, written by ViewCounterService in batched upserts (JDBC, not JPA).
+ * Mapped so the dev/test schema has the table, FK cascades at database level.
+ */
+@Entity
+@Table(name = "event_view_counts")
+public class EventViewCount {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "event_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public EventViewCount() {
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
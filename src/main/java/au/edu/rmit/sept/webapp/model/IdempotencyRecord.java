@@ -0,0 +1,68 @@
+package au.edu.rmit.sept.webapp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * IdempotencyRecord Entity
+ * First response to a request with an idempotency key, written by JdbcIdempotencyStore (JDBC, not JPA).
+ * Mapped so the dev/test schema has the table.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idem_key", length = 200)
+    private String key;
+
+    // null while the request is in progress
+    @Column(name = "response_view", length = 2048)
+    private String responseView;
+
+    // flash attributes as a JSON object
+    @Column(name = "response_flash", columnDefinition = "TEXT")
+    private String responseFlash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public IdempotencyRecord() {
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getResponseView() {
+        return responseView;
+    }
+
+    public void setResponseView(String responseView) {
+        this.responseView = responseView;
+    }
+
+    public String getResponseFlash() {
+        return responseFlash;
+    }
+
+    public void setResponseFlash(String responseFlash) {
+        this.responseFlash = responseFlash;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -34,6 +34,14 @@ public class RSVP {
     @Column(name = "amount_paid", precision = 10, scale = 2)
     private BigDecimal amountPaid;
 
+    // set in batches by CheckInService, null until the ticket is scanned at the door
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
+    // set while a paid RSVP waits for payment, SeatHoldService releases the seat once it passes
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     // Default constructor
     public RSVP() {
     }
@@ -100,4 +108,20 @@ public class RSVP {
     public void setAmountPaid(BigDecimal amountPaid) {
         this.amountPaid = amountPaid;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getCheckedInAt() {
+        return checkedInAt;
+    }
+
+    public void setCheckedInAt(LocalDateTime checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+}
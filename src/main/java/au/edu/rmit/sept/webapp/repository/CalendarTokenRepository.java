@@ -0,0 +1,40 @@
+package au.edu.rmit.sept.webapp.repository;
+
+import au.edu.rmit.sept.webapp.model.CalendarToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * CalendarTokenRepository
+ * Data access for iCalendar subscription tokens, keyed by user id.
+ */
+public interface CalendarTokenRepository extends JpaRepository<CalendarToken, Long> {
+
+    /**
+     * User id and feed version of a token, the only lookup a feed poll needs (unique index on token).
+     * Rows are [userId, feedVersion], scalars so the version is always read from the table.
+     */
+    @Query("SELECT t.userId, t.feedVersion FROM CalendarToken t WHERE t.token = :token")
+    List<Object[]> findFeedVersionByToken(@Param("token") String token);
+
+    /**
+     * Moves a subscriber's feed version on, to at least now and always past the current value.
+     * No-op for users without a subscription.
+     */
+    @Modifying
+    @Query(value = "UPDATE calendar_tokens SET feed_version = GREATEST(feed_version + 1, :now) " +
+                   "WHERE user_id = :userId", nativeQuery = true)
+    int bumpFeedVersion(@Param("userId") Long userId, @Param("now") long now);
+
+    /**
+     * Moves the feed version on for every subscriber with an RSVP to the event.
+     */
+    @Modifying
+    @Query(value = "UPDATE calendar_tokens SET feed_version = GREATEST(feed_version + 1, :now) " +
+                   "WHERE user_id IN (SELECT r.user_id FROM rsvp r WHERE r.event_id = :eventId)", nativeQuery = true)
+    int bumpFeedVersionsForEvent(@Param("eventId") Long eventId, @Param("now") long now);
+}
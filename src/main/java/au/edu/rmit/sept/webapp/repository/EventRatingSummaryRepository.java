@@ -0,0 +1,42 @@
+package au.edu.rmit.sept.webapp.repository;
+
+import au.edu.rmit.sept.webapp.model.EventRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EventRatingSummaryRepository extends JpaRepository<EventRatingSummary, Long> {
+
+    /**
+     * Adds one rating to the event's aggregates in a single atomic UPDATE.
+     *
+     * @return 1, or 0 if the event has no summary row
+     */
+    @Modifying
+    @Query("UPDATE EventRatingSummary s SET s.ratingSum = s.ratingSum + :rating, s.ratingCount = s.ratingCount + 1, " +
+           "s.rating1 = s.rating1 + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+           "s.rating2 = s.rating2 + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+           "s.rating3 = s.rating3 + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+           "s.rating4 = s.rating4 + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+           "s.rating5 = s.rating5 + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+           "WHERE s.eventId = :eventId")
+    int addRating(@Param("eventId") Long eventId, @Param("rating") int rating);
+
+    /**
+     * Creates a missing summary row from the event's reviews (events saved without one).
+     * Always inserts one row, all zeros for an event without reviews; fails on the primary key
+     * if the row already exists.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO event_rating_summaries " +
+                   "(event_id, rating_sum, rating_count, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+                   "SELECT :eventId, COALESCE(SUM(rating), 0), COUNT(*), " +
+                   "COALESCE(SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), 0) " +
+                   "FROM reviews WHERE event_id = :eventId", nativeQuery = true)
+    int insertFromReviews(@Param("eventId") Long eventId);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -21,6 +22,8 @@ import au.edu.rmit.sept.webapp.model.Event;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository for Event entities.
@@ -50,6 +53,18 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                                    @Param("time") LocalTime time, 
                                    Pageable pageable);
 
+    /**
+     * Unpaged variant of findUpcomingEvents for in-memory indexes
+     * (similar events, upcoming event catalog) that are rebuilt in the background.
+     * Unpaged so the keyword fetch doesn't trigger in-memory pagination.
+     */
+    @EntityGraph(attributePaths = {"category", "createdBy", "keywords"})
+    @Query("SELECT e FROM Event e WHERE " +
+           "(e.eventDate > :date OR (e.eventDate = :date AND e.eventTime > :time)) " +
+           "AND e.deactivated = false")
+    List<Event> findAllUpcomingWithKeywords(@Param("date") LocalDate date,
+                                            @Param("time") LocalTime time);
+
     // Alternative method using JOIN FETCH (more explicit but less flexible)
     @Query("SELECT e FROM Event e JOIN FETCH e.category LEFT JOIN FETCH e.createdBy WHERE " +
            "(e.eventDate > :date OR (e.eventDate = :date AND e.eventTime > :time)) " +
@@ -79,6 +94,47 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     /** Optional convenience lookup using stable public UID */
     Optional<Event> findByUid(String uid);
     
+    /**
+     * Takes a seat: one conditional UPDATE, the row lock serialises concurrent RSVPs to the event
+     * and the capacity check happens under it, so an event can't be overbooked.
+     *
+     * @return 1 if a seat was taken, 0 if the event is full (or doesn't exist)
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET rsvp_count = rsvp_count + 1 " +
+                   "WHERE id = :id AND (capacity IS NULL OR rsvp_count < capacity)", nativeQuery = true)
+    int allocateSeat(@Param("id") Long id);
+
+    /**
+     * Gives a seat back when an RSVP is removed.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET rsvp_count = rsvp_count - 1 WHERE id = :id AND rsvp_count > 0", nativeQuery = true)
+    int releaseSeat(@Param("id") Long id);
+
+    /**
+     * Recounts every event's seats from the rsvp table, for RSVPs inserted directly (sample data).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET rsvp_count = (SELECT COUNT(*) FROM rsvp r WHERE r.event_id = events.id)",
+           nativeQuery = true)
+    int recountSeats();
+
+    /**
+     * Seats left, null if the event has no capacity limit (or doesn't exist).
+     */
+    @Query("SELECT e.capacity - e.rsvpCount FROM Event e WHERE e.id = :id")
+    Integer findFreeSeats(@Param("id") Long id);
+
+    // Events with the waiting room on, kept in memory by WaitingRoomService
+    @Query("SELECT e.id FROM Event e WHERE e.waitingRoom = true")
+    List<Long> findWaitingRoomEventIds();
+
+    @Modifying
+    @Query("UPDATE Event e SET e.waitingRoom = :enabled WHERE e.id = :id")
+    int updateWaitingRoom(@Param("id") Long id, @Param("enabled") boolean enabled);
+
     /** Find event by ID with pessimistic write lock for concurrent RSVP handling */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
@@ -107,29 +163,6 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             @Param("time") LocalTime time,
             Pageable pageable);
 
-       /**
-     * Finds recommended upcoming events based on a user's interested categories.
-     * * This query filters for events that:
-     * 1. Belong to a set of categories the user is interested in.
-     * 2. Have not yet started.
-     * 3. Were not created by the user themselves.
-     * * @param categories    A set of Category entities representing the user's interests.
-     * @param currentDate   The current date for filtering.
-     * @param currentTime   The current time for filtering.
-     * @param user          The User entity to exclude from the event creator.
-     * @param pageable      Pagination parameters to limit the number of recommendations.
-     * @return A Page of recommended Event entities.
-     */
-    @EntityGraph(attributePaths = {"category", "createdBy", "keywords"})
-    @Query("SELECT e FROM Event e WHERE e.category IN :categories " +
-           "AND (e.eventDate > :currentDate OR (e.eventDate = :currentDate AND e.eventTime > :currentTime)) " +
-           "AND e.createdBy != :user " +
-           "AND e.deactivated = false")
-    Page<Event> findRecommendedUpcomingEvents(@Param("categories") Set<Category> categories,
-                                              @Param("currentDate") LocalDate currentDate,
-                                              @Param("currentTime") LocalTime currentTime,
-                                              @Param("user") User user,
-                                              Pageable pageable);
 
     /**
      * Finds upcoming events created by a specific user.
@@ -161,6 +194,35 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @EntityGraph(attributePaths = { "category", "createdBy", "keywords" })
     Optional<Event> findWithKeywordsById(Long id);
 
+    /**
+     * Everything the details page needs besides the event row, in one round trip:
+     * attendee count (the maintained rsvp_count, no count over rsvp), the viewer's RSVP id and payment status (null if none), whether the
+     * viewer is blocked (count), the rating summary (null if the event has no summary row), then
+     * the viewer's place on the waitlist (0 if not on it), then when the viewer's seat hold expires
+     * (null unless a payment is pending).
+     * username may be null for anonymous viewers, the viewer columns are then null/0.
+     */
+    @Query("SELECT e.rsvpCount, " +
+           "(SELECT r.id FROM RSVP r WHERE r.event.id = e.id AND r.user.username = :username), " +
+           "(SELECT r.paymentStatus FROM RSVP r WHERE r.event.id = e.id AND r.user.username = :username), " +
+           "(SELECT COUNT(b) FROM BlockedRSVP b WHERE b.event.id = e.id AND b.user.username = :username), " +
+           "s, " +
+           "(SELECT COUNT(w) FROM WaitlistEntry w WHERE w.event.id = e.id AND w.id <= " +
+           "(SELECT o.id FROM WaitlistEntry o WHERE o.event.id = e.id AND o.user.username = :username)), " +
+           "(SELECT r.holdExpiresAt FROM RSVP r WHERE r.event.id = e.id AND r.user.username = :username) " +
+           "FROM Event e LEFT JOIN EventRatingSummary s ON s.eventId = e.id WHERE e.id = :eventId")
+    List<Object[]> findDetailsCounters(@Param("eventId") Long eventId, @Param("username") String username);
+
+    // Visibility check for the public attendee list API
+    boolean existsByIdAndDeactivatedFalse(Long id);
+
+    /**
+     * Batch variant of findWithKeywordsById for background jobs
+     * (saved search matching) that process many new events at once
+     */
+    @EntityGraph(attributePaths = { "category", "createdBy", "keywords" })
+    List<Event> findWithKeywordsByIdIn(Collection<Long> ids);
+
     // ============= FUTURE METHODS - For search functionality =============
     // These methods are not currently active but will be needed when
     // implementing the search-by-keyword feature.
@@ -298,7 +360,7 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // ADMIN PRIVILEGED METHOD - INCLUDES DEACTIVATED EVENTS
     @EntityGraph(attributePaths = { "category", "createdBy" })
     @Query("SELECT e FROM Event e WHERE e.eventDate >= CURRENT_DATE " +
-            "AND e.deactivated = true ORDER BY e.eventDate ASC, e.eventTime ASC")
+            "AND e.deactivated = true AND e.deleting = false ORDER BY e.eventDate ASC, e.eventTime ASC")
     Page<Event> findDeactivatedFutureEvents(Pageable pageable);
 
     // ADMIN PRIVILEGED METHOD - INCLUDES DEACTIVATED EVENTS
@@ -310,17 +372,9 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // ADMIN PRIVILEGED METHOD - INCLUDES DEACTIVATED EVENTS
     @EntityGraph(attributePaths = { "category", "createdBy" })
     @Query("SELECT e FROM Event e WHERE e.eventDate < CURRENT_DATE " +
-            "AND e.deactivated = true ORDER BY e.eventDate DESC, e.eventTime DESC")
+            "AND e.deactivated = true AND e.deleting = false ORDER BY e.eventDate DESC, e.eventTime DESC")
     Page<Event> findDeactivatedPastEvents(Pageable pageable);
 
-    /**
-     * Deletes an active event by ID. Prevents deletion of deactivated events.
-     * For regular users - only allows deletion of active events.
-     */
-    @Modifying
-    @Query("DELETE FROM Event e WHERE e.id = :id AND e.deactivated = false")
-    void deleteActiveEventById(@Param("id") Long id);
-
     /**
      * ADMIN PRIVILEGED METHOD - Force delete any event regardless of deactivation status.
      * For admin use only - can delete both active and deactivated events.
@@ -367,6 +421,14 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                                        @Param("date") LocalDate date,
                                        @Param("time") LocalTime time);
 
+    /**
+     * (category id, upcoming count) rows over active events, one row per category with upcoming events.
+     * Replaces a countUpcomingEventsByCategory call per category on the Browse Categories page.
+     */
+    @Query("SELECT e.category.id, COUNT(e) FROM Event e WHERE e.deactivated = false " +
+           "AND (e.eventDate > :date OR (e.eventDate = :date AND e.eventTime > :time)) GROUP BY e.category.id")
+    List<Object[]> countUpcomingEventsPerCategory(@Param("date") LocalDate date, @Param("time") LocalTime time);
+
     /**
      * Counts events within a month range.
      * Used for monthly calendar statistics.
@@ -378,17 +440,46 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate >= :monthStart AND e.eventDate < :nextMonthStart AND e.deactivated = false")
     long countByMonth(@Param("monthStart") LocalDate monthStart, @Param("nextMonthStart") LocalDate nextMonthStart);
 
+    /**
+     * Active events in a date window, for the calendar feed.
+     * Range condition on event_date uses idx_events_event_date, category fetched in the same query.
+     *
+     * @param start First date (inclusive)
+     * @param end Last date (exclusive)
+     * @return Events ordered by date and time
+     */
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.category " +
+           "WHERE e.eventDate >= :start AND e.eventDate < :end AND e.deactivated = false " +
+           "ORDER BY e.eventDate, e.eventTime")
+    List<Event> findCalendarEventsBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * (event date, count) rows for active events in a date window, one row per day with events.
+     * A whole heatmap range in one grouped query on idx_events_event_date.
+     *
+     * @param start First date (inclusive)
+     * @param end Last date (exclusive)
+     */
+    @Query("SELECT e.eventDate, COUNT(e) FROM Event e " +
+           "WHERE e.eventDate >= :start AND e.eventDate < :end AND e.deactivated = false " +
+           "GROUP BY e.eventDate")
+    List<Object[]> countPerDayBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Organiser of an event, without loading the event
+    @Query("SELECT u.username FROM Event e JOIN e.createdBy u WHERE e.id = :id")
+    Optional<String> findOrganiserUsernameById(@Param("id") Long id);
+
     // ADMIN count methods for dashboard
     @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate >= CURRENT_DATE AND e.deactivated = false")
     long countActiveFutureEvents();
 
-    @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate >= CURRENT_DATE AND e.deactivated = true")
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate >= CURRENT_DATE AND e.deactivated = true AND e.deleting = false")
     long countDeactivatedFutureEvents();
 
     @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate < CURRENT_DATE AND e.deactivated = false")
     long countActivePastEvents();
 
-    @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate < CURRENT_DATE AND e.deactivated = true")
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate < CURRENT_DATE AND e.deactivated = true AND e.deleting = false")
     long countDeactivatedPastEvents();
 }
 
@@ -15,8 +15,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import au.edu.rmit.sept.webapp.model.Event;
 import au.edu.rmit.sept.webapp.model.RSVP;
@@ -34,17 +39,36 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     // Find specific RSVP for deletion
     Optional<RSVP> findByUser_UsernameAndEvent_Id(String username, Long eventId);
 
+    Optional<RSVP> findByUser_IdAndEvent_Id(Long userId, Long eventId);
+
     // Alternative: find by user and event objects
     Optional<RSVP> findByUserAndEvent(User user, Event event);
 
     // Check if RSVP exists by user and event objects
     boolean existsByUserAndEvent(User user, Event event);
 
-    // Find all RSVPs for an event with user data eagerly loaded
-    // Using JOIN FETCH prevents N+1 queries. Ordering by rsvpDate DESC shows most
-    // recent RSVPs first
-    @Query("SELECT r FROM RSVP r JOIN FETCH r.user WHERE r.event.id = :eventId ORDER BY r.rsvpDate DESC")
-    List<RSVP> findByEventIdWithUsers(@Param("eventId") Long eventId);
+    /**
+     * (user id, kind) rows of an event's members: kind 0 for attendees, 1 for blocked users,
+     * ordered by kind then user id. One round trip for EventMembershipService.
+     */
+    @Query(value = "SELECT user_id, 0 FROM rsvp WHERE event_id = :eventId " +
+                   "UNION ALL SELECT user_id, 1 FROM blocked_rsvps WHERE event_id = :eventId ORDER BY 2, 1",
+           nativeQuery = true)
+    List<Object[]> findMemberRows(@Param("eventId") Long eventId);
+
+    // First page of an event's public "who's going" list, most recent RSVPs first
+    // Selects only the public fields (rsvp id, username, rsvp date), no entities are loaded.
+    // Order matches idx_rsvp_event_date_id, id breaks ties between RSVPs made in the same second
+    @Query("SELECT r.id, u.username, r.rsvpDate FROM RSVP r JOIN r.user u WHERE r.event.id = :eventId " +
+           "ORDER BY r.rsvpDate DESC, r.id ASC")
+    List<Object[]> findAttendeePage(@Param("eventId") Long eventId, Pageable limit);
+
+    // Next page of the list, the RSVPs after the (rsvpDate, id) cursor of the previous page's last row
+    @Query("SELECT r.id, u.username, r.rsvpDate FROM RSVP r JOIN r.user u WHERE r.event.id = :eventId " +
+           "AND (r.rsvpDate < :rsvpDate OR (r.rsvpDate = :rsvpDate AND r.id > :id)) " +
+           "ORDER BY r.rsvpDate DESC, r.id ASC")
+    List<Object[]> findAttendeePageAfter(@Param("eventId") Long eventId, @Param("rsvpDate") LocalDateTime rsvpDate,
+                                         @Param("id") Long id, Pageable limit);
 
     /**
      * ADMIN PRIVILEGED METHOD - Delete all RSVPs for any event regardless of deactivation status.
@@ -52,14 +76,6 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
      */
     void deleteByEvent(Event event);
 
-    /**
-     * Delete RSVPs only for active events. Prevents deletion of RSVPs for deactivated events.
-     * For regular users - only allows RSVP deletion for active events.
-     */
-    @Modifying
-    @Query("DELETE FROM RSVP r WHERE r.event.id = :eventId AND r.event.deactivated = false")
-    void deleteByActiveEvent(@Param("eventId") Long eventId);
-
     // Find all events that a user has RSVP'd to but didn't create (for My Events page)
     @Query("SELECT r.event FROM RSVP r WHERE r.user.id = :userId AND r.event.eventDate >= CURRENT_DATE AND r.event.createdBy.id != :userId ORDER BY r.event.eventDate ASC")
     List<Event> findUpcomingEventsByUserId(@Param("userId") Long userId);
@@ -96,4 +112,64 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
      */
     @Query("SELECT COUNT(r) FROM RSVP r WHERE r.event.deactivated = false")
     long countActiveRsvps();
-}
\ No newline at end of file
+
+    /**
+     * (user id, event id, keyword id) rows for every RSVP, past and upcoming.
+     * Recommendation profiles are built from these in one pass.
+     */
+    @Query("SELECT r.user.id, e.id, k.id FROM RSVP r JOIN r.event e JOIN e.keywords k")
+    List<Object[]> findAttendedKeywordRows();
+
+    @Query("SELECT r.user.id, e.id, k.id FROM RSVP r JOIN r.event e JOIN e.keywords k WHERE r.user.id IN :userIds")
+    List<Object[]> findAttendedKeywordRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * (user id, event id) rows for every RSVP, grouped by user.
+     * Feeds recommendation profiles and the co-attendance rebuild.
+     */
+    @Query("SELECT r.user.id, r.event.id FROM RSVP r ORDER BY r.user.id")
+    List<Object[]> findAttendanceRows();
+
+    @Query("SELECT r.user.id, r.event.id FROM RSVP r WHERE r.user.id IN :userIds")
+    List<Object[]> findAttendanceRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT r.event.id FROM RSVP r WHERE r.user.id = :userId")
+    List<Long> findEventIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * IDs of events in a date window the user has RSVP'd to, attendance flags for the calendar feed.
+     */
+    @Query("SELECT r.event.id FROM RSVP r WHERE r.user.username = :username " +
+           "AND r.event.eventDate >= :start AND r.event.eventDate < :end")
+    Set<Long> findEventIdsByUsernameBetween(@Param("username") String username,
+                                            @Param("start") LocalDate start,
+                                            @Param("end") LocalDate end);
+
+    @Query("SELECT COUNT(r) FROM RSVP r WHERE r.user.username = :username AND r.event.deactivated = false")
+    long countActiveByUsername(@Param("username") String username);
+
+    /**
+     * A user's RSVPs to active events from the given date on, with event and category, for the iCalendar feed.
+     * Streamed so the feed is written row by row; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT r FROM RSVP r JOIN FETCH r.event e LEFT JOIN FETCH e.category " +
+           "WHERE r.user.id = :userId AND e.deactivated = false AND e.eventDate >= :from " +
+           "ORDER BY e.eventDate, e.eventTime")
+    Stream<RSVP> streamFeedRsvpsByUserId(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    /**
+     * (event id, RSVP count) rows for events on or after the given date.
+     */
+    @Query("SELECT r.event.id, COUNT(r) FROM RSVP r WHERE r.event.eventDate >= :date GROUP BY r.event.id")
+    List<Object[]> countRsvpsPerEventFrom(@Param("date") LocalDate date);
+
+    /**
+     * (RSVP id, username, checked in at, payment status) rows for every ticket of an event, by RSVP id.
+     * Loads the door check-in state and the offline manifest in one query.
+     */
+    @Query("SELECT r.id, u.username, r.checkedInAt, r.paymentStatus FROM RSVP r JOIN r.user u " +
+           "WHERE r.event.id = :eventId ORDER BY r.id")
+    List<Object[]> findCheckInRows(@Param("eventId") Long eventId);
+
+    boolean existsByIdAndPaymentStatus(Long id, String paymentStatus);
+}
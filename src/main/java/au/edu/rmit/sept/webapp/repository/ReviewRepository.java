@@ -1,6 +1,7 @@
 package au.edu.rmit.sept.webapp.repository;
 
 import au.edu.rmit.sept.webapp.model.Review;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import au.edu.rmit.sept.webapp.model.Event;
@@ -19,10 +21,21 @@ import au.edu.rmit.sept.webapp.model.User;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    // Find ALL reviews for an event, ordered by creation date descending, for when the, "view all reviews" button is pressed
-    List<Review> findByEventIdOrderByCreatedAtDesc(Long eventId);
-
-    // Find newest 5 reviews for an event, for the quick view on event detailed view
+    // First page of the "view all reviews" stream, newest first (author fetched in the same query)
+    // order matches idx_reviews_event_created_id, id breaks ties between reviews saved in the same second
+    @Query("SELECT r FROM Review r JOIN FETCH r.author WHERE r.event.id = :eventId " +
+           "ORDER BY r.createdAt DESC, r.id ASC")
+    List<Review> findFirstReviewPage(@Param("eventId") Long eventId, Pageable limit);
+
+    // Next page of the stream, the reviews after the (createdAt, id) cursor of the previous page's last review
+    @Query("SELECT r FROM Review r JOIN FETCH r.author WHERE r.event.id = :eventId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id > :id)) " +
+           "ORDER BY r.createdAt DESC, r.id ASC")
+    List<Review> findReviewPageAfter(@Param("eventId") Long eventId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable limit);
+
+    // Find newest 5 reviews for an event, for the quick view on event detailed view (author fetched in the same query)
+    @EntityGraph(attributePaths = { "author" })
     List<Review> findTop5ByEventIdOrderByCreatedAtDesc(Long eventId);
 
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package au.edu.rmit.sept.webapp.repository;
+
+import au.edu.rmit.sept.webapp.model.SavedSearch;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SavedSearchRepository
+ * Data access for saved searches.
+ *
+ * KEY QUERIES:
+ * - findIndexRows / findKeywordRows: flat projections used to build the in-memory percolator index,
+ *   two queries total regardless of how many searches exist
+ * - findExistingIds: filters matches for searches deleted since they were indexed
+ */
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    @EntityGraph(attributePaths = {"category", "keywords"})
+    List<SavedSearch> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserId(Long userId);
+
+    /**
+     * Scalar rows for index build: [searchId, userId, categoryId, searchText]
+     */
+    @Query("SELECT s.id, s.user.id, c.id, s.searchText FROM SavedSearch s LEFT JOIN s.category c")
+    List<Object[]> findIndexRows();
+
+    /**
+     * Keyword membership rows for index build: [searchId, keywordId]
+     */
+    @Query("SELECT s.id, k.id FROM SavedSearch s JOIN s.keywords k")
+    List<Object[]> findKeywordRows();
+
+    @Query("SELECT s.id FROM SavedSearch s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
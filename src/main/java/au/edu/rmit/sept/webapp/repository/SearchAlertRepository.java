@@ -0,0 +1,30 @@
+package au.edu.rmit.sept.webapp.repository;
+
+import au.edu.rmit.sept.webapp.model.SearchAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * SearchAlertRepository
+ * Data access for saved search alerts.
+ */
+public interface SearchAlertRepository extends JpaRepository<SearchAlert, Long> {
+
+    /**
+     * Unseen alerts for a user, newest first, event and category fetched for display.
+     * Deactivated events are skipped so alerts never link to hidden pages.
+     */
+    @Query("SELECT a FROM SearchAlert a JOIN FETCH a.event e JOIN FETCH e.category " +
+            "WHERE a.user.id = :userId AND a.seen = false AND e.deactivated = false " +
+            "ORDER BY a.createdAt DESC")
+    List<SearchAlert> findUnseenByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE SearchAlert a SET a.seen = true WHERE a.user.id = :userId AND a.seen = false")
+    int markAllSeen(@Param("userId") Long userId);
+}
@@ -9,6 +9,8 @@ import org.springframework.stereotype.Repository;
 
 import au.edu.rmit.sept.webapp.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -95,4 +97,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.deactivated = true")
     long countDeactivatedUsers();
-}
\ No newline at end of file
+
+    // (user id, category id) interest rows for the recommendation engine
+    @Query("SELECT u.id, c.id FROM User u JOIN u.categories c WHERE u.deactivated = false OR u.deactivated IS NULL")
+    List<Object[]> findCategoryInterestRows();
+
+    @Query("SELECT u.id, c.id FROM User u JOIN u.categories c WHERE u.id IN :userIds")
+    List<Object[]> findCategoryInterestRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,64 @@
+package au.edu.rmit.sept.webapp.repository;
+
+import au.edu.rmit.sept.webapp.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Repository for event waitlists.
+ * Entries are ordered by id, the head of an event's list is promoted first.
+ */
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Check if a user is on an event's waitlist.
+     */
+    boolean existsByEvent_IdAndUser_Id(Long eventId, Long userId);
+
+    /**
+     * Removes a user from an event's waitlist.
+     *
+     * @return Number of entries deleted (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.user.username = :username")
+    int deleteByEventIdAndUsername(@Param("eventId") Long eventId, @Param("username") String username);
+
+    /**
+     * A user's 1-based place on an event's waitlist, 0 if they aren't on it.
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.id <= " +
+           "(SELECT o.id FROM WaitlistEntry o WHERE o.event.id = :eventId AND o.user.username = :username)")
+    long findPosition(@Param("eventId") Long eventId, @Param("username") String username);
+
+    /**
+     * Locks the next entries of an event's waitlist for promotion as (id, user_id) rows.
+     * Rows locked by a concurrent promotion are skipped, not waited for, so two cancellations
+     * promote different users. Must run in a transaction, the locks are held until it ends.
+     * Empty once the event is deactivated or has started; the events row is read in a subquery,
+     * so it isn't locked with the entries.
+     */
+    @Query(value = "SELECT id, user_id FROM event_waitlist WHERE event_id = :eventId " +
+                   "AND event_id IN (SELECT e.id FROM events e WHERE e.is_deactivated = FALSE " +
+                   "AND (e.event_date > :date OR (e.event_date = :date AND e.event_time > :time))) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> lockNextForPromotion(@Param("eventId") Long eventId, @Param("limit") int limit,
+                                        @Param("date") LocalDate date, @Param("time") LocalTime time);
+
+    /**
+     * Active, not yet started events with people waiting and a free seat, for the promotion sweep.
+     */
+    @Query("SELECT DISTINCT w.event.id FROM WaitlistEntry w " +
+           "WHERE (w.event.capacity IS NULL OR w.event.rsvpCount < w.event.capacity) " +
+           "AND w.event.deactivated = false " +
+           "AND (w.event.eventDate > :date OR (w.event.eventDate = :date AND w.event.eventTime > :time))")
+    List<Long> findEventIdsWithFreeSeats(@Param("date") LocalDate date, @Param("time") LocalTime time);
+}
@@ -1,5 +1,6 @@
 package au.edu.rmit.sept.webapp.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -24,11 +25,14 @@ public class AdminService {
     private final EventRepository eventRepository;
     private final RSVPRepository rsvpRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdminService(EventRepository eventRepository, RSVPRepository rsvpRepository, UserRepository userRepository) {
+    public AdminService(EventRepository eventRepository, RSVPRepository rsvpRepository, UserRepository userRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.rsvpRepository = rsvpRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<AdminEventDTO> getActiveFutureEvents(Pageable pageable) {
@@ -56,19 +60,33 @@ public class AdminService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
+        boolean changed = !event.isDeactivated();
         event.setDeactivated(true);
         event.setDeactivatedByAdminId(adminId);
         eventRepository.save(event);
+        if (changed) {
+            eventPublisher.publishEvent(new EventStatusChangedEvent(eventId, event.getEventDate(),
+                    EventStatusChangedEvent.Status.DEACTIVATED, rsvpRepository.countByEvent(event)));
+        }
     }
 
     @Transactional
     public void reactivateEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        // deleted by its organiser, EventDeletionService is removing it
+        if (event.isDeleting()) {
+            throw new IllegalArgumentException("Event is being deleted");
+        }
 
+        boolean changed = event.isDeactivated();
         event.setDeactivated(false);
         event.setDeactivatedByAdminId(null);
         eventRepository.save(event);
+        if (changed) {
+            eventPublisher.publishEvent(new EventStatusChangedEvent(eventId, event.getEventDate(),
+                    EventStatusChangedEvent.Status.REACTIVATED, rsvpRepository.countByEvent(event)));
+        }
     }
 
     private AdminEventDTO mapToAdminEventDTO(Event event) {
@@ -153,9 +171,13 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
+        boolean changed = !user.isDeactivated();
         user.setDeactivated(true);
         user.setDeactivatedByAdminId(adminId);
         userRepository.save(user);
+        if (changed) {
+            eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatusChangedEvent.Status.DEACTIVATED));
+        }
     }
 
     @Transactional
@@ -163,9 +185,13 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
+        boolean changed = user.isDeactivated();
         user.setDeactivated(false);
         user.setDeactivatedByAdminId(null);
         userRepository.save(user);
+        if (changed) {
+            eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatusChangedEvent.Status.REACTIVATED));
+        }
     }
 
     private AdminUserDTO mapToAdminUserDTO(User user) {
@@ -189,29 +215,4 @@ public class AdminService {
 
         return dto;
     }
-
-    // Count methods for dashboard statistics
-    public long countActiveFutureEvents() {
-        return eventRepository.countActiveFutureEvents();
-    }
-
-    public long countDeactivatedFutureEvents() {
-        return eventRepository.countDeactivatedFutureEvents();
-    }
-
-    public long countActivePastEvents() {
-        return eventRepository.countActivePastEvents();
-    }
-
-    public long countDeactivatedPastEvents() {
-        return eventRepository.countDeactivatedPastEvents();
-    }
-
-    public long countActiveUsers() {
-        return userRepository.countActiveUsers();
-    }
-
-    public long countDeactivatedUsers() {
-        return userRepository.countDeactivatedUsers();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.BulkAttendeeResult;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AttendeeBulkService
+ * Cancels, blocks and unblocks many attendees of one event in one request, e.g. clearing the
+ * no-shows of a large event.
+ *
+ * HOW IT WORKS:
+ * - the event is loaded and the requester authorised once for the whole list
+ * - the listed users' RSVPs are locked with one SELECT ... FOR UPDATE
+ * - cancelled_rsvps and blocked_rsvps rows are written with batched INSERTs, payments and RSVPs
+ *   removed with one DELETE ... IN each, the seats given back with one UPDATE of events.rsvp_count
+ * - everything runs in one transaction; RsvpChangedEvent / RsvpBlockChangedEvent are published per
+ *   user, so the waitlist promotes into freed seats and caches update after commit
+ * - results come back in request order, one per distinct user id
+ *
+ * BUSINESS RULES:
+ * - same rules as the single-attendee operations: organiser or admin only; a cancelled paid RSVP
+ *   (or any RSVP removed by a block on a paid event) gets a cancelled_rsvps record for refunds
+ * - at most MAX_USERS user ids per request
+ */
+@Service
+public class AttendeeBulkService {
+
+    static final int MAX_USERS = 500;
+
+    private static final String RELEASE_EVENT_SQL =
+            "UPDATE events SET rsvp_count = CASE WHEN rsvp_count > ? THEN rsvp_count - ? ELSE 0 END WHERE id = ?";
+    private static final String INSERT_CANCELLED_SQL =
+            "INSERT INTO cancelled_rsvps (rsvp_id, user_id, event_id, cancelled_at, initiated_by, cancelled_by_user_id, " +
+            "payment_status, amount_paid, stripe_payment_intent_id) VALUES (?, ?, ?, ?, 'organiser', ?, ?, ?, ?)";
+    private static final String INSERT_BLOCKED_SQL =
+            "INSERT INTO blocked_rsvps (event_id, user_id, blocked_by_id, blocked_date) VALUES (?, ?, ?, ?)";
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AttendeeBulkService(EventRepository eventRepository, JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Cancels the RSVPs of the listed users.
+     *
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the requester isn't the event's organiser or an admin
+     * @throws IllegalArgumentException if the list is empty or longer than MAX_USERS
+     */
+    @Transactional
+    public List<BulkAttendeeResult> cancel(Long eventId, List<Long> userIds, Long organiserId, boolean isAdmin) {
+        List<Long> ids = distinct(userIds);
+        Event event = authorise(eventId, organiserId, isAdmin, "cancel attendee RSVPs");
+
+        Map<Long, RsvpRow> rsvps = lockRsvps(eventId, ids);
+        removeRsvps(event, rsvps.values(), organiserId, false);
+
+        List<BulkAttendeeResult> results = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            results.add(new BulkAttendeeResult(userId, rsvps.containsKey(userId)
+                    ? BulkAttendeeResult.Status.CANCELLED : BulkAttendeeResult.Status.NO_RSVP));
+        }
+        return results;
+    }
+
+    /**
+     * Blocks the listed users from the event, removing any RSVP they have.
+     *
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the requester isn't the event's organiser or an admin
+     * @throws IllegalArgumentException if the list is empty or longer than MAX_USERS
+     */
+    @Transactional
+    public List<BulkAttendeeResult> block(Long eventId, List<Long> userIds, Long organiserId, boolean isAdmin) {
+        List<Long> ids = distinct(userIds);
+        Event event = authorise(eventId, organiserId, isAdmin, "block users");
+
+        String in = placeholders(ids.size());
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id IN (" + in + ")", Long.class, ids.toArray()));
+        Set<Long> blocked = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM blocked_rsvps WHERE event_id = ? AND user_id IN (" + in + ")",
+                Long.class, withEventId(eventId, ids)));
+        List<Long> toBlock = new ArrayList<>();
+        for (Long userId : ids) {
+            if (existing.contains(userId) && !blocked.contains(userId)) {
+                toBlock.add(userId);
+            }
+        }
+
+        if (!toBlock.isEmpty()) {
+            removeRsvps(event, lockRsvps(eventId, toBlock).values(), organiserId, true);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(toBlock.size());
+            for (Long userId : toBlock) {
+                rows.add(new Object[] { eventId, userId, organiserId, now });
+            }
+            jdbcTemplate.batchUpdate(INSERT_BLOCKED_SQL, rows);
+            for (Long userId : toBlock) {
+                eventPublisher.publishEvent(new RsvpBlockChangedEvent(eventId, userId, true));
+            }
+        }
+
+        List<BulkAttendeeResult> results = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            BulkAttendeeResult.Status status;
+            if (!existing.contains(userId)) {
+                status = BulkAttendeeResult.Status.USER_NOT_FOUND;
+            } else if (blocked.contains(userId)) {
+                status = BulkAttendeeResult.Status.ALREADY_BLOCKED;
+            } else {
+                status = BulkAttendeeResult.Status.BLOCKED;
+            }
+            results.add(new BulkAttendeeResult(userId, status));
+        }
+        return results;
+    }
+
+    /**
+     * Lifts the listed users' blocks, their RSVPs are not recreated.
+     *
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the requester isn't the event's organiser or an admin
+     * @throws IllegalArgumentException if the list is empty or longer than MAX_USERS
+     */
+    @Transactional
+    public List<BulkAttendeeResult> unblock(Long eventId, List<Long> userIds, Long organiserId, boolean isAdmin) {
+        List<Long> ids = distinct(userIds);
+        authorise(eventId, organiserId, isAdmin, "unblock users");
+
+        String in = placeholders(ids.size());
+        Object[] args = withEventId(eventId, ids);
+        Set<Long> blocked = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM blocked_rsvps WHERE event_id = ? AND user_id IN (" + in + ") FOR UPDATE",
+                Long.class, args));
+        if (!blocked.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM blocked_rsvps WHERE event_id = ? AND user_id IN (" + in + ")", args);
+            for (Long userId : blocked) {
+                eventPublisher.publishEvent(new RsvpBlockChangedEvent(eventId, userId, false));
+            }
+        }
+
+        List<BulkAttendeeResult> results = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            results.add(new BulkAttendeeResult(userId, blocked.contains(userId)
+                    ? BulkAttendeeResult.Status.UNBLOCKED : BulkAttendeeResult.Status.NOT_BLOCKED));
+        }
+        return results;
+    }
+
+    private Event authorise(Long eventId, Long organiserId, boolean isAdmin, String action) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        if (!isAdmin && !event.getCreatedBy().getId().equals(organiserId)) {
+            throw new AccessDeniedException("Only the event organiser or admin can " + action);
+        }
+        return event;
+    }
+
+    private Map<Long, RsvpRow> lockRsvps(Long eventId, List<Long> userIds) {
+        Map<Long, RsvpRow> rsvps = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, user_id, payment_status, amount_paid, stripe_payment_intent_id FROM rsvp " +
+                "WHERE event_id = ? AND user_id IN (" + placeholders(userIds.size()) + ") FOR UPDATE",
+                (rs, i) -> new RsvpRow(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBigDecimal(4),
+                        rs.getString(5)),
+                withEventId(eventId, userIds))
+                .forEach(row -> rsvps.put(row.userId, row));
+        return rsvps;
+    }
+
+    // cancelled records, payments, RSVPs, then the seats, a handful of statements for any count
+    private void removeRsvps(Event event, Collection<RsvpRow> rsvps, Long organiserId, boolean blocking) {
+        if (rsvps.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> cancelled = new ArrayList<>();
+        Object[] rsvpIds = new Object[rsvps.size()];
+        int i = 0;
+        for (RsvpRow row : rsvps) {
+            rsvpIds[i++] = row.id;
+            if (event.getRequiresPayment() && (blocking || row.paymentStatus != null)) {
+                cancelled.add(new Object[] { row.id, row.userId, event.getId(), now, organiserId,
+                        row.paymentStatus, row.amountPaid, row.stripePaymentIntentId });
+            }
+        }
+        if (!cancelled.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CANCELLED_SQL, cancelled);
+        }
+        String in = placeholders(rsvpIds.length);
+        jdbcTemplate.update("DELETE FROM payments WHERE rsvp_id IN (" + in + ")", rsvpIds);
+        jdbcTemplate.update("DELETE FROM rsvp WHERE id IN (" + in + ")", rsvpIds);
+        jdbcTemplate.update(RELEASE_EVENT_SQL, rsvpIds.length, rsvpIds.length, event.getId());
+
+        for (RsvpRow row : rsvps) {
+            eventPublisher.publishEvent(new RsvpChangedEvent(event.getId(), row.userId, false));
+        }
+    }
+
+    private static List<Long> distinct(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("userIds is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("userIds is required");
+        }
+        if (ids.size() > MAX_USERS) {
+            throw new IllegalArgumentException("At most " + MAX_USERS + " users per request");
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] withEventId(Long eventId, List<Long> userIds) {
+        Object[] args = new Object[userIds.size() + 1];
+        args[0] = eventId;
+        for (int i = 0; i < userIds.size(); i++) {
+            args[i + 1] = userIds.get(i);
+        }
+        return args;
+    }
+
+    private static final class RsvpRow {
+        final long id;
+        final long userId;
+        final String paymentStatus;
+        final BigDecimal amountPaid;
+        final String stripePaymentIntentId;
+
+        RsvpRow(long id, long userId, String paymentStatus, BigDecimal amountPaid, String stripePaymentIntentId) {
+            this.id = id;
+            this.userId = userId;
+            this.paymentStatus = paymentStatus;
+            this.amountPaid = amountPaid;
+            this.stripePaymentIntentId = stripePaymentIntentId;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.model.CalendarToken;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CalendarTokenRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * CalendarSubscriptionService
+ * Per-user iCalendar feeds of RSVP'd events for calendar app subscriptions.
+ *
+ * HOW IT WORKS:
+ * - each user can have one secret token, the feed URL is /calendar/{token}.ics
+ * - every feed has a version stored with its token (calendar_tokens.feed_version): epoch millis,
+ *   moved on in the same transaction as the user's RSVP change (RsvpChangedEvent) or a delete/
+ *   deactivate/reactivate of an event they RSVP'd to. The version is the ETag and Last-Modified,
+ *   so a poll with nothing new is a 304 after one indexed lookup, on whichever node answers it
+ * - feeds are generated by streaming the user's RSVPs with their events, and the bytes are kept
+ *   in an LRU cache bounded by total size (calendar.ics-cache-bytes), keyed by user and version
+ *
+ * BUSINESS RULES:
+ * - feeds cover active events from PAST_DAYS ago onwards
+ * - resetting a subscription replaces the token, the old URL returns 404
+ * - the cache only holds bodies of persisted versions, a stale entry is never served
+ */
+@Service
+public class CalendarSubscriptionService {
+
+    static final int PAST_DAYS = 90;
+    private static final int TOKEN_BYTES = 32;
+    private static final int EVENT_HOURS = 2;
+
+    private final CalendarTokenRepository calendarTokenRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SecureRandom random = new SecureRandom();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final FeedCache cache;
+
+    public CalendarSubscriptionService(CalendarTokenRepository calendarTokenRepository, RSVPRepository rsvpRepository,
+                                       UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                       @Value("${calendar.ics-cache-bytes:8388608}") long cacheBudgetBytes) {
+        this.calendarTokenRepository = calendarTokenRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = new FeedCache(cacheBudgetBytes);
+    }
+
+    /**
+     * Current subscription token of a user.
+     *
+     * @param userId The user ID
+     * @return The token, empty if the user hasn't subscribed
+     */
+    public Optional<String> findToken(Long userId) {
+        return calendarTokenRepository.findById(userId).map(CalendarToken::getToken);
+    }
+
+    /**
+     * Creates the user's subscription token, or replaces it so the old feed URL stops working.
+     *
+     * @param userId The user ID
+     * @return The new token
+     * @throws EntityNotFoundException if the user doesn't exist
+     */
+    @Transactional
+    public String resetToken(Long userId) {
+        String token = newToken();
+        Optional<CalendarToken> existing = calendarTokenRepository.findById(userId);
+        if (existing.isPresent()) {
+            existing.get().setToken(token);
+        } else {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("User not found"));
+            calendarTokenRepository.save(new CalendarToken(user, token));
+        }
+        return token;
+    }
+
+    /**
+     * User owning a feed token, with the feed's current version (ETag and Last-Modified).
+     * Read from the database on every poll so all nodes agree on the version.
+     */
+    public Optional<FeedVersion> resolveToken(String token) {
+        return calendarTokenRepository.findFeedVersionByToken(token).stream()
+                .findFirst()
+                .map(row -> new FeedVersion((Long) row[0], ((Number) row[1]).longValue()));
+    }
+
+    /**
+     * The user's feed at the given version, from the cache or generated.
+     *
+     * @param userId The user ID
+     * @param version The subscription's feed version, the cache key
+     * @param eventBaseUrl Prefix for event links, e.g. "https://host/events/"
+     * @return iCalendar document (UTF-8)
+     */
+    public byte[] getFeed(Long userId, long version, String eventBaseUrl) {
+        byte[] cached = cache.get(userId, version);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] body = readOnlyTransaction.execute(status -> buildFeed(userId, eventBaseUrl));
+        cache.put(userId, version, body);
+        return body;
+    }
+
+    private byte[] buildFeed(Long userId, String eventBaseUrl) {
+        ICalendarWriter writer = new ICalendarWriter("EventHub - My Events", zone, LocalDateTime.now());
+        try (Stream<RSVP> rsvps = rsvpRepository.streamFeedRsvpsByUserId(userId, LocalDate.now().minusDays(PAST_DAYS))) {
+            rsvps.forEach(rsvp -> {
+                Event event = rsvp.getEvent();
+                LocalDateTime start = LocalDateTime.of(event.getEventDate(), event.getEventTime());
+                writer.addEvent(event.getUid() + "@eventhub", start, start.plusHours(EVENT_HOURS), event.getTitle(),
+                        event.getLocation(), event.getDescription(), eventBaseUrl + event.getId());
+            });
+        }
+        return writer.finish();
+    }
+
+    // BEFORE_COMMIT: the version commits (or rolls back) with the change it describes
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        calendarTokenRepository.bumpFeedVersion(changed.getUserId(), System.currentTimeMillis());
+        cache.remove(changed.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEventStatusChanged(EventStatusChangedEvent changed) {
+        // cached bodies of the attendees' old versions are no longer read, the LRU evicts them
+        calendarTokenRepository.bumpFeedVersionsForEvent(changed.getEventId(), System.currentTimeMillis());
+    }
+
+    long cachedBytes() {
+        return cache.usedBytes();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * A subscription's user and the persisted version of their feed.
+     */
+    public record FeedVersion(Long userId, long version) {
+    }
+
+    /**
+     * LRU of feed bodies, evicts least recently read feeds once the total size exceeds the budget.
+     */
+    static final class FeedCache {
+        private final long budgetBytes;
+        private final LinkedHashMap<Long, CachedFeed> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long usedBytes;
+
+        FeedCache(long budgetBytes) {
+            this.budgetBytes = budgetBytes;
+        }
+
+        synchronized byte[] get(Long userId, long version) {
+            CachedFeed feed = entries.get(userId);
+            return feed != null && feed.version == version ? feed.body : null;
+        }
+
+        synchronized void put(Long userId, long version, byte[] body) {
+            remove(userId);
+            if (body.length > budgetBytes) {
+                return;
+            }
+            entries.put(userId, new CachedFeed(version, body));
+            usedBytes += body.length;
+            Iterator<CachedFeed> eldest = entries.values().iterator();
+            while (usedBytes > budgetBytes) {
+                usedBytes -= eldest.next().body.length;
+                eldest.remove();
+            }
+        }
+
+        synchronized void remove(Long userId) {
+            CachedFeed removed = entries.remove(userId);
+            if (removed != null) {
+                usedBytes -= removed.body.length;
+            }
+        }
+
+        synchronized long usedBytes() {
+            return usedBytes;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class CachedFeed {
+        final long version;
+        final byte[] body;
+
+        CachedFeed(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.CategoryStatsSnapshot;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * CategoryStatsService
+ * Category cards and upcoming event counts for the Browse Categories page, served from an immutable snapshot.
+ *
+ * HOW IT WORKS:
+ * - refresh() builds a CategoryStatsSnapshot from one GROUP BY category aggregate (upcoming
+ *   active events per category) and the category list
+ * - the snapshot is swapped in through a volatile field, page requests read it with no query
+ * - refreshed on startup and every category-stats.refresh-interval-ms (default 60s),
+ *   which bounds how stale the numbers can be
+ * - the page's headline totals come from SiteStatisticsService
+ */
+@Service
+public class CategoryStatsService {
+
+    private final EventRepository eventRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile CategoryStatsSnapshot snapshot;
+
+    public CategoryStatsService(EventRepository eventRepository, CategoryRepository categoryRepository) {
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * The current snapshot, built on first use if a request arrives before startup finished.
+     */
+    public CategoryStatsSnapshot getSnapshot() {
+        CategoryStatsSnapshot current = snapshot;
+        if (current == null) {
+            current = build();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category-stats.refresh-interval-ms:60000}")
+    public void refresh() {
+        snapshot = build();
+    }
+
+    private CategoryStatsSnapshot build() {
+        Map<Long, Long> upcomingCounts = new HashMap<>();
+        for (Object[] row : eventRepository.countUpcomingEventsPerCategory(LocalDate.now(), LocalTime.now())) {
+            upcomingCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<Category> categories = categoryRepository.findAll();
+        List<CategoryStatsSnapshot.CategoryCard> cards = categories.stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .map(c -> new CategoryStatsSnapshot.CategoryCard(c.getId(), c.getName(), c.getDescription(),
+                        c.getColourCode()))
+                .collect(Collectors.toList());
+
+        return new CategoryStatsSnapshot(cards, upcomingCounts, LocalDateTime.now());
+    }
+}
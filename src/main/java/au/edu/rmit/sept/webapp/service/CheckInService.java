@@ -0,0 +1,390 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.CheckInManifest;
+import au.edu.rmit.sept.webapp.dto.CheckInResult;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CheckInService
+ * Door check-in: scans signed ticket tokens against in-memory per-event state, writes in batches.
+ *
+ * HOW IT WORKS:
+ * - tokens are verified by signature (TicketTokenService), no database read per scan
+ * - the first authorised scan for an event loads its "door": the organiser, the event's RSVP ids
+ *   (sorted) and a BitSet of checked-in tickets indexed by position in that array, one query
+ * - a user is authorised against the loaded door's organiser, or the event's organiser column
+ *   when no door is loaded, so other users can't load doors or push live ones out of the LRU
+ * - a scan is a binary search plus a test-and-set of the bit under the door's lock, so two
+ *   doors scanning the same ticket admit it once
+ * - tickets still pending payment are flagged in a second BitSet; scanning one re-reads its
+ *   payment status (paying doesn't change the RSVP set, so it doesn't make the door stale)
+ * - admitted tickets are queued and a scheduled flush writes them in one transaction, batched
+ *   UPDATE rsvp SET checked_in_at = ? WHERE id = ? AND checked_in_at IS NULL
+ * - a failed flush puts its check-ins back for the next run, the bean flushes once more on shutdown
+ * - an RSVP created or removed (RsvpChangedEvent, after commit) marks the event's door stale, the
+ *   next scan reloads it and carries over the bits already set
+ *
+ * BUSINESS RULES:
+ * - only the event's organiser (or an admin) can check tickets in or download the manifest
+ * - a ticket is only admitted once paid (or if the event is free), unpaid tickets are left out
+ *   of the manifest so offline devices refuse them too
+ * - at most MAX_BATCH_TOKENS tokens per request (offline devices upload their scans in batches)
+ * - doors are kept for MAX_LOADED_EVENTS events (LRU); duplicate detection is per node, across
+ *   nodes (or after an eviction before the flush) the database keeps the first check-in time
+ */
+@Service
+public class CheckInService {
+
+    static final int MAX_BATCH_TOKENS = 500;
+    static final int MAX_LOADED_EVENTS = 256;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SQL =
+            "UPDATE rsvp SET checked_in_at = ? WHERE id = ? AND checked_in_at IS NULL";
+
+    private final TicketTokenService ticketTokenService;
+    private final RSVPRepository rsvpRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // access ordered, guarded by itself
+    private final Map<Long, Door> doors = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Door> eldest) {
+            return size() > MAX_LOADED_EVENTS;
+        }
+    };
+    private final ConcurrentLinkedQueue<PendingCheckIn> pending = new ConcurrentLinkedQueue<>();
+    // bumped on every RSVP change, a door loaded while it moved may have missed one
+    private final AtomicLong rsvpChanges = new AtomicLong();
+
+    public CheckInService(TicketTokenService ticketTokenService, RSVPRepository rsvpRepository,
+                          EventRepository eventRepository, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.ticketTokenService = ticketTokenService;
+        this.rsvpRepository = rsvpRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Checks in scanned tickets, results in token order.
+     *
+     * @param eventId The event at whose door the tickets were scanned
+     * @param tokens Scanned ticket tokens
+     * @param username The scanning user
+     * @param isAdmin Whether the user is an admin
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the user isn't the event's organiser or an admin
+     * @throws IllegalArgumentException if there are more than MAX_BATCH_TOKENS tokens
+     */
+    public List<CheckInResult> checkIn(Long eventId, List<String> tokens, String username, boolean isAdmin) {
+        if (tokens.size() > MAX_BATCH_TOKENS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_TOKENS + " tickets per request");
+        }
+        authorise(eventId, username, isAdmin);
+        // loaded up front so an unknown event fails even when no token verifies
+        door(eventId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CheckInResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            TicketTokenService.Ticket ticket = ticketTokenService.verify(token).orElse(null);
+            if (ticket == null) {
+                results.add(new CheckInResult(CheckInResult.Status.INVALID, null, null));
+            } else if (!ticket.getEventId().equals(eventId)) {
+                results.add(new CheckInResult(CheckInResult.Status.WRONG_EVENT, null, null));
+            } else {
+                results.add(admit(eventId, ticket.getRsvpId(), now));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Every admissible ticket of the event with its token hash and check-in state, for offline scanning.
+     *
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the user isn't the event's organiser or an admin
+     */
+    public CheckInManifest getManifest(Long eventId, String username, boolean isAdmin) {
+        authorise(eventId, username, isAdmin);
+        Door door = door(eventId);
+
+        List<CheckInManifest.Ticket> tickets = new ArrayList<>(door.rsvpIds.length);
+        synchronized (door) {
+            for (int i = 0; i < door.rsvpIds.length; i++) {
+                if (door.unpaid.get(i)) {
+                    continue;
+                }
+                String token = ticketTokenService.issue(eventId, door.rsvpIds[i]);
+                tickets.add(new CheckInManifest.Ticket(door.rsvpIds[i], door.usernames[i], tokenHash(token),
+                        door.checkedIn.get(i)));
+            }
+        }
+        return new CheckInManifest(eventId, LocalDateTime.now(), tickets);
+    }
+
+    /**
+     * Writes queued check-ins to the database.
+     *
+     * @return Number of check-ins written
+     */
+    @Scheduled(fixedDelayString = "${check-in.flush-interval-ms:2000}")
+    public synchronized int flush() {
+        List<PendingCheckIn> batch = new ArrayList<>();
+        PendingCheckIn next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            return batch.size();
+        } catch (DataAccessException e) {
+            System.err.println("Failed to flush check-ins, retrying next run: " + e.getMessage());
+            pending.addAll(batch);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        rsvpChanges.incrementAndGet();
+        Door door;
+        synchronized (doors) {
+            door = doors.get(changed.getEventId());
+        }
+        if (door != null) {
+            door.stale = true;
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Hex SHA-256 of a ticket token, how the manifest identifies tickets.
+     */
+    public static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CheckInResult admit(Long eventId, Long rsvpId, LocalDateTime now) {
+        // null until a pending ticket's payment status has been re-read
+        Boolean paid = null;
+        while (true) {
+            Door door = door(eventId);
+            synchronized (door) {
+                if (door.retired) {
+                    // replaced by a reload since we looked it up
+                    continue;
+                }
+                int index = Arrays.binarySearch(door.rsvpIds, rsvpId);
+                if (index < 0) {
+                    return new CheckInResult(CheckInResult.Status.NOT_FOUND, null, null);
+                }
+                if (door.checkedIn.get(index)) {
+                    return new CheckInResult(CheckInResult.Status.ALREADY_CHECKED_IN, rsvpId, door.usernames[index]);
+                }
+                if (door.unpaid.get(index) && paid != null) {
+                    if (!paid) {
+                        return new CheckInResult(CheckInResult.Status.NOT_PAID, rsvpId, door.usernames[index]);
+                    }
+                    door.unpaid.clear(index);
+                }
+                if (!door.unpaid.get(index)) {
+                    door.checkedIn.set(index);
+                    pending.add(new PendingCheckIn(rsvpId, now));
+                    return new CheckInResult(CheckInResult.Status.ADMITTED, rsvpId, door.usernames[index]);
+                }
+            }
+            // pending when the door was loaded, the payment may have completed since
+            paid = rsvpRepository.existsByIdAndPaymentStatus(rsvpId, "paid");
+        }
+    }
+
+    private void authorise(Long eventId, String username, boolean isAdmin) {
+        if (isAdmin) {
+            return;
+        }
+        String organiser;
+        synchronized (doors) {
+            Door loaded = doors.get(eventId);
+            organiser = loaded != null ? loaded.organiserUsername : null;
+        }
+        if (organiser == null) {
+            organiser = eventRepository.findOrganiserUsernameById(eventId)
+                    .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        }
+        if (!organiser.equals(username)) {
+            throw new AccessDeniedException("Only the event organiser can check in tickets");
+        }
+    }
+
+    /**
+     * The event's door, loaded on first use and reloaded when stale.
+     */
+    private Door door(Long eventId) {
+        Door current;
+        synchronized (doors) {
+            current = doors.get(eventId);
+        }
+        if (current == null) {
+            // two first scans racing both load, the first to publish wins
+            Door loaded = load(eventId, null);
+            synchronized (doors) {
+                Door existing = doors.get(eventId);
+                if (existing != null) {
+                    return existing;
+                }
+                doors.put(eventId, loaded);
+                return loaded;
+            }
+        }
+        if (!current.stale) {
+            return current;
+        }
+        // reloaded under the old door's lock so no scan lands on it after its bits are copied
+        synchronized (current) {
+            if (current.retired) {
+                synchronized (doors) {
+                    Door replacement = doors.get(eventId);
+                    return replacement != null ? replacement : current;
+                }
+            }
+            Door loaded = load(eventId, current);
+            current.retired = true;
+            synchronized (doors) {
+                doors.put(eventId, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private Door load(Long eventId, Door previous) {
+        long changesBefore = rsvpChanges.get();
+        String organiser = eventRepository.findOrganiserUsernameById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        List<Object[]> rows = rsvpRepository.findCheckInRows(eventId);
+
+        long[] rsvpIds = new long[rows.size()];
+        String[] usernames = new String[rows.size()];
+        BitSet checkedIn = new BitSet(rows.size());
+        BitSet unpaid = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            rsvpIds[i] = (Long) row[0];
+            usernames[i] = (String) row[1];
+            if (row[2] != null) {
+                checkedIn.set(i);
+            }
+            if ("pending".equals(row[3])) {
+                unpaid.set(i);
+            }
+        }
+        // admitted here but maybe not flushed yet
+        if (previous != null) {
+            for (int i = previous.checkedIn.nextSetBit(0); i >= 0; i = previous.checkedIn.nextSetBit(i + 1)) {
+                int index = Arrays.binarySearch(rsvpIds, previous.rsvpIds[i]);
+                if (index >= 0) {
+                    checkedIn.set(index);
+                }
+            }
+        }
+        for (PendingCheckIn queued : pending) {
+            int index = Arrays.binarySearch(rsvpIds, queued.rsvpId);
+            if (index >= 0) {
+                checkedIn.set(index);
+            }
+        }
+
+        Door door = new Door(organiser, rsvpIds, usernames, checkedIn, unpaid);
+        door.stale = rsvpChanges.get() != changesBefore;
+        return door;
+    }
+
+    private void write(List<PendingCheckIn> batch) {
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (PendingCheckIn checkIn : batch) {
+            updates.add(new Object[] { Timestamp.valueOf(checkIn.checkedInAt), checkIn.rsvpId });
+        }
+        // RSVPs removed since the scan update nothing
+        for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates.subList(from, Math.min(from + BATCH_SIZE, updates.size())));
+        }
+    }
+
+    private static final class Door {
+        final String organiserUsername;
+        final long[] rsvpIds;
+        final String[] usernames;
+        // guarded by the door
+        final BitSet checkedIn;
+        // payment pending at load, guarded by the door
+        final BitSet unpaid;
+        volatile boolean stale;
+        // set once a reload replaced this door, guarded by the door
+        boolean retired;
+
+        Door(String organiserUsername, long[] rsvpIds, String[] usernames, BitSet checkedIn, BitSet unpaid) {
+            this.organiserUsername = organiserUsername;
+            this.rsvpIds = rsvpIds;
+            this.usernames = usernames;
+            this.checkedIn = checkedIn;
+            this.unpaid = unpaid;
+        }
+    }
+
+    private static final class PendingCheckIn {
+        final long rsvpId;
+        final LocalDateTime checkedInAt;
+
+        PendingCheckIn(long rsvpId, LocalDateTime checkedInAt) {
+            this.rsvpId = rsvpId;
+            this.checkedInAt = checkedInAt;
+        }
+    }
+}
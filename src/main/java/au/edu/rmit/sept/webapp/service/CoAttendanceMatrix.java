@@ -0,0 +1,219 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * CoAttendanceMatrix
+ * Sparse, symmetric item-item matrix: cell (x, y) is the number of users with RSVPs to both events.
+ *
+ * HOW IT'S STORED:
+ * - one row per event, only non-zero cells
+ * - each row is an open-addressing long -> int hash map (primitive arrays, no boxing),
+ *   so a row with n cells costs about 12n-24n bytes
+ * - cells reaching zero are deleted with backward-shift, no tombstones
+ *
+ * Thread-safe: the row map is concurrent and each row synchronises on itself.
+ * No Spring or JPA types.
+ */
+public class CoAttendanceMatrix {
+
+    private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+
+    /**
+     * Records one user attending both events (delta 1) or no longer attending both (delta -1).
+     * Updates both (x, y) and (y, x).
+     */
+    public void add(long x, long y, int delta) {
+        if (x == y) {
+            return;
+        }
+        addHalf(x, y, delta);
+        addHalf(y, x, delta);
+    }
+
+    private void addHalf(long from, long to, int delta) {
+        if (delta > 0) {
+            rows.computeIfAbsent(from, k -> new Row()).add(to, delta);
+            return;
+        }
+        Row row = rows.get(from);
+        if (row != null) {
+            row.add(to, delta);
+        }
+    }
+
+    public int get(long x, long y) {
+        Row row = rows.get(x);
+        return row == null ? 0 : row.get(y);
+    }
+
+    /**
+     * Merges another matrix into this one, used to combine partitions built in parallel.
+     */
+    public void addAll(CoAttendanceMatrix other) {
+        other.rows.forEach((key, row) -> {
+            Row target = rows.computeIfAbsent(key, k -> new Row());
+            row.forEach(target::add);
+        });
+    }
+
+    /**
+     * Events most co-attended with the given one.
+     *
+     * @param eventId The event ID
+     * @param limit Maximum number of events
+     * @param include Filter applied before ranking (e.g. only upcoming events)
+     * @return Event IDs ordered by co-attendance count, highest first
+     */
+    public long[] top(long eventId, int limit, LongPredicate include) {
+        Row row = rows.get(eventId);
+        return row == null ? new long[0] : row.top(limit, include);
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    public long cellCount() {
+        long cells = 0;
+        for (Row row : rows.values()) {
+            cells += row.size();
+        }
+        return cells;
+    }
+
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(long eventId, int count);
+    }
+
+    /**
+     * Open-addressing long -> int map with linear probing. Key 0 marks an empty slot (ids start at 1).
+     */
+    static final class Row {
+        private static final float MAX_LOAD = 0.6f;
+
+        private long[] keys = new long[8];
+        private int[] counts = new int[8];
+        private int size;
+
+        synchronized void add(long key, int delta) {
+            int slot = find(key);
+            if (keys[slot] == key) {
+                int updated = counts[slot] + delta;
+                if (updated > 0) {
+                    counts[slot] = updated;
+                } else {
+                    delete(slot);
+                }
+                return;
+            }
+            if (delta <= 0) {
+                return;
+            }
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size > keys.length * MAX_LOAD) {
+                resize(keys.length * 2);
+            }
+        }
+
+        synchronized int get(long key) {
+            int slot = find(key);
+            return keys[slot] == key ? counts[slot] : 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void forEach(CellConsumer consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    consumer.accept(keys[i], counts[i]);
+                }
+            }
+        }
+
+        synchronized long[] top(int limit, LongPredicate include) {
+            long[] bestIds = new long[limit];
+            int[] bestCounts = new int[limit];
+            int found = 0;
+            for (int i = 0; i < keys.length; i++) {
+                long key = keys[i];
+                if (key == 0 || !include.test(key)) {
+                    continue;
+                }
+                int count = counts[i];
+                if (found == limit && count <= bestCounts[limit - 1]) {
+                    continue;
+                }
+                // insertion into the small sorted buffer
+                int pos = Math.min(found, limit - 1);
+                while (pos > 0 && bestCounts[pos - 1] < count) {
+                    bestIds[pos] = bestIds[pos - 1];
+                    bestCounts[pos] = bestCounts[pos - 1];
+                    pos--;
+                }
+                bestIds[pos] = key;
+                bestCounts[pos] = count;
+                if (found < limit) {
+                    found++;
+                }
+            }
+            return Arrays.copyOf(bestIds, found);
+        }
+
+        // slot holding the key, or the empty slot where it would go
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        // backward-shift deletion keeps probe chains intact without tombstones
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != 0) {
+                int home = hash(keys[next]) & mask;
+                // move the entry back if its home slot is not between the gap and its position
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    counts[gap] = counts[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = 0;
+            counts[gap] = 0;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[capacity];
+            counts = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventSummaryDTO;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * CoAttendanceService
+ * "People who RSVP'd to X also RSVP'd to Y" from the rsvp table.
+ *
+ * HOW IT WORKS:
+ * - CoAttendanceMatrix counts, for every pair of events, the users with RSVPs to both
+ * - RSVP inserts and deletes (RsvpChangedEvent, after commit) apply the difference between the
+ *   user's capped pairs without and with the changed event, the same pairs rebuild counts
+ * - nightly rebuild: one query loads all RSVPs grouped by user, users are split into
+ *   partitions counted in parallel with fork/join, partial matrices are merged and swapped in
+ *
+ * BUSINESS RULES:
+ * - only a user's most recent MAX_EVENTS_PER_USER RSVPs are paired, keeps one heavy user
+ *   from costing a quadratic number of cells
+ * - "also going" lists only show events that haven't started (via UpcomingEventCatalog)
+ * - an RSVP change racing the nightly rebuild may be counted once too often or not at all,
+ *   the next rebuild corrects it
+ */
+@Service
+public class CoAttendanceService {
+
+    static final int MAX_EVENTS_PER_USER = 200;
+    // users per fork/join leaf task
+    private static final int PARTITION_SIZE = 2_000;
+    // row entries summed per attended event when building recommendation signals
+    private static final int ROW_TOP_FOR_RECOMMENDATIONS = 20;
+
+    private final RSVPRepository rsvpRepository;
+    private final UpcomingEventCatalog upcomingEventCatalog;
+
+    private volatile CoAttendanceMatrix matrix = new CoAttendanceMatrix();
+
+    public CoAttendanceService(RSVPRepository rsvpRepository, UpcomingEventCatalog upcomingEventCatalog) {
+        this.rsvpRepository = rsvpRepository;
+        this.upcomingEventCatalog = upcomingEventCatalog;
+    }
+
+    /**
+     * Upcoming events most often attended by people going to this one.
+     *
+     * @param eventId The event ID
+     * @param limit Maximum number of events
+     * @return Upcoming events, highest co-attendance first
+     */
+    public List<EventSummaryDTO> getAlsoGoing(Long eventId, int limit) {
+        if (eventId == null) {
+            return List.of();
+        }
+        long[] top = matrix.top(eventId, limit, id -> upcomingEventCatalog.get(id).isPresent());
+        return upcomingEventCatalog.getAll(top, limit);
+    }
+
+    /**
+     * Co-attendance summed over a set of attended events, a recommendation signal.
+     *
+     * @param attendedEventIds Events a user has RSVP'd to
+     * @return Event ID -> summed co-attendance count, attended events themselves excluded
+     */
+    public Map<Long, Integer> coAttendedCounts(Set<Long> attendedEventIds) {
+        CoAttendanceMatrix current = matrix;
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long attended : attendedEventIds) {
+            long[] top = current.top(attended, ROW_TOP_FOR_RECOMMENDATIONS, id -> !attendedEventIds.contains(id));
+            for (long other : top) {
+                counts.merge(other, current.get(attended, other), Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        long eventId = changed.getEventId();
+        long[] others = rsvpRepository.findEventIdsByUserId(changed.getUserId()).stream()
+                .mapToLong(Long::longValue).filter(id -> id != eventId).toArray();
+        Set<Long> without = toSet(mostRecent(others));
+        Set<Long> with = toSet(mostRecent(append(others, eventId)));
+        int delta = changed.isAttending() ? 1 : -1;
+        CoAttendanceMatrix current = matrix;
+        addPairsMissingFrom(current, with, without, delta);
+        // past the cap, the event pushes the oldest one out (or removing it lets that one back in)
+        addPairsMissingFrom(current, without, with, -delta);
+    }
+
+    // pairs within ids that have a member outside other, each pair once
+    private static void addPairsMissingFrom(CoAttendanceMatrix matrix, Set<Long> ids, Set<Long> other, int delta) {
+        for (Long x : ids) {
+            if (other.contains(x)) {
+                continue;
+            }
+            for (Long y : ids) {
+                if (!x.equals(y) && (other.contains(y) || y > x)) {
+                    matrix.add(x, y, delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recounts the whole matrix from the rsvp table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // before the recommendation rebuild, which reads co-attendance
+    @Scheduled(cron = "${co-attendance.rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        List<long[]> eventsPerUser = new ArrayList<>();
+        Long currentUser = null;
+        List<Long> current = new ArrayList<>();
+        // rows arrive ordered by user
+        for (Object[] row : rsvpRepository.findAttendanceRows()) {
+            Long userId = (Long) row[0];
+            if (!userId.equals(currentUser)) {
+                addUser(eventsPerUser, current);
+                current = new ArrayList<>();
+                currentUser = userId;
+            }
+            current.add((Long) row[1]);
+        }
+        addUser(eventsPerUser, current);
+
+        matrix = count(eventsPerUser);
+    }
+
+    static CoAttendanceMatrix count(List<long[]> eventsPerUser) {
+        return ForkJoinPool.commonPool().invoke(new CountTask(eventsPerUser, 0, eventsPerUser.size()));
+    }
+
+    CoAttendanceMatrix currentMatrix() {
+        return matrix;
+    }
+
+    private static void addUser(List<long[]> eventsPerUser, List<Long> eventIds) {
+        if (eventIds.size() < 2) {
+            return;
+        }
+        eventsPerUser.add(mostRecent(eventIds.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    // the cap applied by both rebuild and the incremental updates
+    private static long[] mostRecent(long[] ids) {
+        if (ids.length <= MAX_EVENTS_PER_USER) {
+            return ids;
+        }
+        // ids grow over time, highest ids are the most recent events
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        return Arrays.copyOfRange(sorted, sorted.length - MAX_EVENTS_PER_USER, sorted.length);
+    }
+
+    private static long[] append(long[] ids, long id) {
+        long[] appended = Arrays.copyOf(ids, ids.length + 1);
+        appended[ids.length] = id;
+        return appended;
+    }
+
+    private static Set<Long> toSet(long[] ids) {
+        Set<Long> set = new HashSet<>(ids.length * 2);
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    /**
+     * Counts pairs for a range of users, splitting until a range fits one partition.
+     */
+    private static final class CountTask extends RecursiveTask<CoAttendanceMatrix> {
+        private final List<long[]> eventsPerUser;
+        private final int from;
+        private final int to;
+
+        CountTask(List<long[]> eventsPerUser, int from, int to) {
+            this.eventsPerUser = eventsPerUser;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CoAttendanceMatrix compute() {
+            if (to - from <= PARTITION_SIZE) {
+                CoAttendanceMatrix partial = new CoAttendanceMatrix();
+                for (int u = from; u < to; u++) {
+                    long[] ids = eventsPerUser.get(u);
+                    for (int i = 0; i < ids.length; i++) {
+                        for (int j = i + 1; j < ids.length; j++) {
+                            partial.add(ids[i], ids[j], 1);
+                        }
+                    }
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(eventsPerUser, from, mid);
+            left.fork();
+            CoAttendanceMatrix right = new CountTask(eventsPerUser, mid, to).compute();
+            CoAttendanceMatrix merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
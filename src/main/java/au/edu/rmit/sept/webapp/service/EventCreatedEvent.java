@@ -0,0 +1,27 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published by EventService once a new event has been saved.
+ * Listeners use @TransactionalEventListener so they only see committed events,
+ * keeps in-memory indexes (saved searches, similarity, recommendations) off the create request path.
+ */
+public class EventCreatedEvent {
+
+    private final Long eventId;
+    private final LocalDate eventDate;
+
+    public EventCreatedEvent(Long eventId, LocalDate eventDate) {
+        this.eventId = eventId;
+        this.eventDate = eventDate;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+}
@@ -0,0 +1,289 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventDeletionProgress;
+import au.edu.rmit.sept.webapp.model.Event;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * EventDeletionService
+ * Deletes events in the background, so deleting an event with tens of thousands of RSVPs, payments
+ * and photos doesn't hold row locks for the length of a request.
+ *
+ * HOW IT WORKS:
+ * - the request only hides the event (is_deactivated and is_deleting, one conditional UPDATE) and
+ *   records a row in event_deletion_jobs; EventStatusChangedEvent DELETED is published as before
+ * - every event-deletion.interval-ms the pending jobs are run; a job is claimed with a lease in
+ *   its row, so two nodes don't work on the same event
+ * - the event's rows are removed in chunks of chunkSize, each chunk committed in its own
+ *   transaction together with the job's progress: photos (files from storage first), the
+ *   waitlist, RSVPs with their payments, then blocks, cancellations, reviews and search alerts
+ * - keywords, the view count and the rating summary (a handful of rows) go last with the event
+ *   row, along with anything written to the other tables while the chunks ran
+ * - a job that fails or whose node dies keeps its progress and resumes on a later run
+ *
+ * BUSINESS RULES:
+ * - only active events are deleted (a deactivated event stays for the admins)
+ * - a deleting event can't be reactivated and isn't listed as deactivated
+ * - the organiser and admins can follow the progress; finished jobs are purged after RETENTION_DAYS
+ */
+@Service
+public class EventDeletionService {
+
+    static final int RETENTION_DAYS = 7;
+    private static final long LEASE_MINUTES = 5;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // deleted chunk by chunk after the photos, waitlist and RSVPs, in this order
+    private static final List<String> CHILD_TABLES = List.of(
+            "blocked_rsvps", "cancelled_rsvps", "reviews", "search_alerts");
+    // a few rows per event, deleted with the event
+    private static final List<String> SMALL_TABLES = List.of(
+            "event_keywords", "event_view_counts", "event_rating_summaries");
+
+    private static final String PROGRESS_SQL =
+            "UPDATE event_deletion_jobs SET rows_deleted = rows_deleted + ?, photos_deleted = photos_deleted + ?, " +
+            "lease_until = ? WHERE event_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhotoStorageService photoStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public EventDeletionService(JdbcTemplate jdbcTemplate, PhotoStorageService photoStorageService,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${event-deletion.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.photoStorageService = photoStorageService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Hides the event and queues the removal of its rows. Joins the caller's transaction.
+     *
+     * @return false if the event was deactivated (or is already being deleted)
+     */
+    @Transactional
+    public boolean requestDeletion(Event event, Long requestedBy) {
+        int hidden = jdbcTemplate.update(
+                "UPDATE events SET is_deactivated = TRUE, is_deleting = TRUE WHERE id = ? AND is_deactivated = FALSE",
+                event.getId());
+        if (hidden == 0) {
+            return false;
+        }
+        jdbcTemplate.update("INSERT INTO event_deletion_jobs (event_id, organiser_id, requested_by, requested_at) " +
+                        "VALUES (?, ?, ?, ?)",
+                event.getId(), event.getCreatedBy() != null ? event.getCreatedBy().getId() : null, requestedBy,
+                Timestamp.valueOf(LocalDateTime.now()));
+        eventPublisher.publishEvent(new EventStatusChangedEvent(event.getId(), event.getEventDate(),
+                EventStatusChangedEvent.Status.DELETED, event.getRsvpCount()));
+        return true;
+    }
+
+    /**
+     * Progress of an event's deletion.
+     *
+     * @throws EntityNotFoundException if the event isn't being (or recently was) deleted
+     * @throws AccessDeniedException if the requester isn't the event's organiser or an admin
+     */
+    public EventDeletionProgress getProgress(Long eventId, Long userId, boolean isAdmin) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT organiser_id, requested_at, rows_total, rows_deleted, photos_deleted, finished_at, last_error " +
+                "FROM event_deletion_jobs WHERE event_id = ?",
+                (rs, i) -> new Object[] { rs.getObject(1), rs.getTimestamp(2), rs.getObject(3), rs.getLong(4),
+                        rs.getInt(5), rs.getTimestamp(6), rs.getString(7) },
+                eventId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("No deletion found for event " + eventId);
+        }
+        Object[] row = rows.get(0);
+        Long organiserId = row[0] != null ? ((Number) row[0]).longValue() : null;
+        if (!isAdmin && (organiserId == null || !organiserId.equals(userId))) {
+            throw new AccessDeniedException("Only the event organiser or admin can view this deletion");
+        }
+        Timestamp finishedAt = (Timestamp) row[5];
+        return new EventDeletionProgress(eventId, ((Timestamp) row[1]).toLocalDateTime(),
+                row[2] != null ? ((Number) row[2]).longValue() : null, (Long) row[3], (Integer) row[4],
+                finishedAt != null ? finishedAt.toLocalDateTime() : null, (String) row[6]);
+    }
+
+    /**
+     * Runs the unfinished jobs no other node holds, then purges old finished ones.
+     *
+     * @return Number of events fully deleted
+     */
+    @Scheduled(fixedDelayString = "${event-deletion.interval-ms:10000}")
+    public int runPending() {
+        List<Long> eventIds = jdbcTemplate.queryForList(
+                "SELECT event_id FROM event_deletion_jobs WHERE finished_at IS NULL ORDER BY requested_at",
+                Long.class);
+        int finished = 0;
+        for (Long eventId : eventIds) {
+            if (!claim(eventId)) {
+                continue;
+            }
+            try {
+                run(eventId);
+                finished++;
+            } catch (RuntimeException e) {
+                // progress so far is committed, the next run resumes from there
+                System.err.println("Failed to delete event " + eventId + ": " + e.getMessage());
+                String error = String.valueOf(e.getMessage());
+                jdbcTemplate.update("UPDATE event_deletion_jobs SET last_error = ?, lease_until = NULL WHERE event_id = ?",
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, eventId);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM event_deletion_jobs WHERE finished_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(RETENTION_DAYS)));
+        return finished;
+    }
+
+    private boolean claim(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update("UPDATE event_deletion_jobs SET lease_until = ? WHERE event_id = ? " +
+                        "AND finished_at IS NULL AND (lease_until IS NULL OR lease_until < ?)",
+                Timestamp.valueOf(now.plusMinutes(LEASE_MINUTES)), eventId, Timestamp.valueOf(now)) == 1;
+    }
+
+    private void run(Long eventId) {
+        jdbcTemplate.update("UPDATE event_deletion_jobs SET rows_total = ? WHERE event_id = ? AND rows_total IS NULL",
+                countRows(eventId), eventId);
+
+        drain(() -> deletePhotos(eventId));
+        // the waitlist before the RSVPs, so no one is promoted into a seat being deleted
+        drain(() -> deleteChunk(eventId, "event_waitlist"));
+        drain(() -> deleteRsvps(eventId));
+        for (String table : CHILD_TABLES) {
+            drain(() -> deleteChunk(eventId, table));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // rows written while the chunks ran (a late RSVP or block), a few at most
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM payments WHERE rsvp_id IN (SELECT id FROM rsvp WHERE event_id = ?)", eventId);
+            deleted += jdbcTemplate.update("DELETE FROM event_waitlist WHERE event_id = ?", eventId);
+            deleted += jdbcTemplate.update("DELETE FROM rsvp WHERE event_id = ?", eventId);
+            for (String table : CHILD_TABLES) {
+                deleted += jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = ?", eventId);
+            }
+            for (String table : SMALL_TABLES) {
+                deleted += jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = ?", eventId);
+            }
+            deleted += jdbcTemplate.update("DELETE FROM events WHERE id = ? AND is_deleting = TRUE", eventId);
+            jdbcTemplate.update("UPDATE event_deletion_jobs SET rows_deleted = rows_deleted + ?, finished_at = ?, " +
+                            "lease_until = NULL, last_error = NULL WHERE event_id = ?",
+                    deleted, Timestamp.valueOf(LocalDateTime.now()), eventId);
+        });
+    }
+
+    // every row the job will delete, the event's own included
+    private long countRows(Long eventId) {
+        long total = 1 + count("SELECT COUNT(*) FROM event_photos WHERE event_id = ?", eventId)
+                + count("SELECT COUNT(*) FROM event_waitlist WHERE event_id = ?", eventId)
+                + count("SELECT COUNT(*) FROM rsvp WHERE event_id = ?", eventId)
+                + count("SELECT COUNT(*) FROM payments p JOIN rsvp r ON p.rsvp_id = r.id WHERE r.event_id = ?", eventId);
+        for (String table : CHILD_TABLES) {
+            total += count("SELECT COUNT(*) FROM " + table + " WHERE event_id = ?", eventId);
+        }
+        for (String table : SMALL_TABLES) {
+            total += count("SELECT COUNT(*) FROM " + table + " WHERE event_id = ?", eventId);
+        }
+        return total;
+    }
+
+    private long count(String sql, Long eventId) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, eventId);
+        return count != null ? count : 0;
+    }
+
+    // files first, outside the transaction: a failure after this leaves the rows, and deleting a
+    // missing file again is harmless
+    private int deletePhotos(Long eventId) {
+        List<Object[]> photos = jdbcTemplate.query(
+                "SELECT id, filename FROM event_photos WHERE event_id = ? ORDER BY id LIMIT ?",
+                (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2) }, eventId, chunkSize);
+        if (photos.isEmpty()) {
+            return 0;
+        }
+        Object[] ids = new Object[photos.size()];
+        for (int i = 0; i < photos.size(); i++) {
+            ids[i] = photos.get(i)[0];
+            try {
+                photoStorageService.deletePhoto(eventId, (String) photos.get(i)[1]);
+            } catch (IOException e) {
+                // Log error but continue, the row goes either way
+                System.err.println("Failed to delete photo file " + photos.get(i)[1] + ": " + e.getMessage());
+            }
+        }
+        return transactionTemplate.execute(status -> {
+            int deleted = jdbcTemplate.update("DELETE FROM event_photos WHERE id IN (" + placeholders(ids.length) + ")", ids);
+            progress(eventId, deleted, deleted);
+            return deleted;
+        });
+    }
+
+    private int deleteRsvps(Long eventId) {
+        return transactionTemplate.execute(status -> {
+            Object[] ids = jdbcTemplate.queryForList("SELECT id FROM rsvp WHERE event_id = ? ORDER BY id LIMIT ?",
+                    Long.class, eventId, chunkSize).toArray();
+            if (ids.length == 0) {
+                return 0;
+            }
+            String in = placeholders(ids.length);
+            int deleted = jdbcTemplate.update("DELETE FROM payments WHERE rsvp_id IN (" + in + ")", ids)
+                    + jdbcTemplate.update("DELETE FROM rsvp WHERE id IN (" + in + ")", ids);
+            progress(eventId, deleted, 0);
+            return deleted;
+        });
+    }
+
+    private int deleteChunk(Long eventId, String table) {
+        return transactionTemplate.execute(status -> {
+            Object[] ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE event_id = ? ORDER BY id LIMIT ?",
+                    Long.class, eventId, chunkSize).toArray();
+            if (ids.length == 0) {
+                return 0;
+            }
+            int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(ids.length) + ")", ids);
+            progress(eventId, deleted, 0);
+            return deleted;
+        });
+    }
+
+    // committed with the chunk, renews the lease
+    private void progress(Long eventId, int rows, int photos) {
+        jdbcTemplate.update(PROGRESS_SQL, rows, photos,
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(LEASE_MINUTES)), eventId);
+    }
+
+    // runs chunks until one finds nothing left
+    private static void drain(IntSupplier chunk) {
+        int deleted;
+        do {
+            deleted = chunk.getAsInt();
+        } while (deleted > 0);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
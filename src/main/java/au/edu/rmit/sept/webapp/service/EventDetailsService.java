@@ -0,0 +1,146 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.AttendeePage;
+import au.edu.rmit.sept.webapp.dto.DisplayReviewDTO;
+import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
+import au.edu.rmit.sept.webapp.dto.EventDetailsPage;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.EventRatingSummary;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * EventDetailsService
+ * Builds the event details page read model with a fixed number of queries.
+ *
+ * HOW IT WORKS:
+ * - 1: the event with category, creator and keywords (findWithKeywordsById)
+ * - 2: one row of scalar subqueries (findDetailsCounters) for the attendee count and the viewer's
+ *   RSVP, blocked and waitlist status, joined with the event's rating summary (count, average, distribution)
+ * - 3: the newest reviews with their authors
+ * - 4: signed-in viewers only, the first ATTENDEE_PAGE_SIZE attendees (username and RSVP date only)
+ * The viewer is identified by username, so no user lookup is needed.
+ * The rest of the attendee list is paged with getAttendeePage by (rsvp_date, id) cursor, so a large
+ * event costs the same per request as a small one.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EventDetailsService {
+
+    public static final int ATTENDEE_PAGE_SIZE = 20;
+    public static final int MAX_ATTENDEE_PAGE_SIZE = 50;
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final ReviewService reviewService;
+
+    public EventDetailsService(EventRepository eventRepository, RSVPRepository rsvpRepository,
+                               ReviewService reviewService) {
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.reviewService = reviewService;
+    }
+
+    /**
+     * Everything the details page shows for one event and viewer.
+     *
+     * @param eventId The event ID
+     * @param username The viewer's username, null for anonymous
+     * @param includeDeactivated Whether deactivated events are visible (admins)
+     * @return The page read model
+     * @throws EntityNotFoundException if the event doesn't exist or is deactivated and not included
+     */
+    public EventDetailsPage getDetailsPage(Long eventId, String username, boolean includeDeactivated) {
+        Event event = eventRepository.findWithKeywordsById(eventId)
+                .filter(e -> includeDeactivated || !e.isDeactivated())
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+
+        EventDetailsDTO dto = EventService.mapEventFields(event);
+
+        Object[] counters = eventRepository.findDetailsCounters(eventId, username).get(0);
+        long attendeeCount = ((Number) counters[0]).longValue();
+        Long userRsvpId = (Long) counters[1];
+        boolean blocked = ((Number) counters[3]).longValue() > 0;
+        EventRatingSummary ratings = (EventRatingSummary) counters[4];
+        long totalReviews = ratings == null ? 0 : ratings.getRatingCount();
+
+        dto.setAttendeeCount((int) attendeeCount);
+        dto.setEventFull(event.getCapacity() != null && attendeeCount >= event.getCapacity().longValue());
+        dto.setUserRsvpStatus(userRsvpId != null);
+        dto.setUserRsvpId(userRsvpId);
+        dto.setUserPaymentStatus((String) counters[2]);
+        dto.setUserBlockedStatus(blocked);
+        dto.setUserWaitlistPosition(((Number) counters[5]).longValue());
+        dto.setUserHoldExpiresAt((LocalDateTime) counters[6]);
+
+        // first attendee page for signed-in viewers only (template hides it otherwise)
+        if (username != null && attendeeCount > 0) {
+            AttendeePage attendees = toAttendeePage(rsvpRepository.findAttendeePage(eventId,
+                    PageRequest.of(0, ATTENDEE_PAGE_SIZE + 1)), ATTENDEE_PAGE_SIZE);
+            dto.setAttendees(attendees.getAttendees());
+            dto.setAttendeesNextCursor(attendees.getNextCursor());
+        } else {
+            dto.setAttendees(new ArrayList<>());
+        }
+
+        List<DisplayReviewDTO> reviews = totalReviews == 0 ? new ArrayList<>()
+                : reviewService.getRecentReviewsForEvent(eventId);
+        return new EventDetailsPage(dto, reviews, ratings == null ? 0.0 : ratings.getAverageRating(), totalReviews,
+                ratings == null ? new long[5] : ratings.getDistribution());
+    }
+
+    /**
+     * One page of an event's public attendee list, continuing after the given cursor (null for the first page).
+     *
+     * @param eventId The event ID
+     * @param cursor nextCursor of the previous page, or null
+     * @param size Page size, capped at MAX_ATTENDEE_PAGE_SIZE
+     * @param includeDeactivated Whether deactivated events are visible (admins)
+     * @return The page and the cursor of the next one
+     * @throws EntityNotFoundException if the event doesn't exist or is deactivated and not included
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public AttendeePage getAttendeePage(Long eventId, String cursor, int size, boolean includeDeactivated) {
+        boolean visible = includeDeactivated ? eventRepository.existsById(eventId)
+                : eventRepository.existsByIdAndDeactivatedFalse(eventId);
+        if (!visible) {
+            throw new EntityNotFoundException("Event not found with id: " + eventId);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_ATTENDEE_PAGE_SIZE));
+        // one extra row tells whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        if (cursor == null || cursor.isBlank()) {
+            return toAttendeePage(rsvpRepository.findAttendeePage(eventId, limit), pageSize);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toAttendeePage(rsvpRepository.findAttendeePageAfter(eventId, after.getTimestamp(), after.getId(),
+                limit), pageSize);
+    }
+
+    /**
+     * Maps (rsvp id, username, rsvp date) rows fetched with pageSize + 1 as limit to a page.
+     * Shared with EventService.
+     */
+    static AttendeePage toAttendeePage(List<Object[]> rows, int pageSize) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor((LocalDateTime) last[2], (Long) last[0]).encode();
+        }
+        List<EventDetailsDTO.AttendeeDTO> attendees = rows.stream()
+                .map(row -> new EventDetailsDTO.AttendeeDTO((String) row[1], (LocalDateTime) row[2]))
+                .collect(Collectors.toList());
+        return new AttendeePage(attendees, nextCursor);
+    }
+}
@@ -0,0 +1,155 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventHeatmapService
+ * Active event counts per day, for calendar stats and density (heatmap) views.
+ *
+ * HOW IT WORKS:
+ * - counts are cached per month bucket as an int per day
+ * - a request for any range loads all its missing months with one GROUP BY event_date query,
+ *   cached months cost nothing
+ * - creating, deleting, deactivating or reactivating an event (after commit) evicts the month
+ *   of its date; a load that raced an eviction isn't cached
+ *
+ * BUSINESS RULES:
+ * - ranges are at most MAX_RANGE_DAYS long (a year view plus padding)
+ * - at most MAX_CACHED_MONTHS buckets are kept, the cache is cleared when a load would exceed it
+ */
+@Service
+public class EventHeatmapService {
+
+    static final int MAX_RANGE_DAYS = 400;
+    static final int MAX_CACHED_MONTHS = 240;
+
+    private final EventRepository eventRepository;
+
+    private final Map<YearMonth, int[]> months = new ConcurrentHashMap<>();
+    // bumped on every eviction, loads started before an eviction don't populate the cache
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EventHeatmapService(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Event counts per day.
+     *
+     * @param start First date (inclusive)
+     * @param end Last date (exclusive)
+     * @return Days with at least one event, in date order
+     * @throws IllegalArgumentException if the range is empty or longer than MAX_RANGE_DAYS
+     */
+    public SortedMap<LocalDate, Integer> getDailyCounts(LocalDate start, LocalDate end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end.minusDays(1));
+        Map<YearMonth, int[]> buckets = new HashMap<>();
+        YearMonth firstMissing = null;
+        YearMonth lastMissing = null;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            int[] cached = months.get(month);
+            if (cached != null) {
+                buckets.put(month, cached);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = month;
+                }
+                lastMissing = month;
+            }
+        }
+        if (firstMissing != null) {
+            // one query for the span of missing months, cached months inside it are refreshed too
+            buckets.putAll(load(firstMissing, lastMissing));
+        }
+
+        SortedMap<LocalDate, Integer> counts = new TreeMap<>();
+        for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+            int count = buckets.get(YearMonth.from(day))[day.getDayOfMonth() - 1];
+            if (count > 0) {
+                counts.put(day, count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Number of active events in a date range, from the same cache.
+     *
+     * @param start First date (inclusive)
+     * @param end Last date (exclusive)
+     */
+    public long countBetween(LocalDate start, LocalDate end) {
+        return getDailyCounts(start, end).values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventCreated(EventCreatedEvent created) {
+        evict(created.getEventDate());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventStatusChanged(EventStatusChangedEvent changed) {
+        evict(changed.getEventDate());
+    }
+
+    int cachedMonthCount() {
+        return months.size();
+    }
+
+    private void evict(LocalDate date) {
+        invalidations.incrementAndGet();
+        if (date == null) {
+            months.clear();
+            return;
+        }
+        months.remove(YearMonth.from(date));
+    }
+
+    private Map<YearMonth, int[]> load(YearMonth first, YearMonth last) {
+        long stamp = invalidations.get();
+        Map<YearMonth, int[]> loaded = new HashMap<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            loaded.put(month, new int[month.lengthOfMonth()]);
+        }
+
+        List<Object[]> rows = eventRepository.countPerDayBetween(first.atDay(1), last.plusMonths(1).atDay(1));
+        for (Object[] row : rows) {
+            LocalDate day = (LocalDate) row[0];
+            loaded.get(YearMonth.from(day))[day.getDayOfMonth() - 1] = ((Number) row[1]).intValue();
+        }
+
+        if (invalidations.get() == stamp) {
+            if (months.size() + loaded.size() > MAX_CACHED_MONTHS) {
+                months.clear();
+            }
+            months.putAll(loaded);
+            // an eviction between the check and the put wins
+            if (invalidations.get() != stamp) {
+                loaded.keySet().forEach(months::remove);
+            }
+        }
+        return loaded;
+    }
+}
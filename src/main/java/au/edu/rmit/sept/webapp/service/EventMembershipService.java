@@ -0,0 +1,155 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventMembershipService
+ * Answers "is this user going to / blocked from this event" from in-memory bitmaps instead of a
+ * query per check (event card lists, the details page).
+ *
+ * HOW IT WORKS:
+ * - per event, two UserIdBitmaps: attending user ids and blocked user ids
+ * - the first check for an event loads both with one query (RSVPRepository.findMemberRows), rows
+ *   arrive sorted so the bitmaps fill by appending
+ * - committed changes are applied after commit: RsvpChangedEvent to the attending set,
+ *   RsvpBlockChangedEvent to the blocked set, a deleted event (EventStatusChangedEvent) is evicted
+ * - a load runs under the event's lock, a change arriving meanwhile waits and is applied on top,
+ *   a change for an event that isn't loaded is skipped (the load will read it from the table)
+ *
+ * BUSINESS RULES:
+ * - memberships are kept for MAX_LOADED_EVENTS events (LRU), upcoming events are the ones checked
+ *   so they stay loaded
+ * - membership is per node and only as fresh as the last commit seen, so it's for display:
+ *   creating an RSVP or joining a waitlist still checks the tables (a block has no constraint
+ *   behind it), and the unique constraint on rsvp stays the final safety net
+ */
+@Service
+public class EventMembershipService {
+
+    static final int MAX_LOADED_EVENTS = 256;
+
+    private static final int KIND_ATTENDING = 0;
+
+    private final RSVPRepository rsvpRepository;
+
+    // access ordered, guarded by itself
+    private final Map<Long, Membership> memberships = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Membership> eldest) {
+            return size() > MAX_LOADED_EVENTS;
+        }
+    };
+
+    public EventMembershipService(RSVPRepository rsvpRepository) {
+        this.rsvpRepository = rsvpRepository;
+    }
+
+    /**
+     * @return true if the user has an RSVP for the event
+     */
+    public boolean isAttending(Long eventId, Long userId) {
+        if (eventId == null || userId == null) {
+            return false;
+        }
+        Membership membership = membership(eventId);
+        synchronized (membership) {
+            return membership.attending.contains(userId);
+        }
+    }
+
+    /**
+     * @return true if the organiser blocked the user from the event
+     */
+    public boolean isBlocked(Long eventId, Long userId) {
+        if (eventId == null || userId == null) {
+            return false;
+        }
+        Membership membership = membership(eventId);
+        synchronized (membership) {
+            return membership.blocked.contains(userId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        Membership membership = existing(changed.getEventId());
+        if (membership != null && changed.getUserId() != null) {
+            synchronized (membership) {
+                if (changed.isAttending()) {
+                    membership.attending.add(changed.getUserId());
+                } else {
+                    membership.attending.remove(changed.getUserId());
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBlockChanged(RsvpBlockChangedEvent changed) {
+        Membership membership = existing(changed.getEventId());
+        if (membership != null) {
+            synchronized (membership) {
+                if (changed.isBlocked()) {
+                    membership.blocked.add(changed.getUserId());
+                } else {
+                    membership.blocked.remove(changed.getUserId());
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEventStatusChanged(EventStatusChangedEvent changed) {
+        if (changed.getStatus() == EventStatusChangedEvent.Status.DELETED) {
+            synchronized (memberships) {
+                memberships.remove(changed.getEventId());
+            }
+        }
+    }
+
+    int loadedCount() {
+        synchronized (memberships) {
+            return memberships.size();
+        }
+    }
+
+    private Membership existing(Long eventId) {
+        synchronized (memberships) {
+            return memberships.get(eventId);
+        }
+    }
+
+    private Membership membership(Long eventId) {
+        Membership membership;
+        synchronized (memberships) {
+            membership = memberships.computeIfAbsent(eventId, id -> new Membership());
+        }
+        synchronized (membership) {
+            if (!membership.loaded) {
+                List<Object[]> rows = rsvpRepository.findMemberRows(eventId);
+                for (Object[] row : rows) {
+                    long userId = ((Number) row[0]).longValue();
+                    if (((Number) row[1]).intValue() == KIND_ATTENDING) {
+                        membership.attending.add(userId);
+                    } else {
+                        membership.blocked.add(userId);
+                    }
+                }
+                membership.loaded = true;
+            }
+        }
+        return membership;
+    }
+
+    private static final class Membership {
+        final UserIdBitmap attending = new UserIdBitmap();
+        final UserIdBitmap blocked = new UserIdBitmap();
+        boolean loaded;
+    }
+}
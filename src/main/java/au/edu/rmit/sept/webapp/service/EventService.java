@@ -1,5 +1,6 @@
 package au.edu.rmit.sept.webapp.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -11,11 +12,13 @@ import org.springframework.security.access.AccessDeniedException;
 
 import au.edu.rmit.sept.webapp.model.Category;
 import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.EventRatingSummary;
 import au.edu.rmit.sept.webapp.model.RSVP;
 import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.model.BlockedRSVP;
 import au.edu.rmit.sept.webapp.model.CancelledRSVP;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRatingSummaryRepository;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
@@ -26,6 +29,7 @@ import jakarta.persistence.EntityNotFoundException;
 import au.edu.rmit.sept.webapp.dto.EventCardDTO;
 import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
 import au.edu.rmit.sept.webapp.dto.EventCreateDTO;
+import au.edu.rmit.sept.webapp.dto.AttendeePage;
 import au.edu.rmit.sept.webapp.dto.AttendeeDTO;
 import au.edu.rmit.sept.webapp.dto.BlockedAttendeeDTO;
 import au.edu.rmit.sept.webapp.dto.CancelledRSVPDTO;
@@ -42,6 +46,7 @@ import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Set;
 
@@ -92,6 +97,11 @@ public class EventService {
     private final PaymentRepository paymentRepository;
     private final RSVPService rsvpService;
     private final StripeService stripeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecommendationService recommendationService;
+    private final EventRatingSummaryRepository ratingSummaryRepository;
+    private final EventMembershipService eventMembershipService;
+    private final EventDeletionService eventDeletionService;
 
     /**
      * Checks if a user has the ADMIN role.
@@ -110,7 +120,10 @@ public class EventService {
     public EventService(EventRepository eventRepository, RSVPRepository rsvpRepository, UserRepository userRepository,
             CategoryRepository categoryRepository, KeywordService keywordService, UserService userService,
             BlockedRSVPRepository blockedRSVPRepository, CancelledRSVPRepository cancelledRSVPRepository,
-            PaymentRepository paymentRepository, RSVPService rsvpService, StripeService stripeService) {
+            PaymentRepository paymentRepository, RSVPService rsvpService, StripeService stripeService,
+            ApplicationEventPublisher eventPublisher, RecommendationService recommendationService,
+            EventRatingSummaryRepository ratingSummaryRepository, EventMembershipService eventMembershipService,
+            EventDeletionService eventDeletionService) {
         this.eventRepository = eventRepository;
         this.rsvpRepository = rsvpRepository;
         this.userRepository = userRepository;
@@ -122,6 +135,11 @@ public class EventService {
         this.paymentRepository = paymentRepository;
         this.rsvpService = rsvpService;
         this.stripeService = stripeService;
+        this.eventPublisher = eventPublisher;
+        this.recommendationService = recommendationService;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.eventMembershipService = eventMembershipService;
+        this.eventDeletionService = eventDeletionService;
     }
 
     // Update the existing overloaded method (currently has 3 parameters)
@@ -261,46 +279,32 @@ public class EventService {
     }
 
     /**
-     * Retrieves recommended upcoming events based on a logged-in user's interested
-     * categories.
+     * Retrieves recommended upcoming events for a logged-in user.
      *
-     * This method:
-     * - Returns an empty list for anonymous users or users with no specified
-     * interests.
-     * - Excludes events the user has created themselves.
+     * Rankings are precomputed by RecommendationService from category interests,
+     * keywords of RSVP'd events, popularity and recency. This method:
+     * - Returns an empty list for anonymous users or users with no interests.
+     * - Reads the user's ranked event IDs from memory, then loads just those events.
      * - Limits the results to a reasonable number for a carousel display.
      *
      * @param userId The ID of the currently authenticated user, or null.
-     * @return A List of EventCardDTOs tailored to the user's interests.
+     * @return A List of EventCardDTOs in ranked order.
      */
     public List<EventCardDTO> getRecommendedEvents(Long userId) {
-        // Handle anonymous users - they don't get recommendations
-        if (userId == null) {
-            return new ArrayList<>();
-        }
-
-        // Find the user and their interested categories
-        User user = userRepository.findById(userId).orElse(null);
-
-        // If user not found or they have no interests, return an empty list
-        if (user == null || user.getCategories() == null || user.getCategories().isEmpty()) {
+        // Anonymous users and users without interests have no ranking
+        List<Long> rankedIds = recommendationService.getRecommendedEventIds(userId, 5);
+        if (rankedIds.isEmpty()) {
             return new ArrayList<>();
         }
-        Set<Category> interestedCategories = user.getCategories();
-
-        // Define a limit for the carousel (e.g., 5 events)
-        Pageable limit = PageRequest.of(0, 5);
 
-        // Call the repository method to find the events
-        Page<Event> recommendedEventsPage = eventRepository.findRecommendedUpcomingEvents(
-                interestedCategories,
-                LocalDate.now(),
-                LocalTime.now(),
-                user,
-                limit);
+        // One query for the ranked events, then restore rank order
+        Map<Long, Event> eventsById = eventRepository.findWithKeywordsByIdIn(rankedIds).stream()
+                .filter(event -> !event.isDeactivated())
+                .collect(Collectors.toMap(Event::getId, event -> event));
 
-        // Convert the found Event entities to DTOs and return the list
-        return recommendedEventsPage.stream()
+        return rankedIds.stream()
+                .map(eventsById::get)
+                .filter(event -> event != null)
                 .map(event -> mapToEventCardDTO(event, userId))
                 .collect(Collectors.toList());
     }
@@ -405,15 +409,7 @@ public class EventService {
             // - If userId is provided, checks if user has an active RSVP for this event
             // - Used by template to show "RSVP" vs "Cancel RSVP" button states
             if (userId != null) {
-                String currentUsername = userRepository.findById(userId)
-                        .map(User::getUsername)
-                        .orElse(null);
-                if (currentUsername != null) {
-                    boolean isGoing = rsvpRepository.existsByUser_UsernameAndEvent_Id(currentUsername, event.getId());
-                    dto.setUserRsvpStatus(isGoing);
-                } else {
-                    dto.setUserRsvpStatus(false);
-                }
+                dto.setUserRsvpStatus(eventMembershipService.isAttending(event.getId(), userId));
 
                 // Determine if user is the organiser of this event
                 dto.setOrganiser(event.getCreatedBy() != null && event.getCreatedBy().getId().equals(userId));
@@ -482,7 +478,7 @@ public class EventService {
      * @param event The event to check for start status
      * @return true if event has started, false if it's still upcoming
      */
-    private boolean isEventStarted(Event event) {
+    private static boolean isEventStarted(Event event) {
         LocalDateTime eventDateTime = LocalDateTime.of(event.getEventDate(), event.getEventTime());
         return eventDateTime.isBefore(LocalDateTime.now());
     }
@@ -513,6 +509,25 @@ public class EventService {
      * @return EventDetailsDTO with all event details
      */
     private EventDetailsDTO mapToEventDetailsDTO(Event event, Long userId) {
+        EventDetailsDTO dto = mapEventFields(event);
+
+        // RSVP and capacity calculations
+        Long attendeeCount = rsvpRepository.countByEvent(event);
+        dto.setAttendeeCount(attendeeCount.intValue());
+        dto.setEventFull(event.getCapacity() != null && attendeeCount >= event.getCapacity().longValue());
+
+        mapViewerFields(dto, event, userId);
+        return dto;
+    }
+
+    /**
+     * Maps the fields of EventDetailsDTO that depend only on the event (no RSVP data).
+     * Shared with EventDetailsService. Needs category, creator and keywords loaded.
+     *
+     * @param event The Event entity
+     * @return EventDetailsDTO without attendee count, viewer state or attendees
+     */
+    static EventDetailsDTO mapEventFields(Event event) {
         EventDetailsDTO dto = new EventDetailsDTO();
 
         // Basic event fields
@@ -541,78 +556,58 @@ public class EventService {
         }
         dto.setCreatedAt(event.getCreatedAt());
 
-        // RSVP and capacity calculations
-        Long attendeeCount = rsvpRepository.countByEvent(event);
-        dto.setAttendeeCount(attendeeCount.intValue());
         dto.setMaxAttendees(event.getCapacity());
-
-        // Event states
-        dto.setEventFull(event.getCapacity() != null && attendeeCount >= event.getCapacity().longValue());
         dto.setEventStarted(isEventStarted(event));
 
         // Payment information
         dto.setPrice(event.getPrice());
         dto.setRequiresPayment(event.getPrice() != null && event.getPrice().compareTo(BigDecimal.ZERO) > 0);
 
-        // User RSVP status and blocked status
+        if (event.getKeywords() != null && !event.getKeywords().isEmpty()) {
+            List<KeywordDTO> keywordDTOs = event.getKeywords().stream()
+                    .map(k -> new KeywordDTO(k.getId(), k.getName(), k.getColor()))
+                    .sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName()))
+                    .collect(Collectors.toList());
+            dto.setKeywords(keywordDTOs);
+        } else {
+            dto.setKeywords(new ArrayList<>());
+        }
+        return dto;
+    }
+
+    /**
+     * Adds the viewer's RSVP state and the attendee list to a details DTO.
+     */
+    private void mapViewerFields(EventDetailsDTO dto, Event event, Long userId) {
+        // User RSVP status and blocked status (in-memory membership, no query)
         if (userId != null) {
-            String currentUsername = userRepository.findById(userId)
-                    .map(User::getUsername)
-                    .orElse(null);
-            if (currentUsername != null) {
-                boolean isGoing = rsvpRepository.existsByUser_UsernameAndEvent_Id(currentUsername, event.getId());
-                dto.setUserRsvpStatus(isGoing);
-                // Check if user is blocked from this event
-                dto.setUserBlockedStatus(blockedRSVPRepository.existsByEvent_IdAndUser_Id(
-                        event.getId(), userId));
-
-                // Get user's RSVP payment status and ID if they have RSVP'd
-                if (isGoing) {
-                    rsvpRepository.findByUser_UsernameAndEvent_Id(currentUsername, event.getId())
-                            .ifPresent(rsvp -> {
-                                dto.setUserPaymentStatus(rsvp.getPaymentStatus());
-                                dto.setUserRsvpId(rsvp.getId());
-                            });
-                }
-            } else {
-                dto.setUserRsvpStatus(false);
-                dto.setUserBlockedStatus(false);
+            boolean isGoing = eventMembershipService.isAttending(event.getId(), userId);
+            dto.setUserRsvpStatus(isGoing);
+            dto.setUserBlockedStatus(eventMembershipService.isBlocked(event.getId(), userId));
+
+            // Get user's RSVP payment status and ID if they have RSVP'd
+            if (isGoing) {
+                rsvpRepository.findByUser_IdAndEvent_Id(userId, event.getId())
+                        .ifPresent(rsvp -> {
+                            dto.setUserPaymentStatus(rsvp.getPaymentStatus());
+                            dto.setUserRsvpId(rsvp.getId());
+                        });
             }
         } else {
             dto.setUserRsvpStatus(false);
             dto.setUserBlockedStatus(false);
         }
 
-        // Populate attendee list for authenticated users only
-        // MVP: Fetch all attendees (no pagination for simplicity)
+        // Populate the first attendee page for authenticated users only
         if (userId != null) { // Only fetch if user is authenticated
-            List<RSVP> rsvps = rsvpRepository.findByEventIdWithUsers(event.getId());
-
-            // Convert to AttendeeDTO objects
-            List<EventDetailsDTO.AttendeeDTO> attendeeList = rsvps.stream()
-                    .map(rsvp -> new EventDetailsDTO.AttendeeDTO(
-                            rsvp.getUser().getId(),
-                            rsvp.getUser().getUsername(),
-                            rsvp.getRsvpDate()))
-                    .collect(Collectors.toList());
-
-            dto.setAttendees(attendeeList);
+            AttendeePage attendees = EventDetailsService.toAttendeePage(rsvpRepository.findAttendeePage(event.getId(),
+                    PageRequest.of(0, EventDetailsService.ATTENDEE_PAGE_SIZE + 1)), EventDetailsService.ATTENDEE_PAGE_SIZE);
+            dto.setAttendees(attendees.getAttendees());
+            dto.setAttendeesNextCursor(attendees.getNextCursor());
         } else {
             // Anonymous users get empty list (template will hide anyway)
             dto.setAttendees(new ArrayList<>());
         }
-
-        if (event.getKeywords() != null && !event.getKeywords().isEmpty()) {
-            List<KeywordDTO> keywordDTOs = event.getKeywords().stream()
-                    .map(k -> new KeywordDTO(k.getId(), k.getName(), k.getColor()))
-                    .sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName()))
-                    .collect(Collectors.toList());
-            dto.setKeywords(keywordDTOs);
-        } else {
-            dto.setKeywords(new ArrayList<>());
-        }
-
-        return dto;
     }
 
     /**
@@ -669,6 +664,11 @@ public class EventService {
 
         // Save and return event ID
         Event savedEvent = eventRepository.save(event);
+        // empty rating aggregates, reviews only ever UPDATE this row
+        ratingSummaryRepository.save(new EventRatingSummary(savedEvent));
+
+        // listeners run after commit, keeps alert matching and index updates off this request
+        eventPublisher.publishEvent(new EventCreatedEvent(savedEvent.getId(), savedEvent.getEventDate()));
         return savedEvent.getId();
     }
 
@@ -678,13 +678,14 @@ public class EventService {
      * This method handles:
      * - Validation that the user is the event creator
      * - Validation that the event hasn't started yet
-     * - Cascade deletion of RSVPs first, then the event
-     * - Transaction management for data consistency
+     * - Hiding the event at once; EventDeletionService removes its RSVPs, photos and
+     *   other rows, then the event, in the background
      * 
      * @param eventId The ID of the event to delete
      * @param userId  The ID of the user attempting to delete
      * @throws EntityNotFoundException if event doesn't exist
      * @throws AccessDeniedException   if user is not creator or event has started
+     * @throws IllegalStateException   if the event is deactivated (or already being deleted)
      */
     @Transactional
     public void deleteEvent(Long eventId, Long userId) {
@@ -702,11 +703,10 @@ public class EventService {
             throw new AccessDeniedException("Cannot delete an event that has already started");
         }
 
-        // Delete associated RSVPs first (only if event is active - preserves RSVPs for deactivated events)
-        rsvpRepository.deleteByActiveEvent(event.getId());
-
-        // Delete the event (only if active - deactivated events cannot be deleted by organizers)
-        eventRepository.deleteActiveEventById(event.getId());
+        // Hide the event and queue its deletion (only if active - deactivated events cannot be deleted by organizers)
+        if (!eventDeletionService.requestDeletion(event, userId)) {
+            throw new IllegalStateException("Event is deactivated");
+        }
     }
 
     /**
@@ -883,8 +883,10 @@ public class EventService {
         // Delete associated payment records first to avoid FK constraint violation
         paymentRepository.deleteByRsvp(rsvp);
 
-        // Delete RSVP
+        // Delete RSVP and give its seat back
         rsvpRepository.delete(rsvp);
+        eventRepository.releaseSeat(eventId);
+        eventPublisher.publishEvent(new RsvpChangedEvent(eventId, attendeeUserId, false));
     }
 
     /**
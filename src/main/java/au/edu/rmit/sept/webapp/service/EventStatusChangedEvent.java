@@ -0,0 +1,44 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when an event is deleted, deactivated or reactivated.
+ * Listeners use @TransactionalEventListener so they only react to committed changes,
+ * keeps caches derived from the events table (calendar feeds, day counts) from serving removed events.
+ */
+public class EventStatusChangedEvent {
+
+    public enum Status {
+        DELETED, DEACTIVATED, REACTIVATED
+    }
+
+    private final Long eventId;
+    private final LocalDate eventDate;
+    private final Status status;
+    private final long attendeeCount;
+
+    public EventStatusChangedEvent(Long eventId, LocalDate eventDate, Status status, long attendeeCount) {
+        this.eventId = eventId;
+        this.eventDate = eventDate;
+        this.status = status;
+        this.attendeeCount = attendeeCount;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    // RSVPs of the event at the time of the change (deleted with it, hidden or shown again)
+    public long getAttendeeCount() {
+        return attendeeCount;
+    }
+}
@@ -0,0 +1,124 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.Arrays;
+
+/**
+ * HoldTimingWheel
+ * Hashed timing wheel of (id, deadline) pairs: add and expire are O(1) per entry, a tick only
+ * looks at one slot, so tens of thousands of outstanding holds cost next to nothing per tick.
+ *
+ * HOW IT'S STORED:
+ * - time is counted in ticks (tickMillis each), an entry due at tick d lives in slot d % slots
+ * - each slot is a pair of growable long arrays (ids, deadlines), no object per entry
+ * - advancing to tick t visits the slots of the ticks passed since the last advance (at most
+ *   all of them once) and removes entries with deadline <= t; entries due more than one
+ *   revolution ahead stay and are visited again on the next turn
+ * - an entry added already due goes into the next tick's slot
+ *
+ * Cancelling an entry isn't supported; callers re-check expired ids against the source of truth.
+ * Thread-safe (synchronized). No Spring or JPA types.
+ */
+public class HoldTimingWheel {
+
+    private final long tickMillis;
+    private final Slot[] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis Resolution of the wheel
+     * @param slotCount Number of slots; deadlines within slotCount ticks are visited exactly once
+     * @param nowMillis Current time, the wheel starts at this tick
+     */
+    public HoldTimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("tickMillis and slotCount must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Adds an entry expiring at the given time (rounded up to the next tick).
+     */
+    public synchronized void add(long id, long deadlineMillis) {
+        // ceiling, an entry never expires early
+        long deadline = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        long slotTick = Math.max(deadline, currentTick + 1);
+        slots[(int) Math.floorMod(slotTick, (long) slots.length)].add(id, deadline);
+        size++;
+    }
+
+    /**
+     * Moves the wheel to the given time and removes the entries due by then.
+     *
+     * @return Ids of the expired entries, in no particular order
+     */
+    public synchronized long[] advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        if (target <= currentTick) {
+            return new long[0];
+        }
+        long ticks = Math.min(target - currentTick, slots.length);
+        long[] expired = new long[0];
+        int count = 0;
+        for (long i = 1; i <= ticks; i++) {
+            Slot slot = slots[(int) Math.floorMod(currentTick + i, (long) slots.length)];
+            int before = slot.size;
+            expired = slot.removeDue(target, expired, count);
+            count += before - slot.size;
+        }
+        currentTick = target;
+        size -= count;
+        return count == expired.length ? expired : Arrays.copyOf(expired, count);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // one slot's entries, compacted in place as they expire
+    private static final class Slot {
+        long[] ids = new long[4];
+        long[] deadlines = new long[4];
+        int size;
+
+        void add(long id, long deadline) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            ids[size] = id;
+            deadlines[size] = deadline;
+            size++;
+        }
+
+        // appends the ids due by tick to out (growing it), keeps the rest
+        long[] removeDue(long tick, long[] out, int outSize) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (deadlines[i] <= tick) {
+                    if (outSize == out.length) {
+                        out = Arrays.copyOf(out, Math.max(16, out.length * 2));
+                    }
+                    out[outSize++] = ids[i];
+                } else {
+                    ids[kept] = ids[i];
+                    deadlines[kept] = deadlines[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            // give back the memory of a burst
+            if (kept == 0 && ids.length > 64) {
+                ids = new long[4];
+                deadlines = new long[4];
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ICalendarWriter
+ * Builds an RFC 5545 iCalendar document one event at a time.
+ *
+ * FORMAT:
+ * - CRLF line endings, lines folded at 75 octets (continuation lines start with a space)
+ * - TEXT values escaped (backslash, semicolon, comma, newline)
+ * - event times are local to the given zone and written in UTC ("Z" form), so no VTIMEZONE is needed
+ *
+ * No Spring or JPA types.
+ */
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final StringBuilder out = new StringBuilder(1024);
+    private final ZoneId zone;
+    private final String stamp;
+    private boolean finished;
+
+    /**
+     * Starts a calendar.
+     *
+     * @param calendarName Display name for calendar apps (X-WR-CALNAME)
+     * @param zone Zone the event dates and times are in
+     * @param generatedAt Written as DTSTAMP on every event
+     */
+    public ICalendarWriter(String calendarName, ZoneId zone, LocalDateTime generatedAt) {
+        this.zone = zone;
+        this.stamp = utc(generatedAt);
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//EventHub//Event Calendar//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    /**
+     * Appends one VEVENT. Null location, description or url are left out.
+     */
+    public ICalendarWriter addEvent(String uid, LocalDateTime start, LocalDateTime end, String summary,
+                                    String location, String description, String url) {
+        line("BEGIN:VEVENT");
+        line("UID:" + escape(uid));
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + utc(start));
+        line("DTEND:" + utc(end));
+        line("SUMMARY:" + escape(summary));
+        if (location != null) {
+            line("LOCATION:" + escape(location));
+        }
+        if (description != null) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        if (url != null) {
+            line("URL:" + url);
+        }
+        line("END:VEVENT");
+        return this;
+    }
+
+    /**
+     * Closes the calendar.
+     *
+     * @return The document as UTF-8
+     */
+    public byte[] finish() {
+        if (!finished) {
+            line("END:VCALENDAR");
+            finished = true;
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String utc(LocalDateTime local) {
+        return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { } // CRLF written as \n
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // folds on code point boundaries so a multi-byte character is never split
+    private void line(String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.append("\r\n ");
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        out.append("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,102 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * IdempotencyService
+ * Runs a form POST at most once per idempotency key and replays its response to retries.
+ *
+ * HOW IT WORKS:
+ * - forms carry a one-time key (hidden idempotencyKey field, or an Idempotency-Key header); the
+ *   key is scoped to the user and the endpoint, so keys can't collide or be replayed by others
+ * - the first request claims the key in the IdempotencyStore, runs, and stores its redirect and
+ *   flash messages for idempotency.ttl-minutes; a retry with the same key gets those back
+ *   without running the request (no second RSVP attempt, no second Stripe session)
+ * - a retry arriving while the first request still runs waits up to IN_FLIGHT_WAIT_MS for its
+ *   response, then gets the fallback redirect with a "still processing" message
+ * - a request that throws releases its key, so the retry runs it again
+ *
+ * BUSINESS RULES:
+ * - requests without a key (or with a malformed one) run as before
+ */
+@Service
+public class IdempotencyService {
+
+    static final long IN_FLIGHT_WAIT_MS = 5_000;
+    // a claim nobody completes (node died mid-request) blocks retries for this long
+    static final long CLAIM_TTL_MS = 60_000;
+    private static final long POLL_MS = 50;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{8,64}");
+
+    private final IdempotencyStore store;
+    private final long ttlMillis;
+
+    public IdempotencyService(IdempotencyStore store, @Value("${idempotency.ttl-minutes:10}") long ttlMinutes) {
+        this.store = store;
+        this.ttlMillis = ttlMinutes * 60_000;
+    }
+
+    /**
+     * Runs a redirecting POST handler once per key.
+     *
+     * @param key The request's idempotency key, may be null
+     * @param scope The user and endpoint the key belongs to
+     * @param redirectAttributes The handler's redirect attributes, flash messages are stored and replayed
+     * @param fallbackView Where to send a retry whose first request hasn't finished
+     * @param handler The handler, returns the view name
+     * @return The handler's view name, or the stored one for a retry
+     */
+    public String execute(String key, String scope, RedirectAttributes redirectAttributes,
+                          String fallbackView, Supplier<String> handler) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return handler.get();
+        }
+        String scopedKey = scope + ":" + key;
+
+        if (!store.claim(scopedKey, CLAIM_TTL_MS)) {
+            Optional<IdempotencyStore.Response> stored = awaitResponse(scopedKey);
+            if (stored.isEmpty()) {
+                redirectAttributes.addFlashAttribute("error", "Your request is still being processed, please wait");
+                return fallbackView;
+            }
+            stored.get().getFlashAttributes().forEach(redirectAttributes::addFlashAttribute);
+            return stored.get().getView();
+        }
+
+        String view;
+        try {
+            view = handler.get();
+        } catch (RuntimeException e) {
+            store.release(scopedKey);
+            throw e;
+        }
+        Map<String, String> flash = new LinkedHashMap<>();
+        redirectAttributes.getFlashAttributes().forEach((name, value) -> flash.put(name, String.valueOf(value)));
+        store.complete(scopedKey, new IdempotencyStore.Response(view, flash), ttlMillis);
+        return view;
+    }
+
+    private Optional<IdempotencyStore.Response> awaitResponse(String scopedKey) {
+        long deadline = System.currentTimeMillis() + IN_FLIGHT_WAIT_MS;
+        while (true) {
+            Optional<IdempotencyStore.Response> stored = store.find(scopedKey);
+            if (stored.isPresent() || System.currentTimeMillis() >= deadline) {
+                return stored;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+}
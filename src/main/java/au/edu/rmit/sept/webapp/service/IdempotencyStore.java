@@ -0,0 +1,67 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * IdempotencyStore Interface
+ * Remembers the first response to a request carrying an idempotency key, for IdempotencyService.
+ *
+ * IMPLEMENTATIONS:
+ * - InMemoryIdempotencyStore (@Profile "default", "dev", "test"): bounded LRU map, one node
+ * - JdbcIdempotencyStore (@Profile "prod", "devprod"): idempotency_keys table, shared by all nodes
+ *
+ * DESIGN:
+ * - a key is claimed before the request runs, so of two concurrent requests only one runs
+ * - a claimed key without a response is in progress; released again if the request fails
+ * - a claim expires quickly (a request that died never completes it), a completed key after the TTL
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request about to run.
+     *
+     * @param key The scoped key
+     * @param ttlMillis How long the claim lasts if the request never completes
+     * @return true if the caller claimed it, false if it's in progress or already completed
+     */
+    boolean claim(String key, long ttlMillis);
+
+    /**
+     * The response stored under a key, empty while in progress or once expired.
+     */
+    Optional<Response> find(String key);
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @param ttlMillis How long the key and its response are kept from now
+     */
+    void complete(String key, Response response, long ttlMillis);
+
+    /**
+     * Drops a claim whose request failed, so a retry runs it again.
+     */
+    void release(String key);
+
+    /**
+     * A stored response: the view name (a redirect) and the flash attributes it set.
+     */
+    final class Response {
+        private final String view;
+        private final Map<String, String> flashAttributes;
+
+        public Response(String view, Map<String, String> flashAttributes) {
+            this.view = view;
+            this.flashAttributes = Map.copyOf(flashAttributes);
+        }
+
+        public String getView() {
+            return view;
+        }
+
+        public Map<String, String> getFlashAttributes() {
+            return flashAttributes;
+        }
+    }
+}
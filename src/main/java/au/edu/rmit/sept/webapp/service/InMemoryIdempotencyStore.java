@@ -0,0 +1,101 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * InMemoryIdempotencyStore Implementation
+ * Keeps idempotency keys in a bounded map for single-node profiles.
+ *
+ * HOW IT'S STORED:
+ * - insertion-ordered map of key to (expiry, response or null while in progress)
+ * - at most MAX_ENTRIES keys, the oldest is evicted first; expired keys at the head are dropped
+ *   as new ones arrive (claims expire sooner than completed keys, so the head is only roughly
+ *   in expiry order, an expired key further in is ignored by find() until it reaches the head)
+ *
+ * Thread-safe (synchronized).
+ */
+@Service
+@Profile({"default", "dev", "test"})
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final LongSupplier clock;
+
+    public InMemoryIdempotencyStore() {
+        this(System::currentTimeMillis);
+    }
+
+    InMemoryIdempotencyStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized boolean claim(String key, long ttlMillis) {
+        long now = clock.getAsLong();
+        evict(now);
+        Entry existing = entries.get(key);
+        if (existing != null && existing.expiresAt > now) {
+            return false;
+        }
+        entries.remove(key);
+        entries.put(key, new Entry(now + ttlMillis));
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<Response> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt <= clock.getAsLong()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.response);
+    }
+
+    @Override
+    public synchronized void complete(String key, Response response, long ttlMillis) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+            entry.expiresAt = clock.getAsLong() + ttlMillis;
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // expired entries from the head, then the oldest ones over the bound
+    private void evict(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAt > now && entries.size() < MAX_ENTRIES) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+        long expiresAt;
+        Response response;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package au.edu.rmit.sept.webapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JdbcIdempotencyStore Implementation
+ * Keeps idempotency keys in the idempotency_keys table, so a retry landing on another node is
+ * still replayed.
+ *
+ * HOW IT'S STORED:
+ * - one row per key, the primary key makes the claim atomic: the INSERT of the second request
+ *   fails with a duplicate key
+ * - the response is written into the row once the request completes, flash attributes as JSON
+ * - expired rows are replaced on claim and deleted by a scheduled cleanup
+ *   (idempotency.cleanup-interval-ms) through idx_idempotency_keys_expires_at
+ */
+@Service
+@Profile({"prod", "devprod"})
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final TypeReference<Map<String, String>> FLASH_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean claim(String key, long ttlMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idem_key = ? AND expires_at <= ?",
+                key, Timestamp.valueOf(now));
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idem_key, expires_at) VALUES (?, ?)",
+                    key, Timestamp.valueOf(now.plusNanos(ttlMillis * 1_000_000)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<Response> find(String key) {
+        List<Response> rows = jdbcTemplate.query(
+                "SELECT response_view, response_flash FROM idempotency_keys " +
+                "WHERE idem_key = ? AND response_view IS NOT NULL AND expires_at > ?",
+                (rs, i) -> new Response(rs.getString(1), readFlash(rs.getString(2))),
+                key, Timestamp.valueOf(LocalDateTime.now()));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, Response response, long ttlMillis) {
+        try {
+            jdbcTemplate.update("UPDATE idempotency_keys SET response_view = ?, response_flash = ?, expires_at = ? " +
+                            "WHERE idem_key = ?",
+                    response.getView(), objectMapper.writeValueAsString(response.getFlashAttributes()),
+                    Timestamp.valueOf(LocalDateTime.now().plusNanos(ttlMillis * 1_000_000)), key);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response for idempotency key", e);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idem_key = ?", key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:300000}")
+    public void deleteExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Map<String, String> readFlash(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, FLASH_TYPE);
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+}
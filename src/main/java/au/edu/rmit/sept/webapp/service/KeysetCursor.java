@@ -0,0 +1,52 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * KeysetCursor
+ * Position of the last row of a page in a (timestamp DESC, id) ordered list, handed to clients
+ * as an opaque base64url token of "timestamp|id". The next page is read with
+ * WHERE (timestamp < ? OR (timestamp = ? AND id > ?)) instead of OFFSET.
+ */
+final class KeysetCursor {
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    KeysetCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String encode() {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token wasn't produced by encode()
+     */
+    static KeysetCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            // parsed here so a bad cursor is a client error, not a query failure
+            return new KeysetCursor(LocalDateTime.parse(position[0]), Long.valueOf(position[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
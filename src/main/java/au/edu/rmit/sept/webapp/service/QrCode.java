@@ -0,0 +1,564 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * QrCode
+ * An encoded QR Code (ISO/IEC 18004, Model 2) symbol: a square grid of dark and light modules.
+ *
+ * HOW IT WORKS:
+ * - data is encoded in byte mode into the smallest version (1-40) that fits at the requested
+ *   error correction level, then terminated and padded with 0xEC/0x11
+ * - codewords are split into blocks, each gets Reed-Solomon error correction over GF(256)
+ *   (polynomial 0x11D), and the blocks are interleaved
+ * - finder, timing and alignment patterns, format and version information are drawn, the
+ *   codewords are placed in the two-column zigzag, and the mask (0-7) with the lowest
+ *   penalty score (runs, 2x2 blocks, finder-like patterns, dark balance) is kept
+ *
+ * Modules are addressed as (x, y) with (0, 0) top left. No Spring or image types,
+ * rendering is QrCodeService's job.
+ */
+public final class QrCode {
+
+    /**
+     * Error correction level, the share of codewords that can be restored.
+     */
+    public enum ErrorCorrection {
+        LOW(1),      // ~7%
+        MEDIUM(0),   // ~15%
+        QUARTILE(3), // ~25%
+        HIGH(2);     // ~30%
+
+        // 2-bit value in the format information
+        final int formatBits;
+
+        ErrorCorrection(int formatBits) {
+            this.formatBits = formatBits;
+        }
+    }
+
+    public static final int MIN_VERSION = 1;
+    public static final int MAX_VERSION = 40;
+
+    // indexed [ErrorCorrection.ordinal()][version], index 0 unused
+    private static final byte[][] ECC_CODEWORDS_PER_BLOCK = {
+        { -1,  7, 10, 15, 20, 26, 18, 20, 24, 30, 18, 20, 24, 26, 30, 22, 24, 28, 30, 28, 28, 28, 28, 30, 30, 26, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+        { -1, 10, 16, 26, 18, 24, 16, 18, 22, 22, 26, 30, 22, 22, 24, 24, 28, 28, 26, 26, 26, 26, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28 },
+        { -1, 13, 22, 18, 26, 18, 24, 18, 22, 20, 24, 28, 26, 24, 20, 30, 24, 28, 28, 26, 30, 28, 30, 30, 30, 30, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+        { -1, 17, 28, 22, 16, 22, 28, 26, 26, 24, 28, 24, 28, 22, 24, 24, 30, 28, 28, 26, 28, 30, 24, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+    };
+
+    private static final byte[][] NUM_ERROR_CORRECTION_BLOCKS = {
+        { -1, 1, 1, 1, 1, 1, 2, 2, 2, 2,  4,  4,  4,  4,  4,  6,  6,  6,  6,  7,  8,  8,  9,  9, 10, 12, 12, 12, 13, 14, 15, 16, 17, 18, 19, 19, 20, 21, 22, 24, 25 },
+        { -1, 1, 1, 1, 2, 2, 4, 4, 4, 5,  5,  5,  8,  9,  9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20, 21, 23, 25, 26, 28, 29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49 },
+        { -1, 1, 1, 2, 2, 4, 4, 6, 6, 8,  8,  8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25, 27, 29, 34, 34, 35, 38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68 },
+        { -1, 1, 1, 2, 4, 4, 4, 5, 6, 8,  8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30, 32, 35, 37, 40, 42, 45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81 },
+    };
+
+    // penalty weights
+    private static final int PENALTY_N1 = 3;
+    private static final int PENALTY_N2 = 3;
+    private static final int PENALTY_N3 = 40;
+    private static final int PENALTY_N4 = 10;
+
+    // 11-module windows (dark = 1, first module most significant): 0000 1011101 and 1011101 0000
+    private static final int FINDER_LIKE_BEFORE = 0b00001011101;
+    private static final int FINDER_LIKE_AFTER = 0b10111010000;
+    private static final int FINDER_WINDOW_MASK = 0x7FF;
+
+    private final int version;
+    private final int size;
+    private final ErrorCorrection errorCorrection;
+    private final int mask;
+
+    // [y][x], true is dark
+    private final boolean[][] modules;
+    // [y][x], true for patterns and format/version information (never masked)
+    private final boolean[][] isFunction;
+
+    /**
+     * Encodes UTF-8 text in byte mode.
+     *
+     * @throws IllegalArgumentException if the text doesn't fit in a version 40 symbol at this level
+     */
+    public static QrCode encodeText(String text, ErrorCorrection errorCorrection) {
+        return encodeBytes(text.getBytes(StandardCharsets.UTF_8), errorCorrection);
+    }
+
+    /**
+     * Encodes binary data in byte mode, in the smallest version that fits.
+     *
+     * @throws IllegalArgumentException if the data doesn't fit in a version 40 symbol at this level
+     */
+    public static QrCode encodeBytes(byte[] data, ErrorCorrection errorCorrection) {
+        int version = MIN_VERSION;
+        while (true) {
+            int capacityBits = getNumDataCodewords(version, errorCorrection) * 8;
+            if (4 + characterCountBits(version) + data.length * 8 <= capacityBits) {
+                break;
+            }
+            if (version == MAX_VERSION) {
+                throw new IllegalArgumentException("Data too long for a QR code: " + data.length + " bytes");
+            }
+            version++;
+        }
+
+        // mode indicator, character count, data
+        BitBuffer bits = new BitBuffer(getNumDataCodewords(version, errorCorrection) * 8);
+        bits.append(0x4, 4);
+        bits.append(data.length, characterCountBits(version));
+        for (byte b : data) {
+            bits.append(b & 0xFF, 8);
+        }
+
+        // terminator, byte alignment, then alternating pad bytes up to capacity
+        int capacityBits = getNumDataCodewords(version, errorCorrection) * 8;
+        bits.append(0, Math.min(4, capacityBits - bits.length()));
+        bits.append(0, (8 - bits.length() % 8) % 8);
+        for (int pad = 0xEC; bits.length() < capacityBits; pad ^= 0xEC ^ 0x11) {
+            bits.append(pad, 8);
+        }
+
+        return new QrCode(version, errorCorrection, bits.toBytes());
+    }
+
+    private QrCode(int version, ErrorCorrection errorCorrection, byte[] dataCodewords) {
+        this.version = version;
+        this.size = version * 4 + 17;
+        this.errorCorrection = errorCorrection;
+        this.modules = new boolean[size][size];
+        this.isFunction = new boolean[size][size];
+
+        drawFunctionPatterns();
+        drawCodewords(addEccAndInterleave(dataCodewords));
+
+        // try every mask, keep the lowest penalty
+        int bestMask = 0;
+        int minPenalty = Integer.MAX_VALUE;
+        for (int candidate = 0; candidate < 8; candidate++) {
+            applyMask(candidate);
+            drawFormatBits(candidate);
+            int penalty = getPenaltyScore();
+            if (penalty < minPenalty) {
+                bestMask = candidate;
+                minPenalty = penalty;
+            }
+            // XOR again undoes it
+            applyMask(candidate);
+        }
+        this.mask = bestMask;
+        applyMask(bestMask);
+        drawFormatBits(bestMask);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Width and height in modules, without the quiet zone.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public ErrorCorrection getErrorCorrection() {
+        return errorCorrection;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Whether the module is dark. Coordinates outside the symbol (quiet zone) are light.
+     */
+    public boolean getModule(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size && modules[y][x];
+    }
+
+    // patterns and format/version information, which masking leaves alone
+    boolean isFunctionModule(int x, int y) {
+        return isFunction[y][x];
+    }
+
+    // ============== Function patterns ==============
+
+    private void drawFunctionPatterns() {
+        // timing patterns
+        for (int i = 0; i < size; i++) {
+            setFunctionModule(6, i, i % 2 == 0);
+            setFunctionModule(i, 6, i % 2 == 0);
+        }
+
+        // finder patterns (with separators) in three corners
+        drawFinderPattern(3, 3);
+        drawFinderPattern(size - 4, 3);
+        drawFinderPattern(3, size - 4);
+
+        // alignment patterns, except where they would overlap the finders
+        int[] positions = getAlignmentPatternPositions();
+        int count = positions.length;
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                if (!(i == 0 && j == 0 || i == 0 && j == count - 1 || i == count - 1 && j == 0)) {
+                    drawAlignmentPattern(positions[i], positions[j]);
+                }
+            }
+        }
+
+        // reserve the format area (overwritten after masking) and draw the version
+        drawFormatBits(0);
+        drawVersion();
+    }
+
+    private void drawFinderPattern(int x, int y) {
+        for (int dy = -4; dy <= 4; dy++) {
+            for (int dx = -4; dx <= 4; dx++) {
+                int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                int xx = x + dx;
+                int yy = y + dy;
+                if (xx >= 0 && xx < size && yy >= 0 && yy < size) {
+                    setFunctionModule(xx, yy, distance != 2 && distance != 4);
+                }
+            }
+        }
+    }
+
+    private void drawAlignmentPattern(int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                setFunctionModule(x + dx, y + dy, Math.max(Math.abs(dx), Math.abs(dy)) != 1);
+            }
+        }
+    }
+
+    // centre coordinates of the alignment patterns, used on both axes
+    int[] getAlignmentPatternPositions() {
+        if (version == 1) {
+            return new int[0];
+        }
+        int count = version / 7 + 2;
+        int step = (version * 8 + count * 3 + 5) / (count * 4 - 4) * 2;
+        int[] result = new int[count];
+        result[0] = 6;
+        for (int i = count - 1, position = size - 7; i >= 1; i--, position -= step) {
+            result[i] = position;
+        }
+        return result;
+    }
+
+    // 15 bits: level and mask, BCH(15,5) remainder, XOR 0x5412; drawn twice
+    private void drawFormatBits(int mask) {
+        int bits = formatBits(errorCorrection, mask);
+
+        // around the top left finder
+        for (int i = 0; i <= 5; i++) {
+            setFunctionModule(8, i, getBit(bits, i));
+        }
+        setFunctionModule(8, 7, getBit(bits, 6));
+        setFunctionModule(8, 8, getBit(bits, 7));
+        setFunctionModule(7, 8, getBit(bits, 8));
+        for (int i = 9; i < 15; i++) {
+            setFunctionModule(14 - i, 8, getBit(bits, i));
+        }
+
+        // split between the top right and bottom left finders
+        for (int i = 0; i < 8; i++) {
+            setFunctionModule(size - 1 - i, 8, getBit(bits, i));
+        }
+        for (int i = 8; i < 15; i++) {
+            setFunctionModule(8, size - 15 + i, getBit(bits, i));
+        }
+        // always dark
+        setFunctionModule(8, size - 8, true);
+    }
+
+    // versions 7+: 18 bits, version and BCH(18,6) remainder, in two 6x3 blocks
+    private void drawVersion() {
+        if (version < 7) {
+            return;
+        }
+        int bits = versionBits(version);
+        for (int i = 0; i < 18; i++) {
+            boolean bit = getBit(bits, i);
+            int a = size - 11 + i % 3;
+            int b = i / 3;
+            setFunctionModule(a, b, bit);
+            setFunctionModule(b, a, bit);
+        }
+    }
+
+    static int formatBits(ErrorCorrection errorCorrection, int mask) {
+        int data = errorCorrection.formatBits << 3 | mask;
+        return (data << 10 | bchRemainder(data, 10, 0x537)) ^ 0x5412;
+    }
+
+    static int versionBits(int version) {
+        return version << 12 | bchRemainder(version, 12, 0x1F25);
+    }
+
+    private static int bchRemainder(int data, int degree, int generator) {
+        int remainder = data;
+        for (int i = 0; i < degree; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> (degree - 1)) * generator);
+        }
+        return remainder & ((1 << degree) - 1);
+    }
+
+    private void setFunctionModule(int x, int y, boolean dark) {
+        modules[y][x] = dark;
+        isFunction[y][x] = true;
+    }
+
+    // ============== Codewords ==============
+
+    private byte[] addEccAndInterleave(byte[] data) {
+        int numBlocks = NUM_ERROR_CORRECTION_BLOCKS[errorCorrection.ordinal()][version];
+        int blockEccLength = ECC_CODEWORDS_PER_BLOCK[errorCorrection.ordinal()][version];
+        int rawCodewords = getNumRawDataModules(version) / 8;
+        // the last (rawCodewords % numBlocks) blocks hold one more data codeword
+        int numShortBlocks = numBlocks - rawCodewords % numBlocks;
+        int shortBlockLength = rawCodewords / numBlocks;
+
+        byte[][] blocks = new byte[numBlocks][];
+        byte[] divisor = reedSolomonDivisor(blockEccLength);
+        for (int i = 0, offset = 0; i < numBlocks; i++) {
+            int dataLength = shortBlockLength - blockEccLength + (i < numShortBlocks ? 0 : 1);
+            byte[] blockData = Arrays.copyOfRange(data, offset, offset + dataLength);
+            offset += dataLength;
+
+            // every block padded to the long block length, the gap is skipped when interleaving
+            byte[] block = Arrays.copyOf(blockData, shortBlockLength + 1);
+            System.arraycopy(reedSolomonRemainder(blockData, divisor), 0, block, block.length - blockEccLength,
+                    blockEccLength);
+            blocks[i] = block;
+        }
+
+        byte[] result = new byte[rawCodewords];
+        int k = 0;
+        for (int i = 0; i < shortBlockLength + 1; i++) {
+            for (int j = 0; j < numBlocks; j++) {
+                if (i != shortBlockLength - blockEccLength || j >= numShortBlocks) {
+                    result[k++] = blocks[j][i];
+                }
+            }
+        }
+        return result;
+    }
+
+    // zigzag two columns at a time from the bottom right, skipping the vertical timing column
+    private void drawCodewords(byte[] codewords) {
+        int i = 0;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5;
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int vertical = 0; vertical < size; vertical++) {
+                int y = upward ? size - 1 - vertical : vertical;
+                for (int j = 0; j < 2; j++) {
+                    int x = right - j;
+                    // remainder bits (if any) stay light
+                    if (!isFunction[y][x] && i < codewords.length * 8) {
+                        modules[y][x] = getBit(codewords[i >>> 3], 7 - (i & 7));
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+
+    // ============== Masking ==============
+
+    private void applyMask(int mask) {
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (!isFunction[y][x] && maskBit(mask, x, y)) {
+                    modules[y][x] = !modules[y][x];
+                }
+            }
+        }
+    }
+
+    // x is the column, y the row
+    static boolean maskBit(int mask, int x, int y) {
+        switch (mask) {
+            case 0: return (x + y) % 2 == 0;
+            case 1: return y % 2 == 0;
+            case 2: return x % 3 == 0;
+            case 3: return (x + y) % 3 == 0;
+            case 4: return (x / 3 + y / 2) % 2 == 0;
+            case 5: return x * y % 2 + x * y % 3 == 0;
+            case 6: return (x * y % 2 + x * y % 3) % 2 == 0;
+            case 7: return ((x + y) % 2 + x * y % 3) % 2 == 0;
+            default: throw new IllegalArgumentException("Mask must be 0-7: " + mask);
+        }
+    }
+
+    private int getPenaltyScore() {
+        int result = 0;
+        boolean[] line = new boolean[size];
+
+        // N1 (runs of 5+) and N3 (1:1:3:1:1 finder-like pattern with 4 light modules on one side)
+        for (int pass = 0; pass < 2; pass++) {
+            for (int a = 0; a < size; a++) {
+                for (int b = 0; b < size; b++) {
+                    line[b] = pass == 0 ? modules[a][b] : modules[b][a];
+                }
+                result += linePenalty(line);
+            }
+        }
+
+        // N2: 2x2 blocks of one colour
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                boolean colour = modules[y][x];
+                if (colour == modules[y][x + 1] && colour == modules[y + 1][x] && colour == modules[y + 1][x + 1]) {
+                    result += PENALTY_N2;
+                }
+            }
+        }
+
+        // N4: 10 points per 5% the dark share is away from 50%
+        int dark = 0;
+        for (boolean[] row : modules) {
+            for (boolean module : row) {
+                if (module) {
+                    dark++;
+                }
+            }
+        }
+        int total = size * size;
+        int k = (Math.abs(dark * 20 - total * 10) + total - 1) / total - 1;
+        result += k * PENALTY_N4;
+        return result;
+    }
+
+    // one pass: runs for N1, a rolling 11-module window for N3
+    private int linePenalty(boolean[] line) {
+        int result = 0;
+        int runLength = 0;
+        int window = 0;
+        for (int i = 0; i < line.length; i++) {
+            if (i > 0 && line[i] == line[i - 1]) {
+                runLength++;
+            } else {
+                if (runLength >= 5) {
+                    result += PENALTY_N1 + runLength - 5;
+                }
+                runLength = 1;
+            }
+
+            window = ((window << 1) | (line[i] ? 1 : 0)) & FINDER_WINDOW_MASK;
+            if (i >= 10 && (window == FINDER_LIKE_BEFORE || window == FINDER_LIKE_AFTER)) {
+                result += PENALTY_N3;
+            }
+        }
+        if (runLength >= 5) {
+            result += PENALTY_N1 + runLength - 5;
+        }
+        return result;
+    }
+
+    // ============== Capacity ==============
+
+    // modules left for data and error correction codewords (including remainder bits)
+    static int getNumRawDataModules(int version) {
+        int result = (16 * version + 128) * version + 64;
+        if (version >= 2) {
+            int alignmentCount = version / 7 + 2;
+            result -= (25 * alignmentCount - 10) * alignmentCount - 55;
+            if (version >= 7) {
+                result -= 36;
+            }
+        }
+        return result;
+    }
+
+    static int getNumDataCodewords(int version, ErrorCorrection errorCorrection) {
+        return getNumRawDataModules(version) / 8
+                - ECC_CODEWORDS_PER_BLOCK[errorCorrection.ordinal()][version]
+                * NUM_ERROR_CORRECTION_BLOCKS[errorCorrection.ordinal()][version];
+    }
+
+    // byte mode character count indicator length
+    private static int characterCountBits(int version) {
+        return version <= 9 ? 8 : 16;
+    }
+
+    // ============== Reed-Solomon over GF(2^8) ==============
+
+    // generator polynomial coefficients, highest degree first, leading 1 omitted
+    static byte[] reedSolomonDivisor(int degree) {
+        byte[] result = new byte[degree];
+        result[degree - 1] = 1;
+        int root = 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = 0; j < result.length; j++) {
+                result[j] = (byte) gfMultiply(result[j] & 0xFF, root);
+                if (j + 1 < result.length) {
+                    result[j] ^= result[j + 1];
+                }
+            }
+            root = gfMultiply(root, 0x02);
+        }
+        return result;
+    }
+
+    static byte[] reedSolomonRemainder(byte[] data, byte[] divisor) {
+        byte[] result = new byte[divisor.length];
+        for (byte b : data) {
+            int factor = (b ^ result[0]) & 0xFF;
+            System.arraycopy(result, 1, result, 0, result.length - 1);
+            result[result.length - 1] = 0;
+            for (int i = 0; i < result.length; i++) {
+                result[i] ^= (byte) gfMultiply(divisor[i] & 0xFF, factor);
+            }
+        }
+        return result;
+    }
+
+    private static int gfMultiply(int x, int y) {
+        int z = 0;
+        for (int i = 7; i >= 0; i--) {
+            z = (z << 1) ^ ((z >>> 7) * 0x11D);
+            z ^= ((y >>> i) & 1) * x;
+        }
+        return z;
+    }
+
+    private static boolean getBit(int value, int i) {
+        return ((value >>> i) & 1) != 0;
+    }
+
+    /**
+     * Append-only bit sequence, most significant bit first.
+     */
+    private static final class BitBuffer {
+        private final byte[] bytes;
+        private int length;
+
+        BitBuffer(int capacityBits) {
+            bytes = new byte[(capacityBits + 7) / 8];
+        }
+
+        void append(int value, int bitCount) {
+            for (int i = bitCount - 1; i >= 0; i--) {
+                if (((value >>> i) & 1) != 0) {
+                    bytes[length >>> 3] |= (byte) (0x80 >>> (length & 7));
+                }
+                length++;
+            }
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * QrCodeService
+ * QR code images (PNG or SVG) for event and ticket links, encoded in process with QrCode.
+ *
+ * HOW IT WORKS:
+ * - an image is identified by the SHA-256 of its format, rendering settings and text, the hash is
+ *   the cache key and the ETag
+ * - rendered images are kept in a bounded LRU map (MAX_CACHED_IMAGES), a repeat request for the
+ *   same link is a map lookup
+ * - the same text always renders the same bytes, so responses can be cached as immutable
+ *
+ * RENDERING: error correction MEDIUM, 4 module quiet zone, PNG at 8 px per module,
+ * SVG as one path in module units.
+ */
+@Service
+public class QrCodeService {
+
+    public enum Format {
+        PNG("image/png"),
+        SVG("image/svg+xml");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return The format for a file extension ("png", "svg"), or null
+         */
+        public static Format fromExtension(String extension) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * An encoded image and its content hash.
+     */
+    public static final class QrImage {
+        private final byte[] bytes;
+        private final Format format;
+        private final String hash;
+
+        QrImage(byte[] bytes, Format format, String hash) {
+            this.bytes = bytes;
+            this.format = format;
+            this.hash = hash;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+    }
+
+    static final int MAX_CACHED_IMAGES = 1024;
+    static final QrCode.ErrorCorrection ERROR_CORRECTION = QrCode.ErrorCorrection.MEDIUM;
+    static final int QUIET_ZONE_MODULES = 4;
+    static final int PNG_PIXELS_PER_MODULE = 8;
+
+    // access ordered, guarded by itself
+    private final Map<String, QrImage> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QrImage> eldest) {
+            return size() > MAX_CACHED_IMAGES;
+        }
+    };
+
+    /**
+     * The QR code image for a text (usually a URL), from the cache when it was rendered before.
+     *
+     * @throws IllegalArgumentException if the text is too long for a QR code
+     */
+    public QrImage getImage(String text, Format format) {
+        String hash = contentHash(text, format);
+        synchronized (cache) {
+            QrImage cached = cache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // encoded outside the lock, two requests racing on a new link both encode (same bytes)
+        QrCode qr = QrCode.encodeText(text, ERROR_CORRECTION);
+        byte[] bytes = format == Format.PNG ? renderPng(qr) : renderSvg(qr).getBytes(StandardCharsets.UTF_8);
+        QrImage image = new QrImage(bytes, format, hash);
+        synchronized (cache) {
+            cache.put(hash, image);
+        }
+        return image;
+    }
+
+    int cachedImageCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    static byte[] renderPng(QrCode qr) {
+        int modules = qr.getSize() + QUIET_ZONE_MODULES * 2;
+        int pixels = modules * PNG_PIXELS_PER_MODULE;
+        BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_BYTE_BINARY);
+        int[] row = new int[pixels];
+        for (int my = 0; my < modules; my++) {
+            for (int mx = 0; mx < modules; mx++) {
+                boolean dark = qr.getModule(mx - QUIET_ZONE_MODULES, my - QUIET_ZONE_MODULES);
+                int rgb = dark ? 0x000000 : 0xFFFFFF;
+                for (int i = 0; i < PNG_PIXELS_PER_MODULE; i++) {
+                    row[mx * PNG_PIXELS_PER_MODULE + i] = rgb;
+                }
+            }
+            for (int i = 0; i < PNG_PIXELS_PER_MODULE; i++) {
+                image.setRGB(0, my * PNG_PIXELS_PER_MODULE + i, pixels, 1, row, 0, pixels);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            // in-memory stream, only if no PNG writer is installed
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static String renderSvg(QrCode qr) {
+        int modules = qr.getSize() + QUIET_ZONE_MODULES * 2;
+        StringBuilder path = new StringBuilder(qr.getSize() * qr.getSize() * 4);
+        for (int y = 0; y < qr.getSize(); y++) {
+            for (int x = 0; x < qr.getSize(); x++) {
+                if (qr.getModule(x, y)) {
+                    path.append('M').append(x + QUIET_ZONE_MODULES).append(',').append(y + QUIET_ZONE_MODULES)
+                            .append("h1v1h-1z");
+                }
+            }
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" viewBox=\"0 0 " + modules + " " + modules
+                + "\" shape-rendering=\"crispEdges\">\n"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"#FFFFFF\"/>\n"
+                + "<path d=\"" + path + "\" fill=\"#000000\"/>\n"
+                + "</svg>\n";
+    }
+
+    private static String contentHash(String text, Format format) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String settings = format + "|" + ERROR_CORRECTION + "|" + QUIET_ZONE_MODULES + "|" + PNG_PIXELS_PER_MODULE + "|";
+            digest.update(settings.getBytes(StandardCharsets.UTF_8));
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
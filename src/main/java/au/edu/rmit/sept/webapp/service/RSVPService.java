@@ -1,5 +1,6 @@
 package au.edu.rmit.sept.webapp.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +33,9 @@ public class RSVPService {
     private final CancelledRSVPRepository cancelledRSVPRepository;
     private final PaymentRepository paymentRepository;
     private final UserService userService;
+    private final SeatHoldService seatHoldService;
+    private final EventMembershipService eventMembershipService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Checks if a user has the ADMIN role.
@@ -49,7 +53,10 @@ public class RSVPService {
 
     /**
      * Creates a new RSVP for a user to an event.
-     * For paid events, sets payment status to 'pending'.
+     * Seats are allocated with a conditional UPDATE on events.rsvp_count, so concurrent RSVPs
+     * can't overbook the event.
+     * For paid events, sets payment status to 'pending' and holds the seat until the payment
+     * deadline (SeatHoldService releases it if no payment arrives).
      * For free events, payment status remains null.
      */
     @Transactional
@@ -64,12 +71,9 @@ public class RSVPService {
             throw new IllegalStateException("You have already RSVP'd to this event");
         }
 
-        // Check if event is full
-        if (event.getCapacity() != null) {
-            long currentAttendees = rsvpRepository.countByEvent(event);
-            if (currentAttendees >= event.getCapacity()) {
-                throw new IllegalStateException("This event is full");
-            }
+        // Take a seat, atomically checks capacity (rolled back with the transaction if the insert fails)
+        if (eventRepository.allocateSeat(event.getId()) == 0) {
+            throw new IllegalStateException("This event is full");
         }
 
         // Create RSVP
@@ -78,10 +82,16 @@ public class RSVPService {
         // Set payment status for paid events
         if (event.getRequiresPayment() && event.getPrice() != null) {
             rsvp.setPaymentStatus("pending");
+            rsvp.setHoldExpiresAt(seatHoldService.newHoldExpiry());
             // amountPaid remains null until payment completes
         }
 
-        return rsvpRepository.save(rsvp);
+        RSVP saved = rsvpRepository.save(rsvp);
+        if (rsvp.getHoldExpiresAt() != null) {
+            seatHoldService.track(saved.getId(), rsvp.getHoldExpiresAt());
+        }
+        eventPublisher.publishEvent(new RsvpChangedEvent(event.getId(), user.getId(), true));
+        return saved;
     }
 
     public void cancelRSVP(Long eventId, String username) {
@@ -106,8 +116,10 @@ public class RSVPService {
         // Delete associated payment records first to avoid FK constraint violation
         paymentRepository.deleteByRsvp(rsvp);
 
-        // Delete RSVP
+        // Delete RSVP and give its seat back
         rsvpRepository.delete(rsvp);
+        eventRepository.releaseSeat(eventId);
+        eventPublisher.publishEvent(new RsvpChangedEvent(eventId, rsvp.getUser().getId(), false));
     }
 
     // Helper method to get attendee count
@@ -171,13 +183,16 @@ public class RSVPService {
             // Delete associated payment records first to avoid FK constraint violation
             paymentRepository.deleteByRsvp(rsvp);
 
-            // Delete RSVP
+            // Delete RSVP and give its seat back
             rsvpRepository.delete(rsvp);
+            eventRepository.releaseSeat(eventId);
+            eventPublisher.publishEvent(new RsvpChangedEvent(eventId, userId, false));
         }
 
         // Create block record
         BlockedRSVP blockedRSVP = new BlockedRSVP(event, user, organizer);
         blockedRSVPRepository.save(blockedRSVP);
+        eventPublisher.publishEvent(new RsvpBlockChangedEvent(eventId, userId, true));
     }
 
     /**
@@ -204,6 +219,7 @@ public class RSVPService {
                 .orElseThrow(() -> new RuntimeException("User is not blocked from this event"));
 
         blockedRSVPRepository.delete(blockedRSVP);
+        eventPublisher.publishEvent(new RsvpBlockChangedEvent(eventId, userId, false));
     }
 
     /**
@@ -214,7 +230,7 @@ public class RSVPService {
      * @return true if user is blocked, false otherwise
      */
     public boolean isUserBlockedFromEvent(Long eventId, Long userId) {
-        return blockedRSVPRepository.existsByEvent_IdAndUser_Id(eventId, userId);
+        return eventMembershipService.isBlocked(eventId, userId);
     }
 
     public Optional<RSVP> findById(Long id) {
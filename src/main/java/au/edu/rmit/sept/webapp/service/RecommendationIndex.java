@@ -0,0 +1,309 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RecommendationIndex
+ * Scores upcoming events against user interest profiles.
+ *
+ * SCORING (per user, per candidate event):
+ * - category interest: 1 if the event's category is one the user picked at registration
+ * - keyword affinity: share of the user's past RSVPs carrying the event's keywords, capped at 1
+ * - co-attendance: how many people going to the user's events also go to this one (CoAttendanceService)
+ * - popularity: log-scaled RSVP count relative to the most popular upcoming event
+ * - recency: events happening sooner score higher, halving over two weeks
+ * Only events with category, keyword or co-attendance signal are candidates,
+ * popularity and recency break ties.
+ *
+ * BUSINESS RULES:
+ * - the user's own events and events they already RSVP'd to are never recommended
+ * - candidates come from per-category and per-keyword postings plus co-attended events,
+ *   not a scan of every event
+ *
+ * Thread-safe, no Spring or JPA types.
+ */
+public class RecommendationIndex {
+
+    // ranked ids kept per user, more than shown so started/removed events can be skipped at read time
+    static final int MAX_RANKED = 20;
+    static final double CATEGORY_WEIGHT = 3.0;
+    static final double KEYWORD_WEIGHT = 3.0;
+    static final double CO_ATTENDANCE_WEIGHT = 2.0;
+    static final double POPULARITY_WEIGHT = 1.0;
+    static final double RECENCY_WEIGHT = 1.0;
+    private static final double RECENCY_HALF_LIFE_DAYS = 14.0;
+    // summed co-attendance at which the signal is treated as certain
+    private static final double CO_ATTENDANCE_SATURATION = 3.0;
+
+    private final Map<Long, EventFeatures> events = new ConcurrentHashMap<>();
+    private final Map<Long, Set<EventFeatures>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Long, Set<EventFeatures>> byKeyword = new ConcurrentHashMap<>();
+    private final AtomicInteger maxAttendance = new AtomicInteger();
+
+    /**
+     * Indexed upcoming event. Attendance is the only mutable part.
+     */
+    static final class EventFeatures {
+        final long eventId;
+        final Long categoryId;
+        final long[] keywordIds;
+        final Long organiserId;
+        final LocalDateTime startsAt;
+        final AtomicInteger attendance;
+
+        EventFeatures(long eventId, Long categoryId, long[] keywordIds, Long organiserId,
+                      LocalDateTime startsAt, int attendance) {
+            this.eventId = eventId;
+            this.categoryId = categoryId;
+            this.keywordIds = keywordIds;
+            this.organiserId = organiserId;
+            this.startsAt = startsAt;
+            this.attendance = new AtomicInteger(attendance);
+        }
+    }
+
+    /**
+     * A user's interests, built from registration categories and RSVP history.
+     */
+    public static final class Profile {
+        final long userId;
+        final Set<Long> categoryIds;
+        // keyword id -> number of RSVP'd events carrying it
+        final Map<Long, Integer> keywordCounts;
+        final int attendedEvents;
+        final Set<Long> excludedEventIds;
+        // event id -> summed co-attendance with the user's RSVP'd events
+        final Map<Long, Integer> coAttendedCounts;
+
+        public Profile(long userId, Set<Long> categoryIds, Map<Long, Integer> keywordCounts,
+                       int attendedEvents, Set<Long> excludedEventIds) {
+            this(userId, categoryIds, keywordCounts, attendedEvents, excludedEventIds, Map.of());
+        }
+
+        public Profile(long userId, Set<Long> categoryIds, Map<Long, Integer> keywordCounts,
+                       int attendedEvents, Set<Long> excludedEventIds, Map<Long, Integer> coAttendedCounts) {
+            this.userId = userId;
+            this.categoryIds = categoryIds;
+            this.keywordCounts = keywordCounts;
+            this.attendedEvents = attendedEvents;
+            this.excludedEventIds = excludedEventIds;
+            this.coAttendedCounts = coAttendedCounts;
+        }
+
+        boolean isEmpty() {
+            return categoryIds.isEmpty() && keywordCounts.isEmpty() && coAttendedCounts.isEmpty();
+        }
+    }
+
+    /**
+     * Immutable ranked list, best first. Scores are kept so single new events can be merged in.
+     */
+    public static final class Ranking {
+        static final Ranking EMPTY = new Ranking(new long[0], new float[0]);
+
+        private final long[] eventIds;
+        private final float[] scores;
+
+        Ranking(long[] eventIds, float[] scores) {
+            this.eventIds = eventIds;
+            this.scores = scores;
+        }
+
+        public long[] getEventIds() {
+            return eventIds;
+        }
+
+        public int size() {
+            return eventIds.length;
+        }
+
+        /**
+         * Copy with one event inserted at its rank, or this ranking if it doesn't make the cut
+         * or is already listed.
+         */
+        Ranking with(long eventId, float score) {
+            int size = eventIds.length;
+            for (long id : eventIds) {
+                if (id == eventId) {
+                    return this;
+                }
+            }
+            if (size == MAX_RANKED && score <= scores[size - 1]) {
+                return this;
+            }
+            int pos = 0;
+            while (pos < size && scores[pos] >= score) {
+                pos++;
+            }
+            int newSize = Math.min(size + 1, MAX_RANKED);
+            long[] ids = new long[newSize];
+            float[] newScores = new float[newSize];
+            System.arraycopy(eventIds, 0, ids, 0, pos);
+            System.arraycopy(scores, 0, newScores, 0, pos);
+            ids[pos] = eventId;
+            newScores[pos] = score;
+            int tail = newSize - pos - 1;
+            System.arraycopy(eventIds, pos, ids, pos + 1, tail);
+            System.arraycopy(scores, pos, newScores, pos + 1, tail);
+            return new Ranking(ids, newScores);
+        }
+    }
+
+    /**
+     * Adds or replaces an upcoming event.
+     *
+     * @param eventId The event ID
+     * @param categoryId The event category ID
+     * @param keywordIds The event keyword IDs
+     * @param organiserId The creator's user ID
+     * @param startsAt Event start date and time
+     * @param attendance Current RSVP count
+     */
+    public void addEvent(long eventId, Long categoryId, Collection<Long> keywordIds, Long organiserId,
+                         LocalDateTime startsAt, int attendance) {
+        removeEvent(eventId);
+        long[] keywords = keywordIds == null ? new long[0]
+                : keywordIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        EventFeatures features = new EventFeatures(eventId, categoryId, keywords, organiserId, startsAt, attendance);
+        events.put(eventId, features);
+        if (categoryId != null) {
+            byCategory.computeIfAbsent(categoryId, k -> ConcurrentHashMap.newKeySet()).add(features);
+        }
+        for (long keywordId : keywords) {
+            byKeyword.computeIfAbsent(keywordId, k -> ConcurrentHashMap.newKeySet()).add(features);
+        }
+        maxAttendance.accumulateAndGet(attendance, Math::max);
+    }
+
+    public void removeEvent(long eventId) {
+        EventFeatures existing = events.remove(eventId);
+        if (existing == null) {
+            return;
+        }
+        if (existing.categoryId != null) {
+            Set<EventFeatures> postings = byCategory.get(existing.categoryId);
+            if (postings != null) {
+                postings.remove(existing);
+            }
+        }
+        for (long keywordId : existing.keywordIds) {
+            Set<EventFeatures> postings = byKeyword.get(keywordId);
+            if (postings != null) {
+                postings.remove(existing);
+            }
+        }
+    }
+
+    /**
+     * Applies an RSVP change to an event's popularity, no-op if the event isn't indexed.
+     */
+    public void adjustAttendance(long eventId, int delta) {
+        EventFeatures features = events.get(eventId);
+        if (features != null) {
+            int updated = features.attendance.addAndGet(delta);
+            maxAttendance.accumulateAndGet(updated, Math::max);
+        }
+    }
+
+    public boolean containsEvent(long eventId) {
+        return events.containsKey(eventId);
+    }
+
+    /**
+     * Whether an indexed event is still in the future.
+     */
+    public boolean isUpcoming(long eventId, LocalDateTime now) {
+        EventFeatures features = events.get(eventId);
+        return features != null && features.startsAt.isAfter(now);
+    }
+
+    public int eventCount() {
+        return events.size();
+    }
+
+    /**
+     * Ranks candidate events for one user.
+     *
+     * @param profile The user's interests
+     * @param now Current time, started events are skipped
+     * @return Top MAX_RANKED events, best first
+     */
+    public Ranking rank(Profile profile, LocalDateTime now) {
+        if (profile.isEmpty()) {
+            return Ranking.EMPTY;
+        }
+        Set<EventFeatures> candidates = new HashSet<>();
+        for (Long categoryId : profile.categoryIds) {
+            Set<EventFeatures> postings = byCategory.get(categoryId);
+            if (postings != null) {
+                candidates.addAll(postings);
+            }
+        }
+        for (Long keywordId : profile.keywordCounts.keySet()) {
+            Set<EventFeatures> postings = byKeyword.get(keywordId);
+            if (postings != null) {
+                candidates.addAll(postings);
+            }
+        }
+        for (Long eventId : profile.coAttendedCounts.keySet()) {
+            EventFeatures features = events.get(eventId);
+            if (features != null) {
+                candidates.add(features);
+            }
+        }
+
+        Ranking ranking = Ranking.EMPTY;
+        for (EventFeatures event : candidates) {
+            double score = score(profile, event, now);
+            if (score > 0) {
+                ranking = ranking.with(event.eventId, (float) score);
+            }
+        }
+        return ranking;
+    }
+
+    /**
+     * Scores one event for a user, used to merge a newly created event into an existing ranking.
+     *
+     * @return The score, 0 if the event isn't indexed or isn't a candidate for this user
+     */
+    public double score(Profile profile, long eventId, LocalDateTime now) {
+        EventFeatures event = events.get(eventId);
+        return event == null ? 0 : score(profile, event, now);
+    }
+
+    private double score(Profile profile, EventFeatures event, LocalDateTime now) {
+        if (!event.startsAt.isAfter(now)
+                || profile.excludedEventIds.contains(event.eventId)
+                || (event.organiserId != null && event.organiserId == profile.userId)) {
+            return 0;
+        }
+        double category = event.categoryId != null && profile.categoryIds.contains(event.categoryId) ? 1 : 0;
+        double keyword = 0;
+        if (profile.attendedEvents > 0) {
+            int shared = 0;
+            for (long keywordId : event.keywordIds) {
+                shared += profile.keywordCounts.getOrDefault(keywordId, 0);
+            }
+            keyword = Math.min(1.0, (double) shared / profile.attendedEvents);
+        }
+        double coAttendance = Math.min(1.0,
+                profile.coAttendedCounts.getOrDefault(event.eventId, 0) / CO_ATTENDANCE_SATURATION);
+        if (category == 0 && keyword == 0 && coAttendance == 0) {
+            return 0;
+        }
+        int max = maxAttendance.get();
+        double popularity = max == 0 ? 0 : Math.log1p(event.attendance.get()) / Math.log1p(max);
+        double daysAway = Duration.between(now, event.startsAt).toMinutes() / 1440.0;
+        double recency = Math.pow(0.5, daysAway / RECENCY_HALF_LIFE_DAYS);
+        return CATEGORY_WEIGHT * category + KEYWORD_WEIGHT * keyword + CO_ATTENDANCE_WEIGHT * coAttendance
+                + POPULARITY_WEIGHT * popularity + RECENCY_WEIGHT * recency;
+    }
+}
@@ -0,0 +1,274 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.Keyword;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * RecommendationService
+ * Precomputed per-user recommended events.
+ *
+ * HOW IT WORKS:
+ * - RecommendationIndex holds upcoming event features, profiles are built from
+ *   registration categories, the keywords of RSVP'd events and their co-attended events
+ * - every user's ranked list is recomputed in a background rebuild (startup and hourly,
+ *   recency and popularity drift over time)
+ * - RSVP changes mark the user dirty, dirty users are re-ranked in small scheduled batches
+ * - a new event is scored against every cached profile and merged into rankings it beats
+ * - reads return the cached ranked ids, no query
+ *
+ * No class-level @Transactional, the after-commit listeners must not join a transaction.
+ */
+@Service
+public class RecommendationService {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final CoAttendanceService coAttendanceService;
+
+    private volatile RecommendationIndex index = new RecommendationIndex();
+    private final Map<Long, RecommendationIndex.Profile> profiles = new ConcurrentHashMap<>();
+    private final Map<Long, RecommendationIndex.Ranking> rankings = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUserIds = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> pendingEventIds = new ConcurrentLinkedQueue<>();
+
+    public RecommendationService(EventRepository eventRepository, RSVPRepository rsvpRepository,
+                                 UserRepository userRepository, CoAttendanceService coAttendanceService) {
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.userRepository = userRepository;
+        this.coAttendanceService = coAttendanceService;
+    }
+
+    /**
+     * Recommended upcoming event IDs for a user, best first. Started events are skipped.
+     *
+     * @param userId The user ID, null for anonymous
+     * @param limit Maximum number of IDs
+     * @return Ranked event IDs, empty if the user has no interests
+     */
+    public List<Long> getRecommendedEventIds(Long userId, int limit) {
+        if (userId == null) {
+            return List.of();
+        }
+        RecommendationIndex.Ranking ranking = rankings.get(userId);
+        if (ranking == null) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RecommendationIndex current = index;
+        List<Long> result = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (long eventId : ranking.getEventIds()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (current.isUpcoming(eventId, now)) {
+                result.add(eventId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of upcoming events currently recommended to a user.
+     */
+    public int getRecommendedCount(Long userId) {
+        return getRecommendedEventIds(userId, RecommendationIndex.MAX_RANKED).size();
+    }
+
+    /**
+     * Rebuilds the event index and every user's ranking from five projection/graph queries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recommendations.rebuild-cron:0 10 * * * *}")
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        LocalDateTime now = LocalDateTime.now();
+        RecommendationIndex fresh = buildIndex(now);
+        Map<Long, RecommendationIndex.Profile> freshProfiles = loadProfiles(null);
+
+        Map<Long, RecommendationIndex.Ranking> freshRankings = new HashMap<>();
+        for (RecommendationIndex.Profile profile : freshProfiles.values()) {
+            RecommendationIndex.Ranking ranking = fresh.rank(profile, now);
+            if (ranking.size() > 0) {
+                freshRankings.put(profile.userId, ranking);
+            }
+        }
+
+        index = fresh;
+        profiles.putAll(freshProfiles);
+        profiles.keySet().retainAll(freshProfiles.keySet());
+        rankings.putAll(freshRankings);
+        rankings.keySet().retainAll(freshRankings.keySet());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventCreated(EventCreatedEvent created) {
+        pendingEventIds.add(created.getEventId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        index.adjustAttendance(changed.getEventId(), changed.isAttending() ? 1 : -1);
+        dirtyUserIds.add(changed.getUserId());
+    }
+
+    /**
+     * Indexes newly created events and re-ranks users whose RSVPs changed.
+     */
+    @Scheduled(fixedDelayString = "${recommendations.refresh-interval-ms:10000}")
+    @Transactional(readOnly = true)
+    public void refreshPending() {
+        LocalDateTime now = LocalDateTime.now();
+        mergeNewEvents(now);
+
+        if (dirtyUserIds.isEmpty()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(REFRESH_BATCH_SIZE);
+        for (Long userId : dirtyUserIds) {
+            if (batch.size() >= REFRESH_BATCH_SIZE) {
+                break;
+            }
+            batch.add(userId);
+        }
+        dirtyUserIds.removeAll(batch);
+
+        Map<Long, RecommendationIndex.Profile> batchProfiles = loadProfiles(batch);
+        RecommendationIndex current = index;
+        for (Long userId : batch) {
+            RecommendationIndex.Profile profile = batchProfiles.get(userId);
+            if (profile == null) {
+                profiles.remove(userId);
+                rankings.remove(userId);
+                continue;
+            }
+            profiles.put(userId, profile);
+            RecommendationIndex.Ranking ranking = current.rank(profile, now);
+            if (ranking.size() > 0) {
+                rankings.put(userId, ranking);
+            } else {
+                rankings.remove(userId);
+            }
+        }
+    }
+
+    private void mergeNewEvents(LocalDateTime now) {
+        List<Long> eventIds = new ArrayList<>();
+        Long next;
+        while ((next = pendingEventIds.poll()) != null) {
+            eventIds.add(next);
+        }
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        RecommendationIndex current = index;
+        for (Event event : eventRepository.findWithKeywordsByIdIn(eventIds)) {
+            if (event.isDeactivated()) {
+                continue;
+            }
+            addToIndex(current, event, 0);
+            for (RecommendationIndex.Profile profile : profiles.values()) {
+                double score = current.score(profile, event.getId(), now);
+                if (score > 0) {
+                    rankings.merge(profile.userId,
+                            RecommendationIndex.Ranking.EMPTY.with(event.getId(), (float) score),
+                            (existing, single) -> existing.with(event.getId(), (float) score));
+                }
+            }
+        }
+    }
+
+    private RecommendationIndex buildIndex(LocalDateTime now) {
+        Map<Long, Integer> attendance = new HashMap<>();
+        for (Object[] row : rsvpRepository.countRsvpsPerEventFrom(now.toLocalDate())) {
+            attendance.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        RecommendationIndex fresh = new RecommendationIndex();
+        for (Event event : eventRepository.findAllUpcomingWithKeywords(now.toLocalDate(), now.toLocalTime())) {
+            addToIndex(fresh, event, attendance.getOrDefault(event.getId(), 0));
+        }
+        return fresh;
+    }
+
+    private static void addToIndex(RecommendationIndex target, Event event, int attendance) {
+        Set<Long> keywordIds = event.getKeywords() == null ? Set.of()
+                : event.getKeywords().stream().map(Keyword::getId).collect(Collectors.toSet());
+        Long organiserId = event.getCreatedBy() != null ? event.getCreatedBy().getId() : null;
+        target.addEvent(event.getId(), event.getCategory().getId(), keywordIds, organiserId,
+                LocalDateTime.of(event.getEventDate(), event.getEventTime()), attendance);
+    }
+
+    /**
+     * Builds profiles from projection rows.
+     *
+     * @param userIds Users to load, null for everyone
+     * @return Profiles keyed by user ID, users without any signal are absent
+     */
+    private Map<Long, RecommendationIndex.Profile> loadProfiles(Collection<Long> userIds) {
+        boolean all = userIds == null;
+        Map<Long, Set<Long>> categories = new HashMap<>();
+        for (Object[] row : all ? userRepository.findCategoryInterestRows()
+                : userRepository.findCategoryInterestRowsByUserIdIn(userIds)) {
+            categories.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Map<Long, Map<Long, Integer>> keywordCounts = new HashMap<>();
+        Map<Long, Set<Long>> attendedEvents = new HashMap<>();
+        for (Object[] row : all ? rsvpRepository.findAttendedKeywordRows()
+                : rsvpRepository.findAttendedKeywordRowsByUserIdIn(userIds)) {
+            Long userId = (Long) row[0];
+            attendedEvents.computeIfAbsent(userId, k -> new HashSet<>()).add((Long) row[1]);
+            keywordCounts.computeIfAbsent(userId, k -> new HashMap<>()).merge((Long) row[2], 1, Integer::sum);
+        }
+
+        // every RSVP'd event is excluded from results and seeds co-attendance
+        Map<Long, Set<Long>> rsvpEvents = new HashMap<>();
+        for (Object[] row : all ? rsvpRepository.findAttendanceRows()
+                : rsvpRepository.findAttendanceRowsByUserIdIn(userIds)) {
+            rsvpEvents.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Set<Long> profileUsers = new HashSet<>(categories.keySet());
+        profileUsers.addAll(rsvpEvents.keySet());
+        Map<Long, RecommendationIndex.Profile> result = new HashMap<>();
+        for (Long userId : profileUsers) {
+            Set<Long> attended = rsvpEvents.getOrDefault(userId, Set.of());
+            RecommendationIndex.Profile profile = new RecommendationIndex.Profile(userId,
+                    categories.getOrDefault(userId, Set.of()),
+                    keywordCounts.getOrDefault(userId, Map.of()),
+                    attendedEvents.getOrDefault(userId, Set.of()).size(),
+                    attended,
+                    attended.isEmpty() ? Map.of() : coAttendanceService.coAttendedCounts(attended));
+            if (!profile.isEmpty()) {
+                result.put(userId, profile);
+            }
+        }
+        return result;
+    }
+}
@@ -1,20 +1,28 @@
 package au.edu.rmit.sept.webapp.service;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 import au.edu.rmit.sept.webapp.dto.ReviewDTO;
 import au.edu.rmit.sept.webapp.dto.DisplayReviewDTO;
+import au.edu.rmit.sept.webapp.dto.ReviewPage;
 
 import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.EventRatingSummary;
 import au.edu.rmit.sept.webapp.model.Review;
 import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.EventRatingSummaryRepository;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -23,24 +31,48 @@ import au.edu.rmit.sept.webapp.repository.ReviewRepository;
 @Service
 @Transactional
 public class ReviewService {
+    public static final int MAX_REVIEW_PAGE_SIZE = 50;
+
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final EventRatingSummaryRepository ratingSummaryRepository;
+    private final TransactionTemplate summaryTransaction;
 
-    public ReviewService(ReviewRepository reviewRepository, UserRepository userRepository, EventRepository eventRepository) {
+    public ReviewService(ReviewRepository reviewRepository, UserRepository userRepository, EventRepository eventRepository,
+                         EventRatingSummaryRepository ratingSummaryRepository,
+                         PlatformTransactionManager transactionManager) {
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        // a failed insert there must not roll back the review's transaction
+        this.summaryTransaction = new TransactionTemplate(transactionManager);
+        this.summaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     public void saveReview(ReviewDTO reviewDTO, Long eventId, String username) {
+        // outside 1..5 the rating would reach rating_sum/rating_count but no rating_N bucket
+        Integer rating = reviewDTO.getRating();
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+
         // Find the user and event
         User author = userRepository.findByUsername(username)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found"));
 
-        // TO DO: ADD VALIDATION
+        // event saved without a summary row (e.g. seeded data): build it from the committed reviews
+        // in its own transaction, before ours exists so it's counted once, by addRating below
+        if (!ratingSummaryRepository.existsById(eventId)) {
+            try {
+                summaryTransaction.executeWithoutResult(status -> ratingSummaryRepository.insertFromReviews(eventId));
+            } catch (DataIntegrityViolationException e) {
+                // a concurrent first review's row is committed now, or the event itself isn't yet
+            }
+        }
 
         // Create and save the new review
         Review review = new Review();
@@ -49,7 +81,14 @@ public class ReviewService {
         review.setAuthor(author);
         review.setEvent(event);
         
-        reviewRepository.save(review);
+        // flushed first so a duplicate review fails before the aggregates change
+        reviewRepository.saveAndFlush(review);
+
+        // running aggregates, one atomic UPDATE in this transaction
+        if (ratingSummaryRepository.addRating(eventId, review.getRating()) == 0) {
+            // event created in this transaction, no other one can race for its row
+            ratingSummaryRepository.insertFromReviews(eventId);
+        }
     }
 
     //Convert Review to DisplayReviewDTO
@@ -74,25 +113,61 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
-    //Get average rating for an event
+    //Get one page of all reviews for an event, newest first, continuing after the given cursor (null for the first page)
+    //keyset paging: each page is an index range read on (event_id, created_at, id), no OFFSET
+    //deactivated (and deleting) events are only visible with includeDeactivated, EntityNotFoundException otherwise
     @Transactional(readOnly = true)
-    public double getAverageRatingForEvent(Long eventId) {
-        List<Review> reviews = reviewRepository.findByEventIdOrderByCreatedAtDesc(eventId);
-        if (reviews.isEmpty()) {
-            return 0.0;
+    public ReviewPage getReviewPage(Long eventId, String cursor, int size, boolean includeDeactivated) {
+        boolean visible = includeDeactivated ? eventRepository.existsById(eventId)
+                : eventRepository.existsByIdAndDeactivatedFalse(eventId);
+        if (!visible) {
+            throw new EntityNotFoundException("Event not found with id: " + eventId);
         }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
+
+        int pageSize = Math.max(1, Math.min(size, MAX_REVIEW_PAGE_SIZE));
+        // one extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Review> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findFirstReviewPage(eventId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            reviews = reviewRepository.findReviewPageAfter(eventId, after.getTimestamp(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            Review last = reviews.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new ReviewPage(reviews.stream().map(this::convertToDisplayDTO).collect(Collectors.toList()),
+                nextCursor);
+    }
+
+    //Get average rating for an event, from the running aggregates
+    @Transactional(readOnly = true)
+    public double getAverageRatingForEvent(Long eventId) {
+        return ratingSummaryRepository.findById(eventId)
+                .map(EventRatingSummary::getAverageRating)
                 .orElse(0.0);
     }
 
-    //Get total number of reviews for an event
+    //Get total number of reviews for an event, from the running aggregates
     @Transactional(readOnly = true)
     public long countReviewsForEvent(Long eventId) {
-        // For efficiency, it would be better to add a `countByEventId` method to the repository.
-        // But for simplicity, we can reuse the existing method.
-        return reviewRepository.findByEventIdOrderByCreatedAtDesc(eventId).size();
+        return ratingSummaryRepository.findById(eventId)
+                .map(EventRatingSummary::getRatingCount)
+                .orElse(0L);
+    }
+
+    //Get number of reviews per star (index 0 is 1 star), from the running aggregates
+    @Transactional(readOnly = true)
+    public long[] getRatingDistributionForEvent(Long eventId) {
+        return ratingSummaryRepository.findById(eventId)
+                .map(EventRatingSummary::getDistribution)
+                .orElse(new long[5]);
     }
     
     
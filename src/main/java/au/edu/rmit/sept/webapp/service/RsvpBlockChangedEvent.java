@@ -0,0 +1,31 @@
+package au.edu.rmit.sept.webapp.service;
+
+/**
+ * Application event published when an organiser blocks or unblocks a user from an event.
+ * Listeners use @TransactionalEventListener so rolled back changes are never seen.
+ */
+public class RsvpBlockChangedEvent {
+
+    private final Long eventId;
+    private final Long userId;
+    private final boolean blocked;
+
+    public RsvpBlockChangedEvent(Long eventId, Long userId, boolean blocked) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.blocked = blocked;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // true for a new block, false when one was lifted
+    public boolean isBlocked() {
+        return blocked;
+    }
+}
@@ -0,0 +1,32 @@
+package au.edu.rmit.sept.webapp.service;
+
+/**
+ * Application event published whenever an RSVP is created or removed
+ * (attendee cancel, organiser cancel, block).
+ * Listeners use @TransactionalEventListener so rolled back changes are never seen.
+ */
+public class RsvpChangedEvent {
+
+    private final Long eventId;
+    private final Long userId;
+    private final boolean attending;
+
+    public RsvpChangedEvent(Long eventId, Long userId, boolean attending) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.attending = attending;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // true for a new RSVP, false when one was removed
+    public boolean isAttending() {
+        return attending;
+    }
+}
@@ -0,0 +1,312 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SavedSearchIndex
+ * In-memory reverse ("percolator") index over saved searches.
+ *
+ * HOW IT WORKS:
+ * - each saved search is posted under its most selective key only:
+ *   every keyword id (keywords are OR bound), else its longest search term, else its category
+ * - a new event looks up its own keys (category, keyword ids, substrings of title/description tokens)
+ *   and only the searches posted there are verified against their full criteria
+ * - verification mirrors home page search semantics: category equality, ANY selected keyword,
+ *   case-insensitive substring match of the search text in title or description
+ *
+ * Thread-safe, searches can be added or removed while events are being matched.
+ * No Spring or JPA types so it can be benchmarked standalone.
+ */
+public class SavedSearchIndex {
+
+    // longer query terms are posted under their prefix, event substrings are enumerated up to this length
+    static final int MAX_TERM_KEY_LENGTH = 16;
+
+    private final Map<Long, Criteria> searches = new ConcurrentHashMap<>();
+    private final Map<Long, PostingList> byKeyword = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> byTerm = new ConcurrentHashMap<>();
+    private final Map<Long, PostingList> byCategory = new ConcurrentHashMap<>();
+    // searches whose text has no indexable term and no category, verified against every event
+    private final PostingList unkeyed = new PostingList();
+
+    /**
+     * A saved search that matched an event.
+     */
+    public static final class Match {
+        private final long savedSearchId;
+        private final long userId;
+
+        Match(long savedSearchId, long userId) {
+            this.savedSearchId = savedSearchId;
+            this.userId = userId;
+        }
+
+        public long getSavedSearchId() {
+            return savedSearchId;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+    }
+
+    // immutable, normalised copy of a saved search
+    private static final class Criteria {
+        final long id;
+        final long userId;
+        final Long categoryId;
+        final long[] keywordIds;
+        final String text;
+
+        Criteria(long id, long userId, Long categoryId, long[] keywordIds, String text) {
+            this.id = id;
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.keywordIds = keywordIds;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Adds or replaces a saved search.
+     *
+     * @param savedSearchId The saved search ID
+     * @param userId The owning user ID
+     * @param categoryId Category filter, null for any
+     * @param keywordIds Keyword filter (OR binding), empty for any
+     * @param searchText Text filter, null or blank for any
+     */
+    public void add(long savedSearchId, long userId, Long categoryId, Collection<Long> keywordIds, String searchText) {
+        remove(savedSearchId);
+
+        long[] keywords = keywordIds == null ? new long[0]
+                : keywordIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        String text = normalise(searchText);
+        Criteria criteria = new Criteria(savedSearchId, userId, categoryId, keywords, text);
+        searches.put(savedSearchId, criteria);
+
+        for (PostingList list : postingsFor(criteria, true)) {
+            list.add(criteria);
+        }
+    }
+
+    /**
+     * Removes a saved search, no-op if not indexed.
+     *
+     * @param savedSearchId The saved search ID
+     */
+    public void remove(long savedSearchId) {
+        Criteria existing = searches.remove(savedSearchId);
+        if (existing == null) {
+            return;
+        }
+        for (PostingList list : postingsFor(existing, false)) {
+            list.remove(savedSearchId);
+        }
+    }
+
+    public int size() {
+        return searches.size();
+    }
+
+    /**
+     * Finds all saved searches matching an event.
+     * Cost is proportional to the event's text length plus the number of candidate searches,
+     * not the total number of saved searches.
+     *
+     * @param categoryId The event category ID
+     * @param keywordIds The event keyword IDs
+     * @param title The event title
+     * @param description The event description
+     * @return Matching saved searches, one entry per search
+     */
+    public List<Match> match(Long categoryId, Collection<Long> keywordIds, String title, String description) {
+        String lowerTitle = title == null ? "" : title.toLowerCase(Locale.ROOT);
+        String lowerDescription = description == null ? "" : description.toLowerCase(Locale.ROOT);
+        Set<Long> eventKeywords = keywordIds == null ? Set.of() : new HashSet<>(keywordIds);
+
+        // candidates are verified straight off each posting list, only searches posted under
+        // several keywords can be reached twice so only those are de-duplicated
+        Candidates candidates = new Candidates(categoryId, eventKeywords, lowerTitle, lowerDescription);
+        if (categoryId != null) {
+            candidates.visit(byCategory.get(categoryId));
+        }
+        for (Long keywordId : eventKeywords) {
+            candidates.visit(byKeyword.get(keywordId));
+        }
+        Set<String> probed = new HashSet<>();
+        probeTerms(lowerTitle, probed, candidates);
+        probeTerms(lowerDescription, probed, candidates);
+        candidates.visit(unkeyed);
+        return candidates.matches;
+    }
+
+    // per-match scratch state
+    private final class Candidates {
+        final Long categoryId;
+        final Set<Long> eventKeywords;
+        final String title;
+        final String description;
+        final List<Match> matches = new ArrayList<>();
+        final Set<Long> multiKeywordSeen = new HashSet<>();
+
+        Candidates(Long categoryId, Set<Long> eventKeywords, String title, String description) {
+            this.categoryId = categoryId;
+            this.eventKeywords = eventKeywords;
+            this.title = title;
+            this.description = description;
+        }
+
+        void visit(PostingList list) {
+            if (list == null) {
+                return;
+            }
+            for (Criteria c : list.snapshot()) {
+                if (c.keywordIds.length > 1 && !multiKeywordSeen.add(c.id)) {
+                    continue;
+                }
+                if (verify(c, categoryId, eventKeywords, title, description)) {
+                    matches.add(new Match(c.id, c.userId));
+                }
+            }
+        }
+    }
+
+    private boolean verify(Criteria c, Long categoryId, Set<Long> eventKeywords, String title, String description) {
+        if (c.categoryId != null && !c.categoryId.equals(categoryId)) {
+            return false;
+        }
+        if (c.keywordIds.length > 0) {
+            boolean any = false;
+            for (long keywordId : c.keywordIds) {
+                if (eventKeywords.contains(keywordId)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        return c.text == null || title.contains(c.text) || description.contains(c.text);
+    }
+
+    // any query term is a substring of some event token, so probing every token substring up to
+    // MAX_TERM_KEY_LENGTH finds every search posted under a term
+    private void probeTerms(String text, Set<String> probed, Candidates candidates) {
+        for (String token : tokenise(text)) {
+            int length = token.length();
+            for (int start = 0; start < length; start++) {
+                int maxEnd = Math.min(length, start + MAX_TERM_KEY_LENGTH);
+                for (int end = start + 1; end <= maxEnd; end++) {
+                    String key = token.substring(start, end);
+                    if (probed.add(key)) {
+                        candidates.visit(byTerm.get(key));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<PostingList> postingsFor(Criteria c, boolean create) {
+        List<PostingList> lists = new ArrayList<>();
+        if (c.keywordIds.length > 0) {
+            for (long keywordId : c.keywordIds) {
+                addIfPresent(lists, create ? byKeyword.computeIfAbsent(keywordId, k -> new PostingList())
+                        : byKeyword.get(keywordId));
+            }
+            return lists;
+        }
+        String term = c.text == null ? null : longestTerm(c.text);
+        if (term != null) {
+            addIfPresent(lists, create ? byTerm.computeIfAbsent(term, k -> new PostingList()) : byTerm.get(term));
+        } else if (c.categoryId != null) {
+            addIfPresent(lists, create ? byCategory.computeIfAbsent(c.categoryId, k -> new PostingList())
+                    : byCategory.get(c.categoryId));
+        } else {
+            lists.add(unkeyed);
+        }
+        return lists;
+    }
+
+    private static void addIfPresent(List<PostingList> lists, PostingList list) {
+        if (list != null) {
+            lists.add(list);
+        }
+    }
+
+    static String normalise(String searchText) {
+        if (searchText == null || searchText.isBlank()) {
+            return null;
+        }
+        return searchText.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String longestTerm(String text) {
+        String longest = null;
+        for (String token : tokenise(text)) {
+            if (longest == null || token.length() > longest.length()) {
+                longest = token;
+            }
+        }
+        if (longest == null) {
+            return null;
+        }
+        return longest.length() > MAX_TERM_KEY_LENGTH ? longest.substring(0, MAX_TERM_KEY_LENGTH) : longest;
+    }
+
+    // letter/digit runs, everything else is a separator
+    static List<String> tokenise(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Growable array of criteria posted under one key. Holding the criteria directly (not ids)
+     * avoids a map lookup per candidate. Removal is a linear scan but only happens when a user
+     * deletes a search.
+     */
+    private static final class PostingList {
+        private Criteria[] entries = new Criteria[4];
+        private int size;
+
+        synchronized void add(Criteria criteria) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = criteria;
+        }
+
+        synchronized void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i].id == id) {
+                    entries[i] = entries[--size];
+                    entries[size] = null;
+                    return;
+                }
+            }
+        }
+
+        synchronized Criteria[] snapshot() {
+            return Arrays.copyOf(entries, size);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.SavedSearchDTO;
+import au.edu.rmit.sept.webapp.dto.SearchAlertDTO;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.Keyword;
+import au.edu.rmit.sept.webapp.model.SavedSearch;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.KeywordRepository;
+import au.edu.rmit.sept.webapp.repository.SavedSearchRepository;
+import au.edu.rmit.sept.webapp.repository.SearchAlertRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * SavedSearchService
+ * Saved searches and new-event alerts.
+ *
+ * FEATURES:
+ * - Save / list / delete a user's home page filters
+ * - Match newly created events against every saved search via SavedSearchIndex (percolator)
+ * - Unseen alerts for the home page, dismissed in one update
+ *
+ * MATCHING:
+ * - EventService publishes EventCreatedEvent, queued here only after the create transaction commits
+ * - a scheduled job drains the queue in batches: one query loads the batch with keywords,
+ *   the index yields candidate searches per event, alerts are written with one JDBC batch insert
+ * - each alert is only inserted while its event is still active, so an event deleted meanwhile
+ *   drops its alerts instead of failing the batch; a failed batch is queued again for the next run
+ * - the index is rebuilt from two projection queries on startup
+ *
+ * No class-level @Transactional, the after-commit listener must not join a transaction.
+ */
+@Service
+public class SavedSearchService {
+
+    private static final int MAX_SAVED_SEARCHES_PER_USER = 20;
+    private static final int MAX_SEARCH_TEXT_LENGTH = 100;
+    private static final int MATCH_BATCH_SIZE = 200;
+    private static final int EXISTS_CHUNK_SIZE = 1000;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SearchAlertRepository searchAlertRepository;
+    private final EventRepository eventRepository;
+    private final CategoryRepository categoryRepository;
+    private final KeywordRepository keywordRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final SavedSearchIndex index = new SavedSearchIndex();
+    // committed event ids awaiting matching
+    private final Queue<Long> pendingEventIds = new ConcurrentLinkedQueue<>();
+    // matching waits for the startup load, otherwise early events would miss existing searches
+    private volatile boolean indexLoaded = false;
+
+    public SavedSearchService(SavedSearchRepository savedSearchRepository,
+                              SearchAlertRepository searchAlertRepository,
+                              EventRepository eventRepository,
+                              CategoryRepository categoryRepository,
+                              KeywordRepository keywordRepository,
+                              UserRepository userRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.searchAlertRepository = searchAlertRepository;
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+        this.keywordRepository = keywordRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Saves the current home page filter for a user.
+     *
+     * @param userId The user saving the search
+     * @param categoryId Category filter, may be null
+     * @param keywordIds Keyword filter (OR binding), may be null or empty
+     * @param searchText Text filter, may be null or blank
+     * @return The saved search
+     * @throws IllegalArgumentException if no criteria given or a category/keyword is invalid
+     * @throws IllegalStateException if the user already has the maximum number of saved searches
+     */
+    @Transactional
+    public SavedSearchDTO saveSearch(Long userId, Long categoryId, Set<Long> keywordIds, String searchText) {
+        String text = searchText == null || searchText.isBlank() ? null : searchText.trim();
+        boolean hasKeywords = keywordIds != null && !keywordIds.isEmpty();
+        if (categoryId == null && !hasKeywords && text == null) {
+            throw new IllegalArgumentException("Choose a category, keyword or search text before saving a search");
+        }
+        if (text != null && text.length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Search text cannot exceed " + MAX_SEARCH_TEXT_LENGTH + " characters");
+        }
+        if (savedSearchRepository.countByUserId(userId) >= MAX_SAVED_SEARCHES_PER_USER) {
+            throw new IllegalStateException("You can save up to " + MAX_SAVED_SEARCHES_PER_USER + " searches");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        Category category = null;
+        if (categoryId != null) {
+            category = categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid category selected"));
+        }
+
+        Set<Keyword> keywords = new HashSet<>();
+        if (hasKeywords) {
+            keywords = keywordRepository.findAllByIds(keywordIds);
+            if (keywords.size() != keywordIds.size()) {
+                throw new IllegalArgumentException("Invalid keyword selected");
+            }
+        }
+
+        SavedSearch saved = savedSearchRepository.save(new SavedSearch(user, category, keywords, text));
+        index.add(saved.getId(), userId, categoryId, hasKeywords ? keywordIds : Set.of(), text);
+        return toDTO(saved);
+    }
+
+    /**
+     * Lists a user's saved searches, newest first.
+     *
+     * @param userId The user ID
+     * @return Saved searches with category and keyword names
+     */
+    @Transactional(readOnly = true)
+    public List<SavedSearchDTO> getSavedSearches(Long userId) {
+        return savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes a saved search, alerts go with it via FK cascade.
+     *
+     * @param savedSearchId The saved search ID
+     * @param userId The user requesting deletion
+     * @throws EntityNotFoundException if the saved search doesn't exist
+     * @throws AccessDeniedException if the user doesn't own the saved search
+     */
+    @Transactional
+    public void deleteSavedSearch(Long savedSearchId, Long userId) {
+        SavedSearch saved = savedSearchRepository.findById(savedSearchId)
+                .orElseThrow(() -> new EntityNotFoundException("Saved search not found"));
+        if (!saved.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("You can only delete your own saved searches");
+        }
+        savedSearchRepository.delete(saved);
+        index.remove(savedSearchId);
+    }
+
+    /**
+     * Unseen alerts for a user, newest first.
+     *
+     * @param userId The user ID
+     * @param limit Maximum alerts to return
+     * @return Alert summaries
+     */
+    @Transactional(readOnly = true)
+    public List<SearchAlertDTO> getUnseenAlerts(Long userId, int limit) {
+        if (userId == null) {
+            return List.of();
+        }
+        return searchAlertRepository.findUnseenByUserId(userId, PageRequest.of(0, limit)).stream()
+                .map(a -> new SearchAlertDTO(a.getId(), a.getEvent().getId(), a.getEvent().getTitle(),
+                        a.getEvent().getEventDate(), a.getEvent().getCategory().getName(), a.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Marks all of a user's alerts as seen.
+     *
+     * @param userId The user ID
+     * @return Number of alerts dismissed
+     */
+    @Transactional
+    public int dismissAlerts(Long userId) {
+        return searchAlertRepository.markAllSeen(userId);
+    }
+
+    /**
+     * Builds the percolator index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        Map<Long, Set<Long>> keywordsBySearch = new HashMap<>();
+        for (Object[] row : savedSearchRepository.findKeywordRows()) {
+            keywordsBySearch.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+        }
+        for (Object[] row : savedSearchRepository.findIndexRows()) {
+            Long id = (Long) row[0];
+            index.add(id, (Long) row[1], (Long) row[2], keywordsBySearch.getOrDefault(id, Set.of()), (String) row[3]);
+        }
+        indexLoaded = true;
+    }
+
+    /**
+     * Queues a committed event for matching, never blocks the creating request.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventCreated(EventCreatedEvent event) {
+        pendingEventIds.add(event.getEventId());
+    }
+
+    /**
+     * Matches one batch of queued events against the index and writes alerts.
+     * Organisers are not alerted about their own events.
+     *
+     * @return Number of alerts written
+     */
+    @Scheduled(fixedDelayString = "${saved-search.match.interval-ms:5000}")
+    public int matchPendingEvents() {
+        if (!indexLoaded || pendingEventIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> batch = new ArrayList<>();
+        Long next;
+        while (batch.size() < MATCH_BATCH_SIZE && (next = pendingEventIds.poll()) != null) {
+            batch.add(next);
+        }
+        try {
+            return transactionTemplate.execute(status -> match(batch));
+        } catch (DataAccessException e) {
+            System.err.println("Failed to match new events against saved searches, retrying next run: "
+                    + e.getMessage());
+            pendingEventIds.addAll(batch);
+            return 0;
+        }
+    }
+
+    // visible for the benchmark and tests
+    SavedSearchIndex getIndex() {
+        return index;
+    }
+
+    private int match(List<Long> batch) {
+        // [savedSearchId, userId, eventId]
+        List<long[]> matches = new ArrayList<>();
+        for (Event event : eventRepository.findWithKeywordsByIdIn(batch)) {
+            if (event.isDeactivated()) {
+                continue;
+            }
+            Set<Long> keywordIds = event.getKeywords().stream().map(Keyword::getId).collect(Collectors.toSet());
+            Long organiserId = event.getCreatedBy().getId();
+            for (SavedSearchIndex.Match m : index.match(event.getCategory().getId(), keywordIds,
+                    event.getTitle(), event.getDescription())) {
+                if (m.getUserId() != organiserId) {
+                    matches.add(new long[] { m.getSavedSearchId(), m.getUserId(), event.getId() });
+                }
+            }
+        }
+        if (matches.isEmpty()) {
+            return 0;
+        }
+
+        // searches deleted since indexing (e.g. category or user cascade) would fail the FK
+        Set<Long> live = liveSearchIds(matches);
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (long[] m : matches) {
+            if (live.contains(m[0])) {
+                rows.add(new Object[] { m[0], m[1], false, now, m[2] });
+            } else {
+                index.remove(m[0]);
+            }
+        }
+        // inserts nothing for an event deactivated or deleted since it was loaded
+        int[] inserted = jdbcTemplate.batchUpdate(
+                "INSERT INTO search_alerts (saved_search_id, user_id, event_id, seen, created_at) " +
+                "SELECT ?, ?, id, ?, ? FROM events WHERE id = ? AND is_deactivated = FALSE",
+                rows);
+        int written = 0;
+        for (int count : inserted) {
+            // SUCCESS_NO_INFO (negative) means the driver doesn't know, counted as written
+            if (count != 0) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private Set<Long> liveSearchIds(List<long[]> matches) {
+        List<Long> ids = matches.stream().map(m -> m[0]).distinct().collect(Collectors.toList());
+        Set<Long> live = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += EXISTS_CHUNK_SIZE) {
+            live.addAll(savedSearchRepository.findExistingIds(ids.subList(i, Math.min(ids.size(), i + EXISTS_CHUNK_SIZE))));
+        }
+        return live;
+    }
+
+    private SavedSearchDTO toDTO(SavedSearch saved) {
+        Category category = saved.getCategory();
+        List<String> keywordNames = saved.getKeywords().stream()
+                .map(Keyword::getName)
+                .sorted()
+                .collect(Collectors.toList());
+        return new SavedSearchDTO(saved.getId(),
+                category != null ? category.getId() : null,
+                category != null ? category.getName() : null,
+                keywordNames, saved.getSearchText(), saved.getCreatedAt());
+    }
+}
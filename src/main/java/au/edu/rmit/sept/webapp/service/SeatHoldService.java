@@ -0,0 +1,208 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SeatHoldService
+ * Releases the seats of paid RSVPs whose payment didn't arrive in time.
+ *
+ * HOW IT WORKS:
+ * - an RSVP to a paid event is created pending with rsvp.hold_expires_at = now + seat-hold.minutes
+ *   and added to a HoldTimingWheel (O(1), no query)
+ * - every seat-hold.tick-ms the wheel is advanced; the ids it returns are released in batches of
+ *   RELEASE_BATCH_SIZE, one transaction each: lock the rows still pending and expired, delete
+ *   their payments and the RSVPs, give the seats back with one UPDATE per event
+ * - every released RSVP publishes RsvpChangedEvent, so the waitlist promotes into the seat
+ * - the wheel is per node and in memory: it's loaded from the table on startup, and a sweep
+ *   (seat-hold.sweep-interval-ms) releases expired holds through idx_rsvp_hold_expires_at, covering
+ *   holds created on another node
+ * - starting a Stripe checkout extends the hold past the session's expiry (extend()), so a
+ *   session that can still be paid never outlives its seat; a hold already longer is kept
+ * - extensions are capped relative to rsvp_date: a hold ends at most the caller's limit after the
+ *   hold the RSVP was created with, so repeated checkouts can't keep a seat indefinitely
+ *
+ * BUSINESS RULES:
+ * - only pending RSVPs with an expired hold are released; paying clears the hold, cancelling
+ *   deletes the RSVP, the wheel's stale entries are then no-ops
+ * - RSVPs pending without a hold (sample data) are never released, their first checkout gives
+ *   them one
+ */
+@Service
+public class SeatHoldService {
+
+    static final int RELEASE_BATCH_SIZE = 500;
+    // 4096 one-second slots, a 30 minute hold is visited once
+    private static final int WHEEL_SLOTS = 4096;
+
+    private static final String EXTEND_SQL =
+            "UPDATE rsvp SET hold_expires_at = CASE WHEN hold_expires_at > ? THEN hold_expires_at ELSE ? END " +
+            "WHERE id = ? AND payment_status = 'pending' " +
+            "AND (hold_expires_at IS NULL OR (hold_expires_at > ? AND rsvp_date >= ?))";
+    private static final String RELEASE_EVENT_SQL =
+            "UPDATE events SET rsvp_count = CASE WHEN rsvp_count > ? THEN rsvp_count - ? ELSE 0 END WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long holdMinutes;
+    private final HoldTimingWheel wheel;
+
+    public SeatHoldService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${seat-hold.minutes:30}") long holdMinutes,
+                           @Value("${seat-hold.tick-ms:1000}") long tickMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdMinutes = holdMinutes;
+        this.wheel = new HoldTimingWheel(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    /**
+     * When a hold taken now expires.
+     */
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plusMinutes(holdMinutes);
+    }
+
+    /**
+     * Schedules the release of a saved RSVP's hold.
+     */
+    public void track(Long rsvpId, LocalDateTime expiresAt) {
+        if (rsvpId != null && expiresAt != null) {
+            wheel.add(rsvpId, toMillis(expiresAt));
+        }
+    }
+
+    /**
+     * Extends a pending RSVP's hold to at least the given time, at most maxExtensionMinutes past
+     * the hold it was created with (rsvp_date + seat-hold.minutes).
+     *
+     * @return false if the RSVP isn't pending any more, its hold already expired, or the time is past the cap
+     */
+    public boolean extend(Long rsvpId, LocalDateTime expiresAt, long maxExtensionMinutes) {
+        Timestamp until = Timestamp.valueOf(expiresAt);
+        // rsvp_date + holdMinutes + maxExtensionMinutes >= expiresAt, kept as a plain column comparison
+        Timestamp createdNoEarlierThan = Timestamp.valueOf(expiresAt.minusMinutes(holdMinutes + maxExtensionMinutes));
+        int updated = jdbcTemplate.update(EXTEND_SQL, until, until, rsvpId, Timestamp.valueOf(LocalDateTime.now()),
+                createdNoEarlierThan);
+        if (updated == 0) {
+            return false;
+        }
+        track(rsvpId, expiresAt);
+        return true;
+    }
+
+    /**
+     * Releases the holds the wheel has expired since the last tick.
+     *
+     * @return Number of RSVPs released
+     */
+    @Scheduled(fixedDelayString = "${seat-hold.tick-ms:1000}")
+    public int tick() {
+        long[] expired = wheel.advance(System.currentTimeMillis());
+        if (expired.length == 0) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(expired.length);
+        for (long id : expired) {
+            ids.add(id);
+        }
+        return release(ids);
+    }
+
+    /**
+     * Releases every expired hold in the table, for holds the wheel didn't see.
+     *
+     * @return Number of RSVPs released
+     */
+    @Scheduled(fixedDelayString = "${seat-hold.sweep-interval-ms:300000}",
+               initialDelayString = "${seat-hold.sweep-interval-ms:300000}")
+    public int sweep() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM rsvp WHERE hold_expires_at <= ? AND payment_status = 'pending'",
+                Long.class, Timestamp.valueOf(LocalDateTime.now()));
+        return release(ids);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHolds() {
+        jdbcTemplate.query("SELECT id, hold_expires_at FROM rsvp " +
+                        "WHERE hold_expires_at IS NOT NULL AND payment_status = 'pending'",
+                (RowCallbackHandler) rs -> wheel.add(rs.getLong(1), toMillis(rs.getTimestamp(2).toLocalDateTime())));
+    }
+
+    // outstanding holds in the wheel, stale ones included
+    int trackedCount() {
+        return wheel.size();
+    }
+
+    private int release(List<Long> ids) {
+        int released = 0;
+        for (int from = 0; from < ids.size(); from += RELEASE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + RELEASE_BATCH_SIZE, ids.size()));
+            try {
+                released += transactionTemplate.execute(status -> releaseBatch(batch));
+            } catch (RuntimeException e) {
+                // the sweep retries it
+                System.err.println("Failed to release " + batch.size() + " seat holds: " + e.getMessage());
+            }
+        }
+        return released;
+    }
+
+    private int releaseBatch(List<Long> ids) {
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.addAll(ids);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        // re-checked under the row locks: paid, cancelled or extended since are skipped
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT id, event_id, user_id FROM rsvp WHERE id IN (" + in + ") " +
+                "AND payment_status = 'pending' AND hold_expires_at <= ? FOR UPDATE",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) }, args.toArray());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Object[] rowIds = new Object[rows.size()];
+        Map<Long, Integer> seatsPerEvent = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            rowIds[i] = rows.get(i)[0];
+            seatsPerEvent.merge(rows.get(i)[1], 1, Integer::sum);
+        }
+        String rowIn = String.join(",", Collections.nCopies(rows.size(), "?"));
+        jdbcTemplate.update("DELETE FROM payments WHERE rsvp_id IN (" + rowIn + ")", rowIds);
+        jdbcTemplate.update("DELETE FROM rsvp WHERE id IN (" + rowIn + ")", rowIds);
+        List<Object[]> seats = new ArrayList<>(seatsPerEvent.size());
+        seatsPerEvent.forEach((eventId, count) -> seats.add(new Object[] { count, count, eventId }));
+        jdbcTemplate.batchUpdate(RELEASE_EVENT_SQL, seats);
+
+        for (long[] row : rows) {
+            eventPublisher.publishEvent(new RsvpChangedEvent(row[1], row[2], false));
+        }
+        return rows.size();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
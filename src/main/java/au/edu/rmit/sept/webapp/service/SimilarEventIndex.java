@@ -0,0 +1,262 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SimilarEventIndex
+ * MinHash signatures with locality-sensitive hashing for "you might also like".
+ *
+ * HOW IT WORKS:
+ * - each event becomes a feature set: keyword ids (repeated so they outweigh free text),
+ *   title words and description word bigrams (shingles)
+ * - a 64 value MinHash signature approximates Jaccard similarity between feature sets
+ * - the signature is split into 16 bands of 4 rows, events sharing any band bucket are candidates
+ * - on insert the new event is compared with its candidates only, and the top neighbours
+ *   of both sides are updated, so reads are a precomputed list lookup
+ *
+ * Thread-safe for concurrent inserts and reads. No Spring or JPA types.
+ */
+public class SimilarEventIndex {
+
+    static final int NUM_HASHES = 64;
+    static final int BANDS = 16;
+    static final int ROWS = NUM_HASHES / BANDS;
+    // neighbours kept per event, more than displayed so past/removed events can be filtered at read time
+    static final int MAX_NEIGHBOURS = 8;
+    // estimated Jaccard below this is noise, not worth showing
+    static final double MIN_SIMILARITY = 0.08;
+    // keyword features repeated so a shared keyword counts like several shared shingles
+    private static final int KEYWORD_WEIGHT = 4;
+    private static final int MAX_DESCRIPTION_SHINGLES = 200;
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+    private static final Set<String> STOPWORDS = Set.of(
+            "the", "and", "for", "with", "you", "your", "our", "are", "this", "that", "from", "will",
+            "all", "can", "join", "event", "events", "into", "about", "have", "has", "was", "were", "who");
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+    private final Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes an event and updates neighbour lists on both sides.
+     *
+     * @param eventId The event ID
+     * @param keywordIds The event's keyword IDs
+     * @param title The event title
+     * @param description The event description
+     */
+    public void add(long eventId, Collection<Long> keywordIds, String title, String description) {
+        Set<String> features = features(keywordIds, title, description);
+        if (features.isEmpty()) {
+            // an empty signature would look identical to every other empty one
+            remove(eventId);
+            return;
+        }
+        addSignature(eventId, signature(features));
+    }
+
+    void addSignature(long eventId, int[] signature) {
+        remove(eventId);
+
+        Set<Long> candidates = new HashSet<>();
+        long[] bandKeys = bandKeys(signature);
+        for (long key : bandKeys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+
+        Neighbours own = new Neighbours();
+        for (Long candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            double similarity = estimate(signature, other);
+            if (similarity >= MIN_SIMILARITY) {
+                own.offer(candidate, similarity);
+                neighbours.computeIfAbsent(candidate, k -> new Neighbours()).offer(eventId, similarity);
+            }
+        }
+
+        signatures.put(eventId, signature);
+        neighbours.put(eventId, own);
+        for (long key : bandKeys) {
+            buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(eventId);
+        }
+    }
+
+    /**
+     * Removes an event from the buckets. Lists that still reference it are filtered by callers.
+     *
+     * @param eventId The event ID
+     */
+    public void remove(long eventId) {
+        int[] signature = signatures.remove(eventId);
+        if (signature == null) {
+            return;
+        }
+        for (long key : bandKeys(signature)) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(eventId);
+            }
+        }
+        neighbours.remove(eventId);
+    }
+
+    /**
+     * Precomputed neighbours, most similar first.
+     *
+     * @param eventId The event ID
+     * @return Similar event IDs, empty if the event isn't indexed
+     */
+    public long[] similarTo(long eventId) {
+        Neighbours list = neighbours.get(eventId);
+        return list == null ? new long[0] : list.ids();
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    int[] signatureOf(long eventId) {
+        return signatures.get(eventId);
+    }
+
+    static Set<String> features(Collection<Long> keywordIds, String title, String description) {
+        Set<String> features = new HashSet<>();
+        if (keywordIds != null) {
+            for (Long keywordId : keywordIds) {
+                for (int i = 0; i < KEYWORD_WEIGHT; i++) {
+                    features.add("k:" + keywordId + "#" + i);
+                }
+            }
+        }
+        for (String word : words(title)) {
+            features.add("t:" + word);
+        }
+        List<String> descriptionWords = words(description);
+        for (int i = 0; i + 1 < descriptionWords.size() && i < MAX_DESCRIPTION_SHINGLES; i++) {
+            features.add("d:" + descriptionWords.get(i) + " " + descriptionWords.get(i + 1));
+        }
+        return features;
+    }
+
+    static int[] signature(Set<String> features) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long base = fnv64(feature);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix64(base ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    // band index is mixed in so identical rows in different bands don't collide
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = band * 0x9E3779B97F4A7C15L;
+            for (int row = 0; row < ROWS; row++) {
+                h = mix64(h ^ signature[band * ROWS + row]);
+            }
+            keys[band] = h;
+        }
+        return keys;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String token : SavedSearchIndex.tokenise(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 3 && !STOPWORDS.contains(token)) {
+                words.add(token);
+            }
+        }
+        return words;
+    }
+
+    private static long fnv64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // murmur3 finaliser
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Bounded top-N list ordered by similarity, small enough that insertion sort is fine.
+     */
+    private static final class Neighbours {
+        private final long[] ids = new long[MAX_NEIGHBOURS];
+        private final double[] scores = new double[MAX_NEIGHBOURS];
+        private int size;
+
+        synchronized void offer(long id, double score) {
+            // replace existing entry for the same event
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    System.arraycopy(scores, i + 1, scores, i, size - i - 1);
+                    size--;
+                    break;
+                }
+            }
+            if (size == MAX_NEIGHBOURS && score <= scores[size - 1]) {
+                return;
+            }
+            int pos = Math.min(size, MAX_NEIGHBOURS - 1);
+            while (pos > 0 && scores[pos - 1] < score) {
+                ids[pos] = ids[pos - 1];
+                scores[pos] = scores[pos - 1];
+                pos--;
+            }
+            ids[pos] = id;
+            scores[pos] = score;
+            if (size < MAX_NEIGHBOURS) {
+                size++;
+            }
+        }
+
+        synchronized long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventSummaryDTO;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.Keyword;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * SimilarEventService
+ * "You might also like" for the event details page.
+ *
+ * HOW IT WORKS:
+ * - SimilarEventIndex holds MinHash signatures of upcoming events bucketed by LSH band
+ * - new events are indexed after their create transaction commits, neighbour lists of
+ *   similar events are updated at the same time
+ * - page views read the precomputed neighbour list and resolve it through UpcomingEventCatalog,
+ *   so no query and no pairwise comparison per request
+ * - nightly rebuild drops past, deleted and deactivated events from the index
+ */
+@Service
+public class SimilarEventService {
+
+    private final EventRepository eventRepository;
+    private final UpcomingEventCatalog upcomingEventCatalog;
+
+    private volatile SimilarEventIndex index = new SimilarEventIndex();
+    // events created while a rebuild runs, re-added to the new index once it is swapped in
+    private final Set<Long> createdDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding = false;
+
+    public SimilarEventService(EventRepository eventRepository, UpcomingEventCatalog upcomingEventCatalog) {
+        this.eventRepository = eventRepository;
+        this.upcomingEventCatalog = upcomingEventCatalog;
+    }
+
+    /**
+     * Builds a fresh index from all upcoming events (one query) and swaps it in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${similar-events.rebuild-cron:0 30 3 * * *}")
+    public void rebuildIndex() {
+        rebuilding = true;
+        createdDuringRebuild.clear();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            SimilarEventIndex fresh = new SimilarEventIndex();
+            for (Event event : eventRepository.findAllUpcomingWithKeywords(now.toLocalDate(), now.toLocalTime())) {
+                addToIndex(fresh, event);
+            }
+            index = fresh;
+        } finally {
+            rebuilding = false;
+        }
+        for (Long eventId : new ArrayList<>(createdDuringRebuild)) {
+            eventRepository.findWithKeywordsById(eventId).ifPresent(event -> addToIndex(index, event));
+        }
+        createdDuringRebuild.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventCreated(EventCreatedEvent created) {
+        if (rebuilding) {
+            createdDuringRebuild.add(created.getEventId());
+        }
+        eventRepository.findWithKeywordsById(created.getEventId()).ifPresent(event -> addToIndex(index, event));
+    }
+
+    public void removeEvent(Long eventId) {
+        index.remove(eventId);
+    }
+
+    /**
+     * Upcoming events most similar to the given one.
+     *
+     * @param eventId The event being viewed
+     * @param limit Maximum number of events to return
+     * @return Similar upcoming events, most similar first, empty if none
+     */
+    public List<EventSummaryDTO> getSimilarEvents(Long eventId, int limit) {
+        if (eventId == null) {
+            return List.of();
+        }
+        return upcomingEventCatalog.getAll(index.similarTo(eventId), limit);
+    }
+
+    private static void addToIndex(SimilarEventIndex target, Event event) {
+        if (event.isDeactivated()) {
+            target.remove(event.getId());
+            return;
+        }
+        Set<Long> keywordIds = event.getKeywords() == null ? Set.of()
+                : event.getKeywords().stream().map(Keyword::getId).collect(Collectors.toSet());
+        target.add(event.getId(), keywordIds, event.getTitle(), event.getDescription());
+    }
+}
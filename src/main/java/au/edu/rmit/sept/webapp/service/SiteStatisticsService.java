@@ -0,0 +1,242 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.SiteStatistics;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * SiteStatisticsService
+ * Site-wide headline numbers (events, attendees, users) for the categories, admin and calendar pages.
+ *
+ * HOW IT WORKS:
+ * - counters are loaded with the dashboard COUNT queries on startup, then kept up to date from
+ *   committed lifecycle events: EventCreatedEvent, EventStatusChangedEvent (carries the event's
+ *   RSVP count), RsvpChangedEvent and UserStatusChangedEvent
+ * - every change publishes a new immutable SiteStatistics through a volatile field, so a page
+ *   read is a field read
+ * - reconcile() recounts from the database every site-stats.reconcile-interval-ms (default 5 min)
+ *   and on the first read of a new day (events move from future to past at midnight), drift
+ *   found on a same-day reconcile is logged
+ * - "events this week/month" are served from EventHeatmapService's cached day counts
+ *
+ * BUSINESS RULES:
+ * - future/past is split on the event date (today counts as future), same as the admin tabs
+ * - attendees are RSVPs to active events, deactivating an event removes its RSVPs from the count
+ * - changes made outside the services (SQL, RSVP cancels on deactivated events) and a change
+ *   committing while a reconcile is reading can leave the counters off until the next reconcile
+ */
+@Service
+public class SiteStatisticsService {
+
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final EventHeatmapService eventHeatmapService;
+
+    // guarded by this, copied to view after every change
+    private long activeFutureEvents;
+    private long deactivatedFutureEvents;
+    private long activePastEvents;
+    private long deactivatedPastEvents;
+    private long activeAttendees;
+    private long activeUsers;
+    private long deactivatedUsers;
+
+    private volatile SiteStatistics view;
+    // set when a change can't be applied, the next read reconciles
+    private volatile boolean stale;
+    private final Object reconcileLock = new Object();
+
+    public SiteStatisticsService(EventRepository eventRepository, RSVPRepository rsvpRepository,
+                                 UserRepository userRepository, EventHeatmapService eventHeatmapService) {
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.userRepository = userRepository;
+        this.eventHeatmapService = eventHeatmapService;
+    }
+
+    /**
+     * Current counters. No I/O, except the first read of the day (or after an unapplied change) reconciles.
+     */
+    public SiteStatistics getStatistics() {
+        SiteStatistics current = view;
+        if (current == null || stale || !current.getCountedFor().equals(LocalDate.now())) {
+            synchronized (reconcileLock) {
+                current = view;
+                if (current == null || stale || !current.getCountedFor().equals(LocalDate.now())) {
+                    reconcile();
+                    current = view;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Active events in the current week (Monday to Sunday).
+     */
+    public long getEventsThisWeek() {
+        LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return eventHeatmapService.countBetween(weekStart, weekStart.plusDays(7));
+    }
+
+    /**
+     * Active events in the current calendar month.
+     */
+    public long getEventsThisMonth() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        return eventHeatmapService.countBetween(monthStart, monthStart.plusMonths(1));
+    }
+
+    /**
+     * Recounts everything from the database and replaces the counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${site-stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${site-stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            LocalDate today = LocalDate.now();
+            stale = false;
+            SiteStatistics counted = new SiteStatistics(
+                    eventRepository.countActiveFutureEvents(),
+                    eventRepository.countDeactivatedFutureEvents(),
+                    eventRepository.countActivePastEvents(),
+                    eventRepository.countDeactivatedPastEvents(),
+                    rsvpRepository.countActiveRsvps(),
+                    userRepository.countActiveUsers(),
+                    userRepository.countDeactivatedUsers(),
+                    today);
+
+            synchronized (this) {
+                SiteStatistics previous = view;
+                if (previous != null && previous.getCountedFor().equals(today)) {
+                    String drift = previous.describeDifference(counted);
+                    if (!drift.isEmpty()) {
+                        System.err.println("Site statistics drifted from the database, corrected: " + drift);
+                    }
+                }
+                activeFutureEvents = counted.getActiveFutureEvents();
+                deactivatedFutureEvents = counted.getDeactivatedFutureEvents();
+                activePastEvents = counted.getActivePastEvents();
+                deactivatedPastEvents = counted.getDeactivatedPastEvents();
+                activeAttendees = counted.getActiveAttendees();
+                activeUsers = counted.getActiveUsers();
+                deactivatedUsers = counted.getDeactivatedUsers();
+                view = counted;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onEventCreated(EventCreatedEvent created) {
+        if (!canApply(created.getEventDate())) {
+            return;
+        }
+        if (isFuture(created.getEventDate())) {
+            activeFutureEvents++;
+        } else {
+            activePastEvents++;
+        }
+        publish();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onEventStatusChanged(EventStatusChangedEvent changed) {
+        if (!canApply(changed.getEventDate())) {
+            return;
+        }
+        boolean future = isFuture(changed.getEventDate());
+        switch (changed.getStatus()) {
+            case DELETED -> {
+                if (future) {
+                    activeFutureEvents--;
+                } else {
+                    activePastEvents--;
+                }
+                activeAttendees -= changed.getAttendeeCount();
+            }
+            case DEACTIVATED -> {
+                if (future) {
+                    activeFutureEvents--;
+                    deactivatedFutureEvents++;
+                } else {
+                    activePastEvents--;
+                    deactivatedPastEvents++;
+                }
+                activeAttendees -= changed.getAttendeeCount();
+            }
+            case REACTIVATED -> {
+                if (future) {
+                    deactivatedFutureEvents--;
+                    activeFutureEvents++;
+                } else {
+                    deactivatedPastEvents--;
+                    activePastEvents++;
+                }
+                activeAttendees += changed.getAttendeeCount();
+            }
+        }
+        publish();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onRsvpChanged(RsvpChangedEvent changed) {
+        if (view == null) {
+            return;
+        }
+        activeAttendees += changed.isAttending() ? 1 : -1;
+        publish();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onUserStatusChanged(UserStatusChangedEvent changed) {
+        if (view == null) {
+            return;
+        }
+        switch (changed.getStatus()) {
+            case REGISTERED -> activeUsers++;
+            case DEACTIVATED -> {
+                activeUsers--;
+                deactivatedUsers++;
+            }
+            case REACTIVATED -> {
+                deactivatedUsers--;
+                activeUsers++;
+            }
+        }
+        publish();
+    }
+
+    // nothing to apply to before the first load; an undated change can't be split into future/past
+    private boolean canApply(LocalDate eventDate) {
+        if (view == null) {
+            return false;
+        }
+        if (eventDate == null) {
+            stale = true;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isFuture(LocalDate eventDate) {
+        return !eventDate.isBefore(view.getCountedFor());
+    }
+
+    private void publish() {
+        view = new SiteStatistics(activeFutureEvents, deactivatedFutureEvents, activePastEvents,
+                deactivatedPastEvents, activeAttendees, activeUsers, deactivatedUsers, view.getCountedFor());
+    }
+}
@@ -20,6 +20,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Service for handling Stripe payment operations.
@@ -28,9 +30,17 @@ import java.math.BigDecimal;
 @Service
 public class StripeService {
 
+    // Stripe's minimum session lifetime is 30 minutes, one more for clock skew
+    static final int CHECKOUT_SESSION_MINUTES = 31;
+    // time for the completed-session webhook to arrive after the session closes
+    static final int PAYMENT_GRACE_MINUTES = 10;
+    // one session's worth past the original hold, so checkouts can only start while it lasts
+    static final int MAX_HOLD_EXTENSION_MINUTES = CHECKOUT_SESSION_MINUTES + PAYMENT_GRACE_MINUTES;
+
     private final RSVPRepository rsvpRepository;
     private final PaymentRepository paymentRepository;
     private final EventRepository eventRepository;
+    private final SeatHoldService seatHoldService;
 
     @Value("${stripe.webhook.secret:}")
     private String webhookSecret;
@@ -40,14 +50,18 @@ public class StripeService {
 
     public StripeService(RSVPRepository rsvpRepository,
             PaymentRepository paymentRepository,
-            EventRepository eventRepository) {
+            EventRepository eventRepository,
+            SeatHoldService seatHoldService) {
         this.rsvpRepository = rsvpRepository;
         this.paymentRepository = paymentRepository;
         this.eventRepository = eventRepository;
+        this.seatHoldService = seatHoldService;
     }
 
     /**
      * Creates a Stripe Checkout session for a paid event.
+     * The session expires before the RSVP's seat hold, which is extended to cover it, so the
+     * seat can't be released while the session can still be paid.
      * 
      * @param eventId The event to pay for
      * @param userId  The user making the payment
@@ -64,6 +78,13 @@ public class StripeService {
             throw new IllegalArgumentException("Event does not require payment");
         }
 
+        // Keep the seat until the session can no longer be paid
+        LocalDateTime sessionExpiry = LocalDateTime.now().plusMinutes(CHECKOUT_SESSION_MINUTES);
+        if (!seatHoldService.extend(rsvpId, sessionExpiry.plusMinutes(PAYMENT_GRACE_MINUTES),
+                MAX_HOLD_EXTENSION_MINUTES)) {
+            throw new IllegalArgumentException("Your reserved spot has expired, please RSVP again");
+        }
+
         // Convert price to cents (Stripe uses smallest currency unit)
         long amountInCents = event.getPrice().multiply(new BigDecimal("100")).longValue();
 
@@ -73,6 +94,7 @@ public class StripeService {
                 .setMode(SessionCreateParams.Mode.PAYMENT)
                 .setSuccessUrl(baseUrl + "/events/" + eventId + "?payment=success")
                 .setCancelUrl(baseUrl + "/events/" + eventId + "?payment=cancelled")
+                .setExpiresAt(sessionExpiry.atZone(ZoneId.systemDefault()).toEpochSecond())
                 .addLineItem(
                         SessionCreateParams.LineItem.builder()
                                 .setPriceData(
@@ -149,6 +171,7 @@ public class StripeService {
         rsvp.setPaymentStatus("paid");
         rsvp.setStripePaymentIntentId(paymentIntentId);
         rsvp.setAmountPaid(new BigDecimal(session.getAmountTotal()).divide(new BigDecimal("100")));
+        rsvp.setHoldExpiresAt(null);
         rsvpRepository.save(rsvp);
 
         // Create payment record
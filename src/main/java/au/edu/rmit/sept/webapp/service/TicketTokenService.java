@@ -0,0 +1,126 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * TicketTokenService
+ * Signed ticket tokens for the ticket QR code, verified at the door without a database read.
+ *
+ * HOW IT WORKS:
+ * - a token is base64url(version | event id | RSVP id | MAC), 29 bytes or 39 characters, small
+ *   enough for a low version QR code that scans quickly
+ * - the MAC is HMAC-SHA256 of the first 17 bytes under app.tickets.secret, truncated to 96 bits
+ * - verification recomputes the MAC and compares in constant time, so a token can't be forged or
+ *   moved to another RSVP without the key
+ *
+ * BUSINESS RULES:
+ * - a token says which RSVP it was issued for, not that the RSVP still exists: cancelled RSVPs
+ *   are turned away by CheckInService
+ * - changing the key invalidates every issued ticket
+ */
+@Service
+public class TicketTokenService {
+
+    static final byte VERSION = 1;
+    private static final int PAYLOAD_BYTES = 17;
+    private static final int MAC_BYTES = 12;
+    private static final int TOKEN_BYTES = PAYLOAD_BYTES + MAC_BYTES;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    /**
+     * The RSVP a verified token was issued for.
+     */
+    public static final class Ticket {
+        private final Long eventId;
+        private final Long rsvpId;
+
+        Ticket(Long eventId, Long rsvpId) {
+            this.eventId = eventId;
+            this.rsvpId = rsvpId;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public Long getRsvpId() {
+            return rsvpId;
+        }
+    }
+
+    private final SecretKeySpec key;
+    // Mac instances aren't thread safe, one per request thread
+    private final ThreadLocal<Mac> macs;
+
+    public TicketTokenService(@Value("${app.tickets.secret}") String secret) {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("app.tickets.secret must be at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Token for an RSVP's ticket, the same RSVP always gets the same token.
+     */
+    public String issue(Long eventId, Long rsvpId) {
+        ByteBuffer token = ByteBuffer.allocate(TOKEN_BYTES);
+        token.put(VERSION).putLong(eventId).putLong(rsvpId);
+        token.put(mac(token.array()), 0, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
+
+    /**
+     * Checks a scanned token.
+     *
+     * @return The ticket, empty if the token is malformed or its signature doesn't match
+     */
+    public Optional<Ticket> verify(String token) {
+        if (token == null || token.length() != (TOKEN_BYTES * 4 + 2) / 3) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != TOKEN_BYTES || bytes[0] != VERSION) {
+            return Optional.empty();
+        }
+        byte[] expected = Arrays.copyOf(mac(bytes), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_BYTES, TOKEN_BYTES))) {
+            return Optional.empty();
+        }
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 1, PAYLOAD_BYTES - 1);
+        return Optional.of(new Ticket(payload.getLong(), payload.getLong()));
+    }
+
+    private byte[] mac(byte[] token) {
+        Mac mac = macs.get();
+        mac.update(token, 0, PAYLOAD_BYTES);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            // every JVM ships HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+}
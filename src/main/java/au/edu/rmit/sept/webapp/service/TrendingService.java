@@ -0,0 +1,146 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventSummaryDTO;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * TrendingService
+ * Trending upcoming events from exponentially decayed activity.
+ *
+ * HOW IT WORKS (forward decay):
+ * - an activity of weight w at time t adds w * e^(lambda * (t - landmark)) to the event's score,
+ *   so old activity never has to be decayed in place, dividing every score by
+ *   e^(lambda * (now - landmark)) gives the decayed value and doesn't change the order
+ * - scores are DoubleAdders in a concurrent map, RSVPs and page views add without locks
+ * - a scheduled job rebuilds the top-K with a bounded min-heap and publishes an immutable list,
+ *   reads return that list (no database query)
+ * - when the growth factor gets large the landmark is moved forward and scores rescaled; the
+ *   landmark and the map scaled to it are held in one Scores record, swapped in one write, so
+ *   an activity is always scaled to the landmark of the map it's added to
+ *
+ * WEIGHTS: page view 1, RSVP 5, cancelled RSVP -5. Half-life 6 hours.
+ */
+@Service
+public class TrendingService {
+
+    static final double VIEW_WEIGHT = 1.0;
+    static final double RSVP_WEIGHT = 5.0;
+    static final int TOP_K = 10;
+    private static final double HALF_LIFE_MILLIS = 6 * 60 * 60 * 1000.0;
+    private static final double LAMBDA = Math.log(2) / HALF_LIFE_MILLIS;
+    // growth factor e^20 (about 7 days at a 6 hour half-life) triggers a rescale, far from double overflow
+    private static final double MAX_EXPONENT = 20.0;
+
+    private final UpcomingEventCatalog upcomingEventCatalog;
+
+    private volatile Scores scores = new Scores(System.currentTimeMillis(), new ConcurrentHashMap<>());
+    private volatile List<EventSummaryDTO> trending = List.of();
+
+    public TrendingService(UpcomingEventCatalog upcomingEventCatalog) {
+        this.upcomingEventCatalog = upcomingEventCatalog;
+    }
+
+    /**
+     * Records a page view. Called from the details page handler, no I/O.
+     */
+    public void recordView(Long eventId) {
+        record(eventId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        record(changed.getEventId(), changed.isAttending() ? RSVP_WEIGHT : -RSVP_WEIGHT, System.currentTimeMillis());
+    }
+
+    void record(Long eventId, double weight, long atMillis) {
+        if (eventId == null) {
+            return;
+        }
+        Scores current = scores;
+        double scaled = weight * Math.exp(LAMBDA * (atMillis - current.landmarkMillis()));
+        current.adders().computeIfAbsent(eventId, k -> new DoubleAdder()).add(scaled);
+    }
+
+    /**
+     * Current trending events, highest score first.
+     *
+     * @param limit Maximum number of events
+     * @return Snapshot from the last refresh
+     */
+    public List<EventSummaryDTO> getTrendingEvents(int limit) {
+        List<EventSummaryDTO> current = trending;
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    /**
+     * Decayed score of one event, for diagnostics and tests.
+     */
+    double scoreOf(Long eventId, long atMillis) {
+        Scores current = scores;
+        DoubleAdder adder = current.adders().get(eventId);
+        return adder == null ? 0 : adder.sum() / Math.exp(LAMBDA * (atMillis - current.landmarkMillis()));
+    }
+
+    /**
+     * Recomputes the published top-K and drops scores of events that are no longer upcoming.
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:30000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        if (LAMBDA * (now - scores.landmarkMillis()) > MAX_EXPONENT) {
+            rescale(now);
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        Map<Long, DoubleAdder> adders = scores.adders();
+        adders.entrySet().removeIf(entry -> upcomingEventCatalog.get(entry.getKey()).isEmpty());
+        for (Map.Entry<Long, DoubleAdder> entry : adders.entrySet()) {
+            double score = entry.getValue().sum();
+            if (score <= 0) {
+                continue;
+            }
+            if (heap.size() < TOP_K) {
+                heap.add(Map.entry(entry.getKey(), score));
+            } else if (score > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(entry.getKey(), score));
+            }
+        }
+
+        List<EventSummaryDTO> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            upcomingEventCatalog.get(heap.poll().getKey()).ifPresent(top::add);
+        }
+        Collections.reverse(top);
+        trending = List.copyOf(top);
+    }
+
+    // moves the landmark to now; activity added to the old map after it was copied is dropped,
+    // never counted at the wrong scale
+    void rescale(long now) {
+        Scores old = scores;
+        double factor = Math.exp(-LAMBDA * (now - old.landmarkMillis()));
+        Map<Long, DoubleAdder> rescaled = new ConcurrentHashMap<>();
+        old.adders().forEach((eventId, adder) -> {
+            DoubleAdder copy = new DoubleAdder();
+            copy.add(adder.sum() * factor);
+            rescaled.put(eventId, copy);
+        });
+        scores = new Scores(now, rescaled);
+    }
+
+    // scores scaled by e^(lambda * (t - landmarkMillis))
+    private record Scores(long landmarkMillis, Map<Long, DoubleAdder> adders) {
+    }
+}
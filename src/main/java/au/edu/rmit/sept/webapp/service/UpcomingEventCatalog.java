@@ -0,0 +1,130 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventSummaryDTO;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UpcomingEventCatalog
+ * In-memory summaries of upcoming, active events keyed by id.
+ *
+ * Lets in-memory ranking services (similar events, trending, recommendations) turn event ids
+ * into renderable summaries without a database query per request.
+ *
+ * FRESHNESS:
+ * - loaded on startup, new events added after their create transaction commits
+ * - events that have started are filtered out at read time
+ * - full reload hourly picks up deletions and deactivations
+ */
+@Service
+public class UpcomingEventCatalog {
+
+    private final EventRepository eventRepository;
+
+    private final Map<Long, EventSummaryDTO> events = new ConcurrentHashMap<>();
+    // ids added by the listener while a reload runs, kept even if the reload query missed them
+    private final Set<Long> addedDuringReload = ConcurrentHashMap.newKeySet();
+
+    public UpcomingEventCatalog(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Reloads every upcoming active event, one query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${catalog.reload-cron:0 0 * * * *}")
+    public void reload() {
+        addedDuringReload.clear();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, EventSummaryDTO> fresh = new HashMap<>();
+        for (Event event : eventRepository.findAllUpcomingWithKeywords(now.toLocalDate(), now.toLocalTime())) {
+            fresh.put(event.getId(), toSummary(event));
+        }
+        events.putAll(fresh);
+        events.keySet().removeIf(id -> !fresh.containsKey(id) && !addedDuringReload.contains(id));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventCreated(EventCreatedEvent created) {
+        eventRepository.findWithKeywordsById(created.getEventId()).ifPresent(this::put);
+    }
+
+    public void put(Event event) {
+        if (event.isDeactivated()) {
+            evict(event.getId());
+            return;
+        }
+        addedDuringReload.add(event.getId());
+        events.put(event.getId(), toSummary(event));
+    }
+
+    public void evict(Long eventId) {
+        events.remove(eventId);
+        addedDuringReload.remove(eventId);
+    }
+
+    /**
+     * Summary for an event that hasn't started yet.
+     *
+     * @param eventId The event ID
+     * @return The summary, empty if unknown, removed or already started
+     */
+    public Optional<EventSummaryDTO> get(Long eventId) {
+        EventSummaryDTO summary = events.get(eventId);
+        if (summary == null || hasStarted(summary)) {
+            return Optional.empty();
+        }
+        return Optional.of(summary);
+    }
+
+    /**
+     * Summaries for ranked ids, keeping rank order and skipping unknown or started events.
+     *
+     * @param eventIds Ranked event IDs
+     * @param limit Maximum summaries to return
+     * @return Summaries in the same order
+     */
+    public List<EventSummaryDTO> getAll(long[] eventIds, int limit) {
+        List<EventSummaryDTO> result = new ArrayList<>();
+        for (long id : eventIds) {
+            if (result.size() >= limit) {
+                break;
+            }
+            get(id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    private static boolean hasStarted(EventSummaryDTO summary) {
+        LocalDate today = LocalDate.now();
+        return summary.getEventDate().isBefore(today)
+                || (summary.getEventDate().isEqual(today) && !summary.getEventTime().isAfter(LocalTime.now()));
+    }
+
+    private static EventSummaryDTO toSummary(Event event) {
+        return new EventSummaryDTO(event.getId(), event.getTitle(), event.getEventDate(), event.getEventTime(),
+                event.getLocation(), event.getCategory().getName(), event.getCategory().getColourCode());
+    }
+}
@@ -0,0 +1,174 @@
+package au.edu.rmit.sept.webapp.service;
+
+import java.util.Arrays;
+
+/**
+ * UserIdBitmap
+ * Compressed set of user ids (the attendees of one event, or the users blocked from it), laid out
+ * like a roaring bitmap: a few hundred attendees take a few hundred bytes, not a bit per user.
+ *
+ * HOW IT'S STORED:
+ * - ids are split into chunks of 65536 by their high bits; chunk keys are a sorted long[]
+ * - a chunk with up to ARRAY_MAX ids is a sorted char[] of their low 16 bits (2 bytes per id),
+ *   a fuller one a 1024-word long[] bitmap (8 KB, one bit per id of the chunk)
+ * - contains is a binary search over the chunk keys, then a binary search or a bit test
+ * - ids added in ascending order append to the end, so loading a sorted list is linear
+ *
+ * Not thread-safe, callers synchronise. No Spring or JPA types.
+ */
+public class UserIdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private long[] keys = new long[0];
+    private Object[] containers = new Object[0];
+    private int[] cardinalities = new int[0];
+    private int chunks;
+    private int size;
+
+    /**
+     * @return true if the id wasn't in the set
+     */
+    public boolean add(long id) {
+        long key = key(id);
+        char low = (char) id;
+        int chunk = Arrays.binarySearch(keys, 0, chunks, key);
+        if (chunk < 0) {
+            insertChunk(-chunk - 1, key, new char[] { low, 0, 0, 0 });
+            size++;
+            return true;
+        }
+        int cardinality = cardinalities[chunk];
+        if (containers[chunk] instanceof long[] bits) {
+            if ((bits[low >>> 6] & (1L << low)) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= 1L << low;
+        } else {
+            char[] values = (char[]) containers[chunk];
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX) {
+                long[] bits = toBitmap(values, cardinality);
+                bits[low >>> 6] |= 1L << low;
+                containers[chunk] = bits;
+            } else {
+                pos = -pos - 1;
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_MAX));
+                    containers[chunk] = values;
+                }
+                System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+                values[pos] = low;
+            }
+        }
+        cardinalities[chunk]++;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the id was in the set
+     */
+    public boolean remove(long id) {
+        int chunk = Arrays.binarySearch(keys, 0, chunks, key(id));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) id;
+        int cardinality = cardinalities[chunk];
+        if (containers[chunk] instanceof long[] bits) {
+            if ((bits[low >>> 6] & (1L << low)) == 0) {
+                return false;
+            }
+            bits[low >>> 6] &= ~(1L << low);
+            // back to an array once it fits again
+            if (cardinality - 1 == ARRAY_MAX) {
+                containers[chunk] = toArray(bits, ARRAY_MAX);
+            }
+        } else {
+            char[] values = (char[]) containers[chunk];
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+        }
+        size--;
+        if (--cardinalities[chunk] == 0) {
+            removeChunk(chunk);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        int chunk = Arrays.binarySearch(keys, 0, chunks, key(id));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) id;
+        if (containers[chunk] instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[chunk], 0, cardinalities[chunk], low) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static long key(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("ids must not be negative");
+        }
+        return id >>> 16;
+    }
+
+    private void insertChunk(int at, long key, char[] values) {
+        if (chunks == keys.length) {
+            int capacity = Math.max(4, chunks * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, chunks - at);
+        System.arraycopy(containers, at, containers, at + 1, chunks - at);
+        System.arraycopy(cardinalities, at, cardinalities, at + 1, chunks - at);
+        keys[at] = key;
+        containers[at] = values;
+        cardinalities[at] = 1;
+        chunks++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(keys, at + 1, keys, at, chunks - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, chunks - at - 1);
+        System.arraycopy(cardinalities, at + 1, cardinalities, at, chunks - at - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+
+    private static long[] toBitmap(char[] values, int cardinality) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            bits[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int cardinality) {
+        char[] values = new char[cardinality];
+        int n = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                values[n++] = (char) ((word << 6) + Long.numberOfTrailingZeros(w));
+                w &= w - 1;
+            }
+        }
+        return values;
+    }
+}
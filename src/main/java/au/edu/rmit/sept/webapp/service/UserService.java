@@ -6,6 +6,7 @@ import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,12 +22,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Constructor injection - modern Spring best practice for immutability, testability, and fail-fast behavior
-    public UserService(UserRepository userRepository, CategoryRepository categoryRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, CategoryRepository categoryRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
@@ -70,7 +74,9 @@ public class UserService {
         user.setCategories(categories);
         
         // Save user to database
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(saved.getId(), UserStatusChangedEvent.Status.REGISTERED));
+        return saved;
     }
     
     // Helper method to check if username exists
@@ -0,0 +1,28 @@
+package au.edu.rmit.sept.webapp.service;
+
+/**
+ * Application event published when a user registers or an admin deactivates or reactivates them.
+ * Listeners use @TransactionalEventListener so they only react to committed changes.
+ */
+public class UserStatusChangedEvent {
+
+    public enum Status {
+        REGISTERED, DEACTIVATED, REACTIVATED
+    }
+
+    private final Long userId;
+    private final Status status;
+
+    public UserStatusChangedEvent(Long userId, Status status) {
+        this.userId = userId;
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,192 @@
+package au.edu.rmit.sept.webapp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ViewCounterService
+ * Page-view counts per event without a database write per view.
+ *
+ * HOW IT WORKS (write-behind):
+ * - each view increments a LongAdder for the event, adders stripe contended increments
+ *   across cells so a popular event doesn't serialise its viewers
+ * - a scheduled flush drains every adder (sumThenReset) and writes the deltas to
+ *   event_view_counts in one transaction: batched UPDATE ... view_count + ?, then a
+ *   batched insert-if-absent for events the UPDATE found no row for, or whose count the
+ *   driver didn't report
+ * - a failed flush rolls back and puts its deltas back so they go out with the next one
+ * - the bean flushes once more on shutdown
+ *
+ * BUSINESS RULES:
+ * - at most MAX_PENDING_EVENTS events are buffered, views of further events are dropped
+ *   (and counted in droppedViews) until the next flush frees the map
+ * - counters idle for IDLE_DRAINS_BEFORE_EVICT flushes in a row are removed; a view arriving
+ *   in the instant between the final read and the removal of such a counter is lost
+ * - views of events deleted before the flush are discarded, rows go with the event (ON DELETE CASCADE)
+ */
+@Service
+public class ViewCounterService {
+
+    static final int MAX_PENDING_EVENTS = 100_000;
+    // about a minute at the default 5 second flush interval
+    static final int IDLE_DRAINS_BEFORE_EVICT = 12;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SQL =
+            "UPDATE event_view_counts SET view_count = view_count + ?, updated_at = ? WHERE event_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO event_view_counts (event_id, view_count, updated_at) SELECT id, ?, ? FROM events WHERE id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM event_view_counts WHERE event_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Counter> pending = new ConcurrentHashMap<>();
+    private final LongAdder droppedViews = new LongAdder();
+
+    public ViewCounterService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts one page view. Called from the details page handler, no I/O.
+     */
+    public void recordView(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        Counter counter = pending.get(eventId);
+        if (counter == null) {
+            if (pending.size() >= MAX_PENDING_EVENTS) {
+                droppedViews.increment();
+                return;
+            }
+            counter = pending.computeIfAbsent(eventId, k -> new Counter());
+        }
+        counter.views.increment();
+    }
+
+    /**
+     * Total views of an event: the flushed count plus views not yet flushed.
+     *
+     * @param eventId The event ID
+     * @return View count, 0 for an event never viewed
+     */
+    public long getViewCount(Long eventId) {
+        List<Long> stored = jdbcTemplate.queryForList(
+                "SELECT view_count FROM event_view_counts WHERE event_id = ?", Long.class, eventId);
+        Counter unflushed = pending.get(eventId);
+        return (stored.isEmpty() ? 0 : stored.get(0)) + (unflushed == null ? 0 : unflushed.views.sum());
+    }
+
+    /**
+     * Writes buffered views to the database.
+     *
+     * @return Number of events written
+     */
+    @Scheduled(fixedDelayString = "${view-counter.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(deltas));
+            return deltas.size();
+        } catch (DataAccessException e) {
+            System.err.println("Failed to flush view counts, retrying next run: " + e.getMessage());
+            deltas.forEach(this::requeue);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    long getDroppedViews() {
+        return droppedViews.sum();
+    }
+
+    int pendingEventCount() {
+        return pending.size();
+    }
+
+    /**
+     * Takes every buffered count, resetting the adders. Counters idle for
+     * IDLE_DRAINS_BEFORE_EVICT drains are removed, which keeps the map to recently viewed events.
+     * Called by one thread at a time (flush is synchronized).
+     */
+    Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, Counter> entry : pending.entrySet()) {
+            Counter counter = entry.getValue();
+            long views = counter.views.sumThenReset();
+            if (views == 0 && ++counter.idleDrains >= IDLE_DRAINS_BEFORE_EVICT) {
+                pending.remove(entry.getKey(), counter);
+                // views that landed since the read above
+                views = counter.views.sumThenReset();
+            } else if (views > 0) {
+                counter.idleDrains = 0;
+            }
+            if (views > 0) {
+                deltas.put(entry.getKey(), views);
+            }
+        }
+        return deltas;
+    }
+
+    private void requeue(Long eventId, Long views) {
+        pending.computeIfAbsent(eventId, k -> new Counter()).views.add(views);
+    }
+
+    private static final class Counter {
+        final LongAdder views = new LongAdder();
+        // consecutive drains that found nothing, only touched by the draining thread
+        int idleDrains;
+    }
+
+    private void write(Map<Long, Long> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> eventIds = new ArrayList<>(deltas.keySet());
+
+        List<Object[]> updates = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            updates.add(new Object[] { deltas.get(eventId), now, eventId });
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, updates.size());
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates.subList(from, to));
+            for (int i = 0; i < updated.length; i++) {
+                // no row yet, or unknown (SUCCESS_NO_INFO is negative): the insert only adds a missing
+                // row, one the UPDATE found already has the views
+                if (updated[i] <= 0) {
+                    Long eventId = eventIds.get(from + i);
+                    inserts.add(new Object[] { deltas.get(eventId), now, eventId, eventId });
+                }
+            }
+        }
+        // INSERT ... SELECT skips events deleted since they were viewed; a duplicate key (another
+        // node inserted first) rolls the flush back and the retry takes the UPDATE path
+        for (int from = 0; from < inserts.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts.subList(from, Math.min(from + BATCH_SIZE, inserts.size())));
+        }
+    }
+}
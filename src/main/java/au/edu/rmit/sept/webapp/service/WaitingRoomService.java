@@ -0,0 +1,327 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WaitingRoomService
+ * Virtual waiting room for high-demand events, smooths a launch rush into a steady RSVP rate.
+ *
+ * HOW IT WORKS:
+ * - organisers opt an event in (events.waiting_room), the ids of such events are kept in memory
+ *   so the RSVP handler decides without a database read
+ * - an RSVP to such an event joins a FIFO queue and gets a position token, the user waits on a
+ *   page that polls status() (memory only)
+ * - every second release() admits up to waiting-room.admissions-per-second users per event from
+ *   the head of the queue; an admitted user has ADMISSION_TTL_MS to submit the RSVP again, which
+ *   then goes through to RSVPService
+ * - positions are sequence numbers, a user's position is their number minus the head's, O(1)
+ *
+ * BUSINESS RULES:
+ * - one place per user and event, joining again keeps the existing place
+ * - users who stop polling for ABANDON_AFTER_MS are skipped when they reach the head, their
+ *   admission goes to the next user; an unused admission expires and the user has to rejoin
+ * - at most MAX_QUEUE_LENGTH users wait per event, later arrivals are told to try again
+ * - queues live in memory on one node, a restart empties them (users rejoin by RSVPing again)
+ */
+@Service
+public class WaitingRoomService {
+
+    public enum Status {
+        // no waiting room, or admitted: go on to RSVPService
+        PROCEED,
+        // queued, poll for the position
+        WAITING,
+        // admitted, RSVP again before the admission expires
+        ADMITTED,
+        // the admission or place is gone, RSVP again to rejoin
+        EXPIRED,
+        // queue at MAX_QUEUE_LENGTH
+        ROOM_FULL
+    }
+
+    /**
+     * A user's place in an event's waiting room.
+     * position and secondsRemaining are only meaningful while WAITING and ADMITTED respectively.
+     */
+    public static final class Place {
+        private final Status status;
+        private final String token;
+        private final long position;
+        private final long estimatedWaitSeconds;
+        private final long secondsRemaining;
+
+        Place(Status status, String token, long position, long estimatedWaitSeconds, long secondsRemaining) {
+            this.status = status;
+            this.token = token;
+            this.position = position;
+            this.estimatedWaitSeconds = estimatedWaitSeconds;
+            this.secondsRemaining = secondsRemaining;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public long getEstimatedWaitSeconds() {
+            return estimatedWaitSeconds;
+        }
+
+        public long getSecondsRemaining() {
+            return secondsRemaining;
+        }
+
+        public long getPollAfterMillis() {
+            return POLL_INTERVAL_MS;
+        }
+    }
+
+    static final int MAX_QUEUE_LENGTH = 100_000;
+    static final long ADMISSION_TTL_MS = 120_000;
+    static final long ABANDON_AFTER_MS = 60_000;
+    static final long POLL_INTERVAL_MS = 3_000;
+    private static final int TOKEN_BYTES = 16;
+
+    private final EventRepository eventRepository;
+    private final int admissionsPerSecond;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Set<Long> enabledEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+
+    public WaitingRoomService(EventRepository eventRepository,
+                              @Value("${waiting-room.admissions-per-second:20}") int admissionsPerSecond) {
+        this.eventRepository = eventRepository;
+        this.admissionsPerSecond = admissionsPerSecond;
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return enabledEvents.contains(eventId);
+    }
+
+    /**
+     * Turns an event's waiting room on or off - ORGANISER/ADMIN ONLY.
+     * Turning it off lets everyone waiting straight through to the RSVP path.
+     *
+     * @throws EntityNotFoundException if the event doesn't exist
+     * @throws AccessDeniedException if the user isn't the event's organiser or an admin
+     */
+    @Transactional
+    public void setEnabled(Long eventId, boolean enabled, String username, boolean isAdmin) {
+        String organiser = eventRepository.findOrganiserUsernameById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        if (!isAdmin && !organiser.equals(username)) {
+            throw new AccessDeniedException("Only the event organiser can change the waiting room");
+        }
+        eventRepository.updateWaitingRoom(eventId, enabled);
+        if (enabled) {
+            enabledEvents.add(eventId);
+        } else {
+            enabledEvents.remove(eventId);
+            rooms.remove(eventId);
+        }
+    }
+
+    /**
+     * Called on every RSVP submission: PROCEED if there is no waiting room or the user holds an
+     * unexpired admission (consumed by this call), otherwise the user's place in the queue.
+     */
+    public Place enter(Long eventId, String username) {
+        return enter(eventId, username, System.currentTimeMillis());
+    }
+
+    Place enter(Long eventId, String username, long now) {
+        if (!enabledEvents.contains(eventId)) {
+            return new Place(Status.PROCEED, null, 0, 0, 0);
+        }
+        while (true) {
+            Room room = rooms.computeIfAbsent(eventId, k -> new Room());
+            synchronized (room) {
+                // release() dropped the room while it was empty, join the new one
+                if (rooms.get(eventId) != room) {
+                    continue;
+                }
+                return enter(room, username, now);
+            }
+        }
+    }
+
+    // caller holds the room's lock
+    private Place enter(Room room, String username, long now) {
+        Entry entry = room.byUsername.get(username);
+        if (entry != null && entry.admittedAt > 0) {
+            room.remove(entry);
+            if (now - entry.admittedAt <= ADMISSION_TTL_MS) {
+                return new Place(Status.PROCEED, null, 0, 0, 0);
+            }
+            // admission expired, back of the queue
+            entry = null;
+        }
+        if (entry == null) {
+            if (room.queue.size() >= MAX_QUEUE_LENGTH) {
+                return new Place(Status.ROOM_FULL, null, 0, 0, 0);
+            }
+            entry = new Entry(username, newToken(), room.nextSeq++);
+            room.queue.add(entry);
+            room.byUsername.put(username, entry);
+            room.byToken.put(entry.token, entry);
+        }
+        entry.lastSeen = now;
+        return place(room, entry, now);
+    }
+
+    /**
+     * Current state of a place, polled by the waiting page. Only the place's owner can see it.
+     */
+    public Place status(Long eventId, String token, String username) {
+        return status(eventId, token, username, System.currentTimeMillis());
+    }
+
+    Place status(Long eventId, String token, String username, long now) {
+        if (!enabledEvents.contains(eventId)) {
+            return new Place(Status.PROCEED, null, 0, 0, 0);
+        }
+        Room room = rooms.get(eventId);
+        if (room == null || token == null) {
+            return new Place(Status.EXPIRED, token, 0, 0, 0);
+        }
+        synchronized (room) {
+            Entry entry = room.byToken.get(token);
+            if (entry == null || !entry.username.equals(username)) {
+                return new Place(Status.EXPIRED, token, 0, 0, 0);
+            }
+            entry.lastSeen = now;
+            return place(room, entry, now);
+        }
+    }
+
+    /**
+     * Admits the next users of every queue and drops expired admissions.
+     */
+    @Scheduled(fixedRateString = "${waiting-room.release-interval-ms:1000}",
+               initialDelayString = "${waiting-room.release-interval-ms:1000}")
+    public void release() {
+        release(System.currentTimeMillis());
+    }
+
+    void release(long now) {
+        for (Map.Entry<Long, Room> roomEntry : rooms.entrySet()) {
+            Room room = roomEntry.getValue();
+            synchronized (room) {
+                int admitted = 0;
+                while (admitted < admissionsPerSecond && !room.queue.isEmpty()) {
+                    Entry entry = room.queue.poll();
+                    room.headSeq = entry.seq + 1;
+                    if (now - entry.lastSeen > ABANDON_AFTER_MS) {
+                        room.remove(entry);
+                        continue;
+                    }
+                    entry.admittedAt = now;
+                    room.admitted.add(entry);
+                    admitted++;
+                }
+                // admissions expire in the order they were given
+                while (!room.admitted.isEmpty() && now - room.admitted.peek().admittedAt > ADMISSION_TTL_MS) {
+                    Entry expired = room.admitted.poll();
+                    if (room.byToken.get(expired.token) == expired) {
+                        room.remove(expired);
+                    }
+                }
+                if (room.queue.isEmpty() && room.byToken.isEmpty()) {
+                    rooms.remove(roomEntry.getKey(), room);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reloads the events with a waiting room, picks up changes made on other nodes.
+     * Runs at startup (no initial delay) and then every waiting-room.refresh-interval-ms.
+     */
+    @Scheduled(fixedDelayString = "${waiting-room.refresh-interval-ms:30000}")
+    public void refreshEnabledEvents() {
+        List<Long> ids = eventRepository.findWaitingRoomEventIds();
+        enabledEvents.addAll(ids);
+        enabledEvents.retainAll(ids);
+        rooms.keySet().retainAll(ids);
+    }
+
+    int waitingCount(Long eventId) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return 0;
+        }
+        synchronized (room) {
+            return room.queue.size();
+        }
+    }
+
+    private Place place(Room room, Entry entry, long now) {
+        if (entry.admittedAt > 0) {
+            long remaining = Math.max(0, ADMISSION_TTL_MS - (now - entry.admittedAt));
+            return new Place(Status.ADMITTED, entry.token, 0, 0, remaining / 1000);
+        }
+        long position = entry.seq - room.headSeq + 1;
+        long waitSeconds = admissionsPerSecond > 0 ? (position + admissionsPerSecond - 1) / admissionsPerSecond : -1;
+        return new Place(Status.WAITING, entry.token, position, waitSeconds, 0);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // one event's queue, guarded by itself
+    private static final class Room {
+        final ArrayDeque<Entry> queue = new ArrayDeque<>();
+        final ArrayDeque<Entry> admitted = new ArrayDeque<>();
+        final Map<String, Entry> byUsername = new HashMap<>();
+        final Map<String, Entry> byToken = new HashMap<>();
+        long nextSeq;
+        // sequence number of the next user to be released
+        long headSeq;
+
+        void remove(Entry entry) {
+            byUsername.remove(entry.username, entry);
+            byToken.remove(entry.token, entry);
+        }
+    }
+
+    private static final class Entry {
+        final String username;
+        final String token;
+        final long seq;
+        long lastSeen;
+        // 0 while waiting
+        long admittedAt;
+
+        Entry(String username, String token, long seq) {
+            this.username = username;
+            this.token = token;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.model.WaitlistEntry;
+import au.edu.rmit.sept.webapp.repository.BlockedRSVPRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.repository.WaitlistRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WaitlistService
+ * Per-event waitlists for full events, promoted to RSVPs as seats free up.
+ *
+ * HOW IT WORKS:
+ * - joining adds a row to event_waitlist, the list is served in id order
+ * - an RSVP removed (attendee cancel, organiser cancel, block) publishes RsvpChangedEvent; after
+ *   that transaction commits the event is queued and promotePending() (every
+ *   waitlist.promotion-interval-ms) fills its freed seats from the head of the list. Not done in
+ *   the listener itself: the cancelling transaction still holds its connection there, a burst of
+ *   cancellations would each wait for a second one and exhaust the pool
+ * - each batch is one transaction: lock up to min(free seats, PROMOTION_BATCH_SIZE) head rows
+ *   with FOR UPDATE SKIP LOCKED, take a seat per row with the conditional UPDATE used by
+ *   RSVPService.createRSVP, insert the RSVPs, delete the rows
+ * - concurrent promotions for one event skip each other's locked rows, so no user is promoted
+ *   twice and no promotion waits for another; the seat UPDATE still caps them at capacity
+ * - a scheduled sweep promotes for any event with free seats and people waiting, covering seats
+ *   freed while a promotion failed or a user joined as a seat came free
+ *
+ * BUSINESS RULES:
+ * - only full events have a waitlist; users already attending or blocked can't join
+ * - users blocked (or RSVP'd some other way) after joining are dropped when they reach the head
+ * - promoted users of paid events get a pending payment and seat hold, as with a normal RSVP
+ * - nobody is promoted into a deactivated (or deleting) event or one that has started
+ */
+@Service
+public class WaitlistService {
+
+    static final int PROMOTION_BATCH_SIZE = 50;
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final RSVPRepository rsvpRepository;
+    private final UserRepository userRepository;
+    private final BlockedRSVPRepository blockedRSVPRepository;
+    private final SeatHoldService seatHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate promotionTransaction;
+
+    // events with a seat freed since the last promotePending() run
+    private final Set<Long> pendingEvents = ConcurrentHashMap.newKeySet();
+
+    public WaitlistService(WaitlistRepository waitlistRepository, EventRepository eventRepository,
+                           RSVPRepository rsvpRepository, UserRepository userRepository,
+                           BlockedRSVPRepository blockedRSVPRepository, SeatHoldService seatHoldService,
+                           ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.rsvpRepository = rsvpRepository;
+        this.userRepository = userRepository;
+        this.blockedRSVPRepository = blockedRSVPRepository;
+        this.seatHoldService = seatHoldService;
+        this.eventPublisher = eventPublisher;
+        // each batch commits on its own, also when promote() is called inside a transaction
+        this.promotionTransaction = new TransactionTemplate(transactionManager);
+        this.promotionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds a user to a full event's waitlist.
+     *
+     * @return The user's 1-based place on the list
+     * @throws EntityNotFoundException if the event or user doesn't exist
+     * @throws IllegalStateException if the event isn't full or the user can't join
+     */
+    @Transactional
+    public long join(Long eventId, String username) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        if (blockedRSVPRepository.existsByEvent_IdAndUser_Id(eventId, user.getId())) {
+            throw new IllegalStateException("You are blocked from RSVPing to this event");
+        }
+        if (rsvpRepository.existsByUserAndEvent(user, event)) {
+            throw new IllegalStateException("You have already RSVP'd to this event");
+        }
+        if (waitlistRepository.existsByEvent_IdAndUser_Id(eventId, user.getId())) {
+            throw new IllegalStateException("You are already on the waitlist for this event");
+        }
+        Integer freeSeats = eventRepository.findFreeSeats(eventId);
+        if (freeSeats == null || freeSeats > 0) {
+            throw new IllegalStateException("This event still has spots available, RSVP instead");
+        }
+
+        waitlistRepository.save(new WaitlistEntry(event, user));
+        return waitlistRepository.findPosition(eventId, username);
+    }
+
+    /**
+     * Removes a user from an event's waitlist.
+     *
+     * @throws IllegalStateException if the user isn't on it
+     */
+    @Transactional
+    public void leave(Long eventId, String username) {
+        if (waitlistRepository.deleteByEventIdAndUsername(eventId, username) == 0) {
+            throw new IllegalStateException("You are not on the waitlist for this event");
+        }
+    }
+
+    /**
+     * A user's 1-based place on an event's waitlist, 0 if they aren't on it.
+     */
+    @Transactional(readOnly = true)
+    public long getPosition(Long eventId, String username) {
+        return waitlistRepository.findPosition(eventId, username);
+    }
+
+    /**
+     * Fills an event's free seats from its waitlist, one transaction per batch.
+     *
+     * @return Number of users promoted
+     */
+    public int promote(Long eventId) {
+        int promoted = 0;
+        while (true) {
+            int[] batch = promotionTransaction.execute(status -> promoteBatch(eventId));
+            promoted += batch[1];
+            // nothing left to take, or no seat for it
+            if (batch[0] == 0) {
+                return promoted;
+            }
+        }
+    }
+
+    // returns { rows taken off the list, users promoted }
+    private int[] promoteBatch(Long eventId) {
+        Integer freeSeats = eventRepository.findFreeSeats(eventId);
+        int limit = freeSeats == null ? PROMOTION_BATCH_SIZE : Math.min(freeSeats, PROMOTION_BATCH_SIZE);
+        if (limit <= 0) {
+            return new int[] { 0, 0 };
+        }
+        List<Object[]> head = waitlistRepository.lockNextForPromotion(eventId, limit, LocalDate.now(), LocalTime.now());
+        if (head.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return new int[] { 0, 0 };
+        }
+
+        List<Long> taken = new ArrayList<>(head.size());
+        List<RSVP> rsvps = new ArrayList<>(head.size());
+        for (Object[] row : head) {
+            Long entryId = ((Number) row[0]).longValue();
+            Long userId = ((Number) row[1]).longValue();
+            User user = userRepository.getReferenceById(userId);
+            // can't be promoted any more, drop the entry
+            if (blockedRSVPRepository.existsByEvent_IdAndUser_Id(eventId, userId)
+                    || rsvpRepository.existsByUserAndEvent(user, event)) {
+                taken.add(entryId);
+                continue;
+            }
+            // a concurrent RSVP took the seat first, the rest stay on the list
+            if (eventRepository.allocateSeat(eventId) == 0) {
+                break;
+            }
+            RSVP rsvp = new RSVP(user, event);
+            if (event.getRequiresPayment() && event.getPrice() != null) {
+                rsvp.setPaymentStatus("pending");
+                rsvp.setHoldExpiresAt(seatHoldService.newHoldExpiry());
+            }
+            rsvps.add(rsvp);
+            taken.add(entryId);
+        }
+
+        rsvpRepository.saveAll(rsvps);
+        waitlistRepository.deleteAllByIdInBatch(taken);
+        for (RSVP rsvp : rsvps) {
+            seatHoldService.track(rsvp.getId(), rsvp.getHoldExpiresAt());
+            eventPublisher.publishEvent(new RsvpChangedEvent(eventId, rsvp.getUser().getId(), true));
+        }
+        return new int[] { taken.size(), rsvps.size() };
+    }
+
+    @TransactionalEventListener
+    public void onRsvpChanged(RsvpChangedEvent changed) {
+        if (!changed.isAttending()) {
+            pendingEvents.add(changed.getEventId());
+        }
+    }
+
+    /**
+     * Promotes for the events that had a seat freed since the last run.
+     *
+     * @return Number of users promoted
+     */
+    @Scheduled(fixedDelayString = "${waitlist.promotion-interval-ms:500}")
+    public int promotePending() {
+        int promoted = 0;
+        for (Iterator<Long> it = pendingEvents.iterator(); it.hasNext(); ) {
+            Long eventId = it.next();
+            it.remove();
+            try {
+                promoted += promote(eventId);
+            } catch (RuntimeException e) {
+                // the sweep retries it
+                System.err.println("Failed to promote waitlist for event " + eventId + ": " + e.getMessage());
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Promotes for every event with free seats and people waiting.
+     */
+    @Scheduled(fixedDelayString = "${waitlist.sweep-interval-ms:60000}",
+               initialDelayString = "${waitlist.sweep-interval-ms:60000}")
+    public void promoteAll() {
+        for (Long eventId : waitlistRepository.findEventIdsWithFreeSeats(LocalDate.now(), LocalTime.now())) {
+            try {
+                promote(eventId);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to promote waitlist for event " + eventId + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- ========================================
+-- Flyway Migration V10: RSVP Keyset Index
+-- ========================================
+-- FEATURE: Paged "who's going" list
+-- The details page embeds only the first page of attendees, the rest are paged by a
+-- (rsvp_date, id) cursor. This index matches that order within an event, so every page is an
+-- index range read. It also covers the FK on event_id, replacing idx_rsvp_event_id.
+-- ========================================
+
+CREATE INDEX idx_rsvp_event_date_id ON rsvp(event_id, rsvp_date DESC, id);
+
+DROP INDEX idx_rsvp_event_id ON rsvp;
@@ -0,0 +1,10 @@
+-- ========================================
+-- Flyway Migration V11: Ticket Check-in
+-- ========================================
+-- FEATURE: Door check-in with signed tickets
+-- Scans are admitted in memory and written here in batches, NULL until the attendee is
+-- checked in. The first write wins (UPDATE ... WHERE checked_in_at IS NULL), so a ticket
+-- scanned at two doors keeps its earliest check-in.
+-- ========================================
+
+ALTER TABLE rsvp ADD COLUMN checked_in_at TIMESTAMP NULL;
@@ -0,0 +1,13 @@
+-- ========================================
+-- Flyway Migration V12: Event RSVP Count
+-- ========================================
+-- FEATURE: Atomic seat allocation
+-- RSVPs take a seat with one conditional UPDATE on this column instead of counting rsvp rows and
+-- inserting without a lock, which let concurrent RSVPs overbook an event:
+--   UPDATE events SET rsvp_count = rsvp_count + 1 WHERE id = ? AND (capacity IS NULL OR rsvp_count < capacity)
+-- Backfilled from the existing RSVPs.
+-- ========================================
+
+ALTER TABLE events ADD COLUMN rsvp_count INT NOT NULL DEFAULT 0;
+
+UPDATE events SET rsvp_count = (SELECT COUNT(*) FROM rsvp r WHERE r.event_id = events.id);
@@ -0,0 +1,9 @@
+-- ========================================
+-- Flyway Migration V13: Event Waiting Room
+-- ========================================
+-- FEATURE: Virtual waiting room for high-demand launches
+-- Organisers opt an event in, RSVPs then queue in memory (WaitingRoomService) and are admitted
+-- to the RSVP path at a fixed rate instead of all hitting the database at once.
+-- ========================================
+
+ALTER TABLE events ADD COLUMN waiting_room BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,22 @@
+-- ========================================
+-- Flyway Migration V14: Event Waitlist
+-- ========================================
+-- FEATURE: Waitlist with automatic promotion
+-- Users who find an event full join its waitlist, ordered by id (arrival order). When a seat
+-- frees up the head of the list is promoted to an RSVP in the same transaction that removes
+-- the row. Promotions lock the head rows with FOR UPDATE SKIP LOCKED, so concurrent
+-- cancellations promote different users instead of queueing behind each other.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS event_waitlist (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    joined_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_event_user_waitlist UNIQUE (event_id, user_id),
+    CONSTRAINT fk_event_waitlist_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_event_waitlist_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- head of an event's list in order; the unique key above is ordered by user_id instead
+CREATE INDEX idx_event_waitlist_event_order ON event_waitlist(event_id, id);
@@ -0,0 +1,18 @@
+-- ========================================
+-- Flyway Migration V15: RSVP Seat Holds
+-- ========================================
+-- FEATURE: Time-bounded seat holds for pending payments
+-- An RSVP to a paid event takes its seat while the payment is still pending. hold_expires_at
+-- bounds that: once it passes without a payment the RSVP is deleted and the seat goes back to
+-- the event (and its waitlist). NULL means no hold (free events, paid RSVPs).
+-- The index serves the periodic sweep for expired holds; timely release comes from an
+-- in-memory timing wheel, the sweep only covers holds the wheel didn't see.
+-- ========================================
+
+ALTER TABLE rsvp ADD COLUMN hold_expires_at TIMESTAMP NULL;
+
+CREATE INDEX idx_rsvp_hold_expires_at ON rsvp(hold_expires_at);
+
+-- RSVPs already pending get a day to pay instead of being released on deploy
+UPDATE rsvp SET hold_expires_at = TIMESTAMPADD(HOUR, 24, CURRENT_TIMESTAMP)
+WHERE payment_status = 'pending';
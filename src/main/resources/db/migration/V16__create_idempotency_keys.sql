@@ -0,0 +1,18 @@
+-- ========================================
+-- Flyway Migration V16: Idempotency Keys
+-- ========================================
+-- FEATURE: Idempotent RSVP and checkout submissions
+-- The RSVP and Pay Now forms carry a one-time key. The first request with a key claims a row
+-- here, runs, and stores its response (redirect target and flash messages); retries and
+-- double-clicks with the same key get that response replayed instead of running again, on any
+-- node. Rows expire after a few minutes and are deleted by a scheduled cleanup.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key VARCHAR(200) PRIMARY KEY,
+    response_view VARCHAR(2048) NULL,
+    response_flash TEXT NULL,
+    expires_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
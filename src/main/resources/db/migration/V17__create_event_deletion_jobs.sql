@@ -0,0 +1,28 @@
+-- ========================================
+-- Flyway Migration V17: Event Deletion Jobs
+-- ========================================
+-- FEATURE: Background deletion of large events
+-- Deleting an event now only hides it (is_deactivated, is_deleting) and records a job here in the
+-- request; EventDeletionService then removes its photos, RSVPs and payments, waitlist, blocks,
+-- cancellations, reviews and alerts in fixed-size chunks, each in its own short transaction, and
+-- finally the event row. Progress is kept on the job so an interrupted deletion resumes where it
+-- stopped and the organiser can poll it. Finished jobs are purged after a few days.
+-- ========================================
+
+ALTER TABLE events ADD COLUMN is_deleting BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- no foreign key to events, the job outlives the event row
+CREATE TABLE IF NOT EXISTS event_deletion_jobs (
+    event_id BIGINT PRIMARY KEY,
+    organiser_id BIGINT NULL,
+    requested_by BIGINT NOT NULL,
+    requested_at TIMESTAMP NOT NULL,
+    rows_total BIGINT NULL,
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    photos_deleted INT NOT NULL DEFAULT 0,
+    lease_until TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    last_error VARCHAR(500) NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_event_deletion_jobs_finished_at ON event_deletion_jobs(finished_at);
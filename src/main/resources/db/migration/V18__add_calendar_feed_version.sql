@@ -0,0 +1,13 @@
+-- ========================================
+-- Flyway Migration V18: Calendar Feed Versions
+-- ========================================
+-- FEATURE: Persisted version of each iCalendar subscription feed
+-- feed_version is the feed's ETag and Last-Modified (epoch millis, strictly increasing). It moves
+-- in the same transaction as the RSVP or event status change that alters the feed, so every node
+-- answers a poll from the same value instead of its own memory.
+-- ========================================
+
+ALTER TABLE calendar_tokens ADD COLUMN feed_version BIGINT NOT NULL DEFAULT 0;
+
+-- existing subscribers download their feed once more after the deploy
+UPDATE calendar_tokens SET feed_version = ROUND(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000);
@@ -0,0 +1,49 @@
+-- ========================================
+-- Flyway Migration V5: Saved Searches and Alerts
+-- ========================================
+-- FEATURE: Saved searches with new-event alerts
+-- Users save a home page filter (category, keywords, text). When an event is created
+-- it is matched asynchronously against an in-memory percolator index of saved searches,
+-- matches are written to search_alerts in batches.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT,
+    search_text VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_saved_searches_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_saved_searches_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS saved_search_keywords (
+    saved_search_id BIGINT NOT NULL,
+    keyword_id BIGINT NOT NULL,
+    PRIMARY KEY (saved_search_id, keyword_id),
+    CONSTRAINT fk_saved_search_keywords_search FOREIGN KEY (saved_search_id) REFERENCES saved_searches(id) ON DELETE CASCADE,
+    CONSTRAINT fk_saved_search_keywords_keyword FOREIGN KEY (keyword_id) REFERENCES keywords(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS search_alerts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    saved_search_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    seen BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_search_alert UNIQUE (saved_search_id, event_id),
+    CONSTRAINT fk_search_alerts_search FOREIGN KEY (saved_search_id) REFERENCES saved_searches(id) ON DELETE CASCADE,
+    CONSTRAINT fk_search_alerts_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_search_alerts_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ========================================
+-- Indexes
+-- ========================================
+
+-- "my saved searches" listing
+CREATE INDEX idx_saved_searches_user ON saved_searches(user_id);
+
+-- unseen alerts for a user, newest first
+CREATE INDEX idx_search_alerts_user_seen ON search_alerts(user_id, seen, created_at DESC);
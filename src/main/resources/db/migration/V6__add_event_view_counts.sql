@@ -0,0 +1,14 @@
+-- ========================================
+-- Flyway Migration V6: Event View Counts
+-- ========================================
+-- FEATURE: Page-view counts per event
+-- Views on /events/{id} are counted in memory and flushed here in batches every few seconds,
+-- one row per event so a popular event is never a hot row updated on every request.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS event_view_counts (
+    event_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_event_view_counts_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
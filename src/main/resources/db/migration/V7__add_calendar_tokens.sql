@@ -0,0 +1,15 @@
+-- ========================================
+-- Flyway Migration V7: Calendar Subscription Tokens
+-- ========================================
+-- FEATURE: Per-user iCalendar feed of RSVP'd events
+-- Calendar apps poll /calendar/{token}.ics without a session, the unguessable token identifies the user.
+-- One token per user, resetting it replaces the value and stops the old URL working.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS calendar_tokens (
+    user_id BIGINT PRIMARY KEY,
+    token VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_calendar_tokens_token UNIQUE (token),
+    CONSTRAINT fk_calendar_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
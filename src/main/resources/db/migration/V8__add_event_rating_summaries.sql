@@ -0,0 +1,34 @@
+-- ========================================
+-- Flyway Migration V8: Event Rating Summaries
+-- ========================================
+-- FEATURE: Running rating aggregates per event
+-- Average, count and star distribution on the details page are read from one row per event
+-- instead of loading every review. Rows are created with the event and updated atomically
+-- (rating_sum = rating_sum + ?) in the transaction that saves a review.
+-- Existing events are backfilled from the reviews table.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS event_rating_summaries (
+    event_id BIGINT PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_event_rating_summaries_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO event_rating_summaries (event_id, rating_sum, rating_count, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT e.id,
+       COALESCE(SUM(r.rating), 0),
+       COUNT(r.id),
+       COALESCE(SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), 0)
+FROM events e
+LEFT JOIN reviews r ON r.event_id = e.id
+GROUP BY e.id;
@@ -0,0 +1,12 @@
+-- ========================================
+-- Flyway Migration V9: Review Keyset Index
+-- ========================================
+-- FEATURE: "View all reviews" stream
+-- Reviews are paged newest first by a (created_at, id) cursor. This index matches that order
+-- within an event, so each page is an index range read of one page's rows, however deep the
+-- reader has scrolled. It also covers the FK on event_id, replacing idx_reviews_event_id.
+-- ========================================
+
+CREATE INDEX idx_reviews_event_created_id ON reviews(event_id, created_at DESC, id);
+
+DROP INDEX idx_reviews_event_id ON reviews;
@@ -0,0 +1,196 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Acceptance tests for the bulk organiser operations
+ * An organiser cancels, blocks or unblocks a list of users in one request and gets a result per user
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AttendeeBulkAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organiser;
+    private List<User> attendees;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "BULK_" + UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        String password = passwordEncoder.encode("Test123!");
+        organiser = newUser("bulk.organiser." + testIdentifier, password);
+        attendees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            attendees.add(newUser("bulk.attendee" + i + "." + testIdentifier, password));
+        }
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Conference");
+        event.setDescription("Testing bulk organiser operations");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(9, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(10);
+        event.setRequiresPayment(true);
+        event.setPrice(new BigDecimal("20.00"));
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+
+        // the first two attendees RSVP, the third doesn't
+        rsvpService.createRSVP(attendees.get(0), event);
+        rsvpService.createRSVP(attendees.get(1), event);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private ResultActions bulk(String path, String username, List<Long> userIds) throws Exception {
+        return mockMvc.perform(post("/api/events/" + event.getId() + path)
+                .with(user(username)).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("userIds", userIds))));
+    }
+
+    private Map<Long, String> results(ResultActions response) throws Exception {
+        JsonNode results = objectMapper.readTree(response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("results");
+        Map<Long, String> byUser = new LinkedHashMap<>();
+        results.forEach(result -> byUser.put(result.get("userId").asLong(), result.get("status").asText()));
+        return byUser;
+    }
+
+    private List<Long> ids(int... indexes) {
+        List<Long> ids = new ArrayList<>();
+        for (int index : indexes) {
+            ids.add(attendees.get(index).getId());
+        }
+        return ids;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, event.getId());
+    }
+
+    @Test
+    void testBulkCancel_RemovesRsvpsAndKeepsRefundRecords() throws Exception {
+        Map<Long, String> results = results(bulk("/attendees/bulk/cancel", organiser.getUsername(), ids(0, 1, 2)));
+
+        assertEquals(List.of("CANCELLED", "CANCELLED", "NO_RSVP"), new ArrayList<>(results.values()));
+        assertEquals(ids(0, 1, 2), new ArrayList<>(results.keySet()));
+        assertEquals(0, count("SELECT COUNT(*) FROM rsvp WHERE event_id = ?"));
+        assertEquals(0, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        // pending payments, kept for the organiser's refund list
+        assertEquals(2, count("SELECT COUNT(*) FROM cancelled_rsvps WHERE event_id = ? AND initiated_by = 'organiser'"));
+    }
+
+    @Test
+    void testBulkBlockAndUnblock() throws Exception {
+        Map<Long, String> blocked = results(bulk("/attendees/bulk/block", organiser.getUsername(), ids(0, 2)));
+        assertEquals(List.of("BLOCKED", "BLOCKED"), new ArrayList<>(blocked.values()));
+        assertEquals(1, count("SELECT COUNT(*) FROM rsvp WHERE event_id = ?"));
+        assertEquals(1, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        assertEquals(2, count("SELECT COUNT(*) FROM blocked_rsvps WHERE event_id = ?"));
+        assertThrows(IllegalStateException.class, () -> rsvpService.createRSVP(attendees.get(2), event));
+
+        Map<Long, String> again = results(bulk("/attendees/bulk/block", organiser.getUsername(),
+                List.of(attendees.get(0).getId(), -1L)));
+        assertEquals(List.of("ALREADY_BLOCKED", "USER_NOT_FOUND"), new ArrayList<>(again.values()));
+
+        Map<Long, String> unblocked = results(bulk("/blocked/bulk/unblock", organiser.getUsername(), ids(0, 1)));
+        assertEquals(List.of("UNBLOCKED", "NOT_BLOCKED"), new ArrayList<>(unblocked.values()));
+        assertEquals(1, count("SELECT COUNT(*) FROM blocked_rsvps WHERE event_id = ?"));
+    }
+
+    @Test
+    void testBulk_NotOrganiser_Forbidden() throws Exception {
+        bulk("/attendees/bulk/cancel", attendees.get(2).getUsername(), ids(0))
+                .andExpect(status().isForbidden());
+
+        assertEquals(2, count("SELECT COUNT(*) FROM rsvp WHERE event_id = ?"));
+    }
+
+    @Test
+    void testBulk_TooManyUsers_BadRequest() throws Exception {
+        List<Long> userIds = LongStream.rangeClosed(1, 501).boxed().collect(Collectors.toList());
+
+        bulk("/attendees/bulk/cancel", organiser.getUsername(), userIds)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At most 500 users per request"));
+    }
+}
@@ -0,0 +1,182 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.EventDetailsService;
+import jakarta.persistence.EntityManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for the paged "who's going" list
+ * The details page embeds the first page, the attendee list API pages in the rest
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AttendeeListPaginationAcceptanceTest {
+
+    private static final int ATTENDEE_COUNT = 45;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Event event;
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "GOING_" + UUID.randomUUID().toString().substring(0, 8);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Large_Event");
+        event.setDescription("Testing the paged attendee list");
+        event.setEventDate(LocalDate.now().plusDays(5));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCategory(category);
+        event.setCreatedBy(newUser("going.organiser." + testIdentifier));
+        eventRepository.save(event);
+
+        for (int i = 0; i < ATTENDEE_COUNT; i++) {
+            rsvpRepository.save(new RSVP(newUser("going.attendee" + i + "." + testIdentifier), event));
+        }
+        viewer = newUser("going.viewer." + testIdentifier);
+        entityManager.flush();
+        // RSVPs saved directly, the details page reads the maintained count
+        eventRepository.recountSeats();
+
+        // RSVPs made within the same second share a timestamp
+        jdbcTemplate.update("UPDATE rsvp SET rsvp_date = ? WHERE event_id = ?",
+                Timestamp.valueOf("2024-06-01 12:00:00"), event.getId());
+        entityManager.clear();
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private JsonNode getPage(String cursor) throws Exception {
+        String body = mockMvc.perform(get("/api/events/" + event.getId() + "/attendee-list")
+                        .param("cursor", cursor).param("size", "20")
+                        .with(user(viewer.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void testDetailsPage_EmbedsFirstPageThenApiPagesTheRest() throws Exception {
+        EventDetailsDTO details = (EventDetailsDTO) mockMvc.perform(get("/events/" + event.getId())
+                        .with(user(viewer.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel().get("event");
+
+        assertEquals(ATTENDEE_COUNT, details.getAttendeeCount());
+        assertEquals(EventDetailsService.ATTENDEE_PAGE_SIZE, details.getAttendees().size());
+        assertNotNull(details.getAttendeesNextCursor());
+
+        Set<String> usernames = new HashSet<>();
+        details.getAttendees().forEach(attendee -> usernames.add(attendee.getUsername()));
+
+        String cursor = details.getAttendeesNextCursor();
+        while (cursor != null) {
+            JsonNode page = getPage(cursor);
+            page.get("attendees").forEach(attendee -> {
+                usernames.add(attendee.get("username").asText());
+                // public fields only
+                assertEquals(2, attendee.size());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        }
+
+        assertEquals(ATTENDEE_COUNT, usernames.size());
+    }
+
+    @Test
+    void testAttendeeList_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/events/" + event.getId() + "/attendee-list"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void testAttendeeList_HiddenForDeactivatedEvent() throws Exception {
+        jdbcTemplate.update("UPDATE events SET is_deactivated = TRUE WHERE id = ?", event.getId());
+
+        mockMvc.perform(get("/api/events/" + event.getId() + "/attendee-list").with(user(viewer.getUsername())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testAttendeeList_RejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/events/" + event.getId() + "/attendee-list")
+                        .param("cursor", "not-a-cursor").with(user(viewer.getUsername())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+}
@@ -0,0 +1,143 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for the calendar feed
+ * The calendar loads events for the visible window only, with the current user's attendance flags
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CalendarFeedAcceptanceTest {
+
+    // far from DataInitializer's events so the window only holds the test data
+    private static final LocalDate WINDOW_START = LocalDate.of(2031, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User attendee;
+    private Event inWindow;
+    private Event otherInWindow;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "CAL_" + UUID.randomUUID().toString().substring(0, 8);
+
+        attendee = new User();
+        attendee.setUsername("cal.attendee." + testIdentifier);
+        attendee.setEmail("attendee." + testIdentifier + "@test.com");
+        attendee.setPassword(passwordEncoder.encode("Test123!"));
+        attendee.setEnabled(true);
+        userRepository.save(attendee);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        inWindow = saveEvent(testIdentifier + "_In_Window", WINDOW_START.plusDays(3), category);
+        otherInWindow = saveEvent(testIdentifier + "_Also_In_Window", WINDOW_START.plusDays(10), category);
+        saveEvent(testIdentifier + "_Before_Window", WINDOW_START.minusDays(1), category);
+        saveEvent(testIdentifier + "_On_End_Date", WINDOW_START.plusDays(42), category);
+        Event deactivated = saveEvent(testIdentifier + "_Deactivated", WINDOW_START.plusDays(5), category);
+        deactivated.setDeactivated(true);
+        eventRepository.save(deactivated);
+
+        rsvpRepository.save(new RSVP(attendee, inWindow));
+    }
+
+    private Event saveEvent(String title, LocalDate date, Category category) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription("Calendar feed test");
+        event.setEventDate(date);
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCategory(category);
+        event.setCreatedBy(attendee);
+        return eventRepository.save(event);
+    }
+
+    @Test
+    void testFeedReturnsOnlyActiveEventsInWindow() throws Exception {
+        mockMvc.perform(get("/events/calendar/feed")
+                .param("start", WINDOW_START.toString())
+                .param("end", WINDOW_START.plusDays(42).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(inWindow.getId()))
+                .andExpect(jsonPath("$[0].start").value(WINDOW_START.plusDays(3) + "T18:00:00"))
+                .andExpect(jsonPath("$[1].id").value(otherInWindow.getId()))
+                .andExpect(jsonPath("$[*].attending", everyItem(is(false))));
+    }
+
+    @Test
+    void testFeedFlagsCurrentUsersRsvps() throws Exception {
+        // FullCalendar style date-times are accepted
+        mockMvc.perform(get("/events/calendar/feed")
+                .with(user(attendee.getUsername()))
+                .param("start", WINDOW_START + "T00:00:00+11:00")
+                .param("end", WINDOW_START.plusDays(42) + "T00:00:00+11:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].attending").value(true))
+                .andExpect(jsonPath("$[1].attending").value(false));
+    }
+
+    @Test
+    void testFeedRejectsInvalidWindows() throws Exception {
+        mockMvc.perform(get("/events/calendar/feed")
+                .param("start", WINDOW_START.toString())
+                .param("end", WINDOW_START.plusYears(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(get("/events/calendar/feed")
+                .param("start", "not-a-date")
+                .param("end", WINDOW_START.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
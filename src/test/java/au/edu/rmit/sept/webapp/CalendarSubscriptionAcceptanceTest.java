@@ -0,0 +1,185 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CalendarTokenRepository;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.CalendarSubscriptionService;
+import au.edu.rmit.sept.webapp.service.EventStatusChangedEvent;
+import au.edu.rmit.sept.webapp.service.RsvpChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for iCalendar subscriptions
+ * Users create a secret feed link; calendar apps poll it and get 304 until the user's RSVPs change
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CalendarSubscriptionAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CalendarSubscriptionService calendarSubscriptionService;
+
+    @Autowired
+    private CalendarTokenRepository calendarTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User subscriber;
+    private Event event;
+    private String testIdentifier;
+
+    @BeforeEach
+    void setUp() {
+        testIdentifier = "ICS_" + UUID.randomUUID().toString().substring(0, 8);
+
+        subscriber = new User();
+        subscriber.setUsername("ics.subscriber." + testIdentifier);
+        subscriber.setEmail("subscriber." + testIdentifier + "@test.com");
+        subscriber.setPassword(passwordEncoder.encode("Test123!"));
+        subscriber.setEnabled(true);
+        userRepository.save(subscriber);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Subscribed_Event");
+        event.setDescription("Feed test; with, special chars");
+        event.setEventDate(LocalDate.now().plusDays(4));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCategory(category);
+        event.setCreatedBy(subscriber);
+        eventRepository.save(event);
+
+        rsvpRepository.save(new RSVP(subscriber, event));
+    }
+
+    private String feedPath(String token) {
+        return "/calendar/" + token + ".ics";
+    }
+
+    @Test
+    void testFeedContainsRsvpdEvents_AndSecondPollIs304() throws Exception {
+        String token = calendarSubscriptionService.resetToken(subscriber.getId());
+
+        MvcResult first = mockMvc.perform(get(feedPath(token)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/calendar")))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string(containsString("SUMMARY:" + testIdentifier + "_Subscribed_Event")))
+                .andExpect(content().string(containsString("DESCRIPTION:Feed test\\; with\\, special chars")))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(feedPath(token)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // an RSVP change moves the version on
+        calendarSubscriptionService.onRsvpChanged(new RsvpChangedEvent(event.getId(), subscriber.getId(), false));
+        mockMvc.perform(get(feedPath(token)).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testChangeRecordedByAnotherNode_IsNot304() throws Exception {
+        String token = calendarSubscriptionService.resetToken(subscriber.getId());
+        String etag = mockMvc.perform(get(feedPath(token)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // a second instance stands in for another node, only the database is shared
+        CalendarSubscriptionService otherNode = new CalendarSubscriptionService(calendarTokenRepository,
+                rsvpRepository, userRepository, transactionManager, 1024);
+        otherNode.onRsvpChanged(new RsvpChangedEvent(event.getId(), subscriber.getId(), false));
+        String changedEtag = mockMvc.perform(get(feedPath(token)).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        event.setDeactivated(true);
+        eventRepository.saveAndFlush(event);
+        otherNode.onEventStatusChanged(new EventStatusChangedEvent(event.getId(), event.getEventDate(),
+                EventStatusChangedEvent.Status.DEACTIVATED, 1));
+        mockMvc.perform(get(feedPath(token)).header("If-None-Match", changedEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString(testIdentifier + "_Subscribed_Event"))));
+    }
+
+    @Test
+    void testUnknownOrResetTokenIs404() throws Exception {
+        String oldToken = calendarSubscriptionService.resetToken(subscriber.getId());
+        mockMvc.perform(get(feedPath(oldToken))).andExpect(status().isOk());
+
+        String newToken = calendarSubscriptionService.resetToken(subscriber.getId());
+        assertNotEquals(oldToken, newToken);
+        mockMvc.perform(get(feedPath(oldToken))).andExpect(status().isNotFound());
+        mockMvc.perform(get(feedPath("not-a-token"))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreatingSubscriptionShowsLinkOnCalendarPage() throws Exception {
+        mockMvc.perform(get("/events/calendar").with(user(subscriber.getUsername())))
+                .andExpect(model().attribute("icsFeedUrl", nullValue()));
+
+        mockMvc.perform(post("/calendar/subscription").with(user(subscriber.getUsername())).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/events/calendar"));
+
+        String token = calendarSubscriptionService.findToken(subscriber.getId()).orElseThrow();
+        mockMvc.perform(get("/events/calendar").with(user(subscriber.getUsername())))
+                .andExpect(model().attribute("icsFeedUrl", endsWith(feedPath(token))));
+    }
+}
@@ -0,0 +1,215 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.dto.EventDeletionProgress;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.EventPhoto;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventPhotoRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.AdminService;
+import au.edu.rmit.sept.webapp.service.EventDeletionService;
+import au.edu.rmit.sept.webapp.service.EventService;
+import au.edu.rmit.sept.webapp.service.PhotoStorageService;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+import au.edu.rmit.sept.webapp.service.WaitlistService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tests for the background event deletion
+ * Deleting hides the event at once, EventDeletionService removes its rows in committed chunks.
+ * The chunks commit, so these tests aren't @Transactional: test data is removed afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventDeletionPipelineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventDeletionService eventDeletionService;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventPhotoRepository eventPhotoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User organiser;
+    private final List<User> attendees = new ArrayList<>();
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "DELETE_" + UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        String password = passwordEncoder.encode("Test123!");
+        organiser = userRepository.save(newUser("delete.organiser." + testIdentifier, password));
+        for (int i = 0; i < 5; i++) {
+            attendees.add(userRepository.save(newUser("delete.attendee" + i + "." + testIdentifier, password)));
+        }
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Meetup");
+        event.setDescription("Testing background deletion");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(3);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+
+        // full event: three RSVPs, one on the waitlist, one blocked, one photo
+        for (int i = 0; i < 3; i++) {
+            rsvpService.createRSVP(attendees.get(i), event);
+        }
+        waitlistService.join(event.getId(), attendees.get(3).getUsername());
+        rsvpService.blockUserFromEventAsOrganiser(event.getId(), attendees.get(4).getId(), organiser.getId());
+        eventPhotoRepository.save(new EventPhoto(UUID.randomUUID() + ".jpg", "stage.jpg", 1024L, event, organiser));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("event_photos", "event_waitlist", "blocked_rsvps", "rsvp")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = ?", event.getId());
+        }
+        jdbcTemplate.update("DELETE FROM events WHERE id = ?", event.getId());
+        jdbcTemplate.update("DELETE FROM event_deletion_jobs WHERE event_id = ?", event.getId());
+        attendees.forEach(userRepository::delete);
+        userRepository.delete(organiser);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return user;
+    }
+
+    // the scheduled run may take the job first, it finishes it the same way
+    private EventDeletionProgress runUntilFinished() throws InterruptedException {
+        new EventDeletionService(jdbcTemplate, photoStorageService, eventPublisher, transactionManager, 2)
+                .runPending();
+        for (int attempt = 0; attempt < 100; attempt++) {
+            EventDeletionProgress progress = eventDeletionService.getProgress(event.getId(), organiser.getId(), false);
+            if (progress.isFinished()) {
+                return progress;
+            }
+            Thread.sleep(100);
+        }
+        fail("Event deletion didn't finish");
+        return null;
+    }
+
+    @Test
+    void testDeleteEvent_HidesAtOnceThenRemovesInChunks() throws Exception {
+        eventService.deleteEvent(event.getId(), organiser.getId());
+
+        // still there, but hidden and no longer counted as deactivated
+        Event hidden = eventRepository.findById(event.getId()).orElseThrow();
+        assertTrue(hidden.isDeactivated());
+        assertTrue(hidden.isDeleting());
+        assertFalse(eventRepository.existsByIdAndDeactivatedFalse(event.getId()));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> adminService.reactivateEvent(event.getId()));
+        assertEquals("Event is being deleted", exception.getMessage());
+
+        EventDeletionProgress progress = runUntilFinished();
+
+        assertFalse(eventRepository.existsById(event.getId()));
+        for (String table : List.of("event_photos", "event_waitlist", "blocked_rsvps", "rsvp")) {
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE event_id = ?", Integer.class, event.getId()), table);
+        }
+        // event, photo, three RSVPs, waitlist entry, block
+        assertTrue(progress.getRowsDeleted() >= 7);
+        assertEquals(progress.getRowsTotal(), progress.getRowsDeleted());
+        assertEquals(1, progress.getPhotosDeleted());
+        assertNull(progress.getLastError());
+    }
+
+    @Test
+    void testDeletionProgress_OrganiserOnly() throws Exception {
+        eventService.deleteEvent(event.getId(), organiser.getId());
+        runUntilFinished();
+
+        mockMvc.perform(get("/api/events/" + event.getId() + "/deletion").with(user(organiser.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.finished").value(true))
+                .andExpect(jsonPath("$.photosDeleted").value(1));
+
+        mockMvc.perform(get("/api/events/" + event.getId() + "/deletion").with(user(attendees.get(0).getUsername())))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/events/" + (event.getId() + 100_000) + "/deletion")
+                        .with(user(organiser.getUsername())))
+                .andExpect(status().isNotFound());
+    }
+}
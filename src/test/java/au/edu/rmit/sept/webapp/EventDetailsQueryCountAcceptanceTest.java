@@ -0,0 +1,177 @@
+package au.edu.rmit.sept.webapp;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
+import au.edu.rmit.sept.webapp.dto.ReviewDTO;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.ReviewService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for the event details read model
+ * Pins the number of SQL statements one details page view runs, independent of
+ * how many attendees and reviews the event has
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class EventDetailsQueryCountAcceptanceTest {
+
+    // event, details counters row, recent reviews
+    private static final long ANONYMOUS_STATEMENTS = 3;
+    // plus the attendee list
+    private static final long SIGNED_IN_STATEMENTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> attendees = new ArrayList<>();
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "DETAILS_" + UUID.randomUUID().toString().substring(0, 8);
+
+        User organiser = newUser("details.organiser." + testIdentifier);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Popular_Event");
+        event.setDescription("Testing the details page query count");
+        event.setEventDate(LocalDate.now().plusDays(5));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(100);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        eventRepository.save(event);
+
+        // enough attendees and reviews that a per-row query would show up in the count
+        for (int i = 0; i < 6; i++) {
+            User attendee = newUser("details.attendee" + i + "." + testIdentifier);
+            attendees.add(attendee);
+            rsvpRepository.save(new RSVP(attendee, event));
+
+            ReviewDTO review = new ReviewDTO();
+            review.setRating(i % 2 == 0 ? 4 : 5);
+            review.setComment("Review " + i);
+            reviewService.saveReview(review, event.getId(), attendee.getUsername());
+        }
+
+        // the page must load everything from the database, not the test's persistence context
+        entityManager.flush();
+        // RSVPs saved directly, the details page reads the maintained count
+        eventRepository.recountSeats();
+        entityManager.clear();
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void testAnonymousDetailsPage_FixedStatementCount() throws Exception {
+        Statistics statistics = statistics();
+
+        MvcResult result = mockMvc.perform(get("/events/" + event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("totalReviews", 6L))
+                .andExpect(model().attribute("averageRating", 4.5))
+                .andExpect(model().attribute("ratingDistribution", new long[] { 0, 0, 0, 3, 3 }))
+                .andReturn();
+
+        assertEquals(ANONYMOUS_STATEMENTS, statistics.getPrepareStatementCount());
+        EventDetailsDTO details = (EventDetailsDTO) result.getModelAndView().getModel().get("event");
+        assertEquals(6, details.getAttendeeCount());
+        assertFalse(details.isUserRsvpStatus());
+    }
+
+    @Test
+    void testSignedInAttendeeDetailsPage_FixedStatementCount() throws Exception {
+        User attendee = attendees.get(0);
+        Statistics statistics = statistics();
+
+        MvcResult result = mockMvc.perform(get("/events/" + event.getId()).with(user(attendee.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("didUserRsvp", true))
+                .andReturn();
+
+        assertEquals(SIGNED_IN_STATEMENTS, statistics.getPrepareStatementCount());
+        EventDetailsDTO details = (EventDetailsDTO) result.getModelAndView().getModel().get("event");
+        assertTrue(details.isUserRsvpStatus());
+        assertNotNull(details.getUserRsvpId());
+        assertFalse(details.isUserBlockedStatus());
+        assertEquals(6, details.getAttendees().size());
+    }
+}
@@ -0,0 +1,134 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.EventMembershipService;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Tests for the in-memory attending/blocked bitmaps
+ * Changes reach the bitmaps after commit, so these tests aren't @Transactional: every step
+ * commits, test data is removed afterwards.
+ */
+@SpringBootTest
+class EventMembershipSyncTest {
+
+    @Autowired
+    private EventMembershipService eventMembershipService;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organiser;
+    private User attendee;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "MEMBER_" + UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        String password = passwordEncoder.encode("Test123!");
+        organiser = userRepository.save(newUser("member.organiser." + testIdentifier, password));
+        attendee = userRepository.save(newUser("member.attendee." + testIdentifier, password));
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Meetup");
+        event.setDescription("Testing membership bitmaps");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(10);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM blocked_rsvps WHERE event_id = ?", event.getId());
+        jdbcTemplate.update("DELETE FROM rsvp WHERE event_id = ?", event.getId());
+        eventRepository.deleteById(event.getId());
+        userRepository.delete(attendee);
+        userRepository.delete(organiser);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return user;
+    }
+
+    @Test
+    void testRsvpAndCancel_KeepAttendingInSync() {
+        // loaded before the RSVP exists, then kept up to date by the commits
+        assertFalse(eventMembershipService.isAttending(event.getId(), attendee.getId()));
+
+        rsvpService.createRSVP(attendee, event);
+        assertTrue(eventMembershipService.isAttending(event.getId(), attendee.getId()));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> rsvpService.createRSVP(attendee, event));
+        assertEquals("You have already RSVP'd to this event", exception.getMessage());
+
+        rsvpService.cancelRSVP(event.getId(), attendee.getUsername());
+        assertFalse(eventMembershipService.isAttending(event.getId(), attendee.getId()));
+    }
+
+    @Test
+    void testBlockAndUnblock_KeepBlockedInSync() {
+        rsvpService.createRSVP(attendee, event);
+        assertFalse(eventMembershipService.isBlocked(event.getId(), attendee.getId()));
+
+        rsvpService.blockUserFromEventAsOrganiser(event.getId(), attendee.getId(), organiser.getId());
+        assertTrue(eventMembershipService.isBlocked(event.getId(), attendee.getId()));
+        assertFalse(eventMembershipService.isAttending(event.getId(), attendee.getId()));
+        assertThrows(IllegalStateException.class, () -> rsvpService.createRSVP(attendee, event));
+
+        rsvpService.unblockUserFromEventAsOrganiser(event.getId(), attendee.getId(), organiser.getId());
+        assertFalse(rsvpService.isUserBlockedFromEvent(event.getId(), attendee.getId()));
+        rsvpService.createRSVP(attendee, event);
+        assertTrue(eventMembershipService.isAttending(event.getId(), attendee.getId()));
+    }
+}
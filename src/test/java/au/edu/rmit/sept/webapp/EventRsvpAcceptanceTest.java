@@ -8,6 +8,7 @@ import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,6 +55,9 @@ class EventRsvpAcceptanceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RSVPService rsvpService;
+
     // Test data
     private User testUser1;
     private User testUser2;
@@ -176,9 +180,8 @@ class EventRsvpAcceptanceTest {
 
     @Test
     void testCannotRsvpToFullEvent() throws Exception {
-        // Arrange: Fill the event to capacity (capacity = 1)
-        RSVP existingRsvp = new RSVP(testUser1, testEventAlmostFull);
-        rsvpRepository.save(existingRsvp);
+        // Arrange: Fill the event to capacity (capacity = 1), through the service so the seat is taken
+        rsvpService.createRSVP(testUser1, testEventAlmostFull);
 
         // Act: Second user attempts to RSVP to full event
         mockMvc.perform(post("/rsvp/" + testEventAlmostFull.getId())
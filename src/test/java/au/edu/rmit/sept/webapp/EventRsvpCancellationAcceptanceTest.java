@@ -8,6 +8,7 @@ import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,6 +55,9 @@ class EventRsvpCancellationAcceptanceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RSVPService rsvpService;
+
     // Test data
     private User testUser;
     private User otherUser;
@@ -252,9 +256,8 @@ class EventRsvpCancellationAcceptanceTest {
         limitedEvent.setCategory(testCategory);
         limitedEvent = eventRepository.save(limitedEvent);
 
-        // Arrange: First user takes the slot
-        RSVP rsvp = new RSVP(testUser, limitedEvent);
-        rsvpRepository.save(rsvp);
+        // Arrange: First user takes the slot, through the service so the seat is allocated
+        rsvpService.createRSVP(testUser, limitedEvent);
 
         // Verify other user cannot RSVP (full)
         mockMvc.perform(post("/rsvp/" + limitedEvent.getId())
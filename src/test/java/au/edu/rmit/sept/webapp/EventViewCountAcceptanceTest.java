@@ -0,0 +1,126 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.ViewCounterService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for event page-view counts
+ * Views on the details page are buffered and flushed to event_view_counts,
+ * the organiser sees the total in the organiser-only controls
+ */
+// scheduled flushes would run outside the test transaction, where the test event isn't visible
+@SpringBootTest(properties = "view-counter.flush-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Transactional
+class EventViewCountAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organiser;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "VIEWS_" + UUID.randomUUID().toString().substring(0, 8);
+
+        organiser = new User();
+        organiser.setUsername("views.organiser." + testIdentifier);
+        organiser.setEmail("organiser." + testIdentifier + "@test.com");
+        organiser.setPassword(passwordEncoder.encode("Test123!"));
+        organiser.setEnabled(true);
+        userRepository.save(organiser);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Viewed_Event");
+        event.setDescription("Testing view counts");
+        event.setEventDate(LocalDate.now().plusDays(5));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        eventRepository.save(event);
+
+        // start from an empty buffer
+        viewCounterService.flush();
+    }
+
+    private Long storedCount() {
+        return jdbcTemplate.queryForList("SELECT view_count FROM event_view_counts WHERE event_id = ?",
+                Long.class, event.getId()).stream().findFirst().orElse(null);
+    }
+
+    @Test
+    void testViewsFlushedAsInsertThenUpdate() throws Exception {
+        mockMvc.perform(get("/events/" + event.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/events/" + event.getId())).andExpect(status().isOk());
+        assertNull(storedCount());
+
+        viewCounterService.flush();
+        assertEquals(2L, storedCount());
+
+        mockMvc.perform(get("/events/" + event.getId())).andExpect(status().isOk());
+        viewCounterService.flush();
+        assertEquals(3L, storedCount());
+    }
+
+    @Test
+    void testOrganiserSeesViewCount_OthersDoNot() throws Exception {
+        mockMvc.perform(get("/events/" + event.getId()))
+                .andExpect(model().attributeDoesNotExist("viewCount"));
+
+        // flushed view plus the organiser's own unflushed one
+        viewCounterService.flush();
+        mockMvc.perform(get("/events/" + event.getId()).with(user(organiser.getUsername())))
+                .andExpect(model().attribute("viewCount", 2L));
+    }
+}
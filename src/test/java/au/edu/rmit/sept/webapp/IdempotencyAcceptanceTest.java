@@ -0,0 +1,162 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.IdempotencyStore;
+import au.edu.rmit.sept.webapp.service.JdbcIdempotencyStore;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for idempotent RSVP submissions
+ * A double-clicked or retried RSVP form carries the same key and gets the first response back
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class IdempotencyAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User attendee;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "IDEM_" + UUID.randomUUID().toString().substring(0, 8);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        User organiser = newUser("idem.organiser." + testIdentifier);
+        attendee = newUser("idem.attendee." + testIdentifier);
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Meetup");
+        event.setDescription("Testing idempotent RSVPs");
+        event.setEventDate(LocalDate.now().plusDays(5));
+        event.setEventTime(LocalTime.of(19, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(50);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    @Test
+    void testRsvp_RetriedWithSameKey_CreatedOnceAndReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/rsvp/" + event.getId())
+                            .param("idempotencyKey", key)
+                            .with(user(attendee.getUsername())).with(csrf()))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/events/" + event.getId()))
+                    .andExpect(flash().attribute("success", "Successfully RSVP'd to " + event.getTitle()));
+        }
+
+        assertEquals(1, rsvpRepository.countByEvent(event));
+    }
+
+    @Test
+    void testRsvp_NewKey_RunsAgain() throws Exception {
+        mockMvc.perform(post("/rsvp/" + event.getId())
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .with(user(attendee.getUsername())).with(csrf()))
+                .andExpect(flash().attributeExists("success"));
+
+        mockMvc.perform(post("/rsvp/" + event.getId())
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .with(user(attendee.getUsername())).with(csrf()))
+                .andExpect(flash().attribute("error", "You have already RSVP'd to this event"));
+    }
+
+    @Test
+    void testEventPage_RsvpFormCarriesKey() throws Exception {
+        mockMvc.perform(get("/events/" + event.getId()).with(user(attendee.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("name=\"idempotencyKey\"")));
+    }
+
+    @Test
+    void testJdbcStore_ClaimCompleteFind() {
+        IdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, objectMapper);
+        String key = "rsvp:1:alice:" + UUID.randomUUID();
+        long ttl = 60_000;
+
+        assertTrue(store.claim(key, ttl));
+        assertFalse(store.claim(key, ttl));
+        assertTrue(store.find(key).isEmpty());
+
+        store.complete(key, new IdempotencyStore.Response("redirect:/events/1", Map.of("success", "Done")), ttl);
+        IdempotencyStore.Response response = store.find(key).orElseThrow();
+        assertEquals("redirect:/events/1", response.getView());
+        assertEquals(Map.of("success", "Done"), response.getFlashAttributes());
+
+        store.release(key);
+        assertTrue(store.claim(key, ttl));
+    }
+}
@@ -0,0 +1,183 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.dto.ReviewDTO;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.ReviewService;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for the "view all reviews" stream
+ * Walks an event's reviews page by page through the public reviews API
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReviewPaginationAcceptanceTest {
+
+    private static final int REVIEW_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "REVIEWS_" + UUID.randomUUID().toString().substring(0, 8);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Past_Event");
+        event.setDescription("Testing the reviews stream");
+        event.setEventDate(LocalDate.now().minusDays(5));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(100);
+        event.setCategory(category);
+        event.setCreatedBy(newUser("reviews.organiser." + testIdentifier));
+        eventRepository.save(event);
+
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            User reviewer = newUser("reviews.reviewer" + i + "." + testIdentifier);
+            ReviewDTO review = new ReviewDTO();
+            review.setRating(1 + i % 5);
+            review.setComment("Review " + i);
+            reviewService.saveReview(review, event.getId(), reviewer.getUsername());
+        }
+        entityManager.flush();
+
+        // most reviews share a timestamp, as they would when saved within the same second
+        jdbcTemplate.update("UPDATE reviews SET created_at = ? WHERE event_id = ? AND comment <> ?",
+                java.sql.Timestamp.valueOf("2024-06-01 12:00:00"), event.getId(), "Review 7");
+        jdbcTemplate.update("UPDATE reviews SET created_at = ? WHERE event_id = ? AND comment = ?",
+                java.sql.Timestamp.valueOf("2024-06-02 09:30:00"), event.getId(), "Review 7");
+        entityManager.clear();
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private JsonNode getPage(String cursor) throws Exception {
+        var request = get("/api/events/" + event.getId() + "/reviews").param("size", "10");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void testReviewsStream_WalksEveryReviewOnceNewestFirst() throws Exception {
+        List<String> comments = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        String cursor = null;
+        do {
+            JsonNode page = getPage(cursor);
+            pageSizes.add(page.get("reviews").size());
+            page.get("reviews").forEach(review -> comments.add(review.get("comment").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        Set<String> distinct = new HashSet<>(comments);
+        assertEquals(REVIEW_COUNT, distinct.size());
+        assertEquals("Review 7", comments.get(0));
+    }
+
+    @Test
+    void testReviewsStream_IncludesAuthorAndIsPublic() throws Exception {
+        JsonNode first = getPage(null).get("reviews").get(0);
+
+        assertTrue(first.get("authorUsername").asText().startsWith("reviews.reviewer7."));
+        assertEquals(3, first.get("rating").asInt());
+    }
+
+    @Test
+    void testReviewsStream_RejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/events/" + event.getId() + "/reviews").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void testReviewsStream_HiddenForDeactivatedOrUnknownEvents() throws Exception {
+        event.setDeactivated(true);
+        eventRepository.saveAndFlush(event);
+
+        mockMvc.perform(get("/api/events/" + event.getId() + "/reviews"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/events/" + event.getId() + "/reviews").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events/" + (event.getId() + 100_000) + "/reviews"))
+                .andExpect(status().isNotFound());
+    }
+}
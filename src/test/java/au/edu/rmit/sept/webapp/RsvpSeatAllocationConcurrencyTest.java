@@ -0,0 +1,249 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Concurrency tests for RSVP seat allocation
+ * Hundreds of users RSVP to a small event at once, the conditional UPDATE on events.rsvp_count
+ * must admit exactly capacity of them. Not @Transactional: every RSVP commits on its own thread,
+ * test data is removed afterwards.
+ */
+@SpringBootTest
+class RsvpSeatAllocationConcurrencyTest {
+
+    private static final int THREADS = 200;
+    private static final int CAPACITY = 50;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String testIdentifier;
+    private Category category;
+    private User organiser;
+    private final List<User> users = new ArrayList<>();
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testIdentifier = "SEATS_" + UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        // one hash for everyone, bcrypt per user would dominate the test
+        String password = passwordEncoder.encode("Test123!");
+        organiser = newUser("seats.organiser." + testIdentifier, password);
+        List<User> attendees = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User user = new User();
+            user.setUsername("seats.attendee" + i + "." + testIdentifier);
+            user.setEmail("seats.attendee" + i + "." + testIdentifier + "@test.com");
+            user.setPassword(password);
+            user.setEnabled(true);
+            attendees.add(user);
+        }
+        users.addAll(userRepository.saveAll(attendees));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Event event : events) {
+            jdbcTemplate.update("DELETE FROM rsvp WHERE event_id = ?", event.getId());
+            eventRepository.deleteById(event.getId());
+        }
+        userRepository.deleteAll(users);
+        userRepository.delete(organiser);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Event newEvent(Integer capacity) {
+        Event event = new Event();
+        event.setTitle(testIdentifier + "_Event_" + events.size());
+        event.setDescription("Testing concurrent seat allocation");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(capacity);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        Event saved = eventRepository.save(event);
+        events.add(saved);
+        return saved;
+    }
+
+    private int rsvpCount(Event event) {
+        return jdbcTemplate.queryForObject("SELECT rsvp_count FROM events WHERE id = ?", Integer.class, event.getId());
+    }
+
+    /**
+     * Every user RSVPs from its own thread, released together.
+     *
+     * @return Failures other than "This event is full"
+     */
+    private List<Throwable> rsvpAllAtOnce(Event event, BiConsumer<User, Event> rsvp, AtomicInteger admitted,
+                                          AtomicInteger full) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (User user : users) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    rsvp.accept(user, event);
+                    admitted.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    if ("This event is full".equals(e.getMessage())) {
+                        full.incrementAndGet();
+                    } else {
+                        failures.add(e);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        return new ArrayList<>(failures);
+    }
+
+    @Test
+    void testConcurrentRsvps_NeverOverbook() throws Exception {
+        Event event = newEvent(CAPACITY);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+
+        List<Throwable> failures = rsvpAllAtOnce(event, rsvpService::createRSVP, admitted, full);
+
+        assertEquals(List.of(), failures);
+        assertEquals(CAPACITY, admitted.get());
+        assertEquals(THREADS - CAPACITY, full.get());
+        assertEquals(CAPACITY, rsvpRepository.countByEvent(event));
+        assertEquals(CAPACITY, rsvpCount(event));
+    }
+
+    @Test
+    void testCancelledRsvp_FreesItsSeat() {
+        Event event = newEvent(1);
+        rsvpService.createRSVP(users.get(0), event);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> rsvpService.createRSVP(users.get(1), event));
+        assertEquals("This event is full", exception.getMessage());
+
+        rsvpService.cancelRSVP(event.getId(), users.get(0).getUsername());
+        assertEquals(0, rsvpCount(event));
+
+        rsvpService.createRSVP(users.get(1), event);
+        assertEquals(1, rsvpCount(event));
+    }
+
+    /**
+     * RSVP throughput of the conditional UPDATE against the lock-count-insert alternative
+     * (SELECT ... FOR UPDATE on the event, COUNT the RSVPs, INSERT), THREADS users on one event.
+     * Both run only the seat check and the insert, without createRSVP's other checks and listeners.
+     * Run with -Dbenchmarks=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_ConditionalUpdateVersusPessimisticLock() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        BiConsumer<User, Event> conditional = (user, event) -> transaction.executeWithoutResult(status -> {
+            if (eventRepository.allocateSeat(event.getId()) == 0) {
+                throw new IllegalStateException("This event is full");
+            }
+            rsvpRepository.save(new RSVP(user, event));
+        });
+        BiConsumer<User, Event> pessimistic = (user, event) -> transaction.executeWithoutResult(status -> {
+            Event locked = eventRepository.findByIdWithLock(event.getId()).orElseThrow();
+            if (locked.getCapacity() != null && rsvpRepository.countByEvent(locked) >= locked.getCapacity()) {
+                throw new IllegalStateException("This event is full");
+            }
+            rsvpRepository.save(new RSVP(user, locked));
+        });
+
+        for (int round = 0; round < 5; round++) {
+            for (String strategy : List.of("conditional update", "pessimistic lock")) {
+                Event event = newEvent(THREADS);
+                AtomicInteger admitted = new AtomicInteger();
+                long start = System.nanoTime();
+                List<Throwable> failures = rsvpAllAtOnce(event,
+                        strategy.equals("conditional update") ? conditional : pessimistic,
+                        admitted, new AtomicInteger());
+                long elapsed = System.nanoTime() - start;
+
+                assertEquals(List.of(), failures);
+                assertEquals(THREADS, rsvpRepository.countByEvent(event));
+                System.out.printf("RSVP %s, round %d: %d RSVPs in %.1f ms, %.0f RSVPs/sec%n", strategy, round,
+                        admitted.get(), elapsed / 1e6, admitted.get() * 1e9 / elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+import au.edu.rmit.sept.webapp.service.SeatHoldService;
+import au.edu.rmit.sept.webapp.service.WaitlistService;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Tests for seat holds on paid RSVPs
+ * Releases run in their own transactions and promote the waitlist after commit, so these tests
+ * aren't @Transactional: every step commits, test data is removed afterwards.
+ */
+// sweeps and promotions are driven by the tests
+@SpringBootTest(properties = {
+        "seat-hold.sweep-interval-ms=3600000",
+        "waitlist.promotion-interval-ms=3600000",
+        "waitlist.sweep-interval-ms=3600000"
+})
+class SeatHoldExpiryTest {
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organiser;
+    private User buyer;
+    private User waiting;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "HOLD_" + UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        String password = passwordEncoder.encode("Test123!");
+        organiser = userRepository.save(newUser("hold.organiser." + testIdentifier, password));
+        buyer = userRepository.save(newUser("hold.buyer." + testIdentifier, password));
+        waiting = userRepository.save(newUser("hold.waiting." + testIdentifier, password));
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Workshop");
+        event.setDescription("Testing seat holds");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(1);
+        event.setRequiresPayment(true);
+        event.setPrice(new BigDecimal("25.00"));
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM event_waitlist WHERE event_id = ?", event.getId());
+        jdbcTemplate.update("DELETE FROM rsvp WHERE event_id = ?", event.getId());
+        eventRepository.deleteById(event.getId());
+        userRepository.delete(buyer);
+        userRepository.delete(waiting);
+        userRepository.delete(organiser);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return user;
+    }
+
+    private void expireHold(Long rsvpId) {
+        jdbcTemplate.update("UPDATE rsvp SET hold_expires_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), rsvpId);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, event.getId());
+    }
+
+    private boolean hasRsvp(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rsvp WHERE event_id = ? AND user_id = ?",
+                Integer.class, event.getId(), user.getId()) > 0;
+    }
+
+    @Test
+    void testCreateRsvp_PaidEventTakesHold() {
+        RSVP rsvp = rsvpService.createRSVP(buyer, event);
+
+        assertEquals("pending", rsvp.getPaymentStatus());
+        assertNotNull(rsvp.getHoldExpiresAt());
+        assertTrue(rsvp.getHoldExpiresAt().isAfter(LocalDateTime.now().plusMinutes(25)));
+    }
+
+    @Test
+    void testSweep_ReleasesExpiredHoldAndPromotesWaitlist() {
+        RSVP rsvp = rsvpService.createRSVP(buyer, event);
+        waitlistService.join(event.getId(), waiting.getUsername());
+        expireHold(rsvp.getId());
+
+        assertEquals(1, seatHoldService.sweep());
+
+        assertFalse(hasRsvp(buyer));
+        assertEquals(0, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        // the freed seat goes to the head of the waitlist, who gets a hold of their own
+        assertEquals(1, waitlistService.promotePending());
+        assertTrue(hasRsvp(waiting));
+        assertEquals(1, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        assertEquals(1, count("SELECT COUNT(*) FROM rsvp WHERE event_id = ? AND hold_expires_at IS NOT NULL"));
+    }
+
+    @Test
+    void testTick_ReleasesHoldsFromTheWheel() throws Exception {
+        RSVP rsvp = rsvpService.createRSVP(buyer, event);
+        expireHold(rsvp.getId());
+        seatHoldService.track(rsvp.getId(), LocalDateTime.now().minusMinutes(1));
+
+        // due on the wheel's next tick, the scheduled tick may get there first
+        for (int i = 0; i < 30 && hasRsvp(buyer); i++) {
+            seatHoldService.tick();
+            Thread.sleep(100);
+        }
+
+        assertFalse(hasRsvp(buyer));
+        assertEquals(0, count("SELECT rsvp_count FROM events WHERE id = ?"));
+    }
+
+    @Test
+    void testExtend_CappedPastOriginalHold() {
+        RSVP rsvp = rsvpService.createRSVP(buyer, event);
+
+        // a checkout started during the original 30 minute hold is covered
+        assertTrue(seatHoldService.extend(rsvp.getId(), LocalDateTime.now().plusMinutes(41), 41));
+        assertFalse(seatHoldService.extend(rsvp.getId(), LocalDateTime.now().plusMinutes(80), 41));
+
+        // once the original hold is over, another checkout can't push the hold further out
+        jdbcTemplate.update("UPDATE rsvp SET rsvp_date = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(35)), rsvp.getId());
+        assertFalse(seatHoldService.extend(rsvp.getId(), LocalDateTime.now().plusMinutes(41), 41));
+    }
+
+    @Test
+    void testPaidOrExtended_NotReleased() {
+        RSVP rsvp = rsvpService.createRSVP(buyer, event);
+        expireHold(rsvp.getId());
+
+        // an expired hold can't be extended any more
+        assertFalse(seatHoldService.extend(rsvp.getId(), LocalDateTime.now().plusMinutes(40), 41));
+
+        jdbcTemplate.update("UPDATE rsvp SET payment_status = 'paid' WHERE id = ?", rsvp.getId());
+        seatHoldService.sweep();
+        assertTrue(hasRsvp(buyer));
+        assertEquals(1, count("SELECT rsvp_count FROM events WHERE id = ?"));
+    }
+}
@@ -0,0 +1,253 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.RSVP;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.CheckInService;
+import au.edu.rmit.sept.webapp.service.TicketTokenService;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for door check-in
+ * Ticket QR codes carry signed tokens, the organiser scans them into the check-in API,
+ * admitted tickets are written to rsvp.checked_in_at in batches
+ */
+// scheduled flushes would run outside the test transaction, where the test RSVPs aren't visible
+@SpringBootTest(properties = "check-in.flush-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Transactional
+class TicketCheckInAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TicketTokenService ticketTokenService;
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User organiser;
+    private User attendee;
+    private Event event;
+    private Event otherEvent;
+    private RSVP rsvp;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "DOOR_" + UUID.randomUUID().toString().substring(0, 8);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        organiser = newUser("door.organiser." + testIdentifier);
+        attendee = newUser("door.attendee." + testIdentifier);
+        event = newEvent(testIdentifier + "_Concert", category);
+        otherEvent = newEvent(testIdentifier + "_Other", category);
+        rsvp = rsvpRepository.saveAndFlush(new RSVP(attendee, event));
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Event newEvent(String title, Category category) {
+        Event newEvent = new Event();
+        newEvent.setTitle(title);
+        newEvent.setDescription("Testing door check-in");
+        newEvent.setEventDate(LocalDate.now().plusDays(3));
+        newEvent.setEventTime(LocalTime.of(19, 0));
+        newEvent.setLocation("Test Venue");
+        newEvent.setCategory(category);
+        newEvent.setCreatedBy(organiser);
+        return eventRepository.save(newEvent);
+    }
+
+    private ResultActions scan(String username, String... tokens) throws Exception {
+        return mockMvc.perform(post("/api/events/" + event.getId() + "/check-in")
+                .with(user(username)).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("tokens", List.of(tokens)))));
+    }
+
+    private JsonNode results(ResultActions response) throws Exception {
+        return objectMapper.readTree(response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("results");
+    }
+
+    @Test
+    void testScan_AdmitsOnceThenFlagsDuplicate() throws Exception {
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+
+        JsonNode first = results(scan(organiser.getUsername(), token));
+        assertEquals("ADMITTED", first.get(0).get("status").asText());
+        assertEquals(attendee.getUsername(), first.get(0).get("username").asText());
+
+        JsonNode second = results(scan(organiser.getUsername(), token));
+        assertEquals("ALREADY_CHECKED_IN", second.get(0).get("status").asText());
+
+        // nothing written until the flush
+        assertNull(jdbcTemplate.queryForObject("SELECT checked_in_at FROM rsvp WHERE id = ?",
+                Timestamp.class, rsvp.getId()));
+        assertTrue(checkInService.flush() >= 1);
+        assertNotNull(jdbcTemplate.queryForObject("SELECT checked_in_at FROM rsvp WHERE id = ?",
+                Timestamp.class, rsvp.getId()));
+    }
+
+    @Test
+    void testScan_RejectsForgedWrongEventAndCancelledTickets() throws Exception {
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+        // last character changed, the signature no longer matches
+        String forged = token.substring(0, token.length() - 1) + (token.endsWith("A") ? "B" : "A");
+        String otherEventTicket = ticketTokenService.issue(otherEvent.getId(), rsvp.getId());
+        String cancelledTicket = ticketTokenService.issue(event.getId(), rsvp.getId() + 1_000_000);
+
+        JsonNode results = results(scan(organiser.getUsername(), forged, otherEventTicket, cancelledTicket, "junk"));
+
+        assertEquals("INVALID", results.get(0).get("status").asText());
+        assertEquals("WRONG_EVENT", results.get(1).get("status").asText());
+        assertEquals("NOT_FOUND", results.get(2).get("status").asText());
+        assertEquals("INVALID", results.get(3).get("status").asText());
+    }
+
+    @Test
+    void testScan_RefusesTicketUntilPaid() throws Exception {
+        rsvp.setPaymentStatus("pending");
+        rsvp = rsvpRepository.saveAndFlush(rsvp);
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+
+        JsonNode refused = results(scan(organiser.getUsername(), token));
+        assertEquals("NOT_PAID", refused.get(0).get("status").asText());
+        String body = mockMvc.perform(get("/api/events/" + event.getId() + "/check-in/manifest")
+                        .with(user(organiser.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(0, objectMapper.readTree(body).get("tickets").size());
+        mockMvc.perform(get("/events/" + event.getId() + "/tickets/" + rsvp.getId() + "/qr.svg")
+                        .with(user(attendee.getUsername())))
+                .andExpect(status().isNotFound());
+
+        // paid after the door was loaded
+        rsvp.setPaymentStatus("paid");
+        rsvpRepository.saveAndFlush(rsvp);
+        JsonNode admitted = results(scan(organiser.getUsername(), token));
+        assertEquals("ADMITTED", admitted.get(0).get("status").asText());
+    }
+
+    @Test
+    void testScan_OnlyOrganiserCanCheckIn() throws Exception {
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+
+        scan(attendee.getUsername(), token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testForbiddenRequests_DontLoadTheDoor() throws Exception {
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+        scan(attendee.getUsername(), token).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/events/" + event.getId() + "/check-in/manifest")
+                        .with(user(attendee.getUsername())))
+                .andExpect(status().isForbidden());
+
+        // saved directly, a door cached by the requests above wouldn't know this ticket
+        RSVP later = rsvpRepository.saveAndFlush(new RSVP(newUser("door.later." + UUID.randomUUID()), event));
+        String laterToken = ticketTokenService.issue(event.getId(), later.getId());
+
+        JsonNode admitted = results(scan(organiser.getUsername(), laterToken));
+        assertEquals("ADMITTED", admitted.get(0).get("status").asText());
+    }
+
+    @Test
+    void testManifest_ListsTicketsByTokenHash() throws Exception {
+        String token = ticketTokenService.issue(event.getId(), rsvp.getId());
+
+        String body = mockMvc.perform(get("/api/events/" + event.getId() + "/check-in/manifest")
+                        .with(user(organiser.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("attachment")))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tickets = objectMapper.readTree(body).get("tickets");
+
+        assertEquals(1, tickets.size());
+        assertEquals(rsvp.getId().longValue(), tickets.get(0).get("rsvpId").asLong());
+        assertEquals(CheckInService.tokenHash(token), tickets.get(0).get("tokenHash").asText());
+        assertFalse(tickets.get(0).get("checkedIn").asBoolean());
+        // the token itself isn't in the manifest
+        assertFalse(body.contains(token));
+    }
+
+    @Test
+    void testTicketQr_EncodesSignedTokenForOwnerOnly() throws Exception {
+        mockMvc.perform(get("/events/" + event.getId() + "/tickets/" + rsvp.getId() + "/qr.svg")
+                        .with(user(attendee.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/svg+xml"));
+
+        mockMvc.perform(get("/events/" + event.getId() + "/tickets/" + rsvp.getId() + "/qr.svg")
+                        .with(user(organiser.getUsername())))
+                .andExpect(status().isNotFound());
+    }
+}
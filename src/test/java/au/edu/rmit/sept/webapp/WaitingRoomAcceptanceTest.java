@@ -0,0 +1,179 @@
+package au.edu.rmit.sept.webapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.WaitingRoomService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Acceptance tests for the virtual waiting room
+ * RSVPs to an event with a waiting room queue first, admitted users RSVP for real
+ */
+// releases and refreshes are driven by the tests, the test event isn't visible outside the transaction
+@SpringBootTest(properties = {
+        "waiting-room.release-interval-ms=3600000",
+        "waiting-room.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Transactional
+class WaitingRoomAcceptanceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User organiser;
+    private User attendee;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String testIdentifier = "QUEUE_" + UUID.randomUUID().toString().substring(0, 8);
+
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        organiser = newUser("queue.organiser." + testIdentifier);
+        attendee = newUser("queue.attendee." + testIdentifier);
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Launch");
+        event.setDescription("Testing the waiting room");
+        event.setEventDate(LocalDate.now().plusDays(5));
+        event.setEventTime(LocalTime.of(20, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(100);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(passwordEncoder.encode("Test123!"));
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private void setWaitingRoom(String username, boolean enabled, int expectedStatus) throws Exception {
+        mockMvc.perform(post("/api/events/" + event.getId() + "/waiting-room")
+                        .with(user(username)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\": " + enabled + "}"))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    private JsonNode waitingRoomStatus(String token) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/events/" + event.getId() + "/waiting-room")
+                        .param("token", token)
+                        .with(user(attendee.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    @Test
+    void testRsvp_QueuedUntilAdmittedThenCreated() throws Exception {
+        setWaitingRoom(organiser.getUsername(), true, 200);
+
+        String redirect = mockMvc.perform(post("/rsvp/" + event.getId())
+                        .with(user(attendee.getUsername())).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+        assertNotNull(redirect);
+        assertTrue(redirect.startsWith("/rsvp/" + event.getId() + "/waiting-room?token="));
+        String token = redirect.substring(redirect.indexOf("token=") + "token=".length());
+        assertEquals(0, rsvpRepository.countByEvent(event));
+
+        JsonNode waiting = waitingRoomStatus(token);
+        assertEquals("WAITING", waiting.get("status").asText());
+        assertEquals(1, waiting.get("position").asLong());
+
+        mockMvc.perform(get(redirect).with(user(attendee.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(view().name("events/waiting-room"));
+
+        waitingRoomService.release();
+        assertEquals("ADMITTED", waitingRoomStatus(token).get("status").asText());
+
+        mockMvc.perform(post("/rsvp/" + event.getId())
+                        .with(user(attendee.getUsername())).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/events/" + event.getId()));
+        assertEquals(1, rsvpRepository.countByEvent(event));
+    }
+
+    @Test
+    void testRsvp_WithoutWaitingRoom_GoesStraightThrough() throws Exception {
+        mockMvc.perform(post("/rsvp/" + event.getId())
+                        .with(user(attendee.getUsername())).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/events/" + event.getId()));
+
+        assertEquals(1, rsvpRepository.countByEvent(event));
+    }
+
+    @Test
+    void testToggle_OnlyOrganiser() throws Exception {
+        setWaitingRoom(attendee.getUsername(), true, 403);
+        assertFalse(waitingRoomService.isEnabled(event.getId()));
+
+        setWaitingRoom(organiser.getUsername(), true, 200);
+        assertTrue(waitingRoomService.isEnabled(event.getId()));
+
+        setWaitingRoom(organiser.getUsername(), false, 200);
+        assertFalse(waitingRoomService.isEnabled(event.getId()));
+    }
+}
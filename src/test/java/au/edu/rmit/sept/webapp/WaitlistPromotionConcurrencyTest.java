@@ -0,0 +1,248 @@
+package au.edu.rmit.sept.webapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.RSVPService;
+import au.edu.rmit.sept.webapp.service.WaitlistService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the event waitlist
+ * Cancellations promote the head of the waitlist after they commit, so these tests aren't
+ * @Transactional: every step commits, test data is removed afterwards.
+ */
+// promotions are driven by the tests
+@SpringBootTest(properties = {
+        "waitlist.promotion-interval-ms=3600000",
+        "waitlist.sweep-interval-ms=3600000"
+})
+class WaitlistPromotionConcurrencyTest {
+
+    private static final int CAPACITY = 40;
+    private static final int WAITING = 80;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String testIdentifier;
+    private User organiser;
+    private Event event;
+    private final List<User> attendees = new ArrayList<>();
+    private final List<User> waiting = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testIdentifier = "WAITLIST_" + UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> {
+                    Category newCat = new Category();
+                    newCat.setName("TestCategory");
+                    return categoryRepository.save(newCat);
+                });
+
+        // one hash for everyone, bcrypt per user would dominate the test
+        String password = passwordEncoder.encode("Test123!");
+        organiser = userRepository.save(newUser("waitlist.organiser." + testIdentifier, password));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < CAPACITY + WAITING; i++) {
+            users.add(newUser("waitlist.user" + i + "." + testIdentifier, password));
+        }
+        users = userRepository.saveAll(users);
+        attendees.addAll(users.subList(0, CAPACITY));
+        waiting.addAll(users.subList(CAPACITY, users.size()));
+
+        event = new Event();
+        event.setTitle(testIdentifier + "_Event");
+        event.setDescription("Testing waitlist promotion");
+        event.setEventDate(LocalDate.now().plusDays(10));
+        event.setEventTime(LocalTime.of(18, 0));
+        event.setLocation("Test Venue");
+        event.setCapacity(CAPACITY);
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+        event = eventRepository.save(event);
+
+        for (User attendee : attendees) {
+            rsvpService.createRSVP(attendee, event);
+        }
+        for (User user : waiting) {
+            waitlistService.join(event.getId(), user.getUsername());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM event_waitlist WHERE event_id = ?", event.getId());
+        jdbcTemplate.update("DELETE FROM rsvp WHERE event_id = ?", event.getId());
+        eventRepository.deleteById(event.getId());
+        userRepository.deleteAll(attendees);
+        userRepository.deleteAll(waiting);
+        userRepository.delete(organiser);
+    }
+
+    private User newUser(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword(password);
+        user.setEnabled(true);
+        return user;
+    }
+
+    private boolean hasRsvp(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rsvp WHERE event_id = ? AND user_id = ?",
+                Integer.class, event.getId(), user.getId()) > 0;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, event.getId());
+    }
+
+    @Test
+    void testJoin_OnlyWhenFullAndNotAttending() {
+        assertEquals(1, waitlistService.getPosition(event.getId(), waiting.get(0).getUsername()));
+        assertEquals(WAITING, waitlistService.getPosition(event.getId(), waiting.get(WAITING - 1).getUsername()));
+
+        IllegalStateException attending = assertThrows(IllegalStateException.class,
+                () -> waitlistService.join(event.getId(), attendees.get(0).getUsername()));
+        assertEquals("You have already RSVP'd to this event", attending.getMessage());
+        IllegalStateException twice = assertThrows(IllegalStateException.class,
+                () -> waitlistService.join(event.getId(), waiting.get(0).getUsername()));
+        assertEquals("You are already on the waitlist for this event", twice.getMessage());
+
+        waitlistService.leave(event.getId(), waiting.get(0).getUsername());
+        assertEquals(1, waitlistService.getPosition(event.getId(), waiting.get(1).getUsername()));
+    }
+
+    @Test
+    void testCancel_PromotesHeadOfWaitlist() {
+        rsvpService.cancelRSVP(event.getId(), attendees.get(0).getUsername());
+        assertFalse(hasRsvp(waiting.get(0)));
+
+        assertEquals(1, waitlistService.promotePending());
+        assertTrue(hasRsvp(waiting.get(0)));
+        assertFalse(hasRsvp(waiting.get(1)));
+        assertEquals(0, waitlistService.getPosition(event.getId(), waiting.get(0).getUsername()));
+        assertEquals(1, waitlistService.getPosition(event.getId(), waiting.get(1).getUsername()));
+        assertEquals(CAPACITY, count("SELECT rsvp_count FROM events WHERE id = ?"));
+    }
+
+    @Test
+    void testPromote_SkipsDeactivatedAndStartedEvents() {
+        rsvpService.cancelRSVP(event.getId(), attendees.get(0).getUsername());
+
+        jdbcTemplate.update("UPDATE events SET is_deactivated = TRUE WHERE id = ?", event.getId());
+        assertEquals(0, waitlistService.promotePending());
+        waitlistService.promoteAll();
+        assertFalse(hasRsvp(waiting.get(0)));
+
+        jdbcTemplate.update("UPDATE events SET is_deactivated = FALSE, event_date = ?, event_time = ? WHERE id = ?",
+                LocalDate.now().minusDays(1), LocalTime.of(18, 0), event.getId());
+        assertEquals(0, waitlistService.promote(event.getId()));
+        waitlistService.promoteAll();
+        assertFalse(hasRsvp(waiting.get(0)));
+        assertEquals(CAPACITY - 1, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        assertEquals(WAITING, count("SELECT COUNT(*) FROM event_waitlist WHERE event_id = ?"));
+    }
+
+    @Test
+    void testConcurrentCancelAndPromote_FillsEverySeatOnce() throws Exception {
+        // every attendee cancels at once while several promoters run alongside
+        int promoters = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(CAPACITY + promoters);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (User attendee : attendees) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    rsvpService.cancelRSVP(event.getId(), attendee.getUsername());
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        for (int i = 0; i < promoters; i++) {
+            boolean sweep = i % 2 == 0;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int round = 0; round < 20; round++) {
+                        if (sweep) {
+                            waitlistService.promoteAll();
+                        } else {
+                            waitlistService.promotePending();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        assertEquals(List.of(), new ArrayList<>(failures));
+
+        // cancellations that committed after the last round, and promotions that lost their seats
+        // to a concurrent one, are picked up by the next run
+        waitlistService.promotePending();
+        waitlistService.promoteAll();
+
+        assertEquals(CAPACITY, count("SELECT COUNT(*) FROM rsvp WHERE event_id = ?"));
+        assertEquals(CAPACITY, count("SELECT COUNT(DISTINCT user_id) FROM rsvp WHERE event_id = ?"));
+        assertEquals(CAPACITY, count("SELECT rsvp_count FROM events WHERE id = ?"));
+        assertEquals(WAITING - CAPACITY, count("SELECT COUNT(*) FROM event_waitlist WHERE event_id = ?"));
+        assertEquals(0, count("SELECT COUNT(*) FROM event_waitlist w JOIN rsvp r " +
+                "ON r.event_id = w.event_id AND r.user_id = w.user_id WHERE w.event_id = ?"));
+        Set<Long> promoted = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM rsvp WHERE event_id = ?", Long.class, event.getId()));
+        for (User attendee : attendees) {
+            assertFalse(promoted.contains(attendee.getId()));
+        }
+    }
+}
@@ -2,16 +2,20 @@ package au.edu.rmit.sept.webapp.controller;
 
 import au.edu.rmit.sept.webapp.dto.EventCreateDTO;
 import au.edu.rmit.sept.webapp.dto.EventDetailsDTO;
+import au.edu.rmit.sept.webapp.dto.EventDetailsPage;
 import au.edu.rmit.sept.webapp.model.Category;
 import au.edu.rmit.sept.webapp.model.Event;
 import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
-import au.edu.rmit.sept.webapp.repository.RSVPRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
+import au.edu.rmit.sept.webapp.service.EventDetailsService;
 import au.edu.rmit.sept.webapp.service.EventService;
 import au.edu.rmit.sept.webapp.service.KeywordService;
-import au.edu.rmit.sept.webapp.service.ReviewService;
+import au.edu.rmit.sept.webapp.service.CoAttendanceService;
+import au.edu.rmit.sept.webapp.service.SimilarEventService;
+import au.edu.rmit.sept.webapp.service.TrendingService;
+import au.edu.rmit.sept.webapp.service.ViewCounterService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -29,6 +33,7 @@ import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -59,15 +64,25 @@ class EventControllerTest {
     private EventRepository eventRepository;
 
     @MockBean
-    private ReviewService reviewService;
+    private SimilarEventService similarEventService;
 
     @MockBean
-    private RSVPRepository rsvpRepository;
+    private CoAttendanceService coAttendanceService;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    private ViewCounterService viewCounterService;
+
+    @MockBean
+    private EventDetailsService eventDetailsService;
 
     private User testUser;
     private Event testEvent;
     private Category testCategory;
     private EventDetailsDTO testEventDetailsDTO;
+    private EventDetailsPage testDetailsPage;
 
     @BeforeEach
     void setUp() {
@@ -96,6 +111,7 @@ class EventControllerTest {
         testEventDetailsDTO.setTitle("Test Event");
         testEventDetailsDTO.setEventDate(LocalDate.now().plusDays(7));
         testEventDetailsDTO.setEventTime(LocalTime.of(14, 0));
+        testDetailsPage = new EventDetailsPage(testEventDetailsDTO, List.of(), 0.0, 0, new long[5]);
     }
 
     // ============== GET /events/{id} ==============
@@ -103,26 +119,21 @@ class EventControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void showEventDetails_Success_EventFound() throws Exception {
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(eventService.getEventById(eq(1L), any())).thenReturn(testEventDetailsDTO);
-        when(reviewService.getRecentReviewsForEvent(1L)).thenReturn(Arrays.asList());
-        when(reviewService.getAverageRatingForEvent(1L)).thenReturn(0.0);
-        when(reviewService.countReviewsForEvent(1L)).thenReturn(0L);
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("testuser", 1L)).thenReturn(false);
+        when(eventDetailsService.getDetailsPage(1L, "testuser", false)).thenReturn(testDetailsPage);
 
         mockMvc.perform(get("/events/1"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("events/event-details"))
                 .andExpect(model().attributeExists("event"));
 
-        verify(eventService).getEventById(eq(1L), any());
+        verify(eventDetailsService).getDetailsPage(1L, "testuser", false);
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void showEventDetails_EventNotFound_ThrowsException() throws Exception {
-        when(eventRepository.findById(999L)).thenReturn(Optional.empty());
+        when(eventDetailsService.getDetailsPage(eq(999L), any(), anyBoolean()))
+                .thenThrow(new EntityNotFoundException("Event not found"));
 
         mockMvc.perform(get("/events/999"))
                 .andExpect(status().is3xxRedirection())
@@ -132,8 +143,9 @@ class EventControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void showEventDetails_DeactivatedEvent_NonAdmin_ThrowsException() throws Exception {
-        testEvent.setDeactivated(true);
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        // deactivated events are only included for admins
+        when(eventDetailsService.getDetailsPage(1L, "testuser", false))
+                .thenThrow(new EntityNotFoundException("Event not found"));
 
         mockMvc.perform(get("/events/1"))
                 .andExpect(status().is3xxRedirection())
@@ -143,12 +155,7 @@ class EventControllerTest {
     @Test
     @WithMockUser(username = "adminuser", roles = "ADMIN")
     void showEventDetails_DeactivatedEvent_Admin_ShowsEvent() throws Exception {
-        testEvent.setDeactivated(true);
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-        when(eventService.getEventById(eq(1L), any())).thenReturn(testEventDetailsDTO);
-        when(reviewService.getRecentReviewsForEvent(1L)).thenReturn(Arrays.asList());
-        when(reviewService.getAverageRatingForEvent(1L)).thenReturn(0.0);
-        when(reviewService.countReviewsForEvent(1L)).thenReturn(0L);
+        when(eventDetailsService.getDetailsPage(1L, "adminuser", true)).thenReturn(testDetailsPage);
 
         mockMvc.perform(get("/events/1"))
                 .andExpect(status().isOk())
@@ -166,13 +173,8 @@ class EventControllerTest {
         deactivatedUser.setEmail("deactivated@example.com");
         deactivatedUser.setDeactivated(true);
 
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
         when(userRepository.findByUsername("deactivateduser")).thenReturn(Optional.of(deactivatedUser));
-        when(eventService.getEventById(eq(1L), any())).thenReturn(testEventDetailsDTO);
-        when(reviewService.getRecentReviewsForEvent(1L)).thenReturn(Arrays.asList());
-        when(reviewService.getAverageRatingForEvent(1L)).thenReturn(0.0);
-        when(reviewService.countReviewsForEvent(1L)).thenReturn(0L);
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("deactivateduser", 1L)).thenReturn(false);
+        when(eventDetailsService.getDetailsPage(1L, "deactivateduser", false)).thenReturn(testDetailsPage);
 
         // This test will FAIL because QR code sections are currently shown to deactivated users
         // Expected behavior: QR code sections should be hidden for deactivated users
@@ -183,7 +185,7 @@ class EventControllerTest {
                 .andExpect(model().attribute("ticketQrCodeUrl", (Object) null))  // QR should not be generated
                 .andExpect(model().attribute("eventQrCodeUrl", (Object) null));  // QR should not be generated
 
-        verify(eventService).getEventById(eq(1L), any());
+        verify(eventDetailsService).getDetailsPage(1L, "deactivateduser", false);
     }
 
     // ============== GET /events/create ==============
@@ -7,6 +7,8 @@ import au.edu.rmit.sept.webapp.repository.CategoryRepository;
 import au.edu.rmit.sept.webapp.security.CustomUserDetailsService;
 import au.edu.rmit.sept.webapp.service.EventService;
 import au.edu.rmit.sept.webapp.service.KeywordService;
+import au.edu.rmit.sept.webapp.service.SavedSearchService;
+import au.edu.rmit.sept.webapp.service.TrendingService;
 import au.edu.rmit.sept.webapp.service.UserService;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +75,12 @@ class HomeControllerClearKeywordTest {
     @MockBean
     private KeywordService keywordService;
 
+    @MockBean
+    private SavedSearchService savedSearchService;
+
+    @MockBean
+    private TrendingService trendingService;
+
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -0,0 +1,69 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.CategoryStatsSnapshot;
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryStatsServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryStatsService categoryStatsService;
+
+    @BeforeEach
+    void setUp() {
+        categoryStatsService = new CategoryStatsService(eventRepository, categoryRepository);
+        when(eventRepository.countUpcomingEventsPerCategory(any(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 3L }));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(2L, "Music"), category(1L, "Technology"),
+                category(3L, "Sports")));
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    @Test
+    void refresh_BuildsSnapshotFromGroupedCounts() {
+        categoryStatsService.refresh();
+        CategoryStatsSnapshot stats = categoryStatsService.getSnapshot();
+
+        assertEquals(3, stats.getTotalCategories());
+        // categories without upcoming events are absent
+        assertEquals(Map.of(1L, 3L), stats.getUpcomingCounts());
+        assertEquals(List.of("Technology", "Music", "Sports"),
+                stats.getCategories().stream().map(CategoryStatsSnapshot.CategoryCard::getName).toList());
+    }
+
+    @Test
+    void getSnapshot_SteadyState_NoQueries() {
+        categoryStatsService.refresh();
+        CategoryStatsSnapshot first = categoryStatsService.getSnapshot();
+        CategoryStatsSnapshot second = categoryStatsService.getSnapshot();
+
+        assertSame(first, second);
+        verify(eventRepository, times(1)).countUpcomingEventsPerCategory(any(), any());
+        verify(categoryRepository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,163 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CoAttendanceMatrix and the parallel rebuild and incremental updates in CoAttendanceService.
+ */
+class CoAttendanceMatrixTest {
+
+    private CoAttendanceMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = new CoAttendanceMatrix();
+    }
+
+    @Test
+    void add_IsSymmetric() {
+        matrix.add(1L, 2L, 1);
+        matrix.add(1L, 2L, 1);
+
+        assertEquals(2, matrix.get(1L, 2L));
+        assertEquals(2, matrix.get(2L, 1L));
+    }
+
+    @Test
+    void add_SameEvent_Ignored() {
+        matrix.add(1L, 1L, 1);
+
+        assertEquals(0, matrix.get(1L, 1L));
+        assertEquals(0, matrix.rowCount());
+    }
+
+    @Test
+    void add_CountReachingZero_RemovesCell() {
+        matrix.add(1L, 2L, 1);
+        matrix.add(1L, 2L, -1);
+        matrix.add(1L, 3L, -1);
+
+        assertEquals(0, matrix.get(1L, 2L));
+        assertEquals(0, matrix.get(1L, 3L));
+        assertEquals(0, matrix.cellCount());
+    }
+
+    @Test
+    void top_OrderedByCountAndFiltered() {
+        matrix.add(1L, 2L, 5);
+        matrix.add(1L, 3L, 9);
+        matrix.add(1L, 4L, 7);
+        matrix.add(1L, 5L, 1);
+
+        assertArrayEquals(new long[] { 3L, 4L }, matrix.top(1L, 2, id -> true));
+        assertArrayEquals(new long[] { 4L, 2L }, matrix.top(1L, 2, id -> id != 3L));
+        assertEquals(0, matrix.top(99L, 2, id -> true).length);
+    }
+
+    @Test
+    void row_RandomAddsAndRemoves_MatchesReferenceMap() {
+        // exercises resize and backward-shift deletion against a HashMap
+        Random random = new Random(7);
+        Map<Long, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long other = 2 + random.nextInt(500);
+            int delta = random.nextInt(3) == 0 ? -1 : 1;
+            matrix.add(1L, other, delta);
+            int updated = reference.getOrDefault(other, 0) + delta;
+            if (updated > 0) {
+                reference.put(other, updated);
+            } else {
+                reference.remove(other);
+            }
+        }
+
+        for (long other = 2; other < 502; other++) {
+            assertEquals(reference.getOrDefault(other, 0).intValue(), matrix.get(1L, other), "cell " + other);
+        }
+        assertEquals(reference.size() * 2L, matrix.cellCount());
+    }
+
+    @Test
+    void count_ParallelRebuild_MatchesSequentialCounts() {
+        Random random = new Random(11);
+        List<long[]> eventsPerUser = new ArrayList<>();
+        CoAttendanceMatrix expected = new CoAttendanceMatrix();
+        for (int user = 0; user < 10_000; user++) {
+            long[] ids = random.longs(2 + random.nextInt(5), 1, 300).distinct().toArray();
+            eventsPerUser.add(ids);
+            for (int i = 0; i < ids.length; i++) {
+                for (int j = i + 1; j < ids.length; j++) {
+                    expected.add(ids[i], ids[j], 1);
+                }
+            }
+        }
+
+        CoAttendanceMatrix counted = CoAttendanceService.count(eventsPerUser);
+
+        assertEquals(expected.cellCount(), counted.cellCount());
+        for (long x = 1; x < 300; x++) {
+            for (long y = 1; y < 300; y++) {
+                assertEquals(expected.get(x, y), counted.get(x, y));
+            }
+        }
+    }
+
+    @Test
+    void onRsvpChanged_UsersPastTheCap_MatchesRebuild() {
+        RSVPRepository rsvpRepository = mock(RSVPRepository.class);
+        CoAttendanceService incremental = new CoAttendanceService(rsvpRepository, null);
+        Random random = new Random(5);
+        Map<Long, List<Long>> rsvps = new HashMap<>();
+        when(rsvpRepository.findEventIdsByUserId(anyLong())).thenAnswer(invocation ->
+                new ArrayList<>(rsvps.getOrDefault(invocation.<Long>getArgument(0), List.of())));
+        // an attended event is cancelled a third of the times it's picked, so each user settles
+        // around 225 of 300 events, past MAX_EVENTS_PER_USER
+        for (int step = 0; step < 6_000; step++) {
+            long userId = 1 + random.nextInt(3);
+            List<Long> events = rsvps.computeIfAbsent(userId, k -> new ArrayList<>());
+            Long eventId = 1L + random.nextInt(300);
+            boolean attending = !events.contains(eventId);
+            if (attending) {
+                events.add(eventId);
+            } else if (random.nextInt(3) == 0) {
+                events.remove(eventId);
+            } else {
+                continue;
+            }
+            incremental.onRsvpChanged(new RsvpChangedEvent(eventId, userId, attending));
+        }
+        assertTrue(rsvps.values().stream().allMatch(events -> events.size() > CoAttendanceService.MAX_EVENTS_PER_USER));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            for (Long eventId : rsvps.get(userId)) {
+                rows.add(new Object[] { userId, eventId });
+            }
+        }
+        when(rsvpRepository.findAttendanceRows()).thenReturn(rows);
+        CoAttendanceService rebuilt = new CoAttendanceService(rsvpRepository, null);
+        rebuilt.rebuild();
+
+        CoAttendanceMatrix expected = rebuilt.currentMatrix();
+        CoAttendanceMatrix actual = incremental.currentMatrix();
+        assertEquals(expected.cellCount(), actual.cellCount());
+        for (long x = 1; x <= 300; x++) {
+            for (long y = 1; y <= 300; y++) {
+                assertEquals(expected.get(x, y), actual.get(x, y), "cell " + x + "," + y);
+            }
+        }
+    }
+}
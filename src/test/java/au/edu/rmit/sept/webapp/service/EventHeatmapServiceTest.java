@@ -0,0 +1,92 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventHeatmapServiceTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDate APRIL_1 = LocalDate.of(2026, 4, 1);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventHeatmapService eventHeatmapService;
+
+    @BeforeEach
+    void setUp() {
+        eventHeatmapService = new EventHeatmapService(eventRepository);
+    }
+
+    private static List<Object[]> rows(Object... dateCountPairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < dateCountPairs.length; i += 2) {
+            rows.add(new Object[] { dateCountPairs[i], dateCountPairs[i + 1] });
+        }
+        return rows;
+    }
+
+    @Test
+    void getDailyCounts_SecondCallServedFromCache() {
+        when(eventRepository.countPerDayBetween(MARCH_1, APRIL_1))
+                .thenReturn(rows(MARCH_1.plusDays(2), 3L, MARCH_1.plusDays(9), 1L));
+
+        assertEquals(Map.of(MARCH_1.plusDays(2), 3, MARCH_1.plusDays(9), 1),
+                eventHeatmapService.getDailyCounts(MARCH_1, APRIL_1));
+        assertEquals(1, eventHeatmapService.countBetween(MARCH_1.plusDays(5), MARCH_1.plusDays(12)));
+
+        verify(eventRepository, times(1)).countPerDayBetween(any(), any());
+    }
+
+    @Test
+    void getDailyCounts_RangeOverSeveralMonths_OneQuery() {
+        LocalDate start = LocalDate.of(2026, 1, 15);
+        LocalDate end = LocalDate.of(2026, 6, 15);
+        when(eventRepository.countPerDayBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 7, 1)))
+                .thenReturn(rows(LocalDate.of(2026, 1, 10), 5L, LocalDate.of(2026, 2, 28), 2L,
+                        LocalDate.of(2026, 6, 20), 4L));
+
+        // 10 Jan and 20 Jun fall outside the range
+        assertEquals(Map.of(LocalDate.of(2026, 2, 28), 2), eventHeatmapService.getDailyCounts(start, end));
+        assertEquals(6, eventHeatmapService.cachedMonthCount());
+    }
+
+    @Test
+    void eventChanges_EvictOnlyTheirMonth() {
+        when(eventRepository.countPerDayBetween(any(), any())).thenReturn(List.of());
+        eventHeatmapService.getDailyCounts(LocalDate.of(2026, 2, 1), APRIL_1);
+
+        eventHeatmapService.onEventCreated(new EventCreatedEvent(1L, MARCH_1.plusDays(4)));
+        eventHeatmapService.getDailyCounts(LocalDate.of(2026, 2, 1), APRIL_1);
+        eventHeatmapService.onEventStatusChanged(new EventStatusChangedEvent(1L, MARCH_1.plusDays(4),
+                EventStatusChangedEvent.Status.DELETED, 0));
+        eventHeatmapService.getDailyCounts(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 1));
+
+        // first load Feb-Mar, then March alone, the February-only request is cached
+        verify(eventRepository).countPerDayBetween(LocalDate.of(2026, 2, 1), APRIL_1);
+        verify(eventRepository).countPerDayBetween(MARCH_1, APRIL_1);
+        verifyNoMoreInteractions(eventRepository);
+    }
+
+    @Test
+    void getDailyCounts_InvalidRanges_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> eventHeatmapService.getDailyCounts(APRIL_1, MARCH_1));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventHeatmapService.getDailyCounts(MARCH_1, MARCH_1.plusDays(EventHeatmapService.MAX_RANGE_DAYS + 1)));
+        verifyNoInteractions(eventRepository);
+    }
+}
@@ -11,6 +11,7 @@ import au.edu.rmit.sept.webapp.model.RSVP;
 import au.edu.rmit.sept.webapp.model.User;
 import au.edu.rmit.sept.webapp.model.CancelledRSVP;
 import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRatingSummaryRepository;
 import au.edu.rmit.sept.webapp.repository.EventRepository;
 import au.edu.rmit.sept.webapp.repository.RSVPRepository;
 import au.edu.rmit.sept.webapp.repository.UserRepository;
@@ -25,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -86,6 +88,21 @@ class EventServiceTest {
     @Mock
     private StripeService stripeService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventRatingSummaryRepository ratingSummaryRepository;
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    @Mock
+    private EventMembershipService eventMembershipService;
+
+    @Mock
+    private EventDeletionService eventDeletionService;
+
     @InjectMocks
     private EventService eventService;
 
@@ -201,8 +218,7 @@ class EventServiceTest {
         when(eventRepository.findUpcomingEvents(any(LocalDate.class), any(LocalTime.class), any(Pageable.class)))
                 .thenReturn(eventPage);
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(15L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(true);
+        when(eventMembershipService.isAttending(1L, 1L)).thenReturn(true);
 
         // Act
         List<EventCardDTO> result = eventService.getUpcomingEvents(1L, null, null);
@@ -377,7 +393,6 @@ class EventServiceTest {
         // Arrange
         when(eventRepository.findWithKeywordsById(1L)).thenReturn(Optional.of(futureEvent));
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(2L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         // Create mock RSVPs with attendees
         User attendee1 = new User();
@@ -388,14 +403,11 @@ class EventServiceTest {
         attendee2.setId(4L);
         attendee2.setUsername("attendee2");
 
-        RSVP rsvp1 = new RSVP(attendee1, futureEvent);
-        rsvp1.setRsvpDate(LocalDateTime.now().minusDays(2));
-
-        RSVP rsvp2 = new RSVP(attendee2, futureEvent);
-        rsvp2.setRsvpDate(LocalDateTime.now().minusDays(1));
-
-        List<RSVP> rsvps = Arrays.asList(rsvp1, rsvp2);
-        when(rsvpRepository.findByEventIdWithUsers(1L)).thenReturn(rsvps);
+        // (rsvp id, username, rsvp date) rows
+        List<Object[]> rows = Arrays.asList(
+                new Object[] { 11L, attendee1.getUsername(), LocalDateTime.now().minusDays(2) },
+                new Object[] { 12L, attendee2.getUsername(), LocalDateTime.now().minusDays(1) });
+        when(rsvpRepository.findAttendeePage(eq(1L), any(Pageable.class))).thenReturn(rows);
 
         // Act
         EventDetailsDTO result = eventService.getEventById(1L, 1L);
@@ -406,6 +418,7 @@ class EventServiceTest {
         assertEquals(2, result.getAttendees().size());
         assertEquals("attendee1", result.getAttendees().get(0).getUsername());
         assertEquals("attendee2", result.getAttendees().get(1).getUsername());
+        assertNull(result.getAttendeesNextCursor());
     }
 
     @Test
@@ -421,7 +434,7 @@ class EventServiceTest {
         assertNotNull(result);
         assertNotNull(result.getAttendees());
         assertTrue(result.getAttendees().isEmpty());
-        verify(rsvpRepository, never()).findByEventIdWithUsers(anyLong());
+        verify(rsvpRepository, never()).findAttendeePage(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -429,9 +442,8 @@ class EventServiceTest {
         // Arrange
         when(eventRepository.findWithKeywordsById(1L)).thenReturn(Optional.of(futureEvent));
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(10L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(true);
-        when(rsvpRepository.findByEventIdWithUsers(1L)).thenReturn(new ArrayList<>());
+        when(eventMembershipService.isAttending(1L, 1L)).thenReturn(true);
+        when(rsvpRepository.findAttendeePage(eq(1L), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         EventDetailsDTO result = eventService.getEventById(1L, 1L);
@@ -471,6 +483,11 @@ class EventServiceTest {
         assertEquals(40, capturedEvent.getCapacity());
         assertEquals(testCreator, capturedEvent.getCreatedBy());
         assertEquals(techCategory, capturedEvent.getCategory());
+
+        // creation published for saved search matching
+        ArgumentCaptor<EventCreatedEvent> publishedCaptor = ArgumentCaptor.forClass(EventCreatedEvent.class);
+        verify(eventPublisher).publishEvent(publishedCaptor.capture());
+        assertEquals(100L, publishedCaptor.getValue().getEventId());
     }
 
     @Test
@@ -903,14 +920,14 @@ class EventServiceTest {
     void deleteEvent_Success_CreatorDeletesEvent() {
         // Arrange
         when(eventRepository.findById(1L)).thenReturn(Optional.of(futureEvent));
+        when(eventDeletionService.requestDeletion(futureEvent, 2L)).thenReturn(true);
 
         // Act
         eventService.deleteEvent(1L, 2L); // testCreator (ID=2) deletes their event
 
         // Assert
         verify(eventRepository).findById(1L);
-        verify(rsvpRepository).deleteByActiveEvent(1L);
-        verify(eventRepository).deleteActiveEventById(1L);
+        verify(eventDeletionService).requestDeletion(futureEvent, 2L);
     }
 
     @Test
@@ -918,6 +935,7 @@ class EventServiceTest {
         // Arrange
         when(eventRepository.findById(1L)).thenReturn(Optional.of(futureEvent));
         when(userService.hasRole(99L, "ROLE_ADMIN")).thenReturn(true); // Admin user
+        when(eventDeletionService.requestDeletion(futureEvent, 99L)).thenReturn(true);
 
         // Act
         eventService.deleteEvent(1L, 99L); // Admin (not creator) deletes event
@@ -925,8 +943,7 @@ class EventServiceTest {
         // Assert
         verify(eventRepository).findById(1L);
         verify(userService).hasRole(99L, "ROLE_ADMIN");
-        verify(rsvpRepository).deleteByActiveEvent(1L);
-        verify(eventRepository).deleteActiveEventById(1L);
+        verify(eventDeletionService).requestDeletion(futureEvent, 99L);
     }
 
     @Test
@@ -940,8 +957,7 @@ class EventServiceTest {
                 () -> eventService.deleteEvent(1L, 99L)); // Non-creator, non-admin tries to delete
 
         verify(eventRepository).findById(1L);
-        verify(rsvpRepository, never()).deleteByActiveEvent(anyLong());
-        verify(eventRepository, never()).deleteActiveEventById(anyLong());
+        verify(eventDeletionService, never()).requestDeletion(any(), anyLong());
     }
 
     @Test
@@ -955,8 +971,7 @@ class EventServiceTest {
 
         assertTrue(exception.getMessage().contains("Cannot delete an event that has already started"));
         verify(eventRepository).findById(2L);
-        verify(rsvpRepository, never()).deleteByActiveEvent(anyLong());
-        verify(eventRepository, never()).deleteActiveEventById(anyLong());
+        verify(eventDeletionService, never()).requestDeletion(any(), anyLong());
     }
 
     @Test
@@ -970,23 +985,33 @@ class EventServiceTest {
 
         assertTrue(exception.getMessage().contains("Event not found"));
         verify(eventRepository).findById(999L);
-        verify(rsvpRepository, never()).deleteByActiveEvent(anyLong());
-        verify(eventRepository, never()).deleteActiveEventById(anyLong());
+        verify(eventDeletionService, never()).requestDeletion(any(), anyLong());
     }
 
     @Test
-    void deleteEvent_VerifiesCascadeDeletion() {
+    void deleteEvent_LeavesCascadeToBackgroundDeletion() {
         // Arrange
         when(eventRepository.findById(1L)).thenReturn(Optional.of(futureEvent));
-
-        org.mockito.InOrder inOrder = inOrder(rsvpRepository, eventRepository);
+        when(eventDeletionService.requestDeletion(futureEvent, 2L)).thenReturn(true);
 
         // Act
         eventService.deleteEvent(1L, 2L);
 
-        // Assert - RSVPs must be deleted BEFORE event
-        inOrder.verify(rsvpRepository).deleteByActiveEvent(1L);
-        inOrder.verify(eventRepository).deleteActiveEventById(1L);
+        // Assert - nothing is deleted in the request, EventDeletionService removes the rows in chunks
+        verify(eventDeletionService).requestDeletion(futureEvent, 2L);
+    }
+
+    @Test
+    void deleteEvent_DeactivatedEvent_ThrowsException() {
+        // Arrange - EventDeletionService only hides active events
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(futureEvent));
+        when(eventDeletionService.requestDeletion(futureEvent, 2L)).thenReturn(false);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> eventService.deleteEvent(1L, 2L));
+
+        assertEquals("Event is deactivated", exception.getMessage());
     }
 
     @Test
@@ -1000,7 +1025,7 @@ class EventServiceTest {
                 () -> eventService.deleteEvent(1L, 1L));
 
         verify(eventRepository).findById(1L);
-        verify(rsvpRepository, never()).deleteByActiveEvent(anyLong());
+        verify(eventDeletionService, never()).requestDeletion(any(), anyLong());
     }
 
     // ============== getUserRSVPEvents Tests ==============
@@ -1011,8 +1036,7 @@ class EventServiceTest {
         List<Event> rsvpEvents = Arrays.asList(futureEvent);
         when(rsvpRepository.findUpcomingEventsByUserId(1L)).thenReturn(rsvpEvents);
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(15L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(true);
+        when(eventMembershipService.isAttending(1L, 1L)).thenReturn(true);
 
         // Act
         List<EventCardDTO> result = eventService.getUserRSVPEvents(1L);
@@ -1087,8 +1111,6 @@ class EventServiceTest {
         when(eventRepository.findUpcomingEventsByCreatedBy(eq(2L), any(LocalDate.class), any(LocalTime.class), any(Pageable.class)))
                 .thenReturn(createdEvents);
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(20L);
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testCreator));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("jane.smith", 1L)).thenReturn(false);
 
         // Act
         List<EventCardDTO> result = eventService.getUserCreatedEvents(2L);
@@ -1513,9 +1535,7 @@ class EventServiceTest {
     void getEventById_UserBlocked_SetsBlockedStatus() {
         when(eventRepository.findWithKeywordsById(1L)).thenReturn(Optional.of(futureEvent));
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(0L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(false);
-        when(blockedRSVPRepository.existsByEvent_IdAndUser_Id(1L, 1L)).thenReturn(true);
+        when(eventMembershipService.isBlocked(1L, 1L)).thenReturn(true);
 
         EventDetailsDTO result = eventService.getEventById(1L, 1L);
 
@@ -1558,10 +1578,8 @@ class EventServiceTest {
 
         when(eventRepository.findWithKeywordsById(1L)).thenReturn(Optional.of(futureEvent));
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(rsvpRepository.existsByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(true);
-        when(rsvpRepository.findByUser_UsernameAndEvent_Id("john.doe", 1L)).thenReturn(Optional.of(rsvp));
-        when(blockedRSVPRepository.existsByEvent_IdAndUser_Id(1L, 1L)).thenReturn(false);
+        when(eventMembershipService.isAttending(1L, 1L)).thenReturn(true);
+        when(rsvpRepository.findByUser_IdAndEvent_Id(1L, 1L)).thenReturn(Optional.of(rsvp));
 
         EventDetailsDTO result = eventService.getEventById(1L, 1L);
 
@@ -1628,7 +1646,6 @@ class EventServiceTest {
     void getEventById_UserNotFoundById_DefaultsRSVPStatus() {
         when(eventRepository.findWithKeywordsById(1L)).thenReturn(Optional.of(futureEvent));
         when(rsvpRepository.countByEvent(futureEvent)).thenReturn(0L);
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
         EventDetailsDTO result = eventService.getEventById(1L, 99L);
 
@@ -0,0 +1,81 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimingWheelTest {
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void advance_ReturnsEntriesOnceTheirDeadlinePasses() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1_000, 16, 0);
+        wheel.add(1, 2_000);
+        wheel.add(2, 2_500);
+        wheel.add(3, 5_000);
+
+        assertArrayEquals(new long[0], wheel.advance(1_999));
+        // rounded up to the next tick, never early
+        assertArrayEquals(new long[] { 1 }, wheel.advance(2_000));
+        assertArrayEquals(new long[] { 2 }, wheel.advance(3_000));
+        assertArrayEquals(new long[0], wheel.advance(3_000));
+        assertEquals(1, wheel.size());
+        assertArrayEquals(new long[] { 3 }, wheel.advance(9_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_DeadlinesBeyondOneRevolutionWaitForTheirTurn() {
+        // 4 slots of a second, a deadline 10 seconds out shares a slot with earlier ones
+        HoldTimingWheel wheel = new HoldTimingWheel(1_000, 4, 0);
+        wheel.add(1, 10_000);
+        wheel.add(2, 2_000);
+
+        assertArrayEquals(new long[] { 2 }, wheel.advance(2_000));
+        assertArrayEquals(new long[0], wheel.advance(6_000));
+        assertArrayEquals(new long[0], wheel.advance(9_000));
+        assertArrayEquals(new long[] { 1 }, wheel.advance(10_000));
+    }
+
+    @Test
+    void advance_AfterALongPauseVisitsEverySlotOnce() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1_000, 8, 0);
+        for (long id = 1; id <= 20; id++) {
+            wheel.add(id, id * 1_000);
+        }
+
+        long[] expired = wheel.advance(60_000);
+
+        assertEquals(20, expired.length);
+        assertEquals(20, sorted(expired)[19]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void add_AlreadyDue_ExpiresOnNextTick() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1_000, 16, 5_000);
+        wheel.add(7, 1_000);
+
+        assertArrayEquals(new long[0], wheel.advance(5_500));
+        assertArrayEquals(new long[] { 7 }, wheel.advance(6_000));
+    }
+
+    @Test
+    void advance_ManyHoldsInOneSlot() {
+        HoldTimingWheel wheel = new HoldTimingWheel(1_000, 4096, 0);
+        for (long id = 0; id < 50_000; id++) {
+            wheel.add(id, 1_800_000 + (id % 2) * 1_000);
+        }
+
+        assertEquals(25_000, wheel.advance(1_800_000).length);
+        assertEquals(25_000, wheel.size());
+        assertEquals(25_000, wheel.advance(1_801_000).length);
+    }
+}
@@ -0,0 +1,80 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ICalendarWriter and the feed cache in CalendarSubscriptionService.
+ */
+class ICalendarWriterTest {
+
+    private static final ZoneId MELBOURNE = ZoneId.of("Australia/Melbourne");
+
+    private static String write(ICalendarWriter writer) {
+        return new String(writer.finish(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void addEvent_WritesUtcTimesAndCrlfLines() {
+        LocalDateTime start = LocalDateTime.of(2025, 9, 16, 18, 0);
+        String ics = write(new ICalendarWriter("My Events", MELBOURNE, start)
+                .addEvent("abc@eventhub", start, start.plusHours(2), "Meetup", null, null, "https://host/events/1"));
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+        // AEST is UTC+10 in September
+        assertTrue(ics.contains("\r\nDTSTART:20250916T080000Z\r\n"));
+        assertTrue(ics.contains("\r\nDTEND:20250916T100000Z\r\n"));
+        assertTrue(ics.contains("\r\nURL:https://host/events/1\r\n"));
+        assertFalse(ics.contains("LOCATION"));
+    }
+
+    @Test
+    void escape_SpecialCharacters() {
+        assertEquals("a\\, b\\; c\\\\ d\\ne", ICalendarWriter.escape("a, b; c\\ d\r\ne"));
+    }
+
+    @Test
+    void longLines_FoldedAt75OctetsWithoutSplittingCharacters() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 10, 0);
+        String description = "é".repeat(100);
+        String ics = write(new ICalendarWriter("Cal", MELBOURNE, now)
+                .addEvent("x", now, now, "Title", null, description, null));
+
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        // unfolding restores the value
+        assertTrue(ics.replace("\r\n ", "").contains("DESCRIPTION:" + description + "\r\n"));
+    }
+
+    @Test
+    void feedCache_EvictsLeastRecentlyReadOverBudget() {
+        CalendarSubscriptionService.FeedCache cache = new CalendarSubscriptionService.FeedCache(100);
+        cache.put(1L, 1, new byte[40]);
+        cache.put(2L, 1, new byte[40]);
+        cache.get(1L, 1);
+        cache.put(3L, 1, new byte[40]);
+
+        assertNotNull(cache.get(1L, 1));
+        assertNull(cache.get(2L, 1));
+        assertNotNull(cache.get(3L, 1));
+        assertEquals(80, cache.usedBytes());
+    }
+
+    @Test
+    void feedCache_VersionMismatchMisses_OversizedBodyNotCached() {
+        CalendarSubscriptionService.FeedCache cache = new CalendarSubscriptionService.FeedCache(100);
+        cache.put(1L, 5, new byte[10]);
+        cache.put(2L, 5, new byte[200]);
+
+        assertNull(cache.get(1L, 6));
+        assertNull(cache.get(2L, 5));
+        assertEquals(10, cache.usedBytes());
+    }
+}
@@ -0,0 +1,134 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private static final String KEY = "k3yForTheRsvpForm";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService service;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(now::get);
+        service = new IdempotencyService(store, 10);
+    }
+
+    private String rsvp(RedirectAttributesModelMap attributes) {
+        runs.incrementAndGet();
+        attributes.addFlashAttribute("success", "Successfully RSVP'd");
+        return "redirect:/events/1";
+    }
+
+    @Test
+    void execute_SameKey_RunsOnceAndReplays() {
+        RedirectAttributesModelMap first = new RedirectAttributesModelMap();
+        RedirectAttributesModelMap retry = new RedirectAttributesModelMap();
+
+        assertEquals("redirect:/events/1", service.execute(KEY, "rsvp:1:alice", first, "redirect:/", () -> rsvp(first)));
+        assertEquals("redirect:/events/1", service.execute(KEY, "rsvp:1:alice", retry, "redirect:/", () -> rsvp(retry)));
+
+        assertEquals(1, runs.get());
+        assertEquals("Successfully RSVP'd", retry.getFlashAttributes().get("success"));
+    }
+
+    @Test
+    void execute_KeyIsScopedToUserAndEndpoint() {
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+
+        service.execute(KEY, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+        service.execute(KEY, "rsvp:1:mallory", attributes, "redirect:/", () -> rsvp(attributes));
+        service.execute(KEY, "rsvp:2:alice", attributes, "redirect:/", () -> rsvp(attributes));
+
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void execute_WithoutOrMalformedKey_RunsEveryTime() {
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+
+        service.execute(null, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+        service.execute(null, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+        service.execute("bad key!", "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+        service.execute("bad key!", "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    void execute_FailedRequest_ReleasesKey() {
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+
+        assertThrows(IllegalStateException.class, () -> service.execute(KEY, "rsvp:1:alice", attributes, "redirect:/",
+                () -> { throw new IllegalStateException("database down"); }));
+        service.execute(KEY, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_ExpiredKey_RunsAgain() {
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+
+        service.execute(KEY, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+        now.addAndGet(10 * 60_000 + 1);
+        service.execute(KEY, "rsvp:1:alice", attributes, "redirect:/", () -> rsvp(attributes));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void execute_RetryWhileFirstRuns_WaitsForItsResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        RedirectAttributesModelMap first = new RedirectAttributesModelMap();
+        CompletableFuture<String> firstView = CompletableFuture.supplyAsync(() ->
+                service.execute(KEY, "rsvp:1:alice", first, "redirect:/", () -> {
+                    started.countDown();
+                    try {
+                        finish.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return rsvp(first);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        RedirectAttributesModelMap retry = new RedirectAttributesModelMap();
+        CompletableFuture<String> retryView = CompletableFuture.supplyAsync(() ->
+                service.execute(KEY, "rsvp:1:alice", retry, "redirect:/", () -> rsvp(retry)));
+        Thread.sleep(200);
+        finish.countDown();
+
+        assertEquals("redirect:/events/1", firstView.get(5, TimeUnit.SECONDS));
+        assertEquals("redirect:/events/1", retryView.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals(Map.of("success", "Successfully RSVP'd"), retry.getFlashAttributes());
+    }
+
+    @Test
+    void store_IsBounded() {
+        for (int i = 0; i < InMemoryIdempotencyStore.MAX_ENTRIES + 100; i++) {
+            assertTrue(store.claim("key" + i, 60_000));
+        }
+
+        assertEquals(InMemoryIdempotencyStore.MAX_ENTRIES, store.size());
+        // the oldest were evicted
+        assertTrue(store.claim("key0", 60_000));
+        assertFalse(store.claim("key" + (InMemoryIdempotencyStore.MAX_ENTRIES + 99), 60_000));
+    }
+}
@@ -0,0 +1,203 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QR encoder against published values (Reed-Solomon, format and version
+ * information), symbol structure and a read back of the placed codewords, plus an opt-in
+ * encode throughput benchmark (run with -Dbenchmarks=true).
+ */
+class QrCodeTest {
+
+    // ============== Published values ==============
+
+    @Test
+    void reedSolomon_MatchesHelloWorldVersion1M() {
+        // "HELLO WORLD" at 1-M, the worked example of the standard
+        byte[] data = bytes(32, 91, 11, 120, 209, 114, 220, 77, 67, 64, 236, 17, 236, 17, 236, 17);
+
+        byte[] ecc = QrCode.reedSolomonRemainder(data, QrCode.reedSolomonDivisor(10));
+
+        assertArrayEquals(bytes(196, 35, 39, 119, 235, 215, 231, 226, 93, 23), ecc);
+    }
+
+    @Test
+    void formatBits_MatchPublishedTable() {
+        assertEquals(0b111011111000100, QrCode.formatBits(QrCode.ErrorCorrection.LOW, 0));
+        assertEquals(0b101010000010010, QrCode.formatBits(QrCode.ErrorCorrection.MEDIUM, 0));
+        assertEquals(0b011010101011111, QrCode.formatBits(QrCode.ErrorCorrection.QUARTILE, 0));
+        assertEquals(0b001011010001001, QrCode.formatBits(QrCode.ErrorCorrection.HIGH, 0));
+        assertEquals(0b100101010100000, QrCode.formatBits(QrCode.ErrorCorrection.MEDIUM, 7));
+    }
+
+    @Test
+    void versionBits_MatchPublishedTable() {
+        assertEquals(0x07C94, QrCode.versionBits(7));
+        assertEquals(0x28C69, QrCode.versionBits(40));
+    }
+
+    @Test
+    void capacity_MatchesPublishedByteModeLimits() {
+        // 1-L holds 17 bytes, 40-L 2953
+        assertEquals(1, QrCode.encodeBytes(new byte[17], QrCode.ErrorCorrection.LOW).getVersion());
+        assertEquals(2, QrCode.encodeBytes(new byte[18], QrCode.ErrorCorrection.LOW).getVersion());
+        assertEquals(40, QrCode.encodeBytes(new byte[2953], QrCode.ErrorCorrection.LOW).getVersion());
+        assertThrows(IllegalArgumentException.class,
+                () -> QrCode.encodeBytes(new byte[2954], QrCode.ErrorCorrection.LOW));
+    }
+
+    // ============== Structure ==============
+
+    @Test
+    void encode_DrawsFinderTimingAndDarkModule() {
+        QrCode qr = QrCode.encodeText("https://example.com/events/42?src=qr", QrCode.ErrorCorrection.MEDIUM);
+        int size = qr.getSize();
+
+        assertEquals(qr.getVersion() * 4 + 17, size);
+        for (int[] corner : new int[][] { { 0, 0 }, { size - 7, 0 }, { 0, size - 7 } }) {
+            for (int i = 0; i < 7; i++) {
+                // dark outer ring and 3x3 centre
+                assertTrue(qr.getModule(corner[0] + i, corner[1]));
+                assertTrue(qr.getModule(corner[0], corner[1] + i));
+                assertTrue(qr.getModule(corner[0] + 3, corner[1] + 3));
+            }
+        }
+        for (int i = 8; i < size - 8; i++) {
+            assertEquals(i % 2 == 0, qr.getModule(i, 6));
+            assertEquals(i % 2 == 0, qr.getModule(6, i));
+        }
+        assertTrue(qr.getModule(8, size - 8));
+        assertFalse(qr.getModule(-1, 0));
+    }
+
+    @Test
+    void encode_AlignmentPatternsAtPublishedPositions() {
+        // 160 bytes at MEDIUM needs version 9, which has centres 6, 26, 46
+        QrCode qr = QrCode.encodeBytes(new byte[160], QrCode.ErrorCorrection.MEDIUM);
+
+        assertEquals(9, qr.getVersion());
+        assertArrayEquals(new int[] { 6, 26, 46 }, qr.getAlignmentPatternPositions());
+        // centre dark, ring light, border dark
+        assertTrue(qr.getModule(26, 26));
+        assertFalse(qr.getModule(27, 26));
+        assertTrue(qr.getModule(28, 26));
+    }
+
+    @Test
+    void encode_FormatInformationReadsBack() {
+        QrCode qr = QrCode.encodeText("format check", QrCode.ErrorCorrection.QUARTILE);
+
+        // second copy: bits 0-7 along the bottom of row 8 from the right edge
+        int bits = 0;
+        for (int i = 0; i < 8; i++) {
+            if (qr.getModule(qr.getSize() - 1 - i, 8)) {
+                bits |= 1 << i;
+            }
+        }
+        for (int i = 8; i < 15; i++) {
+            if (qr.getModule(8, qr.getSize() - 15 + i)) {
+                bits |= 1 << i;
+            }
+        }
+
+        assertEquals(QrCode.formatBits(QrCode.ErrorCorrection.QUARTILE, qr.getMask()), bits);
+    }
+
+    @Test
+    void encode_PlacedCodewordsReadBackAsByteModeData() {
+        // version 1-L is a single block, so the codewords read back in order
+        String text = "EventHub ticket";
+        QrCode qr = QrCode.encodeText(text, QrCode.ErrorCorrection.LOW);
+        assertEquals(1, qr.getVersion());
+
+        byte[] codewords = readCodewords(qr);
+
+        // mode 0100, 8-bit count, then the bytes, shifted by the 4-bit mode indicator
+        assertEquals(0x4, (codewords[0] & 0xFF) >>> 4);
+        int count = ((codewords[0] & 0x0F) << 4) | ((codewords[1] & 0xFF) >>> 4);
+        assertEquals(text.length(), count);
+        byte[] decoded = new byte[count];
+        for (int i = 0; i < count; i++) {
+            decoded[i] = (byte) (((codewords[i + 1] & 0x0F) << 4) | ((codewords[i + 2] & 0xFF) >>> 4));
+        }
+        assertEquals(text, new String(decoded, StandardCharsets.UTF_8));
+
+        // the error correction codewords are the Reed-Solomon remainder of the data codewords
+        byte[] dataCodewords = Arrays.copyOf(codewords, 19);
+        assertArrayEquals(QrCode.reedSolomonRemainder(dataCodewords, QrCode.reedSolomonDivisor(7)),
+                Arrays.copyOfRange(codewords, 19, 26));
+    }
+
+    // unmasks and reads the zigzag of non-function modules, independent of the placement code
+    private static byte[] readCodewords(QrCode qr) {
+        int size = qr.getSize();
+        List<Boolean> bits = new ArrayList<>();
+        boolean upward = true;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                right = 5;
+            }
+            for (int step = 0; step < size; step++) {
+                int y = upward ? size - 1 - step : step;
+                for (int x = right; x >= right - 1; x--) {
+                    if (!qr.isFunctionModule(x, y)) {
+                        bits.add(qr.getModule(x, y) ^ QrCode.maskBit(qr.getMask(), x, y));
+                    }
+                }
+            }
+            upward = !upward;
+        }
+
+        byte[] result = new byte[bits.size() / 8];
+        for (int i = 0; i < result.length * 8; i++) {
+            if (bits.get(i)) {
+                result[i / 8] |= (byte) (0x80 >>> (i % 8));
+            }
+        }
+        return result;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    // ============== Benchmark (opt-in) ==============
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_EncodeThroughput() {
+        String[] texts = {
+                "https://eventhub.example.com/events/42?src=qr",
+                "https://eventhub.example.com/events/123456?src=ticket&rid=987654",
+                "x".repeat(1000),
+        };
+        for (String text : texts) {
+            // warm up
+            for (int i = 0; i < 2_000; i++) {
+                QrCode.encodeText(text, QrCode.ErrorCorrection.MEDIUM);
+            }
+            int iterations = text.length() > 100 ? 2_000 : 20_000;
+            long start = System.nanoTime();
+            int checksum = 0;
+            for (int i = 0; i < iterations; i++) {
+                checksum += QrCode.encodeText(text, QrCode.ErrorCorrection.MEDIUM).getMask();
+            }
+            long nanos = System.nanoTime() - start;
+            QrCode sample = QrCode.encodeText(text, QrCode.ErrorCorrection.MEDIUM);
+            System.out.printf("QR encode, %d bytes (version %d): %.0f codes/sec, %.1f us/code (checksum %d)%n",
+                    text.length(), sample.getVersion(), iterations * 1e9 / nanos, nanos / 1e3 / iterations, checksum);
+        }
+    }
+}
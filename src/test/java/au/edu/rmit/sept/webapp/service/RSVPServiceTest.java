@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -52,6 +53,15 @@ class RSVPServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private EventMembershipService eventMembershipService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RSVPService rsvpService;
 
@@ -87,13 +97,14 @@ class RSVPServiceTest {
     void createRSVP_Success_WhenEventHasCapacity() {
         // Arrange
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
-        when(rsvpRepository.countByEvent(testEvent)).thenReturn(25L); // Under capacity
+        when(eventRepository.allocateSeat(1L)).thenReturn(1); // Seat available
 
         // Act
         assertDoesNotThrow(() -> rsvpService.createRSVP(testUser, testEvent));
 
         // Assert
         verify(rsvpRepository, times(1)).save(any(RSVP.class));
+        verify(eventPublisher).publishEvent(any(RsvpChangedEvent.class));
     }
 
     @Test
@@ -113,7 +124,7 @@ class RSVPServiceTest {
     void createRSVP_ThrowsException_WhenEventFull() {
         // Arrange
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
-        when(rsvpRepository.countByEvent(testEvent)).thenReturn(30L); // At capacity
+        when(eventRepository.allocateSeat(1L)).thenReturn(0); // At capacity
 
         // Act & Assert
         IllegalStateException exception = assertThrows(IllegalStateException.class,
@@ -121,6 +132,7 @@ class RSVPServiceTest {
 
         assertEquals("This event is full", exception.getMessage());
         verify(rsvpRepository, never()).save(any(RSVP.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -128,6 +140,8 @@ class RSVPServiceTest {
         // Arrange
         testEvent.setCapacity(null); // Unlimited capacity
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
+        // the allocation query itself lets unlimited events through
+        when(eventRepository.allocateSeat(1L)).thenReturn(1);
 
         // Act
         assertDoesNotThrow(() -> rsvpService.createRSVP(testUser, testEvent));
@@ -149,6 +163,7 @@ class RSVPServiceTest {
 
         // Assert
         verify(rsvpRepository, times(1)).delete(existingRSVP);
+        verify(eventRepository).releaseSeat(1L);
     }
 
     @Test
@@ -196,7 +211,7 @@ class RSVPServiceTest {
     void createRSVP_Success_WhenBlockedRSVPDoesNotExist() {
         // Arrange
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
-        when(rsvpRepository.countByEvent(testEvent)).thenReturn(10L); // Under capacity
+        when(eventRepository.allocateSeat(1L)).thenReturn(1); // Seat available
 
         // Act
         assertDoesNotThrow(() -> rsvpService.createRSVP(testUser, testEvent));
@@ -226,7 +241,7 @@ class RSVPServiceTest {
         testEvent.setPrice(new java.math.BigDecimal("25.00"));
         when(blockedRSVPRepository.existsByEventAndUser(testEvent, testUser)).thenReturn(false);
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
-        when(rsvpRepository.countByEvent(testEvent)).thenReturn(10L);
+        when(eventRepository.allocateSeat(1L)).thenReturn(1);
         when(rsvpRepository.save(any(RSVP.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         RSVP result = rsvpService.createRSVP(testUser, testEvent);
@@ -242,7 +257,7 @@ class RSVPServiceTest {
         testEvent.setPrice(null);
         when(blockedRSVPRepository.existsByEventAndUser(testEvent, testUser)).thenReturn(false);
         when(rsvpRepository.existsByUserAndEvent(testUser, testEvent)).thenReturn(false);
-        when(rsvpRepository.countByEvent(testEvent)).thenReturn(10L);
+        when(eventRepository.allocateSeat(1L)).thenReturn(1);
         when(rsvpRepository.save(any(RSVP.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         RSVP result = rsvpService.createRSVP(testUser, testEvent);
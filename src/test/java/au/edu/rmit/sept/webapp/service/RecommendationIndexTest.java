@@ -0,0 +1,120 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecommendationIndex scoring and ranking rules.
+ */
+class RecommendationIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private RecommendationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecommendationIndex();
+    }
+
+    private static RecommendationIndex.Profile categoryProfile(long userId, Long... categoryIds) {
+        return new RecommendationIndex.Profile(userId, Set.of(categoryIds), Map.of(), 0, Set.of());
+    }
+
+    @Test
+    void rank_EmptyProfile_NoRecommendations() {
+        index.addEvent(1L, 1L, Set.of(), 99L, NOW.plusDays(1), 0);
+
+        RecommendationIndex.Profile profile = new RecommendationIndex.Profile(5L, Set.of(), Map.of(), 0, Set.of());
+        assertEquals(0, index.rank(profile, NOW).size());
+    }
+
+    @Test
+    void rank_OnlyInterestedCategoriesAreCandidates() {
+        index.addEvent(1L, 1L, Set.of(), 99L, NOW.plusDays(1), 0);
+        index.addEvent(2L, 2L, Set.of(), 99L, NOW.plusDays(1), 0);
+
+        assertArrayEquals(new long[] { 1L }, index.rank(categoryProfile(5L, 1L), NOW).getEventIds());
+    }
+
+    @Test
+    void rank_ExcludesOwnAttendingAndStartedEvents() {
+        index.addEvent(1L, 1L, Set.of(), 5L, NOW.plusDays(1), 0);
+        index.addEvent(2L, 1L, Set.of(), 99L, NOW.plusDays(1), 0);
+        index.addEvent(3L, 1L, Set.of(), 99L, NOW.minusHours(1), 0);
+        index.addEvent(4L, 1L, Set.of(), 99L, NOW.plusDays(2), 0);
+
+        RecommendationIndex.Profile profile = new RecommendationIndex.Profile(5L, Set.of(1L), Map.of(), 0, Set.of(2L));
+        assertArrayEquals(new long[] { 4L }, index.rank(profile, NOW).getEventIds());
+    }
+
+    @Test
+    void rank_KeywordAffinityOutranksPopularity() {
+        index.addEvent(1L, 1L, Set.of(), 99L, NOW.plusDays(3), 50);
+        index.addEvent(2L, 1L, Set.of(7L), 99L, NOW.plusDays(3), 0);
+
+        RecommendationIndex.Profile profile = new RecommendationIndex.Profile(5L, Set.of(1L), Map.of(7L, 2), 2, Set.of());
+        assertArrayEquals(new long[] { 2L, 1L }, index.rank(profile, NOW).getEventIds());
+    }
+
+    @Test
+    void rank_KeywordOnlyInterest_FindsEventsOutsideCategories() {
+        index.addEvent(1L, 3L, Set.of(7L), 99L, NOW.plusDays(3), 0);
+
+        RecommendationIndex.Profile profile = new RecommendationIndex.Profile(5L, Set.of(), Map.of(7L, 1), 1, Set.of());
+        assertArrayEquals(new long[] { 1L }, index.rank(profile, NOW).getEventIds());
+    }
+
+    @Test
+    void rank_SameInterest_SoonerAndMorePopularFirst() {
+        index.addEvent(1L, 1L, Set.of(), 99L, NOW.plusDays(30), 0);
+        index.addEvent(2L, 1L, Set.of(), 99L, NOW.plusDays(1), 0);
+        index.addEvent(3L, 1L, Set.of(), 99L, NOW.plusDays(30), 0);
+        index.adjustAttendance(3L, 10);
+
+        long[] ranked = index.rank(categoryProfile(5L, 1L), NOW).getEventIds();
+        // event 1 is both later than 2 and less popular than 3
+        assertEquals(3, ranked.length);
+        assertEquals(1L, ranked[2]);
+    }
+
+    @Test
+    void rank_KeepsAtMostMaxRanked() {
+        for (long id = 1; id <= RecommendationIndex.MAX_RANKED + 5; id++) {
+            index.addEvent(id, 1L, Set.of(), 99L, NOW.plusDays(id), 0);
+        }
+
+        RecommendationIndex.Ranking ranking = index.rank(categoryProfile(5L, 1L), NOW);
+        assertEquals(RecommendationIndex.MAX_RANKED, ranking.size());
+        assertEquals(1L, ranking.getEventIds()[0]);
+    }
+
+    @Test
+    void rankingWith_MergesNewEventAtItsRank() {
+        index.addEvent(1L, 1L, Set.of(), 99L, NOW.plusDays(10), 0);
+        index.addEvent(2L, 1L, Set.of(), 99L, NOW.plusDays(20), 0);
+        RecommendationIndex.Profile profile = categoryProfile(5L, 1L);
+        RecommendationIndex.Ranking ranking = index.rank(profile, NOW);
+
+        index.addEvent(3L, 1L, Set.of(), 99L, NOW.plusDays(15), 0);
+        RecommendationIndex.Ranking merged = ranking.with(3L, (float) index.score(profile, 3L, NOW));
+
+        assertArrayEquals(new long[] { 1L, 3L, 2L }, merged.getEventIds());
+        assertSame(merged, merged.with(3L, 100f));
+    }
+
+    @Test
+    void removeEvent_NoLongerRanked() {
+        index.addEvent(1L, 1L, Set.of(7L), 99L, NOW.plusDays(1), 0);
+        index.removeEvent(1L);
+
+        assertEquals(0, index.rank(categoryProfile(5L, 1L), NOW).size());
+        assertFalse(index.isUpcoming(1L, NOW));
+    }
+}
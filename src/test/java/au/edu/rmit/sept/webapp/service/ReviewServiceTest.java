@@ -0,0 +1,156 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.ReviewDTO;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.EventRatingSummary;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.EventRatingSummaryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.ReviewRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventRatingSummaryRepository ratingSummaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    private ReviewDTO reviewDTO;
+
+    @BeforeEach
+    void setUp() {
+        reviewDTO = new ReviewDTO();
+        reviewDTO.setRating(4);
+        reviewDTO.setComment("Great event");
+    }
+
+    private void givenAuthorAndEvent() {
+        User author = new User();
+        author.setUsername("reviewer");
+        Event event = new Event();
+        event.setId(1L);
+
+        when(userRepository.findByUsername("reviewer")).thenReturn(Optional.of(author));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    void saveReview_AddsRatingToExistingSummary() {
+        givenAuthorAndEvent();
+        when(ratingSummaryRepository.existsById(1L)).thenReturn(true);
+        when(ratingSummaryRepository.addRating(1L, 4)).thenReturn(1);
+
+        reviewService.saveReview(reviewDTO, 1L, "reviewer");
+
+        verify(reviewRepository).saveAndFlush(any());
+        verify(ratingSummaryRepository, never()).insertFromReviews(any());
+        verify(ratingSummaryRepository).addRating(1L, 4);
+    }
+
+    @Test
+    void saveReview_BuildsMissingSummaryBeforeSavingReview() {
+        givenAuthorAndEvent();
+        when(ratingSummaryRepository.existsById(1L)).thenReturn(false);
+        when(ratingSummaryRepository.addRating(1L, 4)).thenReturn(1);
+
+        reviewService.saveReview(reviewDTO, 1L, "reviewer");
+
+        var order = inOrder(ratingSummaryRepository, reviewRepository);
+        order.verify(ratingSummaryRepository).insertFromReviews(1L);
+        order.verify(reviewRepository).saveAndFlush(any());
+        order.verify(ratingSummaryRepository).addRating(1L, 4);
+    }
+
+    @Test
+    void saveReview_SummaryCreatedConcurrently_StillAddsRating() {
+        givenAuthorAndEvent();
+        when(ratingSummaryRepository.existsById(1L)).thenReturn(false);
+        when(ratingSummaryRepository.insertFromReviews(1L))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'PRIMARY'"));
+        when(ratingSummaryRepository.addRating(1L, 4)).thenReturn(1);
+
+        reviewService.saveReview(reviewDTO, 1L, "reviewer");
+
+        verify(reviewRepository).saveAndFlush(any());
+        verify(ratingSummaryRepository).addRating(1L, 4);
+    }
+
+    @Test
+    void saveReview_EventNotYetCommitted_BuildsSummaryInSameTransaction() {
+        givenAuthorAndEvent();
+        when(ratingSummaryRepository.existsById(1L)).thenReturn(false);
+        when(ratingSummaryRepository.insertFromReviews(1L))
+                .thenThrow(new DataIntegrityViolationException("Referential integrity constraint violation"))
+                .thenReturn(1);
+        when(ratingSummaryRepository.addRating(1L, 4)).thenReturn(0);
+
+        reviewService.saveReview(reviewDTO, 1L, "reviewer");
+
+        var order = inOrder(ratingSummaryRepository, reviewRepository);
+        order.verify(reviewRepository).saveAndFlush(any());
+        order.verify(ratingSummaryRepository).addRating(1L, 4);
+        order.verify(ratingSummaryRepository).insertFromReviews(1L);
+    }
+
+    @Test
+    void saveReview_RejectsRatingOutsideOneToFive() {
+        for (Integer rating : new Integer[] { 0, 6, -1, null }) {
+            reviewDTO.setRating(rating);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> reviewService.saveReview(reviewDTO, 1L, "reviewer"));
+            assertEquals("Rating must be between 1 and 5", exception.getMessage());
+        }
+        verifyNoInteractions(reviewRepository, ratingSummaryRepository);
+    }
+
+    @Test
+    void ratingReads_DefaultWhenEventHasNoSummary() {
+        when(ratingSummaryRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(0.0, reviewService.getAverageRatingForEvent(2L));
+        assertEquals(0L, reviewService.countReviewsForEvent(2L));
+        assertArrayEquals(new long[5], reviewService.getRatingDistributionForEvent(2L));
+    }
+
+    @Test
+    void ratingReads_ComeFromSummary() {
+        EventRatingSummary summary = mock(EventRatingSummary.class);
+        when(summary.getAverageRating()).thenReturn(4.5);
+        when(summary.getRatingCount()).thenReturn(6L);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.of(summary));
+
+        assertEquals(4.5, reviewService.getAverageRatingForEvent(1L));
+        assertEquals(6L, reviewService.countReviewsForEvent(1L));
+        verifyNoInteractions(reviewRepository);
+    }
+}
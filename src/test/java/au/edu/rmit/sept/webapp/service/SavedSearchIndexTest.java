@@ -0,0 +1,156 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SavedSearchIndex matching semantics, plus an opt-in benchmark
+ * with 1M saved searches (run with -Dbenchmarks=true).
+ */
+class SavedSearchIndexTest {
+
+    private SavedSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SavedSearchIndex();
+    }
+
+    private Set<Long> matchIds(Long categoryId, Set<Long> keywordIds, String title, String description) {
+        return index.match(categoryId, keywordIds, title, description).stream()
+                .map(SavedSearchIndex.Match::getSavedSearchId)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void match_CategoryOnlySearch_MatchesSameCategoryOnly() {
+        index.add(1L, 10L, 3L, Set.of(), null);
+
+        assertEquals(Set.of(1L), matchIds(3L, Set.of(), "Any", "Thing"));
+        assertTrue(matchIds(4L, Set.of(), "Any", "Thing").isEmpty());
+    }
+
+    @Test
+    void match_KeywordSearch_UsesOrBinding() {
+        index.add(1L, 10L, null, Set.of(5L, 6L), null);
+
+        assertEquals(Set.of(1L), matchIds(1L, Set.of(6L, 9L), "Title", "Description"));
+        assertTrue(matchIds(1L, Set.of(7L), "Title", "Description").isEmpty());
+    }
+
+    @Test
+    void match_TextSearch_IsCaseInsensitiveSubstringOfTitleOrDescription() {
+        index.add(1L, 10L, null, Set.of(), "Spring Boot");
+        index.add(2L, 10L, null, Set.of(), "ring bo");
+        index.add(3L, 10L, null, Set.of(), "workshop");
+
+        assertEquals(Set.of(1L, 2L), matchIds(1L, Set.of(), "Intro to SPRING BOOT", "Hands on"));
+        assertEquals(Set.of(3L), matchIds(1L, Set.of(), "Meetup", "An evening workshops series"));
+        // all tokens present but not as a contiguous phrase
+        assertTrue(matchIds(1L, Set.of(), "Boot camp", "Spring festival").isEmpty());
+    }
+
+    @Test
+    void match_CombinedCriteria_AllMustHold() {
+        index.add(1L, 10L, 2L, Set.of(5L), "career");
+
+        assertEquals(Set.of(1L), matchIds(2L, Set.of(5L), "Career Fair", ""));
+        assertTrue(matchIds(3L, Set.of(5L), "Career Fair", "").isEmpty());
+        assertTrue(matchIds(2L, Set.of(6L), "Career Fair", "").isEmpty());
+        assertTrue(matchIds(2L, Set.of(5L), "Job Fair", "").isEmpty());
+    }
+
+    @Test
+    void match_LongTermLongerThanKeyLength_StillMatches() {
+        index.add(1L, 10L, null, Set.of(), "internationalisation");
+
+        assertEquals(Set.of(1L), matchIds(1L, Set.of(), "Software internationalisation clinic", null));
+    }
+
+    @Test
+    void match_TextWithSymbols_VerifiedAsExactSubstring() {
+        index.add(1L, 10L, null, Set.of(), "c++");
+
+        assertEquals(Set.of(1L), matchIds(1L, Set.of(), "Modern C++ talk", ""));
+        assertTrue(matchIds(1L, Set.of(), "Modern C talk", "").isEmpty());
+    }
+
+    @Test
+    void remove_RemovedSearch_NoLongerMatches() {
+        index.add(1L, 10L, 3L, Set.of(), null);
+        index.remove(1L);
+
+        assertTrue(matchIds(3L, Set.of(), "Any", "Thing").isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void add_SameIdTwice_ReplacesCriteria() {
+        index.add(1L, 10L, 3L, Set.of(), null);
+        index.add(1L, 10L, 4L, Set.of(), null);
+
+        assertTrue(matchIds(3L, Set.of(), "Any", "Thing").isEmpty());
+        assertEquals(Set.of(1L), matchIds(4L, Set.of(), "Any", "Thing"));
+    }
+
+    @Test
+    void match_ReturnsOwningUser() {
+        index.add(7L, 42L, 3L, Set.of(), null);
+
+        List<SavedSearchIndex.Match> matches = index.match(3L, Set.of(), "a", "b");
+        assertEquals(1, matches.size());
+        assertEquals(42L, matches.get(0).getUserId());
+    }
+
+    // ============== Benchmark (opt-in) ==============
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_OneMillionSavedSearches() {
+        String[] vocabulary = { "spring", "boot", "career", "music", "chess", "networking", "hackathon", "yoga",
+                "coffee", "startup", "design", "robotics", "film", "poetry", "volleyball", "ai", "cloud",
+                "security", "finance", "gaming", "photography", "cooking", "language", "debate", "theatre" };
+        Random random = new Random(42);
+        int total = 1_000_000;
+
+        long buildStart = System.nanoTime();
+        for (long id = 1; id <= total; id++) {
+            int shape = random.nextInt(3);
+            Long category = random.nextInt(4) == 0 ? null : (long) (1 + random.nextInt(8));
+            if (shape == 0) {
+                index.add(id, id, category, Set.of((long) (1 + random.nextInt(200))), null);
+            } else if (shape == 1) {
+                String text = vocabulary[random.nextInt(vocabulary.length)] + " " + random.nextInt(5000);
+                index.add(id, id, category, Set.of(), text);
+            } else {
+                index.add(id, id, category == null ? 1L : category, Set.of(), null);
+            }
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String description = "Join us for an evening of robotics demos, networking and coffee. "
+                + "Teams from the hackathon will present projects built over the weekend.";
+        int events = 1_000;
+        long matched = 0;
+        long matchStart = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            matched += index.match((long) (1 + i % 8), Set.of((long) (1 + i % 200), (long) (1 + (i * 7 + 3) % 200)),
+                    "Robotics night " + (i % 5000), description).size();
+        }
+        long matchNanos = System.nanoTime() - matchStart;
+
+        System.out.printf("SavedSearchIndex: %,d searches indexed in %d ms, %,d events matched in %.1f ms "
+                + "(%.3f ms/event, %,d total matches)%n",
+                index.size(), buildMillis, events, matchNanos / 1e6, matchNanos / 1e6 / events, matched);
+        assertEquals(total, index.size());
+        assertTrue(matched > 0);
+    }
+}
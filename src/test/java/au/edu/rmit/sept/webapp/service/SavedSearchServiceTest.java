@@ -0,0 +1,110 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.model.Category;
+import au.edu.rmit.sept.webapp.model.Event;
+import au.edu.rmit.sept.webapp.model.User;
+import au.edu.rmit.sept.webapp.repository.CategoryRepository;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.KeywordRepository;
+import au.edu.rmit.sept.webapp.repository.SavedSearchRepository;
+import au.edu.rmit.sept.webapp.repository.SearchAlertRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for matching queued events against saved searches
+ */
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private SearchAlertRepository searchAlertRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private KeywordRepository keywordRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        // search 1 of user 20 on category 3
+        when(savedSearchRepository.findIndexRows()).thenReturn(List.<Object[]>of(new Object[] { 1L, 20L, 3L, null }));
+        savedSearchService.loadIndex();
+
+        Category category = new Category();
+        category.setId(3L);
+        User organiser = new User();
+        organiser.setId(10L);
+        event = new Event();
+        event.setId(100L);
+        event.setTitle("Meetup");
+        event.setDescription("An evening meetup");
+        event.setCategory(category);
+        event.setCreatedBy(organiser);
+    }
+
+    @Test
+    void matchPendingEvents_FailedInsert_RequeuesBatch() {
+        savedSearchService.onEventCreated(new EventCreatedEvent(100L, LocalDate.now().plusDays(7)));
+        when(eventRepository.findWithKeywordsByIdIn(List.of(100L))).thenReturn(List.of(event));
+        when(savedSearchRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("FK violation"))
+                .thenReturn(new int[] { 1 });
+
+        assertEquals(0, savedSearchService.matchPendingEvents());
+        // the event wasn't lost, the next run writes its alert
+        assertEquals(1, savedSearchService.matchPendingEvents());
+        assertEquals(0, savedSearchService.matchPendingEvents());
+    }
+
+    @Test
+    void matchPendingEvents_EventGoneBeforeInsert_WritesNothing() {
+        savedSearchService.onEventCreated(new EventCreatedEvent(100L, LocalDate.now().plusDays(7)));
+        when(eventRepository.findWithKeywordsByIdIn(List.of(100L))).thenReturn(List.of(event));
+        when(savedSearchRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+        // the insert only selects active events
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 0 });
+
+        assertEquals(0, savedSearchService.matchPendingEvents());
+        assertEquals(0, savedSearchService.matchPendingEvents());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+}
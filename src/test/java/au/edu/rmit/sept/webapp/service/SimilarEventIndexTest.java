@@ -0,0 +1,92 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimilarEventIndex neighbour maintenance.
+ */
+class SimilarEventIndexTest {
+
+    private SimilarEventIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SimilarEventIndex();
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        return Arrays.stream(ids).anyMatch(x -> x == id);
+    }
+
+    @Test
+    void similarTo_SharedKeywordsAndText_AreNeighbours() {
+        index.add(1L, Set.of(5L, 6L), "Spring Boot workshop", "Build a REST API with Spring Boot and JPA");
+        index.add(2L, Set.of(5L, 6L), "Advanced Spring Boot", "Build a REST API with Spring Boot and security");
+        index.add(3L, Set.of(90L), "Sunset yoga", "Relaxing stretches on the beach at dusk");
+
+        assertTrue(contains(index.similarTo(1L), 2L));
+        assertTrue(contains(index.similarTo(2L), 1L));
+        assertFalse(contains(index.similarTo(1L), 3L));
+    }
+
+    @Test
+    void similarTo_NeighbourAddedLater_UpdatesExistingEvent() {
+        index.add(1L, Set.of(5L), "Chess club", "Weekly chess games for all levels");
+        assertEquals(0, index.similarTo(1L).length);
+
+        index.add(2L, Set.of(5L), "Chess club finals", "Weekly chess games for all levels");
+
+        assertArrayEquals(new long[] { 2L }, index.similarTo(1L));
+    }
+
+    @Test
+    void similarTo_OrderedByEstimatedSimilarity() {
+        index.add(1L, Set.of(1L, 2L, 3L), "Robotics night", "Robot demos and build sessions");
+        index.add(2L, Set.of(1L, 2L, 3L), "Robotics night", "Robot demos and build sessions");
+        index.add(3L, Set.of(1L), "Robotics night", "Something rather different entirely");
+
+        long[] similar = index.similarTo(1L);
+        assertTrue(similar.length >= 1);
+        assertEquals(2L, similar[0]);
+    }
+
+    @Test
+    void add_NoFeatures_NotIndexed() {
+        index.add(1L, Set.of(), "", null);
+        index.add(2L, Set.of(), "a b", "");
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.similarTo(1L).length);
+    }
+
+    @Test
+    void remove_RemovedEvent_NotOfferedToNewEvents() {
+        index.add(1L, Set.of(5L), "Chess club", "Weekly chess games");
+        index.remove(1L);
+        index.add(2L, Set.of(5L), "Chess club", "Weekly chess games");
+
+        assertEquals(0, index.similarTo(2L).length);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void estimate_IdenticalFeatureSets_IsOne() {
+        Set<String> features = SimilarEventIndex.features(Set.of(1L), "Film night", "Classic film screening");
+
+        assertEquals(1.0, SimilarEventIndex.estimate(SimilarEventIndex.signature(features),
+                SimilarEventIndex.signature(features)));
+    }
+
+    @Test
+    void features_StopwordsAndShortWordsIgnored() {
+        Set<String> features = SimilarEventIndex.features(null, "Join the AI event", null);
+
+        assertEquals(Set.of(), features);
+    }
+}
@@ -0,0 +1,111 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.SiteStatistics;
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import au.edu.rmit.sept.webapp.repository.RSVPRepository;
+import au.edu.rmit.sept.webapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SiteStatisticsServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private RSVPRepository rsvpRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventHeatmapService eventHeatmapService;
+
+    private SiteStatisticsService siteStatisticsService;
+
+    private final LocalDate nextWeek = LocalDate.now().plusDays(7);
+    private final LocalDate lastWeek = LocalDate.now().minusDays(7);
+
+    @BeforeEach
+    void setUp() {
+        siteStatisticsService = new SiteStatisticsService(eventRepository, rsvpRepository, userRepository,
+                eventHeatmapService);
+        when(eventRepository.countActiveFutureEvents()).thenReturn(10L);
+        when(eventRepository.countDeactivatedFutureEvents()).thenReturn(1L);
+        when(eventRepository.countActivePastEvents()).thenReturn(20L);
+        when(eventRepository.countDeactivatedPastEvents()).thenReturn(2L);
+        when(rsvpRepository.countActiveRsvps()).thenReturn(100L);
+        when(userRepository.countActiveUsers()).thenReturn(50L);
+        when(userRepository.countDeactivatedUsers()).thenReturn(5L);
+    }
+
+    @Test
+    void getStatistics_LoadsOnceThenServesFromMemory() {
+        SiteStatistics first = siteStatisticsService.getStatistics();
+        SiteStatistics second = siteStatisticsService.getStatistics();
+
+        assertSame(first, second);
+        assertEquals(30, first.getTotalEvents());
+        assertEquals(100, first.getActiveAttendees());
+        assertEquals(LocalDate.now(), first.getCountedFor());
+        verify(rsvpRepository, times(1)).countActiveRsvps();
+    }
+
+    @Test
+    void lifecycleEvents_UpdateCountersWithoutQueries() {
+        siteStatisticsService.reconcile();
+
+        siteStatisticsService.onEventCreated(new EventCreatedEvent(1L, nextWeek));
+        siteStatisticsService.onRsvpChanged(new RsvpChangedEvent(1L, 7L, true));
+        siteStatisticsService.onRsvpChanged(new RsvpChangedEvent(1L, 8L, true));
+        siteStatisticsService.onEventStatusChanged(new EventStatusChangedEvent(1L, nextWeek,
+                EventStatusChangedEvent.Status.DEACTIVATED, 2));
+        siteStatisticsService.onEventStatusChanged(new EventStatusChangedEvent(2L, lastWeek,
+                EventStatusChangedEvent.Status.DELETED, 3));
+        siteStatisticsService.onUserStatusChanged(new UserStatusChangedEvent(9L, UserStatusChangedEvent.Status.REGISTERED));
+        siteStatisticsService.onUserStatusChanged(new UserStatusChangedEvent(7L, UserStatusChangedEvent.Status.DEACTIVATED));
+
+        SiteStatistics stats = siteStatisticsService.getStatistics();
+        assertEquals(10, stats.getActiveFutureEvents());
+        assertEquals(2, stats.getDeactivatedFutureEvents());
+        assertEquals(19, stats.getActivePastEvents());
+        assertEquals(2, stats.getDeactivatedPastEvents());
+        assertEquals(97, stats.getActiveAttendees());
+        assertEquals(50, stats.getActiveUsers());
+        assertEquals(6, stats.getDeactivatedUsers());
+        verify(rsvpRepository, times(1)).countActiveRsvps();
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedCounters() {
+        siteStatisticsService.reconcile();
+        siteStatisticsService.onRsvpChanged(new RsvpChangedEvent(1L, 7L, false));
+        assertEquals(99, siteStatisticsService.getStatistics().getActiveAttendees());
+
+        // the cancel didn't reach the database count (e.g. an RSVP of a deactivated event)
+        siteStatisticsService.reconcile();
+
+        assertEquals(100, siteStatisticsService.getStatistics().getActiveAttendees());
+        assertEquals("", siteStatisticsService.getStatistics()
+                .describeDifference(siteStatisticsService.getStatistics()));
+    }
+
+    @Test
+    void changesBeforeFirstLoad_AreLeftToTheLoad() {
+        siteStatisticsService.onEventCreated(new EventCreatedEvent(1L, nextWeek));
+        siteStatisticsService.onRsvpChanged(new RsvpChangedEvent(1L, 7L, true));
+
+        SiteStatistics stats = siteStatisticsService.getStatistics();
+        assertEquals(10, stats.getActiveFutureEvents());
+        assertEquals(100, stats.getActiveAttendees());
+    }
+}
@@ -53,6 +53,9 @@ class StripeServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private SeatHoldService seatHoldService;
+
     @InjectMocks
     private StripeService stripeService;
 
@@ -142,6 +145,19 @@ class StripeServiceTest {
         verify(eventRepository).findById(102L);
     }
 
+    @Test
+    void testCreateCheckoutSession_HoldExpired() {
+        // Given: The RSVP's seat hold has already been released
+        when(eventRepository.findById(100L)).thenReturn(Optional.of(paidEvent));
+        when(seatHoldService.extend(eq(200L), any(), anyLong())).thenReturn(false);
+
+        // When & Then: Should throw before any Stripe call
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> stripeService.createCheckoutSession(100L, 1L, 200L));
+
+        assertEquals("Your reserved spot has expired, please RSVP again", exception.getMessage());
+    }
+
     @Test
     void testCreateCheckoutSession_PriceConversionToCents() {
         // When: Calculate cents conversion
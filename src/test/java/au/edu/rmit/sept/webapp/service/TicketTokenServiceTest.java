@@ -0,0 +1,52 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketTokenServiceTest {
+
+    private final TicketTokenService service = new TicketTokenService("test-ticket-secret-0123456789abcdef");
+
+    @Test
+    void issue_VerifiesBackToSameTicket() {
+        String token = service.issue(42L, 987654321L);
+
+        Optional<TicketTokenService.Ticket> ticket = service.verify(token);
+
+        assertEquals(39, token.length());
+        assertTrue(ticket.isPresent());
+        assertEquals(42L, ticket.get().getEventId());
+        assertEquals(987654321L, ticket.get().getRsvpId());
+        // deterministic, reprinting a ticket gives the same code
+        assertEquals(token, service.issue(42L, 987654321L));
+    }
+
+    @Test
+    void verify_RejectsTamperedTokens() {
+        String token = service.issue(42L, 7L);
+        // every single-character change breaks the signature or the format
+        for (int i = 0; i < token.length(); i++) {
+            char replacement = token.charAt(i) == 'A' ? 'B' : 'A';
+            String tampered = token.substring(0, i) + replacement + token.substring(i + 1);
+            assertTrue(service.verify(tampered).isEmpty(), "position " + i);
+        }
+    }
+
+    @Test
+    void verify_RejectsOtherKeysAndMalformedInput() {
+        TicketTokenService otherKey = new TicketTokenService("another-ticket-secret-0123456789abcdef");
+
+        assertTrue(service.verify(otherKey.issue(42L, 7L)).isEmpty());
+        assertTrue(service.verify(null).isEmpty());
+        assertTrue(service.verify("").isEmpty());
+        assertTrue(service.verify("!".repeat(39)).isEmpty());
+    }
+
+    @Test
+    void constructor_RejectsShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new TicketTokenService("too-short"));
+    }
+}
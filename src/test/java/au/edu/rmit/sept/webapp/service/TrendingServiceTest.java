@@ -0,0 +1,146 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.dto.EventSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Mock
+    private UpcomingEventCatalog upcomingEventCatalog;
+
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(upcomingEventCatalog);
+        // every id below 100 is an upcoming event
+        lenient().when(upcomingEventCatalog.get(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id < 100 ? Optional.of(summary(id)) : Optional.empty();
+        });
+    }
+
+    private static EventSummaryDTO summary(Long id) {
+        return new EventSummaryDTO(id, "Event " + id, LocalDate.now().plusDays(1), LocalTime.NOON,
+                "Campus", "Tech", "#000000");
+    }
+
+    private List<Long> trendingIds() {
+        return trendingService.getTrendingEvents(TrendingService.TOP_K).stream()
+                .map(EventSummaryDTO::getEventId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void refresh_OrdersByScore_RsvpOutweighsView() {
+        long now = System.currentTimeMillis();
+        trendingService.record(1L, TrendingService.VIEW_WEIGHT, now);
+        trendingService.record(1L, TrendingService.VIEW_WEIGHT, now);
+        trendingService.record(2L, TrendingService.RSVP_WEIGHT, now);
+
+        trendingService.refresh();
+
+        assertEquals(List.of(2L, 1L), trendingIds());
+    }
+
+    @Test
+    void score_HalvesEverySixHours() {
+        long now = System.currentTimeMillis();
+        trendingService.record(1L, 8.0, now);
+
+        assertEquals(8.0, trendingService.scoreOf(1L, now), 1e-9);
+        assertEquals(4.0, trendingService.scoreOf(1L, now + 6 * HOUR), 1e-9);
+        assertEquals(1.0, trendingService.scoreOf(1L, now + 18 * HOUR), 1e-9);
+    }
+
+    @Test
+    void refresh_RecentActivityBeatsOlderLargerActivity() {
+        long now = System.currentTimeMillis();
+        // 10 views a day ago decay to 10 / 16 = 0.625, below one fresh view
+        for (int i = 0; i < 10; i++) {
+            trendingService.record(1L, TrendingService.VIEW_WEIGHT, now - 24 * HOUR);
+        }
+        trendingService.record(2L, TrendingService.VIEW_WEIGHT, now);
+
+        trendingService.refresh();
+
+        assertEquals(List.of(2L, 1L), trendingIds());
+    }
+
+    @Test
+    void refresh_CancelledRsvpCancelsOut_AndNonUpcomingDropped() {
+        trendingService.onRsvpChanged(new RsvpChangedEvent(1L, 10L, true));
+        trendingService.onRsvpChanged(new RsvpChangedEvent(1L, 10L, false));
+        trendingService.recordView(2L);
+        trendingService.recordView(500L);
+
+        trendingService.refresh();
+
+        assertEquals(List.of(2L), trendingIds());
+        assertEquals(0.0, trendingService.scoreOf(500L, System.currentTimeMillis()));
+    }
+
+    @Test
+    void refresh_KeepsOnlyTopK() {
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= TrendingService.TOP_K + 5; id++) {
+            trendingService.record(id, id, now);
+        }
+
+        trendingService.refresh();
+
+        List<Long> ids = trendingIds();
+        assertEquals(TrendingService.TOP_K, ids.size());
+        assertEquals((long) TrendingService.TOP_K + 5, ids.get(0));
+        assertEquals(2, trendingService.getTrendingEvents(2).size());
+    }
+
+    @Test
+    void record_ConcurrentWithRescale_NeverInflatesScore() throws Exception {
+        // the landmark flips between two times a week apart, an activity scaled to one landmark and
+        // added to the other's map would count e^19 times
+        long end = System.currentTimeMillis();
+        long weekBefore = end - 7 * 24 * HOUR;
+        int threads = 4;
+        int recordsPerThread = 5_000_000;
+
+        CompletableFuture<?>[] writers = new CompletableFuture<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < recordsPerThread; i++) {
+                    trendingService.record(1L, TrendingService.VIEW_WEIGHT, end);
+                }
+            });
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(writers);
+        while (!all.isDone()) {
+            trendingService.rescale(weekBefore);
+            trendingService.rescale(end);
+        }
+        all.get(30, TimeUnit.SECONDS);
+
+        // records added to a map after it was copied may be dropped, never counted at the wrong scale
+        double score = trendingService.scoreOf(1L, end);
+        assertTrue(score <= threads * recordsPerThread * (1 + 1e-6), "score " + score);
+        assertTrue(score > 0);
+    }
+}
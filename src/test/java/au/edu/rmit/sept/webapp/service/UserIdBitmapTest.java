@@ -0,0 +1,76 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdBitmapTest {
+
+    @Test
+    void addRemoveContains() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+
+        assertTrue(bitmap.add(42));
+        assertFalse(bitmap.add(42));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(5_000_000_000L));
+
+        assertTrue(bitmap.contains(42));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.contains(5_000_000_000L));
+        assertFalse(bitmap.contains(43));
+        assertFalse(bitmap.contains(42 + 65_536));
+        assertEquals(3, bitmap.size());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertFalse(bitmap.contains(70_000));
+        assertEquals(2, bitmap.size());
+    }
+
+    @Test
+    void fullChunk_SwitchesToBitmapAndBack() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+        for (int i = 0; i <= UserIdBitmap.ARRAY_MAX; i++) {
+            assertTrue(bitmap.add(i * 3L));
+        }
+        assertEquals(UserIdBitmap.ARRAY_MAX + 1, bitmap.size());
+        assertTrue(bitmap.contains(UserIdBitmap.ARRAY_MAX * 3L));
+        assertFalse(bitmap.contains(1));
+
+        assertTrue(bitmap.remove(0));
+        for (int i = 1; i <= UserIdBitmap.ARRAY_MAX; i++) {
+            assertTrue(bitmap.contains(i * 3L));
+        }
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test
+    void matchesHashSet_OnRandomOperations() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            // dense around a few chunks so both container kinds are exercised
+            long id = random.nextInt(4) * 65_536L + random.nextInt(12_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), bitmap.remove(id));
+            } else {
+                assertEquals(expected.add(id), bitmap.add(id));
+            }
+        }
+        assertEquals(expected.size(), bitmap.size());
+        for (long id = 0; id < 4 * 65_536L; id++) {
+            assertEquals(expected.contains(id), bitmap.contains(id));
+        }
+    }
+
+    @Test
+    void negativeId_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new UserIdBitmap().add(-1));
+    }
+}
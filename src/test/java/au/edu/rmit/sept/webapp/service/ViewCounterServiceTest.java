@@ -0,0 +1,213 @@
+package au.edu.rmit.sept.webapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ViewCounterService viewCounterService;
+
+    @BeforeEach
+    void setUp() {
+        viewCounterService = new ViewCounterService(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void drain_ReturnsCountsAndResets() {
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(2L);
+
+        assertEquals(Map.of(1L, 2L, 2L, 1L), viewCounterService.drain());
+        assertTrue(viewCounterService.drain().isEmpty());
+    }
+
+    @Test
+    void drain_RemovesIdleCounters() {
+        viewCounterService.recordView(1L);
+        viewCounterService.drain();
+        for (int i = 1; i < ViewCounterService.IDLE_DRAINS_BEFORE_EVICT; i++) {
+            viewCounterService.drain();
+        }
+        assertEquals(1, viewCounterService.pendingEventCount());
+
+        // idle for IDLE_DRAINS_BEFORE_EVICT drains since the last view
+        viewCounterService.drain();
+        assertEquals(0, viewCounterService.pendingEventCount());
+    }
+
+    @Test
+    void recordView_BeyondMaxPendingEvents_DropsViewsOfNewEvents() {
+        for (long id = 1; id <= ViewCounterService.MAX_PENDING_EVENTS; id++) {
+            viewCounterService.recordView(id);
+        }
+        viewCounterService.recordView(ViewCounterService.MAX_PENDING_EVENTS + 1L);
+        // already buffered events still count
+        viewCounterService.recordView(1L);
+
+        assertEquals(ViewCounterService.MAX_PENDING_EVENTS, viewCounterService.pendingEventCount());
+        assertEquals(1, viewCounterService.getDroppedViews());
+        assertEquals(2L, viewCounterService.drain().get(1L));
+    }
+
+    @Test
+    void flush_UpdatesExistingRows_InsertsMissingOnes() {
+        viewCounterService.recordView(1L);
+        // first event has a row, second doesn't
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList())).thenReturn(new int[] { 1, 0 });
+        viewCounterService.recordView(2L);
+
+        assertEquals(2, viewCounterService.flush());
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), argThat((List<Object[]> rows) -> rows.size() == 1));
+    }
+
+    @Test
+    void flush_UnknownUpdateCounts_InsertsOnlyIfAbsent() {
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(2L);
+        // the driver ran the batch but didn't report row counts
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList()))
+                .thenReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO });
+
+        assertEquals(2, viewCounterService.flush());
+
+        verify(jdbcTemplate).batchUpdate(and(startsWith("INSERT"), contains("NOT EXISTS")),
+                argThat((List<Object[]> rows) -> rows.size() == 2));
+    }
+
+    @Test
+    void flush_DatabaseError_RequeuesViews() {
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertEquals(0, viewCounterService.flush());
+
+        assertEquals(Map.of(1L, 2L), viewCounterService.drain());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void getViewCount_AddsUnflushedViewsToStoredCount() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L))).thenReturn(List.of(10L));
+        viewCounterService.recordView(1L);
+
+        assertEquals(11L, viewCounterService.getViewCount(1L));
+    }
+
+    @Test
+    void concurrentViewsAndDrains_NoViewLost() throws Exception {
+        int threads = 8;
+        int viewsPerThread = 50_000;
+        Map<Long, Long> drained = new HashMap<>();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread drainer = new Thread(() -> {
+            while (!done.get()) {
+                viewCounterService.drain().forEach((id, n) -> drained.merge(id, n, Long::sum));
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        drainer.start();
+        runViewers(threads, viewsPerThread, 10);
+        done.set(true);
+        drainer.join();
+        viewCounterService.drain().forEach((id, n) -> drained.merge(id, n, Long::sum));
+
+        // every event is viewed within each drain interval, so no counter is evicted mid-run
+        assertEquals((long) threads * viewsPerThread, drained.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * Load test for the view path: 8 threads, a skewed mix of 1000 events, a drain every 100 ms.
+     * Run with -Dbenchmarks=true; the target is 50k views/sec on one node.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_RecordView_Over50kPerSecond() throws Exception {
+        int threads = 8;
+        int viewsPerThread = 2_000_000;
+        LongAdder drainedTotal = new LongAdder();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread drainer = new Thread(() -> {
+            while (!done.get()) {
+                viewCounterService.drain().values().forEach(drainedTotal::add);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        drainer.start();
+        long start = System.nanoTime();
+        runViewers(threads, viewsPerThread, 1_000);
+        long elapsed = System.nanoTime() - start;
+        done.set(true);
+        drainer.join();
+        viewCounterService.drain().values().forEach(drainedTotal::add);
+
+        long total = (long) threads * viewsPerThread;
+        double perSecond = total / (elapsed / 1e9);
+        System.out.printf("ViewCounterService: %d views in %d ms, %.0f views/sec%n",
+                total, TimeUnit.NANOSECONDS.toMillis(elapsed), perSecond);
+        assertEquals(total, drainedTotal.sum());
+        assertTrue(perSecond > 50_000, "views/sec " + perSecond);
+    }
+
+    // each viewer hits event 1 half the time (a hot event), otherwise a random one
+    private void runViewers(int threads, int viewsPerThread, int events) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch finished = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < viewsPerThread; i++) {
+                    viewCounterService.recordView(random.nextBoolean() ? 1L : 1L + random.nextInt(events));
+                }
+                finished.countDown();
+            });
+        }
+        finished.await();
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,123 @@
+package au.edu.rmit.sept.webapp.service;
+
+import au.edu.rmit.sept.webapp.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private WaitingRoomService service;
+
+    @BeforeEach
+    void setUp() {
+        // two admissions per release
+        service = new WaitingRoomService(eventRepository, 2);
+        when(eventRepository.findWaitingRoomEventIds()).thenReturn(List.of(EVENT_ID));
+        service.refreshEnabledEvents();
+    }
+
+    @Test
+    void enter_WithoutWaitingRoom_Proceeds() {
+        assertEquals(WaitingRoomService.Status.PROCEED, service.enter(2L, "alice", 0).getStatus());
+    }
+
+    @Test
+    void release_AdmitsInArrivalOrderAtConfiguredRate() {
+        WaitingRoomService.Place alice = service.enter(EVENT_ID, "alice", 0);
+        WaitingRoomService.Place bob = service.enter(EVENT_ID, "bob", 0);
+        WaitingRoomService.Place carol = service.enter(EVENT_ID, "carol", 0);
+        assertEquals(WaitingRoomService.Status.WAITING, carol.getStatus());
+        assertEquals(3, carol.getPosition());
+        assertEquals(2, carol.getEstimatedWaitSeconds());
+
+        service.release(1_000);
+
+        assertEquals(WaitingRoomService.Status.ADMITTED, service.status(EVENT_ID, alice.getToken(), "alice", 1_000).getStatus());
+        assertEquals(WaitingRoomService.Status.ADMITTED, service.status(EVENT_ID, bob.getToken(), "bob", 1_000).getStatus());
+        WaitingRoomService.Place carolNow = service.status(EVENT_ID, carol.getToken(), "carol", 1_000);
+        assertEquals(WaitingRoomService.Status.WAITING, carolNow.getStatus());
+        assertEquals(1, carolNow.getPosition());
+
+        // admitted users go through once
+        assertEquals(WaitingRoomService.Status.PROCEED, service.enter(EVENT_ID, "alice", 2_000).getStatus());
+        assertEquals(WaitingRoomService.Status.EXPIRED, service.status(EVENT_ID, alice.getToken(), "alice", 2_000).getStatus());
+    }
+
+    @Test
+    void enter_Twice_KeepsPlace() {
+        WaitingRoomService.Place first = service.enter(EVENT_ID, "alice", 0);
+        service.enter(EVENT_ID, "bob", 0);
+
+        WaitingRoomService.Place again = service.enter(EVENT_ID, "alice", 500);
+
+        assertEquals(first.getToken(), again.getToken());
+        assertEquals(1, again.getPosition());
+        assertEquals(2, service.waitingCount(EVENT_ID));
+    }
+
+    @Test
+    void release_SkipsAbandonedUsers() {
+        service.enter(EVENT_ID, "gone", 0);
+        WaitingRoomService.Place alice = service.enter(EVENT_ID, "alice", 0);
+        WaitingRoomService.Place bob = service.enter(EVENT_ID, "bob", 0);
+        long later = WaitingRoomService.ABANDON_AFTER_MS + 1_000;
+        service.status(EVENT_ID, alice.getToken(), "alice", later);
+        service.status(EVENT_ID, bob.getToken(), "bob", later);
+
+        service.release(later);
+
+        // the abandoned place doesn't use up an admission
+        assertEquals(WaitingRoomService.Status.ADMITTED, service.status(EVENT_ID, alice.getToken(), "alice", later).getStatus());
+        assertEquals(WaitingRoomService.Status.ADMITTED, service.status(EVENT_ID, bob.getToken(), "bob", later).getStatus());
+    }
+
+    @Test
+    void admission_ExpiresAndUserRejoinsAtBack() {
+        WaitingRoomService.Place alice = service.enter(EVENT_ID, "alice", 0);
+        service.release(1_000);
+        service.enter(EVENT_ID, "bob", 1_000);
+
+        long expired = 1_000 + WaitingRoomService.ADMISSION_TTL_MS + 1;
+        WaitingRoomService.Place rejoined = service.enter(EVENT_ID, "alice", expired);
+
+        assertEquals(WaitingRoomService.Status.WAITING, rejoined.getStatus());
+        assertNotEquals(alice.getToken(), rejoined.getToken());
+        assertEquals(2, rejoined.getPosition());
+    }
+
+    @Test
+    void status_OtherUsersTokenIsNotShown() {
+        WaitingRoomService.Place alice = service.enter(EVENT_ID, "alice", 0);
+
+        assertEquals(WaitingRoomService.Status.EXPIRED, service.status(EVENT_ID, alice.getToken(), "mallory", 0).getStatus());
+        assertEquals(WaitingRoomService.Status.EXPIRED, service.status(EVENT_ID, null, "alice", 0).getStatus());
+    }
+
+    @Test
+    void setEnabled_OnlyOrganiser() {
+        when(eventRepository.findOrganiserUsernameById(EVENT_ID)).thenReturn(Optional.of("organiser"));
+
+        assertThrows(AccessDeniedException.class, () -> service.setEnabled(EVENT_ID, false, "alice", false));
+        service.setEnabled(EVENT_ID, false, "organiser", false);
+
+        verify(eventRepository).updateWaitingRoom(EVENT_ID, false);
+        assertFalse(service.isEnabled(EVENT_ID));
+        assertEquals(WaitingRoomService.Status.PROCEED, service.enter(EVENT_ID, "alice", 0).getStatus());
+    }
+}